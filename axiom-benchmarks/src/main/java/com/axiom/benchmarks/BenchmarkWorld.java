@@ -0,0 +1,91 @@
+package com.axiom.benchmarks;
+
+import com.axiom.AXIOM;
+import com.axiom.domain.model.Nation;
+import com.axiom.testsupport.InMemoryNationManager;
+import com.axiom.testsupport.SyntheticWorld;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic world for benchmarks: {@code nations} nations laid out on a square grid, each
+ * owning a compact block of {@code chunks / nations} chunks in world "world", so neighbouring
+ * nations share borders. Built by the test-support {@link SyntheticWorld} with a fixed seed:
+ * every nation gets a couple of allies and one in ten is at war with its border neighbour.
+ * No service is started; each benchmark creates the one it measures. The plugin runs against
+ * a temporary data folder.
+ */
+public final class BenchmarkWorld implements AutoCloseable {
+    public static final String WORLD = SyntheticWorld.WORLD;
+    public static final long SEED = 20240601L;
+
+    private final Path dataFolder;
+    private final SyntheticWorld world;
+
+    private BenchmarkWorld(Path dataFolder, SyntheticWorld world) {
+        this.dataFolder = dataFolder;
+        this.world = world;
+    }
+
+    public static BenchmarkWorld create(int nationCount, int chunkCount) {
+        if (nationCount <= 0 || chunkCount < nationCount) {
+            throw new IllegalArgumentException("Need at least one chunk per nation: " + nationCount + "/" + chunkCount);
+        }
+        Path dataFolder;
+        try {
+            dataFolder = Files.createTempDirectory("axiom-bench");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        SyntheticWorld world = SyntheticWorld.generate(dataFolder.toFile(), new SyntheticWorld.Spec()
+            .nations(nationCount)
+            .chunksPerNation(chunkCount / nationCount)
+            .citizensPerNation(1)
+            .alliesPerNation(2)
+            .warFraction(0.1)
+            .seed(SEED)
+            .services(false));
+        return new BenchmarkWorld(dataFolder, world);
+    }
+
+    public AXIOM plugin() {
+        return world.plugin();
+    }
+
+    public InMemoryNationManager nationManager() {
+        return world.nationManager();
+    }
+
+    public List<Nation> nations() {
+        return world.nations();
+    }
+
+    public File dataFolder() {
+        return dataFolder.toFile();
+    }
+
+    /** Side of the square area covered by claims, in chunks. */
+    public int extent() {
+        return world.extent();
+    }
+
+    /** Nation whose block is right of {@code index} on the grid (wrapping), i.e. a border neighbour. */
+    public Nation neighbourOf(int index) {
+        return world.neighbourOf(index);
+    }
+
+    @Override
+    public void close() {
+        try (Stream<Path> paths = Files.walk(dataFolder)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.axiom.benchmarks;
+
+import com.axiom.domain.model.Nation;
+import com.axiom.domain.service.politics.DiplomacyRelationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DiplomacyRelationService#getStatus}: half of the probes are pairs with a relation
+ * (ally or enemy from the world), half are random pairs that are usually neutral.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class DiplomacyBenchmarks {
+
+    @State(Scope.Benchmark)
+    public static class Relations extends WorldState {
+        DiplomacyRelationService relationService;
+        final String[] first = new String[PROBES];
+        final String[] second = new String[PROBES];
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            relationService = new DiplomacyRelationService(world.plugin(), world.nationManager());
+            int size = world.nations().size();
+            for (int i = 0; i < PROBES; i++) {
+                Nation nation = world.nations().get(random.nextInt(size));
+                first[i] = nation.getId();
+                if (i % 2 == 0 && !nation.getAllies().isEmpty()) {
+                    second[i] = nation.getAllies().iterator().next();
+                } else if (i % 2 == 0 && !nation.getEnemies().isEmpty()) {
+                    second[i] = nation.getEnemies().iterator().next();
+                } else {
+                    second[i] = world.nations().get(random.nextInt(size)).getId();
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public DiplomacyRelationService.RelationStatus getStatus(Relations state) {
+        int i = state.next();
+        return state.relationService.getStatus(state.first[i], state.second[i]);
+    }
+}
@@ -0,0 +1,75 @@
+package com.axiom.benchmarks;
+
+import com.axiom.domain.model.Nation;
+import com.axiom.domain.repo.NationJsonCodec;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NationJsonCodec} round trips for one nation at a time, tree and streaming variants.
+ * Nation size follows the world: {@code chunks / nations} claimed chunks each.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class NationCodecBenchmarks {
+
+    @State(Scope.Benchmark)
+    public static class Codec extends WorldState {
+        final Nation[] sample = new Nation[PROBES];
+        final String[] json = new String[PROBES];
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            for (int i = 0; i < PROBES; i++) {
+                sample[i] = world.nations().get(random.nextInt(world.nations().size()));
+                json[i] = NationJsonCodec.serialize(sample[i]).toString();
+            }
+        }
+    }
+
+    @Benchmark
+    public String serializeTree(Codec state) {
+        return NationJsonCodec.serialize(state.sample[state.next()]).toString();
+    }
+
+    @Benchmark
+    public String serializeStreaming(Codec state) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            NationJsonCodec.write(writer, state.sample[state.next()]);
+        }
+        return out.toString();
+    }
+
+    @Benchmark
+    public Nation deserializeTree(Codec state) {
+        return NationJsonCodec.deserialize(JsonParser.parseString(state.json[state.next()]).getAsJsonObject(), "AXC");
+    }
+
+    @Benchmark
+    public Nation deserializeStreaming(Codec state) throws IOException {
+        try (JsonReader reader = new JsonReader(new StringReader(state.json[state.next()]))) {
+            return NationJsonCodec.read(reader, "AXC");
+        }
+    }
+}
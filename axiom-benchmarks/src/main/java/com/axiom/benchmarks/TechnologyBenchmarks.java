@@ -0,0 +1,72 @@
+package com.axiom.benchmarks;
+
+import com.axiom.domain.repo.TechProgressStore;
+import com.axiom.domain.service.technology.TechnologyTreeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/** {@link TechnologyTreeService#getBonus} with each nation holding a random half of the tree. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class TechnologyBenchmarks {
+
+    @State(Scope.Benchmark)
+    public static class Technologies extends WorldState {
+        TechnologyTreeService techService;
+        final String[] nationIds = new String[PROBES];
+        final String[] bonusTypes = new String[PROBES];
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            List<TechnologyTreeService.Technology> techs = new TechnologyTreeService(world.plugin()).getAllTechs();
+            List<String> types = new ArrayList<>();
+            for (TechnologyTreeService.Technology tech : techs) {
+                for (String type : tech.bonuses.keySet()) {
+                    if (!types.contains(type)) {
+                        types.add(type);
+                    }
+                }
+            }
+            // Progress is loaded from disk, so write it before creating the measured service
+            TechProgressStore store = new TechProgressStore(world.dataFolder(), false);
+            for (int n = 0; n < world.nations().size(); n++) {
+                Set<String> unlocked = new HashSet<>();
+                for (TechnologyTreeService.Technology tech : techs) {
+                    if (random.nextBoolean()) {
+                        unlocked.add(tech.id);
+                    }
+                }
+                store.save(world.nations().get(n).getId(), unlocked);
+            }
+            techService = new TechnologyTreeService(world.plugin());
+            for (int i = 0; i < PROBES; i++) {
+                nationIds[i] = world.nations().get(random.nextInt(world.nations().size())).getId();
+                bonusTypes[i] = types.isEmpty() ? "production" : types.get(random.nextInt(types.size()));
+            }
+        }
+    }
+
+    @Benchmark
+    public double getBonus(Technologies state) {
+        int i = state.next();
+        return state.techService.getBonus(state.nationIds[i], state.bonusTypes[i]);
+    }
+}
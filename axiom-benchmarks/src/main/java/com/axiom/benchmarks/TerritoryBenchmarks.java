@@ -0,0 +1,50 @@
+package com.axiom.benchmarks;
+
+import com.axiom.domain.service.state.TerritoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/** {@link TerritoryService#getNationAt} over random chunks of the claimed area (mostly hits, some misses). */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class TerritoryBenchmarks {
+
+    @State(Scope.Benchmark)
+    public static class Territories extends WorldState {
+        TerritoryService territoryService;
+        final int[] xs = new int[PROBES];
+        final int[] zs = new int[PROBES];
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            territoryService = new TerritoryService(Logger.getLogger("bench"), world.nationManager());
+            // Slightly past the claimed area so a share of lookups miss
+            int bound = world.extent() + world.extent() / 10 + 1;
+            for (int i = 0; i < PROBES; i++) {
+                xs[i] = random.nextInt(bound);
+                zs[i] = random.nextInt(bound);
+            }
+        }
+    }
+
+    @Benchmark
+    public String getNationAt(Territories state) {
+        int i = state.next();
+        return state.territoryService.getNationAt(BenchmarkWorld.WORLD, state.xs[i], state.zs[i]);
+    }
+}
@@ -0,0 +1,73 @@
+package com.axiom.benchmarks;
+
+import com.axiom.domain.model.Nation;
+import com.axiom.domain.service.infrastructure.TerritorySyncService;
+import com.axiom.domain.service.state.TerritoryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * {@link TerritorySyncService} payload encoding: the full snapshot for the whole world and a
+ * delta of 1000 claim changes.
+ * <p>
+ * Messages are framed by {@code UiMessageCodec} (length-prefixed UTF-8), so large snapshots encode
+ * in full; splitting into plugin-message sized chunks happens at send time and is not measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class TerritorySyncBenchmarks {
+    private static final int DELTA_CHANGES = 1000;
+
+    @State(Scope.Benchmark)
+    public static class Sync extends WorldState {
+        TerritorySyncService syncService;
+        TerritoryService.DeltaResult delta;
+        long deltaFrom;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            TerritoryService territoryService = new TerritoryService(Logger.getLogger("bench"), world.nationManager());
+            long before = territoryService.getVersion();
+            // New claims just outside the claimed area produce the delta log
+            int row = world.extent() + 1;
+            for (int i = 0; i < DELTA_CHANGES; i++) {
+                Nation nation = world.nations().get(i % world.nations().size());
+                territoryService.claim(nation.getId(), BenchmarkWorld.WORLD, i, row);
+            }
+            delta = territoryService.getDeltaSince(before);
+            deltaFrom = before;
+            syncService = new TerritorySyncService(world.plugin(), territoryService);
+        }
+
+        @TearDown(Level.Trial)
+        public void stopSync() {
+            syncService.shutdown();
+        }
+    }
+
+    @Benchmark
+    public int encodeSnapshot(Sync state) {
+        return state.syncService.encodeSnapshot().length;
+    }
+
+    @Benchmark
+    public byte[] encodeDelta(Sync state) {
+        return state.syncService.encodeDelta(state.deltaFrom, state.delta);
+    }
+}
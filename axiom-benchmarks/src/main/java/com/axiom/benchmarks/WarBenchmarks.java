@@ -0,0 +1,62 @@
+package com.axiom.benchmarks;
+
+import com.axiom.domain.model.Nation;
+import com.axiom.domain.service.military.AdvancedWarSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code AdvancedWarSystem.findSharedBorders} between grid neighbours, i.e. nations that do
+ * share a border. The method is private, so it is called through a method handle.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class WarBenchmarks {
+
+    @State(Scope.Benchmark)
+    public static class Borders extends WorldState {
+        AdvancedWarSystem warSystem;
+        MethodHandle findSharedBorders;
+        final Nation[] attackers = new Nation[PROBES];
+        final Nation[] defenders = new Nation[PROBES];
+
+        @Setup(Level.Trial)
+        public void setUp() throws ReflectiveOperationException {
+            warSystem = new AdvancedWarSystem(world.plugin(), world.nationManager(), null, null, null, null, null);
+            findSharedBorders = MethodHandles.privateLookupIn(AdvancedWarSystem.class, MethodHandles.lookup())
+                .findVirtual(AdvancedWarSystem.class, "findSharedBorders",
+                    MethodType.methodType(Map.class, Nation.class, Nation.class));
+            for (int i = 0; i < PROBES; i++) {
+                int index = random.nextInt(world.nations().size());
+                attackers[i] = world.nations().get(index);
+                defenders[i] = world.neighbourOf(index);
+            }
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Map<String, Set<String>> findSharedBorders(Borders state) throws Throwable {
+        int i = state.next();
+        return (Map<String, Set<String>>) state.findSharedBorders.invoke(state.warSystem, state.attackers[i], state.defenders[i]);
+    }
+}
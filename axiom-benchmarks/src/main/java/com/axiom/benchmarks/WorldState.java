@@ -0,0 +1,44 @@
+package com.axiom.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Random;
+
+/**
+ * Base JMH state: builds a {@link BenchmarkWorld} for every combination of world sizes.
+ * Benchmark states extend it and add their own {@code @Setup} on top of the world.
+ */
+public abstract class WorldState {
+    protected static final int PROBES = 1024;
+
+    @Param({"100", "1000", "10000"})
+    public int nations;
+
+    @Param({"10000", "100000", "1000000"})
+    public int chunks;
+
+    protected BenchmarkWorld world;
+    protected final Random random = new Random(BenchmarkWorld.SEED);
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void createWorld() {
+        world = BenchmarkWorld.create(nations, chunks);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeWorld() {
+        if (world != null) {
+            world.close();
+        }
+    }
+
+    /** Index into a probe array, cycling so each invocation sees a different input. */
+    protected int next() {
+        cursor = (cursor + 1) & (PROBES - 1);
+        return cursor;
+    }
+}
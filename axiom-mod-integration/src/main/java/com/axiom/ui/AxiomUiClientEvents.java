@@ -1,6 +1,9 @@
 package com.axiom.ui;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import com.google.gson.reflect.TypeToken;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.KeyMapping;
@@ -20,9 +23,11 @@ import net.minecraftforge.network.NetworkDirection;
 import net.minecraftforge.network.NetworkEvent;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.netty.buffer.Unpooled;
 import com.mojang.blaze3d.platform.InputConstants;
@@ -36,6 +41,8 @@ public class AxiomUiClientEvents {
     private static Connection pendingConnection;
     private static int pendingInitTicks = -1;
     private static int territoryDeltaCooldown = 0;
+    // Parts of messages the server split into "chunk" frames, by chunk id
+    private static final Map<Integer, byte[][]> pendingChunks = new ConcurrentHashMap<>();
     private static final KeyMapping OPEN_MENU_KEY = new KeyMapping(
         "key.axiomui.open_menu",
         InputConstants.Type.KEYSYM,
@@ -172,6 +179,8 @@ public class AxiomUiClientEvents {
         MCRegisterPacketHandler.INSTANCE.addChannels(Set.of(AxiomUiMod.UI_CHANNEL), connection);
         MCRegisterPacketHandler.INSTANCE.sendRegistry(connection, NetworkDirection.PLAY_TO_SERVER);
 
+        AxiomUiMod.resetSubscriptions();
+        pendingChunks.clear();
         pendingConnection = connection;
         pendingInitTicks = 20;
     }
@@ -193,10 +202,11 @@ public class AxiomUiClientEvents {
             }
             Connection connection = pendingConnection;
             if (connection != null) {
-                sendToServer(connection, "get_stats");
-                sendToServer(connection, "get_techs");
-                sendToServer(connection, "get_nations");
-                sendToServer(connection, "get_territories_snapshot");
+                // Each topic starts with a snapshot, after that the server pushes diffs
+                AxiomUiMod.requestUpdate("stats");
+                AxiomUiMod.requestUpdate("techs");
+                AxiomUiMod.requestUpdate("nations");
+                AxiomUiMod.requestUpdate("territory");
                 sendToServer(connection, "get_language");
             }
             UI_TEST_RUNNER.scheduleAutoStart();
@@ -212,7 +222,7 @@ public class AxiomUiClientEvents {
             var player = Minecraft.getInstance().player;
             if (player != null) {
                 if (AxiomUiMod.getTerritoryVersion() < 0) {
-                    sendToServer(player.connection, "get_territories_snapshot");
+                    AxiomUiMod.resync("territory");
                 }
                 territoryDeltaCooldown = 40;
             }
@@ -243,10 +253,19 @@ public class AxiomUiClientEvents {
         }
         
         String type = buf.readUtf(64);
-        String json = buf.readUtf(32767);
+        if ("chunk".equals(type)) {
+            buf = joinChunk(buf);
+            if (buf == null) {
+                event.getSource().get().setPacketHandled(true);
+                return;
+            }
+            type = buf.readUtf(64);
+        }
+        String messageType = type;
+        String json = readJson(buf);
         
         event.getSource().get().enqueueWork(() -> {
-            switch (type) {
+            switch (messageType) {
                 case "stats":
                     AxiomUiMod.cachedStats = gson.fromJson(json, new TypeToken<Map<String, Object>>(){}.getType());
                     break;
@@ -270,7 +289,26 @@ public class AxiomUiClientEvents {
                     long version = readLong(payload.get("version"), -1L);
                     @SuppressWarnings("unchecked")
                     List<Map<String, Object>> changes = (List<Map<String, Object>>) payload.get("changes");
-                    AxiomUiMod.applyTerritoryDelta(changes, version);
+                    AxiomUiMod.applyTerritoryDelta(changes, readLong(payload.get("from"), -1L), version);
+                    break;
+                }
+                case "topic_snapshot": {
+                    JsonObject payload = JsonParser.parseString(json).getAsJsonObject();
+                    UiTopicStore.applySnapshot(
+                        readString(payload, "topic"),
+                        payload.get("version").getAsLong(),
+                        payload.getAsJsonObject("data")
+                    );
+                    break;
+                }
+                case "topic_diff": {
+                    JsonObject payload = JsonParser.parseString(json).getAsJsonObject();
+                    UiTopicStore.applyDiff(
+                        readString(payload, "topic"),
+                        payload.get("from").getAsLong(),
+                        payload.get("version").getAsLong(),
+                        payload.getAsJsonArray("ops")
+                    );
                     break;
                 }
                 case "command_result":
@@ -295,6 +333,47 @@ public class AxiomUiClientEvents {
         event.getSource().get().setPacketHandled(true);
     }
 
+    /**
+     * Server messages over the plugin-message size limit arrive as "chunk" frames: chunk id,
+     * index and count as VarInts, then a slice of the original message. Returns the joined
+     * message once all parts are in, otherwise {@code null}.
+     */
+    private static FriendlyByteBuf joinChunk(FriendlyByteBuf buf) {
+        int id = buf.readVarInt();
+        int index = buf.readVarInt();
+        int count = buf.readVarInt();
+        if (count <= 0 || index < 0 || index >= count) {
+            return null;
+        }
+        byte[] slice = new byte[buf.readableBytes()];
+        buf.readBytes(slice);
+        byte[][] parts = pendingChunks.computeIfAbsent(id, key -> new byte[count][]);
+        if (parts.length != count) {
+            pendingChunks.remove(id);
+            return null;
+        }
+        parts[index] = slice;
+        for (byte[] part : parts) {
+            if (part == null) {
+                return null;
+            }
+        }
+        pendingChunks.remove(id);
+        FriendlyByteBuf joined = new FriendlyByteBuf(Unpooled.buffer());
+        for (byte[] part : parts) {
+            joined.writeBytes(part);
+        }
+        return joined;
+    }
+
+    /** JSON payload: VarInt byte length and UTF-8, like readUtf but without its 32767 character cap. */
+    private static String readJson(FriendlyByteBuf buf) {
+        int length = buf.readVarInt();
+        String json = buf.toString(buf.readerIndex(), length, StandardCharsets.UTF_8);
+        buf.skipBytes(length);
+        return json;
+    }
+
     private static void sendToServer(Connection connection, String action) {
         FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
         buf.writeUtf(action);
@@ -327,6 +406,11 @@ public class AxiomUiClientEvents {
         sendToServer(player.connection, "get_territories_delta", sinceVersion);
     }
 
+    private static String readString(JsonObject payload, String key) {
+        JsonElement value = payload.get(key);
+        return value != null && value.isJsonPrimitive() ? value.getAsString() : null;
+    }
+
     private static long readLong(Object value, long fallback) {
         if (value == null) return fallback;
         if (value instanceof Number num) {
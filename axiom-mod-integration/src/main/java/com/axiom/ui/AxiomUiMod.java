@@ -39,7 +39,9 @@ public class AxiomUiMod {
     private static long cachedTerritoryRevision = 0L;
     private static boolean loggedTerritorySync = false;
     private static boolean nationsSynced = false;
+    private static long nationsRevision = 0L;
     private static boolean territoriesSynced = false;
+    private static final Set<String> subscribedTopics = new HashSet<>();
 
     public AxiomUiMod() {
         if (FMLEnvironment.dist == Dist.CLIENT) {
@@ -49,18 +51,41 @@ public class AxiomUiMod {
         System.out.println("[AXIOM UI] Mod loaded (Side: " + FMLEnvironment.dist + ")");
     }
     
+    /**
+     * Makes sure the topic (stats, techs, nations, territory) is subscribed. The server pushes
+     * changes on its own, so repeated calls from screens send nothing after the first one.
+     */
     public static void requestUpdate(String type) {
-        // Safe check for client side usage
-        if (FMLEnvironment.dist == Dist.CLIENT) {
-            var player = Minecraft.getInstance().player;
-            if (player == null) return;
-            
-            FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
-            buf.writeUtf("get_" + type);
-            player.connection.send(NetworkDirection.PLAY_TO_SERVER.buildPacket(Pair.of(buf, 0), UI_CHANNEL).getThis());
+        if (subscribedTopics.contains(type)) return;
+        if (sendTopicAction("subscribe", type)) {
+            subscribedTopics.add(type);
         }
     }
 
+    /** Asks the server for a fresh snapshot of a topic, e.g. after a missed diff. */
+    public static void resync(String topic) {
+        sendTopicAction("resync", topic);
+    }
+
+    /** Forgets subscriptions; the server drops them on disconnect as well. */
+    public static void resetSubscriptions() {
+        subscribedTopics.clear();
+        UiTopicStore.clear();
+    }
+
+    private static boolean sendTopicAction(String action, String topic) {
+        // Safe check for client side usage
+        if (FMLEnvironment.dist != Dist.CLIENT) return false;
+        var player = Minecraft.getInstance().player;
+        if (player == null) return false;
+
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        buf.writeUtf(action);
+        buf.writeUtf(topic);
+        player.connection.send(NetworkDirection.PLAY_TO_SERVER.buildPacket(Pair.of(buf, 0), UI_CHANNEL).getThis());
+        return true;
+    }
+
     public static void applyTerritorySnapshot(List<Map<String, Object>> territories, long version) {
         territoryIndex.clear();
         if (territories != null) {
@@ -85,7 +110,12 @@ public class AxiomUiMod {
         }
     }
 
-    public static void applyTerritoryDelta(List<Map<String, Object>> changes, long version) {
+    public static void applyTerritoryDelta(List<Map<String, Object>> changes, long from, long version) {
+        if (from >= 0 && from != cachedTerritoryVersion) {
+            // Missed a delta: applying this one would leave the map inconsistent
+            resync("territory");
+            return;
+        }
         if (changes == null || changes.isEmpty()) {
             cachedTerritoryVersion = version;
             territoriesSynced = true;
@@ -146,6 +176,12 @@ public class AxiomUiMod {
 
     public static void markNationsSynced() {
         nationsSynced = true;
+        nationsRevision++;
+    }
+
+    /** Bumped on every nation list update, including diffs that keep the count. */
+    public static long getNationsRevision() {
+        return nationsRevision;
     }
 
     public static boolean hasNationSnapshot() {
@@ -32,7 +32,7 @@ public class NationMapScreen extends Screen {
     private int mapY = 50;
     private int mapW = 0;
     private int mapH = 0;
-    private int cachedCount = -1;
+    private long nationsRevision = -1L;
     private long lastTerritoryRevision = -1L;
     private String worldFilter = null;
     private String renderKey = "";
@@ -79,12 +79,11 @@ public class NationMapScreen extends Screen {
         nationOrder.clear();
         AxiomUiMod.requestUpdate("nations");
         resetBounds();
+        nationsRevision = AxiomUiMod.getNationsRevision();
 
         if (AxiomUiMod.cachedNations == null || AxiomUiMod.cachedNations.isEmpty()) {
-            cachedCount = 0;
             return;
         }
-        cachedCount = AxiomUiMod.cachedNations.size();
 
         for (var entry : AxiomUiMod.cachedNations) {
             if (entry == null) continue;
@@ -194,7 +193,7 @@ public class NationMapScreen extends Screen {
 
     @Override
     public void render(GuiGraphics gfx, int mouseX, int mouseY, float partialTick) {
-        if ((AxiomUiMod.cachedNations != null && AxiomUiMod.cachedNations.size() != cachedCount)) {
+        if (AxiomUiMod.getNationsRevision() != nationsRevision) {
             loadNations();
         }
         if (!Objects.equals(worldFilter, resolveWorldFilter())) {
@@ -0,0 +1,107 @@
+package com.axiom.ui;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Client copy of the topics the server pushes over axiom:ui (stats, techs, nations).
+ * A snapshot replaces the document, a diff is applied only on top of the version it was built
+ * from; on a gap the topic is resynced and the diff dropped. After each change the document is
+ * published to the AxiomUiMod caches the screens read.
+ */
+public final class UiTopicStore {
+    private static final Gson gson = new Gson();
+    private static final Type MAP_TYPE = new TypeToken<Map<String, Object>>(){}.getType();
+    private static final Map<String, JsonObject> documents = new HashMap<>();
+    private static final Map<String, Long> versions = new HashMap<>();
+
+    private UiTopicStore() {
+    }
+
+    public static void applySnapshot(String topic, long version, JsonObject data) {
+        if (topic == null || data == null) return;
+        documents.put(topic, data);
+        versions.put(topic, version);
+        publish(topic, data);
+    }
+
+    public static void applyDiff(String topic, long from, long version, JsonArray ops) {
+        if (topic == null || ops == null) return;
+        JsonObject document = documents.get(topic);
+        if (document == null || versions.getOrDefault(topic, -1L) != from) {
+            documents.remove(topic);
+            versions.remove(topic);
+            AxiomUiMod.resync(topic);
+            return;
+        }
+        for (JsonElement element : ops) {
+            applyOp(document, element.getAsJsonObject());
+        }
+        versions.put(topic, version);
+        publish(topic, document);
+    }
+
+    public static void clear() {
+        documents.clear();
+        versions.clear();
+    }
+
+    /** Same format as the server's JsonDiff: {"p":[keys...],"v":value}, no "v" removes the key. */
+    private static void applyOp(JsonObject document, JsonObject op) {
+        JsonArray path = op.getAsJsonArray("p");
+        if (path == null || path.size() == 0) return;
+        boolean set = op.has("v");
+        JsonObject parent = document;
+        for (int i = 0; i < path.size() - 1; i++) {
+            String key = path.get(i).getAsString();
+            JsonElement child = parent.get(key);
+            if (child == null || !child.isJsonObject()) {
+                if (!set) return;
+                child = new JsonObject();
+                parent.add(key, child);
+            }
+            parent = child.getAsJsonObject();
+        }
+        String leaf = path.get(path.size() - 1).getAsString();
+        if (set) {
+            parent.add(leaf, op.get("v"));
+        } else {
+            parent.remove(leaf);
+        }
+    }
+
+    private static void publish(String topic, JsonObject document) {
+        switch (topic) {
+            case "stats":
+                AxiomUiMod.cachedStats = gson.fromJson(document, MAP_TYPE);
+                break;
+            case "techs":
+                AxiomUiMod.cachedTechs = entries(document);
+                break;
+            case "nations":
+                AxiomUiMod.cachedNations = entries(document);
+                AxiomUiMod.markNationsSynced();
+                break;
+        }
+    }
+
+    /** Lists arrive keyed by id so diffs touch single entries; screens still read a list. */
+    private static List<Map<String, Object>> entries(JsonObject document) {
+        List<Map<String, Object>> list = new ArrayList<>(document.size());
+        for (Map.Entry<String, JsonElement> entry : document.entrySet()) {
+            if (entry.getValue().isJsonObject()) {
+                list.add(gson.fromJson(entry.getValue(), MAP_TYPE));
+            }
+        }
+        return list;
+    }
+}
@@ -24,6 +24,7 @@ import com.axiom.app.gui.AdvancedFeaturesMenu;
 import com.axiom.app.gui.AdvancedTechnologyTreeMenu;
 import com.axiom.app.gui.BankingMenu;
 import com.axiom.app.gui.CaptureSystemMenu;
+import com.axiom.app.gui.CardTemplateCache;
 import com.axiom.app.gui.CitizenshipMenu;
 import com.axiom.app.gui.ConfirmMenu;
 import com.axiom.app.gui.DiplomacyMenu;
@@ -37,11 +38,13 @@ import com.axiom.app.gui.TerritoryMenu;
 import com.axiom.app.gui.CitiesMenu;
 import com.axiom.app.gui.TechnologyMenu;
 import com.axiom.app.gui.CorporationsMenu;
+import com.axiom.app.gui.MenuRegistry;
 import com.axiom.app.listener.TerritoryProtectionListener;
 import com.axiom.app.listener.WarMobilizationListener;
 import com.axiom.app.listener.WarzoneVisualListener;
 import com.axiom.app.listener.ReligionBuffListener;
 import com.axiom.app.listener.UiAutotestStartListener;
+import com.axiom.app.listener.ProfiledListeners;
 import com.axiom.domain.service.state.CityGrowthEngine;
 import com.axiom.domain.service.politics.DiplomacyRelationService;
 import com.axiom.domain.service.politics.DiplomacySystem;
@@ -54,6 +57,7 @@ import com.axiom.domain.service.infrastructure.ConfirmationService;
 import com.axiom.domain.service.infrastructure.DoubleClickService;
 import com.axiom.domain.service.industry.WalletService;
 import com.axiom.domain.service.infrastructure.NewsService;
+import com.axiom.domain.service.infrastructure.ServiceFactory;
 import com.axiom.domain.service.state.RolePermissionService;
 import com.axiom.domain.service.infrastructure.EventGenerator;
 import com.axiom.domain.service.infrastructure.ModBalancerService;
@@ -197,7 +201,9 @@ import com.axiom.domain.service.infrastructure.BalancingService;
 import com.axiom.domain.service.infrastructure.BackupService;
 import com.axiom.domain.service.infrastructure.WebExportService;
 import com.axiom.domain.service.infrastructure.TerritorySyncService;
+import com.axiom.domain.service.infrastructure.UiSubscriptionService;
 import com.axiom.domain.service.infrastructure.TutorialService;
+import com.axiom.domain.service.infrastructure.MetricsExporter;
 import com.axiom.domain.service.infrastructure.PerformanceMetricsService;
 import com.axiom.domain.service.infrastructure.MultiWorldService;
 import com.axiom.domain.service.infrastructure.PlayerDashboardService;
@@ -218,7 +224,12 @@ import com.axiom.util.CacheManager;
 import com.axiom.app.controller.MilitaryController;
 import com.axiom.domain.service.military.MilitaryServiceInterface;
 import com.axiom.domain.service.industry.EconomyServiceInterface;
+import com.axiom.infra.network.PluginMessageMetrics;
+import com.axiom.kernel.AllocationProfiler;
 import com.axiom.kernel.AxiomKernel;
+import com.axiom.kernel.ContentionSampler;
+import com.axiom.kernel.SimulationScheduler;
+import com.axiom.kernel.TickProfiler;
 import com.axiom.kernel.modules.CoreStateModule;
 import com.axiom.kernel.modules.PoliticsModule;
 import com.axiom.kernel.modules.IndustryModule;
@@ -267,6 +278,7 @@ public final class AXIOM extends JavaPlugin {
     private static AXIOM instance;
     private DomainServices domainServices;
     private NationMainMenu nationMainMenu;
+    private MenuRegistry menuRegistry;
     private ConfirmMenu confirmMenu;
     private TechnologyMenu technologyMenu;
     private ReligionMenu religionMain;
@@ -434,6 +446,7 @@ public final class AXIOM extends JavaPlugin {
 
     // New Architecture Components
     private AxiomKernel kernel;
+    private SimulationScheduler simulationScheduler;
     private MilitaryController militaryController;
     private final Map<Class<?>, Field> serviceFieldIndex = new HashMap<>();
 
@@ -446,6 +459,8 @@ public final class AXIOM extends JavaPlugin {
         bootstrapKernel();
 
         this.nationMainMenu = null; // Будет инициализироваться при открытии меню
+        this.menuRegistry = new MenuRegistry();
+        ProfiledListeners.register(this, menuRegistry);
         this.confirmMenu = new ConfirmMenu(this);
         this.technologyMenu = new TechnologyMenu(this);
         this.corporationsMenu = new CorporationsMenu(this, getStockMarketService());
@@ -529,14 +544,14 @@ public final class AXIOM extends JavaPlugin {
         }
 
         // Listeners
-        Bukkit.getPluginManager().registerEvents(new TerritoryProtectionListener(this, getNationManager()), this);
-        Bukkit.getPluginManager().registerEvents(new WarMobilizationListener(this, getNationManager(), getDiplomacySystem()), this);
-        Bukkit.getPluginManager().registerEvents(new WarzoneVisualListener(this, getDiplomacySystem()), this);
-        Bukkit.getPluginManager().registerEvents(new ReligionBuffListener(this, getReligionManager()), this);
-        Bukkit.getPluginManager().registerEvents(new ModIntegrationListener(this), this);
-        Bukkit.getPluginManager().registerEvents(new com.axiom.app.listener.LeaderActivityListener(this), this);
-        Bukkit.getPluginManager().registerEvents(new DashboardListener(this), this);
-        Bukkit.getPluginManager().registerEvents(new VisualEffectsListener(this, getVisualEffectsService()), this);
+        ProfiledListeners.register(this, new TerritoryProtectionListener(this, getNationManager()));
+        ProfiledListeners.register(this, new WarMobilizationListener(this, getNationManager(), getDiplomacySystem()));
+        ProfiledListeners.register(this, new WarzoneVisualListener(this, getDiplomacySystem()));
+        ProfiledListeners.register(this, new ReligionBuffListener(this, getReligionManager()));
+        ProfiledListeners.register(this, new ModIntegrationListener(this));
+        ProfiledListeners.register(this, new com.axiom.app.listener.LeaderActivityListener(this));
+        ProfiledListeners.register(this, new DashboardListener(this));
+        ProfiledListeners.register(this, new VisualEffectsListener(this, getVisualEffectsService()));
 
         // Register plugin messaging channel
         getServer().getMessenger().registerOutgoingPluginChannel(this, "axiom:ui");
@@ -544,7 +559,7 @@ public final class AXIOM extends JavaPlugin {
 
         initUiAutotestConfig();
         if (uiAutotestEnabled) {
-            Bukkit.getPluginManager().registerEvents(new UiAutotestStartListener(this), this);
+            ProfiledListeners.register(this, new UiAutotestStartListener(this));
         }
 
         // Autosave
@@ -566,6 +581,24 @@ public final class AXIOM extends JavaPlugin {
 
     private void bootstrapKernel() {
         this.kernel = new AxiomKernel(getLogger(), this::bindService);
+        kernel.simulation().setTickBudgetMillis(
+            getConfig().getLong("simulation.tickBudgetMs", SimulationScheduler.DEFAULT_TICK_BUDGET_MILLIS)
+        );
+        kernel.profiler().setEnabled(getConfig().getBoolean("profiler.enabled", true));
+        kernel.profiler().configure(
+            getConfig().getInt("profiler.worstTicks", TickProfiler.DEFAULT_WORST_TICKS),
+            getConfig().getLong("profiler.windowSeconds", TickProfiler.DEFAULT_WINDOW_TICKS / 20L) * 20L
+        );
+        kernel.allocations().setEnabled(getConfig().getBoolean("profiler.allocation.enabled", false));
+        if (getConfig().getBoolean("profiler.contention.enabled", false)) {
+            kernel.contention().start(getConfig().getLong("profiler.contention.sampleMillis", ContentionSampler.DEFAULT_INTERVAL_MILLIS));
+        }
+        int startupThreads = getConfig().getInt("kernel.startupThreads", 0);
+        if (startupThreads <= 0) {
+            startupThreads = Math.min(4, Runtime.getRuntime().availableProcessors());
+        }
+        kernel.setStartupThreads(startupThreads);
+        kernel.services().setDormantModules(getConfig().getStringList("kernel.dormantModules"));
         kernel.registerModule(new CoreStateModule(this));
         kernel.registerModule(new PoliticsModule(this));
         kernel.registerModule(new IndustryModule(this));
@@ -574,6 +607,12 @@ public final class AXIOM extends JavaPlugin {
         kernel.registerModule(new InfrastructureModule(this));
         kernel.start();
         bindKernelServices();
+        int dormant = kernel.services().getDormantServices().size();
+        if (dormant > 0) {
+            getLogger().info("Dormant services (start on first use): " + dormant);
+        }
+        // Single driver for all periodic simulation jobs registered by services
+        Bukkit.getScheduler().runTaskTimer(this, kernel.simulation()::tick, 1L, 1L);
     }
 
     private void buildServiceFieldIndex() {
@@ -616,8 +655,9 @@ public final class AXIOM extends JavaPlugin {
                 }
             } catch (IllegalAccessException ignored) {
             }
+            // Dormant services bind themselves when first resolved
             kernel.services()
-                .resolve((Class<Object>) entry.getKey())
+                .resolveIfInitialized((Class<Object>) entry.getKey())
                 .ifPresent(service -> {
                     try {
                         field.set(this, service);
@@ -723,7 +763,7 @@ public final class AXIOM extends JavaPlugin {
             DataOutputStream out = new DataOutputStream(msgBytes);
             out.writeUTF("ui_autotest_start");
             out.writeUTF(GSON.toJson(payload));
-            player.sendPluginMessage(this, "axiom:ui", msgBytes.toByteArray());
+            sendUiBytes(player, "ui_autotest_start", msgBytes.toByteArray());
         } catch (IOException e) {
             getLogger().warning("Failed to send UI autotest start: " + e.getMessage());
         }
@@ -739,12 +779,20 @@ public final class AXIOM extends JavaPlugin {
             DataOutputStream out = new DataOutputStream(msgBytes);
             out.writeUTF(type);
             out.writeUTF(GSON.toJson(data));
-            player.sendPluginMessage(this, "axiom:ui", msgBytes.toByteArray());
+            sendUiBytes(player, type, msgBytes.toByteArray());
         } catch (IOException e) {
             getLogger().warning("Failed to send UI message '" + type + "': " + e.getMessage());
         }
     }
 
+    private void sendUiBytes(Player player, String type, byte[] message) {
+        player.sendPluginMessage(this, "axiom:ui", message);
+        PluginMessageMetrics metrics = getPluginMessageMetrics();
+        if (metrics != null) {
+            metrics.recordOutgoing("axiom:ui", type, message.length);
+        }
+    }
+
     private List<String> resolveUiAutotestCommands() {
         List<String> fallback = List.of("/test", "/testbot run all");
         String raw = System.getenv("AXIOM_UI_AUTOTEST_COMMANDS");
@@ -792,6 +840,7 @@ public final class AXIOM extends JavaPlugin {
             NationManager manager = getNationManager();
             if (manager != null) {
                 manager.flush();
+                manager.shutdown();
             }
         } catch (Exception e) {
             getLogger().severe("Failed to flush data: " + e.getMessage());
@@ -800,6 +849,7 @@ public final class AXIOM extends JavaPlugin {
         if (territoryService != null) {
             territoryService.save();
         }
+        CardTemplateCache.clear();
         getLogger().info("AXIOM disabled.");
     }
 
@@ -812,7 +862,22 @@ public final class AXIOM extends JavaPlugin {
         }
     }
 
+    public ServiceFactory getServiceFactory() { return resolveService(ServiceFactory.class); }
     public NationManager getNationManager() { return serviceOrField(nationManager, NationManager.class); }
+    public SimulationScheduler getSimulationScheduler() {
+        SimulationScheduler resolved = resolveService(SimulationScheduler.class);
+        if (resolved != null) {
+            return resolved;
+        }
+        // Services constructed outside the kernel (tests) still need somewhere to register jobs
+        if (simulationScheduler == null) {
+            simulationScheduler = new SimulationScheduler(getLogger());
+        }
+        return simulationScheduler;
+    }
+    public TickProfiler getTickProfiler() { return kernel != null ? kernel.profiler() : null; }
+    public AllocationProfiler getAllocationProfiler() { return kernel != null ? kernel.allocations() : null; }
+    public ContentionSampler getContentionSampler() { return kernel != null ? kernel.contention() : null; }
     public EconomyService getEconomyService() { return serviceOrField(economyService, EconomyService.class); }
     public DiplomacySystem getDiplomacySystem() { return serviceOrField(diplomacySystem, DiplomacySystem.class); }
     public DiplomacyRelationService getDiplomacyRelationService() { return serviceOrField(diplomacyRelationService, DiplomacyRelationService.class); }
@@ -947,6 +1012,7 @@ public final class AXIOM extends JavaPlugin {
     public void openCaptureSystemMenu(Player player) {
         new CaptureSystemMenu(this, player).open();
     }
+    public MenuRegistry getMenuRegistry() { return menuRegistry; }
     public ConfirmMenu getConfirmMenu() { return confirmMenu; }
     public TechnologyMenu getTechnologyMenu() { return technologyMenu; }
     public ConfirmationService getConfirmationService() { return confirmationService; }
@@ -993,6 +1059,9 @@ public final class AXIOM extends JavaPlugin {
     public TerritorySyncService getTerritorySyncService() { return serviceOrField(territorySyncService, TerritorySyncService.class); }
     public TutorialService getTutorialService() { return serviceOrField(tutorialService, TutorialService.class); }
     public PerformanceMetricsService getPerformanceMetricsService() { return serviceOrField(performanceMetricsService, PerformanceMetricsService.class); }
+    public MetricsExporter getMetricsExporter() { return resolveService(MetricsExporter.class); }
+    public PluginMessageMetrics getPluginMessageMetrics() { return resolveService(PluginMessageMetrics.class); }
+    public UiSubscriptionService getUiSubscriptionService() { return resolveService(UiSubscriptionService.class); }
     public MultiWorldService getMultiWorldService() { return serviceOrField(multiWorldService, MultiWorldService.class); }
     public PlayerDashboardService getPlayerDashboardService() { return serviceOrField(playerDashboardService, PlayerDashboardService.class); }
     public VisualEffectsService getVisualEffectsService() { return serviceOrField(visualEffectsService, VisualEffectsService.class); }
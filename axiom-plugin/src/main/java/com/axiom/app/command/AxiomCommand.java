@@ -3,8 +3,13 @@ package com.axiom.app.command;
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
 import com.axiom.domain.service.industry.EconomyService;
+import com.axiom.domain.service.infrastructure.ServiceFactory;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.kernel.AllocationProfiler;
+import com.axiom.kernel.ContentionSampler;
+import com.axiom.kernel.TickProfiler;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -63,6 +68,10 @@ public class AxiomCommand implements CommandExecutor {
                 plugin.reloadAxiomConfig();
                 sender.sendMessage("§aКонфигурация перезагружена.");
                 return true;
+            case "storage":
+                return handleStorage(sender, args);
+            case "perf":
+                return handlePerf(sender, args);
             // ... keep other cases but remove the old 'nation' logic if it was complex
             default:
                 sender.sendMessage("§cНеизвестная команда. Используйте §b/axiom help §7для списка команд.");
@@ -494,13 +503,208 @@ public class AxiomCommand implements CommandExecutor {
         return true;
     }
     
+    private boolean handleStorage(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("axiom.admin")) {
+            sender.sendMessage("§cТребуются права администратора.");
+            return true;
+        }
+        ServiceFactory factory = plugin.getServiceFactory();
+        if (args.length < 2 || !args[1].equalsIgnoreCase("migrate")) {
+            String backend = factory != null && factory.getSqlStorage() != null ? "sqlite" : "json";
+            sender.sendMessage("§7Хранилище: §b" + backend);
+            sender.sendMessage("§cИспользование: /axiom storage migrate");
+            return true;
+        }
+        if (factory == null || factory.getSqlStorage() == null) {
+            sender.sendMessage("§cSQL-хранилище не включено (storage.backend: sqlite).");
+            return true;
+        }
+        sender.sendMessage("§7Перенос JSON -> SQL запущен...");
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            String result;
+            try {
+                result = "§aМиграция завершена: " + factory.migrateFromJson().summary();
+            } catch (SQLException e) {
+                result = "§cОшибка миграции: " + e.getMessage();
+            }
+            String message = result;
+            plugin.getServer().getScheduler().runTask(plugin, () -> sender.sendMessage(message));
+        });
+        return true;
+    }
+    
+    private boolean handlePerf(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("axiom.admin")) {
+            sender.sendMessage("§cТребуются права администратора.");
+            return true;
+        }
+        TickProfiler profiler = plugin.getTickProfiler();
+        if (profiler == null) {
+            sender.sendMessage("§cПрофайлер тиков недоступен.");
+            return true;
+        }
+        String action = args.length >= 2 ? args[1].toLowerCase() : "ticks";
+        switch (action) {
+            case "reset":
+                profiler.reset();
+                sender.sendMessage("§aДанные профайлера сброшены.");
+                return true;
+            case "on":
+            case "off":
+                profiler.setEnabled(action.equals("on"));
+                sender.sendMessage("§aПрофайлер тиков " + (profiler.isEnabled() ? "включён." : "выключен."));
+                return true;
+            case "locks":
+                return handlePerfLocks(sender, args);
+            case "alloc":
+                return handlePerfAlloc(sender, args);
+            case "owners": {
+                List<TickProfiler.OwnerStats> owners = profiler.getOwnerStats();
+                sender.sendMessage("§b=== AXIOM: время главного потока по сервисам ===");
+                sender.sendMessage("§7Тиков учтено: §b" + profiler.getProfiledTicks());
+                int shown = 0;
+                for (TickProfiler.OwnerStats owner : owners) {
+                    if (shown++ >= 15) {
+                        break;
+                    }
+                    sender.sendMessage(String.format("§f%s §7всего §b%.1f мс§7, в среднем §b%.2f мс§7, макс. §b%.2f мс §7(%d тиков)",
+                        owner.getName(), owner.getTotalNanos() / 1_000_000.0, owner.getAverageMillisPerActiveTick(),
+                        owner.getMaxTickNanos() / 1_000_000.0, owner.getTicks()));
+                }
+                if (owners.isEmpty()) {
+                    sender.sendMessage("§7Данных пока нет.");
+                }
+                return true;
+            }
+            case "ticks": {
+                List<TickProfiler.TickRecord> ticks = profiler.getWorstTicks();
+                sender.sendMessage("§b=== AXIOM: худшие тики за " + profiler.getWindowTicks() / 20L / 60L + " мин ===");
+                if (!profiler.isEnabled()) {
+                    sender.sendMessage("§eПрофайлер выключен: §b/axiom perf on");
+                }
+                for (TickProfiler.TickRecord tick : ticks) {
+                    sender.sendMessage(String.format("§7Тик §f#%d§7: AXIOM §c%.2f мс §7из §f%.2f мс",
+                        tick.getTick(), tick.getAttributedNanos() / 1_000_000.0, tick.getTickNanos() / 1_000_000.0));
+                    int shown = 0;
+                    for (Map.Entry<String, Long> entry : tick.getBreakdown().entrySet()) {
+                        if (shown++ >= 3) {
+                            break;
+                        }
+                        sender.sendMessage(String.format("  §8- §f%s §7%.2f мс", entry.getKey(), entry.getValue() / 1_000_000.0));
+                    }
+                }
+                if (ticks.isEmpty()) {
+                    sender.sendMessage("§7Данных пока нет.");
+                }
+                return true;
+            }
+            default:
+                sender.sendMessage("§cИспользование: /axiom perf [owners|locks|alloc|reset|on|off]");
+                return true;
+        }
+    }
+
+    private boolean handlePerfAlloc(CommandSender sender, String[] args) {
+        AllocationProfiler allocations = plugin.getAllocationProfiler();
+        if (allocations == null || !allocations.isSupported()) {
+            sender.sendMessage("§cУчёт выделений памяти недоступен на этой JVM.");
+            return true;
+        }
+        String action = args.length >= 3 ? args[2].toLowerCase() : "show";
+        switch (action) {
+            case "on":
+            case "off":
+                allocations.setEnabled(action.equals("on"));
+                sender.sendMessage("§aУчёт выделений памяти " + (allocations.isEnabled() ? "включён." : "выключен."));
+                return true;
+            case "reset":
+                allocations.reset();
+                sender.sendMessage("§aСтатистика выделений памяти сброшена.");
+                return true;
+            case "show":
+                break;
+            default:
+                sender.sendMessage("§cИспользование: /axiom perf alloc [on|off|reset]");
+                return true;
+        }
+        List<AllocationProfiler.HandlerStats> top = allocations.getTopAllocators(15);
+        sender.sendMessage("§b=== AXIOM: выделение памяти по обработчикам ===");
+        sender.sendMessage("§7Всего: §b" + formatBytes(allocations.getTotalBytes())
+            + (allocations.isEnabled() ? "" : " §e(учёт выключен: /axiom perf alloc on)"));
+        for (AllocationProfiler.HandlerStats handler : top) {
+            sender.sendMessage(String.format("§f%s §7всего §c%s§7, на вызов §b%s§7, макс. §b%s §7(%d вызовов)",
+                handler.getName(), formatBytes(handler.getTotalBytes()),
+                formatBytes(Math.round(handler.getBytesPerInvocation())), formatBytes(handler.getMaxBytes()),
+                handler.getInvocations()));
+        }
+        if (top.isEmpty()) {
+            sender.sendMessage("§7Данных пока нет.");
+        }
+        return true;
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes >= 1024L * 1024L) {
+            return String.format("%.1f МБ", bytes / 1048576.0);
+        }
+        if (bytes >= 1024L) {
+            return String.format("%.1f КБ", bytes / 1024.0);
+        }
+        return bytes + " Б";
+    }
+
+    private boolean handlePerfLocks(CommandSender sender, String[] args) {
+        ContentionSampler sampler = plugin.getContentionSampler();
+        if (sampler == null) {
+            sender.sendMessage("§cСбор статистики блокировок недоступен.");
+            return true;
+        }
+        String action = args.length >= 3 ? args[2].toLowerCase() : "show";
+        switch (action) {
+            case "on":
+                sampler.start(plugin.getConfig().getLong("profiler.contention.sampleMillis", ContentionSampler.DEFAULT_INTERVAL_MILLIS));
+                sender.sendMessage("§aСбор статистики блокировок включён (каждые " + sampler.getIntervalMillis() + " мс).");
+                return true;
+            case "off":
+                sampler.stop();
+                sender.sendMessage("§aСбор статистики блокировок выключен.");
+                return true;
+            case "reset":
+                sampler.reset();
+                sender.sendMessage("§aСтатистика блокировок сброшена.");
+                return true;
+            case "show":
+                break;
+            default:
+                sender.sendMessage("§cИспользование: /axiom perf locks [on|off|reset]");
+                return true;
+        }
+        List<ContentionSampler.LockStats> stats = sampler.getStats();
+        sender.sendMessage("§b=== AXIOM: конкуренция за блокировки ===");
+        sender.sendMessage("§7Сэмплов: §b" + sampler.getSamples() + (sampler.isRunning() ? "" : " §e(сбор выключен: /axiom perf locks on)"));
+        int shown = 0;
+        for (ContentionSampler.LockStats lock : stats) {
+            if (shown++ >= 10) {
+                break;
+            }
+            sender.sendMessage(String.format("§f%s §7ожидание: главный §c%.0f мс§7, async §e%.0f мс §7| удержание: главный §b%.0f мс§7, async §b%.0f мс §7| конфликтов: %d/%d",
+                lock.getName(), lock.getMainWaitNanos() / 1_000_000.0, lock.getAsyncWaitNanos() / 1_000_000.0,
+                lock.getMainHoldNanos() / 1_000_000.0, lock.getAsyncHoldNanos() / 1_000_000.0,
+                lock.getMainContended(), lock.getAsyncContended()));
+        }
+        if (stats.isEmpty()) {
+            sender.sendMessage("§7Данных пока нет.");
+        }
+        return true;
+    }
+
     private boolean handleRestore(CommandSender sender, String[] args) {
         if (!sender.hasPermission("axiom.admin")) {
             sender.sendMessage("§cТребуются права администратора.");
             return true;
         }
         if (args.length < 2) {
-            sender.sendMessage("§cИспользование: /axiom restore <backupFileName>");
+            sender.sendMessage("§cИспользование: /axiom restore <backup | yyyy-MM-dd[_HH-mm[-ss]]>");
             sender.sendMessage("§7Доступные backup:");
             for (String backup : plugin.getBackupService().listBackups()) {
                 sender.sendMessage("§7  - " + backup);
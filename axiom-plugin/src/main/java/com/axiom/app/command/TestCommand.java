@@ -2,11 +2,20 @@ package com.axiom.app.command;
 
 import com.axiom.AXIOM;
 import com.axiom.test.AutoTestBot;
+import com.axiom.test.PerformanceRegressionSuite;
+import com.axiom.test.SuperTestBot;
+import com.axiom.util.LatencyHistogram;
+import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.ChatColor;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * Команда для запуска автоматического тестирования
  */
@@ -14,6 +23,7 @@ public class TestCommand implements CommandExecutor {
     
     private final AXIOM plugin;
     private AutoTestBot testBot;
+    private SuperTestBot superTestBot;
     
     public TestCommand(AXIOM plugin) {
         this.plugin = plugin;
@@ -68,6 +78,10 @@ public class TestCommand implements CommandExecutor {
                 listAvailableTests(sender);
                 break;
                 
+            case "perf":
+                runPerformance(sender, args);
+                break;
+                
             default:
                 showHelp(sender);
         }
@@ -95,5 +109,77 @@ public class TestCommand implements CommandExecutor {
         sender.sendMessage(ChatColor.YELLOW + "/test suite <suiteName>" + ChatColor.GRAY + " - Запустить конкретный сюит");
         sender.sendMessage(ChatColor.YELLOW + "/test test <testName>" + ChatColor.GRAY + " - Запустить конкретный тест");
         sender.sendMessage(ChatColor.YELLOW + "/test list" + ChatColor.GRAY + " - Показать доступные тесты");
+        sender.sendMessage(ChatColor.YELLOW + "/test perf [baseline] [игроки] [итерации]" + ChatColor.GRAY + " - Замер производительности против базовой линии");
+    }
+    
+    private void runPerformance(CommandSender sender, String[] args) {
+        if (superTestBot == null) {
+            superTestBot = new SuperTestBot(plugin);
+        }
+        if (superTestBot.isBenchmarkRunning()) {
+            sender.sendMessage(ChatColor.RED + "Замер производительности уже выполняется");
+            return;
+        }
+        PerformanceRegressionSuite.Options options = PerformanceRegressionSuite.Options.fromConfig(
+            plugin.getConfig().getConfigurationSection("testbot.perf"));
+        int index = 1;
+        if (args.length > index && args[index].equalsIgnoreCase("baseline")) {
+            options.updateBaseline(true);
+            index++;
+        }
+        try {
+            if (args.length > index) {
+                options.players(Integer.parseInt(args[index]));
+            }
+            if (args.length > index + 1) {
+                options.iterations(Integer.parseInt(args[index + 1]));
+            }
+        } catch (NumberFormatException e) {
+            sender.sendMessage(ChatColor.RED + "Использование: /test perf [baseline] [игроки] [итерации]");
+            return;
+        }
+        sender.sendMessage(ChatColor.GOLD + "Замер производительности запущен, результаты появятся по завершении...");
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                PerformanceRegressionSuite.Report report = superTestBot.runBenchmark(options);
+                Bukkit.getScheduler().runTask(plugin, () -> showPerformanceReport(sender, report));
+            } catch (Exception e) {
+                plugin.getLogger().warning("Performance regression run failed: " + e.getMessage());
+                Bukkit.getScheduler().runTask(plugin, () ->
+                    sender.sendMessage(ChatColor.RED + "Замер не выполнен: " + e.getMessage()));
+            }
+        });
+    }
+    
+    private void showPerformanceReport(CommandSender sender, PerformanceRegressionSuite.Report report) {
+        sender.sendMessage(ChatColor.GOLD + "=== Замер производительности: " + report.getPlayers()
+            + " игроков x " + report.getIterations() + " итераций ===");
+        for (Map.Entry<String, LatencyHistogram.Snapshot> entry : report.getTicks().entrySet()) {
+            LatencyHistogram.Snapshot tick = entry.getValue();
+            sender.sendMessage(ChatColor.YELLOW + "Тик [" + entry.getKey() + "]" + ChatColor.GRAY
+                + String.format(Locale.ROOT, " p50 %.1f мс, p95 %.1f мс, макс %.1f мс",
+                    tick.percentileMillis(0.50), tick.percentileMillis(0.95), tick.getMaxMillis()));
+        }
+        List<Map.Entry<String, LatencyHistogram.Snapshot>> slowest = new ArrayList<>(report.getOperations().entrySet());
+        slowest.sort((a, b) -> Long.compare(b.getValue().percentileNanos(0.95), a.getValue().percentileNanos(0.95)));
+        for (Map.Entry<String, LatencyHistogram.Snapshot> entry : slowest.subList(0, Math.min(10, slowest.size()))) {
+            LatencyHistogram.Snapshot op = entry.getValue();
+            long failed = report.getFailures().getOrDefault(entry.getKey(), 0L);
+            sender.sendMessage(ChatColor.WHITE + entry.getKey() + ChatColor.GRAY
+                + String.format(Locale.ROOT, " x%d: p50 %.3f мс, p95 %.3f мс, p99 %.3f мс",
+                    op.getCount(), op.percentileMillis(0.50), op.percentileMillis(0.95), op.percentileMillis(0.99))
+                + (failed > 0 ? ChatColor.RED + " ошибок: " + failed : ""));
+        }
+        if (report.isBaselineWritten()) {
+            sender.sendMessage(ChatColor.AQUA + "Базовая линия сохранена: " + report.getBaselineFile().getName());
+        } else if (report.getRegressions().isEmpty()) {
+            sender.sendMessage(ChatColor.GREEN + "Регрессий нет (порог " + report.getThresholdPercent() + "% по p95)");
+        } else {
+            sender.sendMessage(ChatColor.RED + "Регрессии (порог " + report.getThresholdPercent() + "% по p95):");
+            for (PerformanceRegressionSuite.Regression regression : report.getRegressions()) {
+                sender.sendMessage(ChatColor.RED + " - " + regression);
+            }
+        }
+        sender.sendMessage(ChatColor.GRAY + "Отчёт: " + report.getReportFile().getName());
     }
 }
@@ -5,8 +5,6 @@ import com.axiom.domain.service.technology.TechnologyTreeService;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
@@ -23,7 +21,7 @@ import java.util.Map;
  * Улучшенное меню технологического древа с прогрессом и визуальными эффектами
  * Использует все новые возможности карточной системы
  */
-public class AdvancedTechnologyTreeMenu implements Listener {
+public class AdvancedTechnologyTreeMenu {
     private final AXIOM plugin;
     private final Player player;
     private final Map<Integer, TechCard> slotToTechCard;
@@ -56,49 +54,63 @@ public class AdvancedTechnologyTreeMenu implements Listener {
             this.unlocks = new java.util.ArrayList<>();
         }
         
+        /**
+         * Клон заготовки из {@link CardTemplateCache}: ключ — id и состояние технологии,
+         * при смене описания, стоимости или пререквизитов пересобирается только lore.
+         */
         public ItemStack toItemStack() {
+            String state = isUnlocked() ? "unlocked" : isAvailable() ? "available" : "locked";
+            CardTemplateCache.Key key = new CardTemplateCache.Key("tech:" + id + ":" + icon.name() + ":" + name, null, state);
+            String signature = description + "|" + cost + "|" + prerequisites;
+            return CardTemplateCache.render(key, signature, this::buildItemStack, this::buildLore);
+        }
+        
+        private ItemStack buildItemStack() {
             ItemStack item = new ItemStack(getAppropriateMaterial());
             ItemMeta meta = item.getItemMeta();
             
             if (meta != null) {
                 meta.setDisplayName(getColoredName());
-                
-                // Создаем lore в зависимости от состояния технологии
-                java.util.List<String> lore = new java.util.ArrayList<>();
-                
-                // Основное описание
-                lore.add(ChatColor.GRAY + getDescription());
-                
-                // Добавляем информацию о стоимости
-                lore.add("");
-                lore.add(ChatColor.GOLD + "Стоимость: " + ChatColor.YELLOW + getCost());
-                
-                // Добавляем статус технологии
-                lore.add("");
-                if (isUnlocked()) {
-                    lore.add(ChatColor.GREEN + "✓ ИЗУЧЕНО");
-                } else if (isAvailable()) {
-                    lore.add(ChatColor.YELLOW + "⚡ ДОСТУПНО ДЛЯ ИЗУЧЕНИЯ");
-                    lore.add(ChatColor.AQUA + "Нажмите для изучения");
-                } else {
-                    lore.add(ChatColor.RED + "🔒 ЗАБЛОКИРОВАНО");
-                    lore.add(ChatColor.GRAY + "Требуется предварительное изучение");
-                    // Показываем пререквизиты, если они есть
-                    if (!getPrerequisites().isEmpty()) {
-                        lore.add(ChatColor.DARK_GRAY + "Предварительно:");
-                        for (String prereq : getPrerequisites()) {
-                            lore.add("  " + ChatColor.GRAY + "- " + prereq);
-                        }
-                    }
-                }
-                
-                meta.setLore(lore);
+                meta.setLore(buildLore());
                 item.setItemMeta(meta);
             }
             
             return item;
         }
         
+        private java.util.List<String> buildLore() {
+            // Создаем lore в зависимости от состояния технологии
+            java.util.List<String> lore = new java.util.ArrayList<>();
+            
+            // Основное описание
+            lore.add(ChatColor.GRAY + getDescription());
+            
+            // Добавляем информацию о стоимости
+            lore.add("");
+            lore.add(ChatColor.GOLD + "Стоимость: " + ChatColor.YELLOW + getCost());
+            
+            // Добавляем статус технологии
+            lore.add("");
+            if (isUnlocked()) {
+                lore.add(ChatColor.GREEN + "✓ ИЗУЧЕНО");
+            } else if (isAvailable()) {
+                lore.add(ChatColor.YELLOW + "⚡ ДОСТУПНО ДЛЯ ИЗУЧЕНИЯ");
+                lore.add(ChatColor.AQUA + "Нажмите для изучения");
+            } else {
+                lore.add(ChatColor.RED + "🔒 ЗАБЛОКИРОВАНО");
+                lore.add(ChatColor.GRAY + "Требуется предварительное изучение");
+                // Показываем пререквизиты, если они есть
+                if (!getPrerequisites().isEmpty()) {
+                    lore.add(ChatColor.DARK_GRAY + "Предварительно:");
+                    for (String prereq : getPrerequisites()) {
+                        lore.add("  " + ChatColor.GRAY + "- " + prereq);
+                    }
+                }
+            }
+            
+            return lore;
+        }
+        
         private Material getAppropriateMaterial() {
             if (isUnlocked()) {
                 return getIcon(); // Обычная иконка для изученных
@@ -171,7 +183,6 @@ public class AdvancedTechnologyTreeMenu implements Listener {
         this.slotProgressTrackers = new HashMap<>();
         
         createInventory();
-        registerEvents();
     }
     
     private void createInventory() {
@@ -259,17 +270,11 @@ public class AdvancedTechnologyTreeMenu implements Listener {
     }
     
     public void open() {
-        player.openInventory(inventory);
-    }
-    
-    private void registerEvents() {
-        Bukkit.getPluginManager().registerEvents(this, plugin);
+        plugin.getMenuRegistry().open(player, inventory, this::onInventoryClick);
     }
     
-    @EventHandler
-    public void onInventoryClick(InventoryClickEvent event) {
+    private void onInventoryClick(InventoryClickEvent event) {
         if (!(event.getWhoClicked() instanceof Player)) return;
-        if (!event.getView().getTitle().equals("Технологическое древо")) return;
         
         event.setCancelled(true); // Отменяем стандартное поведение
         
@@ -5,8 +5,6 @@ import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
@@ -18,9 +16,10 @@ import java.util.Map;
 
 /**
  * Базовый класс для GUI-меню на основе карточек
- * Реализует общую функциональность для всех меню с карточками
+ * Реализует общую функциональность для всех меню с карточками.
+ * Клики приходят через {@link MenuRegistry}, пока инвентарь меню открыт.
  */
-public abstract class CardBasedMenu implements Listener {
+public abstract class CardBasedMenu {
     protected final AXIOM plugin;
     protected final Player player;
     protected final Map<Integer, CardAction> slotActions;
@@ -49,9 +48,19 @@ public abstract class CardBasedMenu implements Listener {
         }
         
         /**
-         * Создание ItemStack с учетом цветовой схемы
+         * Создание ItemStack с учетом цветовой схемы.
+         * Возвращает клон заготовки из {@link CardTemplateCache}; при смене описания
+         * пересобирается только lore.
          */
         public ItemStack toItemStack(ColorSchemeManager.ColorScheme colorScheme, boolean isHovered) {
+            CardTemplateCache.Key key = new CardTemplateCache.Key(
+                icon.name() + ":" + title, colorScheme, isHovered ? "hovered" : "normal");
+            return CardTemplateCache.render(key, description,
+                () -> buildItemStack(colorScheme, isHovered),
+                () -> buildLore(colorScheme, isHovered));
+        }
+        
+        private ItemStack buildItemStack(ColorSchemeManager.ColorScheme colorScheme, boolean isHovered) {
             ItemStack item = new ItemStack(icon);
             ItemMeta meta = item.getItemMeta();
             
@@ -66,31 +75,33 @@ public abstract class CardBasedMenu implements Listener {
                     meta.setDisplayName(titleColor + "" + ChatColor.BOLD + title);
                 }
                 
-                // Добавляем описание
-                String[] descriptionLines = description.split("\\|"); // Разделяем по | для многострочного описания
-                for (int i = 0; i < descriptionLines.length; i++) {
-                    ChatColor descColor = (colorScheme != null) ? colorScheme.getSecondaryColor() : ChatColor.GRAY;
-                    descriptionLines[i] = descColor + descriptionLines[i];
-                }
-                
-                java.util.List<String> loreList = java.util.Arrays.asList(descriptionLines);
-                
-                // Если карточка с наведением, добавляем индикатор
-                if (isHovered) {
-                    java.util.List<String> newLore = new java.util.ArrayList<>(loreList);
-                    newLore.add("");
-                    newLore.add("§e§l[Нажмите для действия]");
-                    meta.setLore(newLore);
-                } else {
-                    meta.setLore(loreList);
-                }
-                
+                meta.setLore(buildLore(colorScheme, isHovered));
                 item.setItemMeta(meta);
             }
             
             return item;
         }
         
+        private java.util.List<String> buildLore(ColorSchemeManager.ColorScheme colorScheme, boolean isHovered) {
+            // Добавляем описание
+            String[] descriptionLines = description.split("\\|"); // Разделяем по | для многострочного описания
+            for (int i = 0; i < descriptionLines.length; i++) {
+                ChatColor descColor = (colorScheme != null) ? colorScheme.getSecondaryColor() : ChatColor.GRAY;
+                descriptionLines[i] = descColor + descriptionLines[i];
+            }
+            
+            java.util.List<String> loreList = java.util.Arrays.asList(descriptionLines);
+            
+            // Если карточка с наведением, добавляем индикатор
+            if (isHovered) {
+                java.util.List<String> newLore = new java.util.ArrayList<>(loreList);
+                newLore.add("");
+                newLore.add("§e§l[Нажмите для действия]");
+                return newLore;
+            }
+            return loreList;
+        }
+        
         /**
          * Создание ItemStack без цветовой схемы (для обратной совместимости)
          */
@@ -146,9 +157,6 @@ public abstract class CardBasedMenu implements Listener {
         
         // Создаем инвентарь
         createInventory();
-        
-        // Регистрируем слушатель событий
-        registerEvents();
     }
     
     /**
@@ -207,8 +215,8 @@ public abstract class CardBasedMenu implements Listener {
         // Добавляем декоративные элементы
         addDecorativeElements();
         
-        // Открываем инвентарь игроку
-        player.openInventory(inventory);
+        // Открываем инвентарь игроку, клики по нему направит MenuRegistry
+        plugin.getMenuRegistry().open(player, inventory, this::onInventoryClick);
     }
     
     /**
@@ -222,17 +230,9 @@ public abstract class CardBasedMenu implements Listener {
         }
     }
     
-    /**
-     * Регистрация обработчиков событий
-     */
-    protected void registerEvents() {
-        Bukkit.getPluginManager().registerEvents(this, plugin);
-    }
-    
     /**
      * Обработка кликов по элементам GUI
      */
-    @EventHandler
     public void onInventoryClick(InventoryClickEvent event) {
         if (!(event.getWhoClicked() instanceof Player)) return;
         if (!event.getInventory().equals(inventory)) return;
@@ -0,0 +1,107 @@
+package com.axiom.app.gui;
+
+import com.axiom.util.BoundedCache;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Кэш заготовок ItemStack для карточек GUI.
+ * <p>
+ * Заготовка хранится по ключу «id карточки + цветовая схема + состояние» (наведение,
+ * изучено/доступно и т.п.) — всё, что определяет материал и название. Меню получают клон
+ * заготовки, сама она наружу не отдаётся и не меняется. Вместе с заготовкой запоминается
+ * подпись динамической части (описание с числами, стоимость): если она совпала — это просто
+ * клон, если нет — у самой заготовки пересобирается только lore, а название, материал и флаги
+ * остаются прежними. Поэтому повторное открытие большого меню не строит ItemStack и ItemMeta
+ * заново для каждой карточки. Карточки, меняющиеся каждый тик (полосы прогресса), в кэш не
+ * кладутся: для них заготовка не даёт выигрыша.
+ * <p>
+ * Меню работают в главном потоке; {@link BoundedCache} ограничивает число заготовок и удаляет
+ * давно не использованные (например, карточки с меняющимися числами в названии). Плагин
+ * очищает кэш в onDisable, чтобы после /reload не держать предметы старого экземпляра.
+ */
+public final class CardTemplateCache {
+    private static final long TTL_SECONDS = 600L;
+    private static final long MAX_TEMPLATES = 4096L;
+    private static final BoundedCache<Key, Template> TEMPLATES = new BoundedCache<>(TTL_SECONDS, MAX_TEMPLATES);
+
+    private CardTemplateCache() {
+    }
+
+    /**
+     * Клон заготовки для карточки.
+     *
+     * @param key       id карточки, схема и состояние
+     * @param signature динамическое содержимое lore; при его смене пересобирается только lore
+     * @param build     полная сборка, когда заготовки ещё нет
+     * @param lore      сборка lore для текущей подписи
+     */
+    public static ItemStack render(Key key, String signature, Supplier<ItemStack> build, Supplier<List<String>> lore) {
+        Optional<Template> cached = TEMPLATES.get(key);
+        if (!cached.isPresent()) {
+            ItemStack item = build.get();
+            TEMPLATES.put(key, new Template(item.clone(), signature));
+            return item;
+        }
+        Template template = cached.get();
+        if (!Objects.equals(template.signature, signature)) {
+            // Заготовка наружу не отдаётся, поэтому lore меняется прямо в ней, без лишней копии
+            ItemMeta meta = template.prototype.getItemMeta();
+            if (meta != null) {
+                meta.setLore(lore.get());
+                template.prototype.setItemMeta(meta);
+            }
+            template.signature = signature;
+        }
+        return template.prototype.clone();
+    }
+
+    public static int size() {
+        return TEMPLATES.size();
+    }
+
+    public static void clear() {
+        TEMPLATES.clear();
+    }
+
+    /** Ключ заготовки; схема сравнивается по ссылке — схемы являются константами. */
+    public static final class Key {
+        private final String cardId;
+        private final ColorSchemeManager.ColorScheme scheme;
+        private final String state;
+
+        public Key(String cardId, ColorSchemeManager.ColorScheme scheme, String state) {
+            this.cardId = cardId;
+            this.scheme = scheme;
+            this.state = state;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return cardId.equals(other.cardId) && scheme == other.scheme && state.equals(other.state);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(cardId, System.identityHashCode(scheme), state);
+        }
+    }
+
+    private static final class Template {
+        private final ItemStack prototype;
+        private String signature;
+
+        private Template(ItemStack prototype, String signature) {
+            this.prototype = prototype;
+            this.signature = signature;
+        }
+    }
+}
@@ -1,11 +1,8 @@
 package com.axiom.app.gui;
 
 import com.axiom.AXIOM;
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
 
@@ -13,12 +10,11 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
-public class ConfirmMenu implements Listener {
+public class ConfirmMenu {
     private final AXIOM plugin;
 
     public ConfirmMenu(AXIOM plugin) {
         this.plugin = plugin;
-        Bukkit.getPluginManager().registerEvents(this, plugin);
     }
 
     public void open(Player p, String title, String description, Runnable onYes, Runnable onNo) {
@@ -47,7 +43,7 @@ public class ConfirmMenu implements Listener {
         inv.setItem(22, GuiUtils.createCloseButton());
         
         plugin.getConfirmationService().set(p.getUniqueId(), onYes, onNo);
-        p.openInventory(inv);
+        plugin.getMenuRegistry().open(p, inv, this::onClick);
     }
     
     /**
@@ -57,11 +53,8 @@ public class ConfirmMenu implements Listener {
         open(p, title, "Вы уверены?", onYes, onNo);
     }
 
-    @EventHandler
-    public void onClick(InventoryClickEvent e) {
+    private void onClick(InventoryClickEvent e) {
         if (!(e.getWhoClicked() instanceof Player)) return;
-        String title = e.getView().getTitle();
-        if (title == null || !title.contains("Подтверждение")) return;
         e.setCancelled(true);
         Player p = (Player) e.getWhoClicked();
         int slot = e.getRawSlot();
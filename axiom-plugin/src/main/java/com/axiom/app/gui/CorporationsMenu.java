@@ -6,8 +6,6 @@ import com.axiom.domain.service.industry.StockMarketService;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
@@ -19,7 +17,7 @@ import java.util.List;
 /**
  * GUI menu for managing corporations and stock market.
  */
-public class CorporationsMenu implements Listener {
+public class CorporationsMenu {
     private final AXIOM plugin;
     private final StockMarketService stockMarketService;
     
@@ -35,7 +33,6 @@ public class CorporationsMenu implements Listener {
     public CorporationsMenu(AXIOM plugin, StockMarketService stockMarketService) {
         this.plugin = plugin;
         this.stockMarketService = stockMarketService;
-        Bukkit.getPluginManager().registerEvents(this, plugin);
     }
 
     public void open(Player player) {
@@ -138,21 +135,17 @@ public class CorporationsMenu implements Listener {
             // Close button
             inv.setItem(53, GuiUtils.button(Material.BARRIER, "§c§lЗакрыть", Arrays.asList("§7Нажмите для закрытия")));
             
-            player.openInventory(inv);
+            plugin.getMenuRegistry().open(player, inv, this::onInventoryClick);
         } catch (Exception e) {
             plugin.getLogger().severe("Failed to open corporations menu: " + e.getMessage());
             player.sendMessage("§cОшибка открытия меню корпораций.");
         }
     }
     
-    @EventHandler
-    public void onInventoryClick(InventoryClickEvent e) {
+    private void onInventoryClick(InventoryClickEvent e) {
         if (!(e.getWhoClicked() instanceof Player)) return;
         Player player = (Player) e.getWhoClicked();
         
-        String title = e.getView().getTitle();
-        if (!title.contains("Корпорации:")) return;
-        
         e.setCancelled(true);
         
         int slot = e.getSlot();
@@ -0,0 +1,81 @@
+package com.axiom.app.gui;
+
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.Inventory;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Единый слушатель кликов для GUI-меню.
+ * <p>
+ * Меню не регистрируют себя в Bukkit при каждом открытии (иначе HandlerList растёт с каждым
+ * открытым меню, а каждый клик на сервере проходит через все), а сообщают реестру свой
+ * открытый {@link Inventory}. Клик маршрутизируется поиском верхнего инвентаря в
+ * {@link IdentityHashMap} — инвентари сравниваются по ссылке, без сравнения заголовков.
+ * Запись удаляется при закрытии инвентаря последним зрителем и при выходе игрока.
+ * События инвентаря приходят только в главном потоке, поэтому карта без синхронизации.
+ */
+public class MenuRegistry implements Listener {
+
+    /** Обработчик кликов по инвентарю меню. */
+    @FunctionalInterface
+    public interface ClickHandler {
+        void onInventoryClick(InventoryClickEvent event);
+    }
+
+    private final Map<Inventory, ClickHandler> menus = new IdentityHashMap<>();
+
+    /**
+     * Открыть инвентарь игроку и направлять клики по нему в обработчик.
+     * Если открытие отменено другим плагином, инвентарь не регистрируется.
+     */
+    public void open(Player player, Inventory inventory, ClickHandler handler) {
+        // Закрытие прежнего инвентаря (в том числе этого же) снимает его запись, поэтому
+        // регистрируем уже после открытия
+        player.openInventory(inventory);
+        if (player.getOpenInventory().getTopInventory() == inventory) {
+            menus.put(inventory, handler);
+        }
+    }
+
+    public int getOpenMenuCount() {
+        return menus.size();
+    }
+
+    @EventHandler
+    public void onInventoryClick(InventoryClickEvent event) {
+        ClickHandler handler = menus.get(event.getView().getTopInventory());
+        if (handler != null) {
+            handler.onInventoryClick(event);
+        }
+    }
+
+    @EventHandler
+    public void onInventoryClose(InventoryCloseEvent event) {
+        Inventory inventory = event.getInventory();
+        // Закрывающий игрок ещё числится среди зрителей
+        if (menus.containsKey(inventory) && inventory.getViewers().size() <= 1) {
+            menus.remove(inventory);
+        }
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+        menus.keySet().removeIf(inventory -> {
+            for (HumanEntity viewer : inventory.getViewers()) {
+                if (!viewer.getUniqueId().equals(player.getUniqueId())) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+}
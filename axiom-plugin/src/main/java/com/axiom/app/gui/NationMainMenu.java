@@ -7,8 +7,6 @@ import com.axiom.domain.service.military.AdvancedWarSystem;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
 
@@ -214,10 +212,11 @@ public class NationMainMenu extends CardBasedMenu {
         // Apply dynamic color scheme based on server type (future implementation)
         // This would change colors of glass panes, title, etc. based on server theme
         
-        player.openInventory(inventory);
+        // Открываем инвентарь игроку, клики по нему направит MenuRegistry
+        plugin.getMenuRegistry().open(player, inventory, this::onInventoryClick);
     }
     
-    @EventHandler
+    @Override
     public void onInventoryClick(InventoryClickEvent event) {
         super.onInventoryClick(event);
     }
@@ -1,12 +1,12 @@
 package com.axiom.app.gui;
 
+import com.axiom.util.ProfiledRunnable;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.Map;
 import java.util.HashMap;
@@ -66,9 +66,9 @@ public class ProgressVisualizer {
         slotProgressTrackers.put(slot, tracker);
         
         // Запускаем анимацию
-        new BukkitRunnable() {
+        new ProfiledRunnable(com.axiom.AXIOM.getInstance()) {
             @Override
-            public void run() {
+            protected void tick() {
                 ProgressTracker currentTracker = slotProgressTrackers.get(slot);
                 if (currentTracker == null || currentTracker.isComplete()) {
                     // Анимация завершена
@@ -111,40 +111,44 @@ public class ProgressVisualizer {
             iconMaterial = Material.GREEN_WOOL; // Завершено
         }
         
+        // Полоса меняется каждый тик, поэтому предмет собирается напрямую, мимо CardTemplateCache
         ItemStack item = new ItemStack(iconMaterial);
         ItemMeta meta = item.getItemMeta();
-        
         if (meta != null) {
             meta.setDisplayName("§e§l" + tracker.taskName);
-            
-            // Создаем визуальный прогресс-бар
-            StringBuilder progressBar = new StringBuilder("§7[");
-            int barLength = 20;
-            int filledBlocks = (int) (barLength * (tracker.getProgress() / tracker.getMaxProgress()));
-            
-            for (int i = 0; i < barLength; i++) {
-                if (i < filledBlocks) {
-                    progressBar.append("§a█"); // Заполненная часть
-                } else {
-                    progressBar.append("§7░"); // Пустая часть
-                }
-            }
-            progressBar.append("§7]");
-            
-            String percentageText = String.format("§6%.1f%%", tracker.getPercentage());
-            
-            meta.setLore(java.util.List.of(
-                progressBar.toString(),
-                percentageText,
-                "§7Прогресс: §f" + String.format("%.2f", tracker.getProgress()) + " §7из §f" + String.format("%.2f", tracker.getMaxProgress())
-            ));
-            
+            meta.setLore(createProgressLore(tracker));
             item.setItemMeta(meta);
         }
-        
         return item;
     }
     
+    /**
+     * Строки lore с визуальным прогресс-баром
+     */
+    private java.util.List<String> createProgressLore(ProgressTracker tracker) {
+        // Создаем визуальный прогресс-бар
+        StringBuilder progressBar = new StringBuilder("§7[");
+        int barLength = 20;
+        int filledBlocks = (int) (barLength * (tracker.getProgress() / tracker.getMaxProgress()));
+        
+        for (int i = 0; i < barLength; i++) {
+            if (i < filledBlocks) {
+                progressBar.append("§a█"); // Заполненная часть
+            } else {
+                progressBar.append("§7░"); // Пустая часть
+            }
+        }
+        progressBar.append("§7]");
+        
+        String percentageText = String.format("§6%.1f%%", tracker.getPercentage());
+        
+        return java.util.List.of(
+            progressBar.toString(),
+            percentageText,
+            "§7Прогресс: §f" + String.format("%.2f", tracker.getProgress()) + " §7из §f" + String.format("%.2f", tracker.getMaxProgress())
+        );
+    }
+    
     /**
      * Получить трекер прогресса для слота
      */
@@ -1,6 +1,7 @@
 package com.axiom.app.gui;
 
 import com.axiom.AXIOM;
+import com.axiom.app.listener.ProfiledListeners;
 import com.axiom.domain.model.Nation;
 import com.axiom.domain.service.technology.TechnologyTreeService;
 import org.bukkit.Bukkit;
@@ -26,7 +27,7 @@ public class TechnologyMenu implements Listener {
     public TechnologyMenu(AXIOM plugin) {
         this.plugin = plugin;
         this.techService = plugin.getTechnologyTreeService();
-        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        ProfiledListeners.register(plugin, this);
     }
 
     public void openMainMenu(Player player) {
@@ -7,8 +7,6 @@ import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
@@ -19,7 +17,7 @@ import java.util.*;
  * GUI меню технологического древа
  * Отображает сетку карточек технологий с визуальными состояниями
  */
-public class TechnologyTreeMenu implements Listener {
+public class TechnologyTreeMenu {
     private final AXIOM plugin;
     private final Player player;
     private final Map<Integer, TechNode> slotToTechNode;
@@ -30,7 +28,6 @@ public class TechnologyTreeMenu implements Listener {
         this.player = player;
         this.slotToTechNode = new HashMap<>();
         createInventory();
-        registerEvents();
     }
     
     /**
@@ -87,23 +84,14 @@ public class TechnologyTreeMenu implements Listener {
      * Открытие GUI для игрока
      */
     public void open() {
-        player.openInventory(inventory);
+        plugin.getMenuRegistry().open(player, inventory, this::onInventoryClick);
     }
     
     /**
-     * Регистрация обработчиков событий
+     * Обработка кликов по элементам GUI (вызывается MenuRegistry только для этого инвентаря)
      */
-    private void registerEvents() {
-        Bukkit.getPluginManager().registerEvents(this, plugin);
-    }
-    
-    /**
-     * Обработка кликов по элементам GUI
-     */
-    @EventHandler
-    public void onInventoryClick(InventoryClickEvent event) {
+    private void onInventoryClick(InventoryClickEvent event) {
         if (!(event.getWhoClicked() instanceof Player)) return;
-        if (!event.getView().getTitle().equals("Технологическое древо")) return;
         
         event.setCancelled(true); // Отменяем стандартное поведение
         
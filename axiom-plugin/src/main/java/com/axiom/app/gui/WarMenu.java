@@ -1,6 +1,7 @@
 package com.axiom.app.gui;
 
 import com.axiom.AXIOM;
+import com.axiom.app.listener.ProfiledListeners;
 import com.axiom.domain.model.Nation;
 import com.axiom.domain.service.military.AdvancedWarSystem;
 import com.axiom.domain.service.state.NationManager;
@@ -39,7 +40,7 @@ public class WarMenu implements Listener {
         this.plugin = plugin;
         this.nationManager = nationManager;
         this.warSystem = warSystem;
-        Bukkit.getPluginManager().registerEvents(this, plugin);
+        ProfiledListeners.register(plugin, this);
     }
 
     public void open(Player player) {
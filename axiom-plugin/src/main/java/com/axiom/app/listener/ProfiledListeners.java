@@ -0,0 +1,76 @@
+package com.axiom.app.listener;
+
+import com.axiom.AXIOM;
+import com.axiom.kernel.AllocationProfiler;
+import com.axiom.kernel.TickProfiler;
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Registers AXIOM listeners so that each {@link EventHandler} call is attributed to the listener
+ * class in the {@link TickProfiler}.
+ * <p>
+ * Replaces {@code PluginManager.registerEvents}: handler discovery follows Bukkit's rules
+ * (public and declared methods, one {@link Event} parameter, bridges skipped), and each handler
+ * gets an executor that times the call. When the {@link AllocationProfiler} is enabled the bytes
+ * allocated by the call are attributed to the handler method ({@code Listener.method}). When the
+ * profiler is unavailable the listener is registered the usual way.
+ */
+public final class ProfiledListeners {
+
+    private ProfiledListeners() {
+    }
+
+    public static void register(AXIOM plugin, Listener listener) {
+        TickProfiler profiler = plugin.getTickProfiler();
+        AllocationProfiler allocations = plugin.getAllocationProfiler();
+        if (profiler == null) {
+            Bukkit.getPluginManager().registerEvents(listener, plugin);
+            return;
+        }
+        String owner = TickProfiler.ownerOf(listener);
+        Set<Method> methods = new LinkedHashSet<>(Arrays.asList(listener.getClass().getMethods()));
+        methods.addAll(Arrays.asList(listener.getClass().getDeclaredMethods()));
+        for (Method method : methods) {
+            EventHandler handler = method.getAnnotation(EventHandler.class);
+            if (handler == null || method.isBridge() || method.isSynthetic()
+                || method.getParameterCount() != 1 || !Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                continue;
+            }
+            Class<? extends Event> eventClass = method.getParameterTypes()[0].asSubclass(Event.class);
+            method.setAccessible(true);
+            String handlerName = owner + "." + method.getName();
+            EventExecutor executor = (target, event) -> {
+                if (!eventClass.isInstance(event)) {
+                    return;
+                }
+                long start = profiler.start();
+                long allocationStart = allocations != null ? allocations.start() : AllocationProfiler.NOT_MEASURED;
+                try {
+                    method.invoke(target, event);
+                } catch (InvocationTargetException ex) {
+                    throw new EventException(ex.getCause());
+                } catch (Throwable ex) {
+                    throw new EventException(ex);
+                } finally {
+                    if (allocationStart != AllocationProfiler.NOT_MEASURED) {
+                        allocations.stop(handlerName, allocationStart);
+                    }
+                    profiler.stop(owner, start);
+                }
+            };
+            Bukkit.getPluginManager().registerEvent(eventClass, listener, handler.priority(), executor,
+                plugin, handler.ignoreCancelled());
+        }
+    }
+}
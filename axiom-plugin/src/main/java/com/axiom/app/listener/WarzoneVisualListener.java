@@ -2,12 +2,12 @@ package com.axiom.app.listener;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.service.politics.DiplomacySystem;
+import com.axiom.util.ProfiledRunnable;
 import org.bukkit.Particle;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerMoveEvent;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -39,10 +39,10 @@ public class WarzoneVisualListener implements Listener {
             p.playSound(p.getLocation(), org.bukkit.Sound.ENTITY_WITHER_SPAWN, 0.7f, 0.9f);
             
             // Continuous warzone particles
-            new BukkitRunnable() {
+            new ProfiledRunnable(plugin) {
                 int ticks = 0;
                 @Override
-                public void run() {
+                protected void tick() {
                     if (ticks++ > 200 || !diplomacySystem.isWarzone(chunk.getWorld(), chunk.getX(), chunk.getZ())) {
                         // Stop after 10 seconds or if left warzone
                         warnedPlayers.remove(p.getUniqueId());
@@ -1,6 +1,7 @@
 package com.axiom.domain.model;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Represents a nation with members, roles, treasury and claimed chunks.
@@ -33,6 +34,8 @@ public class Nation {
     private Set<String> allies = new HashSet<>();
     private Set<String> enemies = new HashSet<>();
     private String governmentType = "republic";
+    // Bumped by every setter; not persisted. Lets the writer tell changed nations apart without serializing them
+    private final transient AtomicLong version = new AtomicLong();
 
     public Nation() {}
 
@@ -48,43 +51,73 @@ public class Nation {
 
     public String getId() { return id; }
     public String getName() { return name; }
-    public void setName(String name) { this.name = name; }
+    public void setName(String name) { this.name = name; changed(); }
     public UUID getLeader() { return leader; }
-    public void setLeader(UUID v) { this.leader = v; }
+    public void setLeader(UUID v) { this.leader = v; changed(); }
     public Set<UUID> getCitizens() { return citizens; }
     public Map<UUID, Role> getRoles() { return roles; }
     public double getTreasury() { return treasury; }
-    public void setTreasury(double v) { this.treasury = v; }
+    public void setTreasury(double v) { this.treasury = v; changed(); }
     public String getCurrencyCode() { return currencyCode; }
-    public void setCurrencyCode(String v) { this.currencyCode = v; }
+    public void setCurrencyCode(String v) { this.currencyCode = v; changed(); }
     public double getExchangeRateToAXC() { return exchangeRateToAXC; }
-    public void setExchangeRateToAXC(double v) { this.exchangeRateToAXC = v; }
+    public void setExchangeRateToAXC(double v) { this.exchangeRateToAXC = v; changed(); }
     public Set<ChunkPos> getClaims() { return claims; }
     public String getCapitalChunkStr() { return capitalChunkStr; }
-    public void setCapitalChunkStr(String key) { this.capitalChunkStr = key; }
+    public void setCapitalChunkStr(String key) { this.capitalChunkStr = key; changed(); }
     public Set<String> getClaimedChunkKeys() { return claimedChunkKeys; }
     public String getMotto() { return motto; }
-    public void setMotto(String motto) { this.motto = motto; }
+    public void setMotto(String motto) { this.motto = motto; changed(); }
     public String getFlagIconMaterial() { return flagIconMaterial; }
-    public void setFlagIconMaterial(String flagIconMaterial) { this.flagIconMaterial = flagIconMaterial; }
+    public void setFlagIconMaterial(String flagIconMaterial) { this.flagIconMaterial = flagIconMaterial; changed(); }
     public Map<String, String> getTabIcons() { return tabIcons; }
     public Map<String, Integer> getReputation() { return reputation; }
     public Set<String> getPendingAlliance() { return pendingAlliance; }
     public java.util.List<String> getHistory() { return history; }
     public double getBudgetMilitary() { return budgetMilitary; }
-    public void setBudgetMilitary(double v) { this.budgetMilitary = v; }
+    public void setBudgetMilitary(double v) { this.budgetMilitary = v; changed(); }
     public double getBudgetHealth() { return budgetHealth; }
-    public void setBudgetHealth(double v) { this.budgetHealth = v; }
+    public void setBudgetHealth(double v) { this.budgetHealth = v; changed(); }
     public double getBudgetEducation() { return budgetEducation; }
-    public void setBudgetEducation(double v) { this.budgetEducation = v; }
+    public void setBudgetEducation(double v) { this.budgetEducation = v; changed(); }
     public double getInflation() { return inflation; }
-    public void setInflation(double v) { this.inflation = v; }
+    public void setInflation(double v) { this.inflation = v; changed(); }
     public int getTaxRate() { return taxRate; }
-    public void setTaxRate(int v) { this.taxRate = v; }
+    public void setTaxRate(int v) { this.taxRate = v; changed(); }
     public Set<String> getAllies() { return allies; }
     public Set<String> getEnemies() { return enemies; }
     public String getGovernmentType() { return governmentType; }
-    public void setGovernmentType(String v) { this.governmentType = v; }
+    public void setGovernmentType(String v) { this.governmentType = v; changed(); }
+
+    /**
+     * Change counter, increased by every setter and by {@link #changed()}; safe to bump from any
+     * thread. Changes made through the mutable collections are counted when the nation is saved;
+     * without a save they show up only in {@link #getCollectionsFingerprint()}.
+     */
+    public long getVersion() { return version.get(); }
+
+    /** Records a change that was made through one of the mutable collections. */
+    public void changed() { version.incrementAndGet(); }
+
+    /**
+     * Cheap fingerprint of the mutable collections (sizes and element hashes, no serialization),
+     * so a writer can notice edits made through them by services that never call save. May
+     * throw {@link ConcurrentModificationException} while a collection is being changed.
+     */
+    public long getCollectionsFingerprint() {
+        long hash = 0xcbf29ce484222325L;
+        for (Object collection : new Object[]{citizens, roles, claims, claimedChunkKeys, tabIcons, reputation,
+                pendingAlliance, history, allies, enemies}) {
+            if (collection == null) {
+                hash *= 0x100000001b3L;
+                continue;
+            }
+            int size = collection instanceof Map ? ((Map<?, ?>) collection).size() : ((Collection<?>) collection).size();
+            hash = (hash ^ size) * 0x100000001b3L;
+            hash = (hash ^ collection.hashCode()) * 0x100000001b3L;
+        }
+        return hash;
+    }
 
     public boolean isMember(UUID uuid) { return citizens.contains(uuid); }
 
@@ -0,0 +1,640 @@
+package com.axiom.domain.repo;
+
+import com.axiom.domain.model.Nation;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact binary codec for Nation persistence, field-for-field equivalent to
+ * {@link NationJsonCodec}: a nation decoded from either format serializes to the same JSON.
+ * <p>
+ * Layout: magic {@code AXNB}, format version (varint), a string table (every string is stored
+ * once and referenced by index), then tagged fields terminated by tag 0. A tag is
+ * {@code field << 3 | wireType}; readers skip fields they do not know, so newer writers stay
+ * readable by older code. Claimed chunks in canonical {@code world:x:z} form are grouped by
+ * world and stored as sorted, delta-encoded {@code x << 32 | z} longs; UUIDs are two longs.
+ */
+public final class NationBinaryCodec {
+    static final byte[] MAGIC = {'A', 'X', 'N', 'B'};
+    static final int VERSION = 1;
+
+    static final int WIRE_VARINT = 0;
+    static final int WIRE_FIXED64 = 1;
+    static final int WIRE_BYTES = 2;
+
+    private static final int F_ID = 1;
+    private static final int F_NAME = 2;
+    private static final int F_LEADER = 3;
+    private static final int F_CAPITAL = 4;
+    private static final int F_CURRENCY = 5;
+    private static final int F_EXCHANGE_RATE = 6;
+    private static final int F_MOTTO = 7;
+    private static final int F_FLAG_ICON = 8;
+    private static final int F_TREASURY = 9;
+    private static final int F_CLAIMS = 10;
+    private static final int F_RAW_CLAIMS = 11;
+    private static final int F_INFLATION = 12;
+    private static final int F_TAX_RATE = 13;
+    private static final int F_ALLIES = 14;
+    private static final int F_ENEMIES = 15;
+    private static final int F_TAB_ICONS = 16;
+    private static final int F_REPUTATION = 17;
+    private static final int F_PENDING_ALLIANCE = 18;
+    private static final int F_HISTORY = 19;
+    private static final int F_BUDGET_MILITARY = 20;
+    private static final int F_BUDGET_HEALTH = 21;
+    private static final int F_BUDGET_EDUCATION = 22;
+    private static final int F_GOVERNMENT_TYPE = 23;
+    private static final int F_CITIZENS = 24;
+    private static final int F_ROLES = 25;
+
+    private NationBinaryCodec() {}
+
+    /** True when the data starts with the binary nation magic. */
+    public static boolean isBinary(byte[] data) {
+        if (data == null || data.length < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (data[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static byte[] encode(Nation n) {
+        Strings strings = new Strings();
+        Out body = new Out(256);
+
+        if (n.getId() != null) body.stringField(F_ID, strings.ref(n.getId()));
+        if (n.getName() != null) body.stringField(F_NAME, strings.ref(n.getName()));
+        if (n.getLeader() != null) {
+            body.tag(F_LEADER, WIRE_BYTES);
+            body.varint(16);
+            body.uuid(n.getLeader());
+        }
+        if (n.getCapitalChunkStr() != null) body.stringField(F_CAPITAL, strings.ref(n.getCapitalChunkStr()));
+        if (n.getCurrencyCode() != null) body.stringField(F_CURRENCY, strings.ref(n.getCurrencyCode()));
+        body.doubleField(F_EXCHANGE_RATE, n.getExchangeRateToAXC());
+        if (n.getMotto() != null) body.stringField(F_MOTTO, strings.ref(n.getMotto()));
+        if (n.getFlagIconMaterial() != null) body.stringField(F_FLAG_ICON, strings.ref(n.getFlagIconMaterial()));
+        body.doubleField(F_TREASURY, n.getTreasury());
+
+        writeClaims(body, strings, n.getClaimedChunkKeys());
+
+        body.doubleField(F_INFLATION, n.getInflation());
+        body.tag(F_TAX_RATE, WIRE_VARINT);
+        body.varint(zigzag(n.getTaxRate()));
+
+        writeStrings(body, strings, F_ALLIES, n.getAllies());
+        writeStrings(body, strings, F_ENEMIES, n.getEnemies());
+
+        if (!n.getTabIcons().isEmpty()) {
+            Out block = new Out(16 * n.getTabIcons().size());
+            block.varint(n.getTabIcons().size());
+            for (Map.Entry<String, String> e : n.getTabIcons().entrySet()) {
+                block.varint(strings.ref(e.getKey()));
+                block.varint(strings.ref(e.getValue()));
+            }
+            body.bytesField(F_TAB_ICONS, block);
+        }
+        if (!n.getReputation().isEmpty()) {
+            Out block = new Out(8 * n.getReputation().size());
+            block.varint(n.getReputation().size());
+            for (Map.Entry<String, Integer> e : n.getReputation().entrySet()) {
+                block.varint(strings.ref(e.getKey()));
+                block.varint(zigzag(e.getValue() != null ? e.getValue() : 0));
+            }
+            body.bytesField(F_REPUTATION, block);
+        }
+        writeStrings(body, strings, F_PENDING_ALLIANCE, n.getPendingAlliance());
+        writeStrings(body, strings, F_HISTORY, n.getHistory());
+
+        if (n.getBudgetMilitary() != 0) body.doubleField(F_BUDGET_MILITARY, n.getBudgetMilitary());
+        if (n.getBudgetHealth() != 0) body.doubleField(F_BUDGET_HEALTH, n.getBudgetHealth());
+        if (n.getBudgetEducation() != 0) body.doubleField(F_BUDGET_EDUCATION, n.getBudgetEducation());
+        if (n.getGovernmentType() != null) body.stringField(F_GOVERNMENT_TYPE, strings.ref(n.getGovernmentType()));
+
+        if (!n.getCitizens().isEmpty()) {
+            Out block = new Out(1 + 16 * n.getCitizens().size());
+            block.varint(n.getCitizens().size());
+            for (UUID uuid : n.getCitizens()) {
+                block.uuid(uuid);
+            }
+            body.bytesField(F_CITIZENS, block);
+        }
+        if (!n.getRoles().isEmpty()) {
+            Out block = new Out(1 + 18 * n.getRoles().size());
+            int count = 0;
+            for (Map.Entry<UUID, Nation.Role> entry : n.getRoles().entrySet()) {
+                if (entry.getKey() != null && entry.getValue() != null) {
+                    count++;
+                }
+            }
+            block.varint(count);
+            for (Map.Entry<UUID, Nation.Role> entry : n.getRoles().entrySet()) {
+                if (entry.getKey() != null && entry.getValue() != null) {
+                    block.uuid(entry.getKey());
+                    // By name, so reordering the enum never remaps stored roles
+                    block.varint(strings.ref(entry.getValue().name()));
+                }
+            }
+            body.bytesField(F_ROLES, block);
+        }
+        body.varint(0);
+
+        Out out = new Out(body.size + strings.byteSize + 16);
+        out.raw(MAGIC, 0, MAGIC.length);
+        out.varint(VERSION);
+        out.varint(strings.list.size());
+        for (byte[] s : strings.encoded) {
+            out.varint(s.length);
+            out.raw(s, 0, s.length);
+        }
+        out.raw(body.buf, 0, body.size);
+        return out.toByteArray();
+    }
+
+    public static Nation decode(byte[] data, String defaultCurrencyCode) throws IOException {
+        if (!isBinary(data)) {
+            throw new IOException("Not a binary nation file");
+        }
+        In in = new In(data, MAGIC.length, data.length);
+        int version = (int) in.varint();
+        if (version > VERSION) {
+            throw new IOException("Unsupported nation format version " + version + " (max " + VERSION + ")");
+        }
+        int stringCount = in.length();
+        String[] strings = new String[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            int len = in.length();
+            strings[i] = new String(data, in.take(len), len, StandardCharsets.UTF_8);
+        }
+
+        Fields f = new Fields();
+        while (true) {
+            long tag = in.varint();
+            if (tag == 0) {
+                break;
+            }
+            int field = (int) (tag >>> 3);
+            int wire = (int) (tag & 7);
+            if (!readField(in, wire, field, f, strings)) {
+                in.skip(wire);
+            }
+        }
+
+        if (f.id == null || f.name == null || f.leader == null) {
+            throw new IllegalArgumentException("Invalid nation data (missing id/name/leader)");
+        }
+        String currency = f.currency != null ? f.currency : defaultCurrencyCode;
+        Nation n = new Nation(f.id, f.name, f.leader, currency, f.treasury);
+        if (f.capital != null) n.setCapitalChunkStr(f.capital);
+        n.setExchangeRateToAXC(f.exchangeRate);
+        if (f.motto != null) n.setMotto(f.motto);
+        if (f.flagIcon != null) n.setFlagIconMaterial(f.flagIcon);
+        n.getClaimedChunkKeys().addAll(f.claims);
+        if (n.getCapitalChunkStr() == null && !n.getClaimedChunkKeys().isEmpty()) {
+            n.setCapitalChunkStr(n.getClaimedChunkKeys().iterator().next());
+        }
+        n.setInflation(f.inflation);
+        n.setTaxRate(f.taxRate);
+        n.getAllies().addAll(f.allies);
+        n.getEnemies().addAll(f.enemies);
+        n.getTabIcons().putAll(f.tabIcons);
+        n.getReputation().putAll(f.reputation);
+        n.getPendingAlliance().addAll(f.pendingAlliance);
+        n.getHistory().addAll(f.history);
+        n.setBudgetMilitary(f.budgetMilitary);
+        n.setBudgetHealth(f.budgetHealth);
+        n.setBudgetEducation(f.budgetEducation);
+        if (f.governmentType != null) n.setGovernmentType(f.governmentType);
+        n.getCitizens().addAll(f.citizens);
+        for (Map.Entry<UUID, Nation.Role> entry : f.roles.entrySet()) {
+            n.getCitizens().add(entry.getKey());
+            n.getRoles().put(entry.getKey(), entry.getValue());
+        }
+
+        // Ensure leader is present and owns LEADER role (same rule as the JSON codec).
+        n.getCitizens().add(f.leader);
+        n.getRoles().put(f.leader, Nation.Role.LEADER);
+        return n;
+    }
+
+    /** Decodes one known field; returns false when the field (or its wire type) is unknown. */
+    private static boolean readField(In in, int wire, int field, Fields f, String[] strings) throws IOException {
+        switch (field) {
+            case F_ID:
+            case F_NAME:
+            case F_CAPITAL:
+            case F_CURRENCY:
+            case F_MOTTO:
+            case F_FLAG_ICON:
+            case F_GOVERNMENT_TYPE:
+                if (wire != WIRE_VARINT) return false;
+                String value = in.string(strings);
+                if (field == F_ID) f.id = value;
+                else if (field == F_NAME) f.name = value;
+                else if (field == F_CAPITAL) f.capital = value;
+                else if (field == F_CURRENCY) f.currency = value;
+                else if (field == F_MOTTO) f.motto = value;
+                else if (field == F_FLAG_ICON) f.flagIcon = value;
+                else f.governmentType = value;
+                return true;
+            case F_EXCHANGE_RATE:
+            case F_TREASURY:
+            case F_INFLATION:
+            case F_BUDGET_MILITARY:
+            case F_BUDGET_HEALTH:
+            case F_BUDGET_EDUCATION:
+                if (wire != WIRE_FIXED64) return false;
+                double number = Double.longBitsToDouble(in.fixed64());
+                if (field == F_EXCHANGE_RATE) f.exchangeRate = number;
+                else if (field == F_TREASURY) f.treasury = number;
+                else if (field == F_INFLATION) f.inflation = number;
+                else if (field == F_BUDGET_MILITARY) f.budgetMilitary = number;
+                else if (field == F_BUDGET_HEALTH) f.budgetHealth = number;
+                else f.budgetEducation = number;
+                return true;
+            case F_TAX_RATE:
+                if (wire != WIRE_VARINT) return false;
+                f.taxRate = unzigzag(in.varint());
+                return true;
+            default:
+                break;
+        }
+        if (wire != WIRE_BYTES) {
+            return false;
+        }
+        int len = in.length();
+        int start = in.take(len);
+        In block = new In(in.data, start, start + len);
+        switch (field) {
+            case F_LEADER:
+                f.leader = block.uuid();
+                return true;
+            case F_CLAIMS:
+                readClaims(block, strings, f.claims);
+                return true;
+            case F_RAW_CLAIMS:
+                readStrings(block, strings, f.claims);
+                return true;
+            case F_ALLIES:
+                readStrings(block, strings, f.allies);
+                return true;
+            case F_ENEMIES:
+                readStrings(block, strings, f.enemies);
+                return true;
+            case F_PENDING_ALLIANCE:
+                readStrings(block, strings, f.pendingAlliance);
+                return true;
+            case F_HISTORY:
+                readStrings(block, strings, f.history);
+                return true;
+            case F_TAB_ICONS: {
+                int count = block.length();
+                for (int i = 0; i < count; i++) {
+                    f.tabIcons.put(block.string(strings), block.string(strings));
+                }
+                return true;
+            }
+            case F_REPUTATION: {
+                int count = block.length();
+                for (int i = 0; i < count; i++) {
+                    f.reputation.put(block.string(strings), unzigzag(block.varint()));
+                }
+                return true;
+            }
+            case F_CITIZENS: {
+                int count = block.length();
+                for (int i = 0; i < count; i++) {
+                    f.citizens.add(block.uuid());
+                }
+                return true;
+            }
+            case F_ROLES: {
+                int count = block.length();
+                for (int i = 0; i < count; i++) {
+                    UUID uuid = block.uuid();
+                    String role = block.string(strings);
+                    try {
+                        f.roles.put(uuid, Nation.Role.valueOf(role));
+                    } catch (IllegalArgumentException ignored) {
+                        // Unknown role from a newer version: keep the citizen, drop the role
+                        f.citizens.add(uuid);
+                    }
+                }
+                return true;
+            }
+            default:
+                // Unknown length-delimited field: already consumed
+                return true;
+        }
+    }
+
+    private static void writeClaims(Out body, Strings strings, Iterable<String> keys) {
+        Map<Integer, List<Long>> byWorld = new LinkedHashMap<>();
+        List<String> raw = new ArrayList<>();
+        for (String key : keys) {
+            long packed = 0;
+            int world = -1;
+            int second = key.lastIndexOf(':');
+            int first = second > 0 ? key.lastIndexOf(':', second - 1) : -1;
+            if (first > 0) {
+                try {
+                    int x = Integer.parseInt(key.substring(first + 1, second));
+                    int z = Integer.parseInt(key.substring(second + 1));
+                    String worldName = key.substring(0, first);
+                    // Only canonical keys are packed; anything else round-trips verbatim
+                    if (key.equals(worldName + ":" + x + ":" + z)) {
+                        world = strings.ref(worldName);
+                        packed = ((long) x << 32) | (z & 0xFFFFFFFFL);
+                    }
+                } catch (NumberFormatException ignored) {
+                }
+            }
+            if (world < 0) {
+                raw.add(key);
+            } else {
+                byWorld.computeIfAbsent(world, w -> new ArrayList<>()).add(packed);
+            }
+        }
+        if (!byWorld.isEmpty()) {
+            Out block = new Out(4 + 3 * 16);
+            block.varint(byWorld.size());
+            for (Map.Entry<Integer, List<Long>> entry : byWorld.entrySet()) {
+                long[] chunks = new long[entry.getValue().size()];
+                for (int i = 0; i < chunks.length; i++) {
+                    chunks[i] = entry.getValue().get(i);
+                }
+                Arrays.sort(chunks);
+                block.varint(entry.getKey());
+                block.varint(chunks.length);
+                long previous = 0;
+                for (int i = 0; i < chunks.length; i++) {
+                    // First value zigzag (may be negative), then non-negative deltas
+                    block.varint(i == 0 ? zigzag(chunks[0]) : chunks[i] - previous);
+                    previous = chunks[i];
+                }
+            }
+            body.bytesField(F_CLAIMS, block);
+        }
+        writeStrings(body, strings, F_RAW_CLAIMS, raw);
+    }
+
+    private static void readClaims(In block, String[] strings, List<String> out) throws IOException {
+        int worlds = block.length();
+        for (int w = 0; w < worlds; w++) {
+            String world = block.string(strings);
+            int count = block.length();
+            long value = 0;
+            for (int i = 0; i < count; i++) {
+                long raw = block.varint();
+                value = i == 0 ? unzigzagLong(raw) : value + raw;
+                int x = (int) (value >> 32);
+                int z = (int) value;
+                out.add(world + ":" + x + ":" + z);
+            }
+        }
+    }
+
+    private static void writeStrings(Out body, Strings strings, int field, Collection<String> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        Out block = new Out(1 + 2 * values.size());
+        block.varint(values.size());
+        for (String value : values) {
+            block.varint(strings.ref(value));
+        }
+        body.bytesField(field, block);
+    }
+
+    private static void readStrings(In block, String[] strings, Collection<String> out) throws IOException {
+        int count = block.length();
+        for (int i = 0; i < count; i++) {
+            out.add(block.string(strings));
+        }
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzagLong(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int unzigzag(long value) {
+        return (int) unzigzagLong(value);
+    }
+
+    /** Decoded fields before the Nation is built (mirrors the JSON codec defaults). */
+    private static final class Fields {
+        String id;
+        String name;
+        UUID leader;
+        String capital;
+        String currency;
+        double exchangeRate = 1.0;
+        String motto;
+        String flagIcon;
+        double treasury;
+        final List<String> claims = new ArrayList<>();
+        double inflation;
+        int taxRate = 10;
+        final List<String> allies = new ArrayList<>();
+        final List<String> enemies = new ArrayList<>();
+        final Map<String, String> tabIcons = new LinkedHashMap<>();
+        final Map<String, Integer> reputation = new LinkedHashMap<>();
+        final List<String> pendingAlliance = new ArrayList<>();
+        final List<String> history = new ArrayList<>();
+        double budgetMilitary;
+        double budgetHealth;
+        double budgetEducation;
+        String governmentType;
+        final List<UUID> citizens = new ArrayList<>();
+        final Map<UUID, Nation.Role> roles = new LinkedHashMap<>();
+    }
+
+    /** Interns strings in first-use order. */
+    private static final class Strings {
+        private final Map<String, Integer> index = new HashMap<>();
+        private final List<String> list = new ArrayList<>();
+        private final List<byte[]> encoded = new ArrayList<>();
+        private int byteSize;
+
+        int ref(String value) {
+            Integer existing = index.get(value);
+            if (existing != null) {
+                return existing;
+            }
+            int ref = list.size();
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            index.put(value, ref);
+            list.add(value);
+            encoded.add(bytes);
+            byteSize += bytes.length + 5;
+            return ref;
+        }
+    }
+
+    private static final class Out {
+        private byte[] buf;
+        private int size;
+
+        Out(int capacity) {
+            buf = new byte[Math.max(16, capacity)];
+        }
+
+        void tag(int field, int wire) {
+            varint(((long) field << 3) | wire);
+        }
+
+        void stringField(int field, int ref) {
+            tag(field, WIRE_VARINT);
+            varint(ref);
+        }
+
+        void doubleField(int field, double value) {
+            tag(field, WIRE_FIXED64);
+            fixed64(Double.doubleToLongBits(value));
+        }
+
+        void bytesField(int field, Out block) {
+            tag(field, WIRE_BYTES);
+            varint(block.size);
+            raw(block.buf, 0, block.size);
+        }
+
+        void varint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[size++] = (byte) value;
+        }
+
+        void fixed64(long value) {
+            ensure(8);
+            for (int i = 0; i < 8; i++) {
+                buf[size++] = (byte) (value >>> (8 * i));
+            }
+        }
+
+        void uuid(UUID uuid) {
+            fixed64(uuid.getMostSignificantBits());
+            fixed64(uuid.getLeastSignificantBits());
+        }
+
+        void raw(byte[] bytes, int offset, int length) {
+            ensure(length);
+            System.arraycopy(bytes, offset, buf, size, length);
+            size += length;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + extra));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, size);
+        }
+    }
+
+    private static final class In {
+        private final byte[] data;
+        private final int limit;
+        private int pos;
+
+        In(byte[] data, int pos, int limit) {
+            this.data = data;
+            this.pos = pos;
+            this.limit = limit;
+        }
+
+        long varint() throws IOException {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (pos >= limit) {
+                    throw new IOException("Truncated nation data");
+                }
+                byte b = data[pos++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IOException("Malformed varint in nation data");
+        }
+
+        int length() throws IOException {
+            long value = varint();
+            // Every counted element takes at least one byte
+            if (value < 0 || value > limit - pos) {
+                throw new IOException("Invalid length in nation data: " + value);
+            }
+            return (int) value;
+        }
+
+        long fixed64() throws IOException {
+            int start = take(8);
+            long value = 0;
+            for (int i = 7; i >= 0; i--) {
+                value = (value << 8) | (data[start + i] & 0xFF);
+            }
+            return value;
+        }
+
+        UUID uuid() throws IOException {
+            return new UUID(fixed64(), fixed64());
+        }
+
+        String string(String[] strings) throws IOException {
+            long ref = varint();
+            if (ref < 0 || ref >= strings.length) {
+                throw new IOException("Invalid string reference in nation data: " + ref);
+            }
+            return strings[(int) ref];
+        }
+
+        /** Reserves {@code length} bytes and returns their start offset. */
+        int take(int length) throws IOException {
+            if (length < 0 || length > limit - pos) {
+                throw new IOException("Truncated nation data");
+            }
+            int start = pos;
+            pos += length;
+            return start;
+        }
+
+        void skip(int wire) throws IOException {
+            switch (wire) {
+                case WIRE_VARINT:
+                    varint();
+                    break;
+                case WIRE_FIXED64:
+                    take(8);
+                    break;
+                case WIRE_BYTES:
+                    take(length());
+                    break;
+                default:
+                    throw new IOException("Unknown wire type " + wire + " in nation data");
+            }
+        }
+    }
+}
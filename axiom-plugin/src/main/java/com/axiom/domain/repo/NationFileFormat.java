@@ -0,0 +1,36 @@
+package com.axiom.domain.repo;
+
+import java.util.Locale;
+
+/** On-disk format of {@code nations/} files ({@code storage.nationFormat}). */
+public enum NationFileFormat {
+    JSON(".json"),
+    BINARY(".axn");
+
+    private final String extension;
+
+    NationFileFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static NationFileFormat fromConfig(String value) {
+        if (value != null && value.trim().toLowerCase(Locale.ROOT).equals("binary")) {
+            return BINARY;
+        }
+        return JSON;
+    }
+
+    /** Format of a nation file by its name, or null when it is not a nation file. */
+    public static NationFileFormat forFileName(String name) {
+        for (NationFileFormat format : values()) {
+            if (name.endsWith(format.extension)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -4,7 +4,16 @@ import com.axiom.domain.model.Nation;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -124,6 +133,107 @@ public final class NationJsonCodec {
         return o;
     }
 
+    /**
+     * Streaming counterpart of {@link #serialize(Nation)}: writes the same fields in the same
+     * order straight to the writer, without building a {@code JsonObject} tree. Like Gson's tree
+     * output, the writer is made lenient for the call, so NaN and infinite numbers are written as
+     * literals instead of failing the save.
+     */
+    public static void write(JsonWriter out, Nation n) throws IOException {
+        boolean lenient = out.isLenient();
+        out.setLenient(true);
+        try {
+            writeObject(out, n);
+        } finally {
+            out.setLenient(lenient);
+        }
+    }
+
+    private static void writeObject(JsonWriter out, Nation n) throws IOException {
+        out.beginObject();
+        if (n.getId() != null) out.name("id").value(n.getId());
+        if (n.getName() != null) out.name("name").value(n.getName());
+        if (n.getLeader() != null) out.name("leader").value(n.getLeader().toString());
+        if (n.getCapitalChunkStr() != null) out.name("capitalChunk").value(n.getCapitalChunkStr());
+        if (n.getCurrencyCode() != null) out.name("currency").value(n.getCurrencyCode());
+        out.name("exchangeRateToAXC").value(n.getExchangeRateToAXC());
+        if (n.getMotto() != null) out.name("motto").value(n.getMotto());
+        if (n.getFlagIconMaterial() != null) out.name("flagIcon").value(n.getFlagIconMaterial());
+        out.name("treasury").value(n.getTreasury());
+        writeStrings(out, "claimedChunks", n.getClaimedChunkKeys());
+        out.name("inflation").value(n.getInflation());
+        out.name("taxRate").value(n.getTaxRate());
+        writeStrings(out, "allies", n.getAllies());
+        writeStrings(out, "enemies", n.getEnemies());
+
+        if (!n.getTabIcons().isEmpty()) {
+            out.name("tabIcons").beginObject();
+            for (Map.Entry<String, String> e : n.getTabIcons().entrySet()) {
+                out.name(e.getKey()).value(e.getValue());
+            }
+            out.endObject();
+        }
+        if (!n.getReputation().isEmpty()) {
+            out.name("reputation").beginObject();
+            for (Map.Entry<String, Integer> e : n.getReputation().entrySet()) {
+                out.name(e.getKey()).value(e.getValue());
+            }
+            out.endObject();
+        }
+        if (!n.getPendingAlliance().isEmpty()) writeStrings(out, "pendingAlliance", n.getPendingAlliance());
+        if (!n.getHistory().isEmpty()) writeStrings(out, "history", n.getHistory());
+
+        if (n.getBudgetMilitary() > 0 || n.getBudgetHealth() > 0 || n.getBudgetEducation() > 0) {
+            out.name("budgetMilitary").value(n.getBudgetMilitary());
+            out.name("budgetHealth").value(n.getBudgetHealth());
+            out.name("budgetEducation").value(n.getBudgetEducation());
+        }
+
+        if (n.getGovernmentType() != null) out.name("governmentType").value(n.getGovernmentType());
+
+        if (!n.getCitizens().isEmpty()) {
+            out.name("citizens").beginArray();
+            for (UUID uuid : n.getCitizens()) {
+                out.value(uuid.toString());
+            }
+            out.endArray();
+        }
+        if (!n.getRoles().isEmpty()) {
+            out.name("roles").beginObject();
+            for (Map.Entry<UUID, Nation.Role> entry : n.getRoles().entrySet()) {
+                if (entry.getKey() != null && entry.getValue() != null) {
+                    out.name(entry.getKey().toString()).value(entry.getValue().name());
+                }
+            }
+            out.endObject();
+        }
+
+        out.name("economy").beginObject();
+        out.name("currency").value(n.getCurrencyCode());
+        out.name("exchangeRateToAXC").value(n.getExchangeRateToAXC());
+        out.name("treasury").value(n.getTreasury());
+        out.name("inflation").value(n.getInflation());
+        out.name("taxRate").value(n.getTaxRate());
+        out.name("budgetMilitary").value(n.getBudgetMilitary());
+        out.name("budgetHealth").value(n.getBudgetHealth());
+        out.name("budgetEducation").value(n.getBudgetEducation());
+        out.endObject();
+
+        out.name("territory").beginObject();
+        if (n.getCapitalChunkStr() != null) out.name("capitalChunk").value(n.getCapitalChunkStr());
+        writeStrings(out, "claimedChunks", n.getClaimedChunkKeys());
+        out.endObject();
+        out.endObject();
+    }
+
+    private static void writeStrings(JsonWriter out, String name, Iterable<String> values) throws IOException {
+        out.name(name).beginArray();
+        for (String value : values) {
+            out.value(value);
+        }
+        out.endArray();
+    }
+
     public static Nation deserialize(JsonObject o, String defaultCurrencyCode) {
         String id = getString(o, "id");
         String name = getString(o, "name");
@@ -264,6 +374,384 @@ public final class NationJsonCodec {
         return n;
     }
 
+    /**
+     * Streaming counterpart of {@link #deserialize(JsonObject, String)}: decodes one nation
+     * object straight from the reader into the {@link Nation}, without building a
+     * {@code JsonObject} tree or any other per-field buffer. Accepts the same legacy field names
+     * and the same precedence of the {@code economy}/{@code territory} blocks over top-level
+     * fields, whatever order the fields come in.
+     */
+    public static Nation read(JsonReader reader, String defaultCurrencyCode) throws IOException {
+        return new StreamDecoder(defaultCurrencyCode).read(reader);
+    }
+
+    /**
+     * State of one streaming decode. The nation is created as soon as its id, name and leader are
+     * known, which the codec and older Gson-written files put first; fields seen before that are
+     * kept as raw JSON and replayed once it exists. A field that several places can supply
+     * (for example {@code economy.treasury}, {@code treasury}) remembers the rank of the source it
+     * was taken from, so a weaker source never overrides a stronger one read earlier.
+     */
+    private static final class StreamDecoder {
+        private static final int CURRENCY = 0;
+        private static final int TREASURY = 1;
+        private static final int EXCHANGE_RATE = 2;
+        private static final int INFLATION = 3;
+        private static final int TAX_RATE = 4;
+        private static final int BUDGET_MILITARY = 5;
+        private static final int BUDGET_HEALTH = 6;
+        private static final int BUDGET_EDUCATION = 7;
+        private static final int CAPITAL = 8;
+        private static final int CLAIMS = 9;
+        private static final int FLAG_ICON = 10;
+        private static final int SLOTS = 11;
+        // Legacy names < top-level fields < economy/territory blocks
+        private static final int LEGACY = 1;
+        private static final int TOP_LEVEL = 2;
+        private static final int BLOCK = 3;
+
+        private final String defaultCurrencyCode;
+        private final int[] ranks = new int[SLOTS];
+        private String id;
+        private String name;
+        private UUID leader;
+        private Nation nation;
+        private List<String> deferred;
+
+        private StreamDecoder(String defaultCurrencyCode) {
+            this.defaultCurrencyCode = defaultCurrencyCode;
+        }
+
+        private Nation read(JsonReader reader) throws IOException {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String key = reader.nextName();
+                if (key.equals("id")) {
+                    id = readString(reader);
+                } else if (key.equals("name")) {
+                    name = readString(reader);
+                } else if (key.equals("leader")) {
+                    String raw = readString(reader);
+                    leader = raw != null ? UUID.fromString(raw) : null;
+                } else if (nation != null) {
+                    field(reader, key);
+                } else {
+                    defer(reader, key);
+                }
+                if (nation == null && id != null && name != null && leader != null) {
+                    create();
+                }
+            }
+            reader.endObject();
+            if (nation == null) {
+                throw new IllegalArgumentException("Invalid nation JSON (missing id/name/leader)");
+            }
+            if (ranks[CURRENCY] == 0) {
+                nation.setCurrencyCode(defaultCurrencyCode);
+            }
+            if (nation.getCapitalChunkStr() == null && !nation.getClaimedChunkKeys().isEmpty()) {
+                nation.setCapitalChunkStr(nation.getClaimedChunkKeys().iterator().next());
+            }
+            // Ensure leader is present and owns LEADER role.
+            nation.getCitizens().add(leader);
+            nation.getRoles().put(leader, Nation.Role.LEADER);
+            return nation;
+        }
+
+        private void create() throws IOException {
+            nation = new Nation(id, name, leader, null, 0.0);
+            if (deferred == null) {
+                return;
+            }
+            for (int i = 0; i < deferred.size(); i += 2) {
+                JsonReader replay = new JsonReader(new StringReader(deferred.get(i + 1)));
+                replay.setLenient(true);
+                field(replay, deferred.get(i));
+            }
+            deferred = null;
+        }
+
+        private void defer(JsonReader reader, String key) {
+            if (deferred == null) {
+                deferred = new ArrayList<>();
+            }
+            deferred.add(key);
+            deferred.add(JsonParser.parseReader(reader).toString());
+        }
+
+        private void field(JsonReader reader, String key) throws IOException {
+            switch (key) {
+                case "currency": currency(reader, TOP_LEVEL); break;
+                case "currencyCode": currency(reader, LEGACY); break;
+                case "treasury": number(reader, TREASURY, TOP_LEVEL); break;
+                case "exchangeRateToAXC": number(reader, EXCHANGE_RATE, TOP_LEVEL); break;
+                case "inflation": number(reader, INFLATION, TOP_LEVEL); break;
+                case "taxRate": number(reader, TAX_RATE, TOP_LEVEL); break;
+                case "budgetMilitary": number(reader, BUDGET_MILITARY, TOP_LEVEL); break;
+                case "budgetHealth": number(reader, BUDGET_HEALTH, TOP_LEVEL); break;
+                case "budgetEducation": number(reader, BUDGET_EDUCATION, TOP_LEVEL); break;
+                case "capitalChunk": capital(reader, TOP_LEVEL); break;
+                case "capitalChunkStr": capital(reader, LEGACY); break;
+                case "claimedChunks": claims(reader, TOP_LEVEL); break;
+                case "claimedChunkKeys": claims(reader, LEGACY); break;
+                case "flagIcon": flagIcon(reader, TOP_LEVEL); break;
+                case "flagIconMaterial": flagIcon(reader, LEGACY); break;
+                case "motto": nation.setMotto(readString(reader)); break;
+                case "governmentType": nation.setGovernmentType(readString(reader)); break;
+                case "allies": readStrings(reader, nation.getAllies()); break;
+                case "enemies": readStrings(reader, nation.getEnemies()); break;
+                case "pendingAlliance": readStrings(reader, nation.getPendingAlliance()); break;
+                case "history": readStrings(reader, nation.getHistory()); break;
+                case "citizens": citizens(reader); break;
+                case "tabIcons": tabIcons(reader); break;
+                case "reputation": reputation(reader); break;
+                case "roles": roles(reader); break;
+                case "economy": economy(reader); break;
+                case "territory": territory(reader); break;
+                default: reader.skipValue(); break;
+            }
+        }
+
+        private void economy(JsonReader reader) throws IOException {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                return;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "currency": currency(reader, BLOCK); break;
+                    case "treasury": number(reader, TREASURY, BLOCK); break;
+                    case "exchangeRateToAXC": number(reader, EXCHANGE_RATE, BLOCK); break;
+                    case "inflation": number(reader, INFLATION, BLOCK); break;
+                    case "taxRate": number(reader, TAX_RATE, BLOCK); break;
+                    case "budgetMilitary": number(reader, BUDGET_MILITARY, BLOCK); break;
+                    case "budgetHealth": number(reader, BUDGET_HEALTH, BLOCK); break;
+                    case "budgetEducation": number(reader, BUDGET_EDUCATION, BLOCK); break;
+                    default: reader.skipValue(); break;
+                }
+            }
+            reader.endObject();
+        }
+
+        private void territory(JsonReader reader) throws IOException {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                return;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "capitalChunk": capital(reader, BLOCK); break;
+                    case "claimedChunks": claims(reader, BLOCK); break;
+                    default: reader.skipValue(); break;
+                }
+            }
+            reader.endObject();
+        }
+
+        private boolean takes(int slot, int rank) {
+            if (rank < ranks[slot]) {
+                return false;
+            }
+            ranks[slot] = rank;
+            return true;
+        }
+
+        private void currency(JsonReader reader, int rank) throws IOException {
+            String value = readString(reader);
+            if (value != null && takes(CURRENCY, rank)) {
+                nation.setCurrencyCode(value);
+            }
+        }
+
+        private void capital(JsonReader reader, int rank) throws IOException {
+            String value = readString(reader);
+            if (value != null && takes(CAPITAL, rank)) {
+                nation.setCapitalChunkStr(value);
+            }
+        }
+
+        private void flagIcon(JsonReader reader, int rank) throws IOException {
+            // Present even as null: the tree path sets whatever the field holds
+            String value = readString(reader);
+            if (takes(FLAG_ICON, rank)) {
+                nation.setFlagIconMaterial(value);
+            }
+        }
+
+        private void number(JsonReader reader, int slot, int rank) throws IOException {
+            String raw = readString(reader);
+            if (raw == null) {
+                return;
+            }
+            double value;
+            try {
+                value = Double.parseDouble(raw);
+            } catch (NumberFormatException ignored) {
+                // Unreadable: the weaker source or the default stays
+                return;
+            }
+            if (!takes(slot, rank)) {
+                return;
+            }
+            switch (slot) {
+                case TREASURY: nation.setTreasury(value); break;
+                case EXCHANGE_RATE: nation.setExchangeRateToAXC(value); break;
+                case INFLATION: nation.setInflation(value); break;
+                case TAX_RATE: nation.setTaxRate((int) value); break;
+                case BUDGET_MILITARY: nation.setBudgetMilitary(value); break;
+                case BUDGET_HEALTH: nation.setBudgetHealth(value); break;
+                default: nation.setBudgetEducation(value); break;
+            }
+        }
+
+        private void claims(JsonReader reader, int rank) throws IOException {
+            if (reader.peek() != JsonToken.BEGIN_ARRAY || rank < ranks[CLAIMS]) {
+                reader.skipValue();
+                return;
+            }
+            ranks[CLAIMS] = rank;
+            // Only one source supplies the claims; a stronger one replaces what a weaker one gave
+            nation.getClaimedChunkKeys().clear();
+            readStrings(reader, nation.getClaimedChunkKeys());
+        }
+
+        private void citizens(JsonReader reader) throws IOException {
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                return;
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                String raw = readArrayScalar(reader);
+                if (raw == null) {
+                    continue;
+                }
+                try {
+                    nation.getCitizens().add(UUID.fromString(raw));
+                } catch (IllegalArgumentException ignored) {
+                }
+            }
+            reader.endArray();
+        }
+
+        private void tabIcons(JsonReader reader) throws IOException {
+            if (!beginObject(reader)) {
+                return;
+            }
+            while (reader.hasNext()) {
+                String key = reader.nextName();
+                String value = readString(reader);
+                if (value != null) {
+                    nation.getTabIcons().put(key, value);
+                }
+            }
+            reader.endObject();
+        }
+
+        private void reputation(JsonReader reader) throws IOException {
+            if (!beginObject(reader)) {
+                return;
+            }
+            while (reader.hasNext()) {
+                String key = reader.nextName();
+                if (isScalar(reader.peek())) {
+                    nation.getReputation().put(key, parseInt(readScalar(reader)));
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+
+        private void roles(JsonReader reader) throws IOException {
+            if (!beginObject(reader)) {
+                return;
+            }
+            while (reader.hasNext()) {
+                String key = reader.nextName();
+                String value = readString(reader);
+                try {
+                    UUID citizenId = UUID.fromString(key);
+                    Nation.Role role = Nation.Role.valueOf(value);
+                    nation.getCitizens().add(citizenId);
+                    nation.getRoles().put(citizenId, role);
+                } catch (Exception ignored) {
+                }
+            }
+            reader.endObject();
+        }
+
+        private static boolean beginObject(JsonReader reader) throws IOException {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                return false;
+            }
+            reader.beginObject();
+            return true;
+        }
+
+        /** Scalar value of a field or map entry; a nested value is skipped and counts as absent. */
+        private static String readString(JsonReader reader) throws IOException {
+            if (!isScalar(reader.peek())) {
+                reader.skipValue();
+                return null;
+            }
+            return readScalar(reader);
+        }
+
+        private static String readArrayScalar(JsonReader reader) throws IOException {
+            if (!isScalar(reader.peek())) {
+                throw new IllegalArgumentException("Invalid nation JSON (nested value in array)");
+            }
+            return readScalar(reader);
+        }
+
+        private static void readStrings(JsonReader reader, Collection<String> target) throws IOException {
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                return;
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                String value = readArrayScalar(reader);
+                if (value != null) {
+                    target.add(value);
+                }
+            }
+            reader.endArray();
+        }
+
+        private static boolean isScalar(JsonToken token) {
+            return token != JsonToken.BEGIN_ARRAY && token != JsonToken.BEGIN_OBJECT;
+        }
+    }
+
+    private static String readScalar(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case NULL:
+                reader.nextNull();
+                return null;
+            case BOOLEAN:
+                return Boolean.toString(reader.nextBoolean());
+            default:
+                // Strings and numbers: nextString keeps the literal, like JsonPrimitive.getAsString
+                return reader.nextString();
+        }
+    }
+
+    private static int parseInt(String raw) {
+        if (raw == null) {
+            throw new IllegalArgumentException("Invalid nation JSON (null number)");
+        }
+        try {
+            return Integer.parseInt(raw);
+        } catch (NumberFormatException ex) {
+            return (int) Double.parseDouble(raw);
+        }
+    }
+
     private static String getString(JsonObject o, String key) {
         if (o == null || key == null || !o.has(key)) return null;
         try {
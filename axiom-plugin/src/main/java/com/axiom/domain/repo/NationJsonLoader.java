@@ -0,0 +1,175 @@
+package com.axiom.domain.repo;
+
+import com.axiom.domain.model.Nation;
+import com.google.gson.stream.JsonReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads {@code nations/*.json} files with bounded parallelism, decoding each file straight from
+ * a streaming {@link JsonReader} (see {@link NationJsonCodec#read}). Binary {@code *.axn} files
+ * ({@link NationBinaryCodec}) are read from the same directory. A broken file never aborts
+ * the load; its error is collected in the {@link NationLoadReport}. The report also carries a
+ * fingerprint of each loaded file, so the writer does not rewrite content that is already on disk.
+ */
+public final class NationJsonLoader {
+    private NationJsonLoader() {}
+
+    /** Auto parallelism for {@code storage.loadThreads: 0}. */
+    public static int defaultParallelism() {
+        return Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors()));
+    }
+
+    public static Nation readFile(Path file, String defaultCurrencyCode) throws IOException {
+        return decode(file, Files.readAllBytes(file), defaultCurrencyCode);
+    }
+
+    private static Nation decode(Path file, byte[] content, String defaultCurrencyCode) throws IOException {
+        if (NationFileFormat.forFileName(file.getFileName().toString()) == NationFileFormat.BINARY) {
+            return NationBinaryCodec.decode(content, defaultCurrencyCode);
+        }
+        try (Reader in = new InputStreamReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8);
+             JsonReader reader = new JsonReader(in)) {
+            // Same leniency as JsonParser.parseReader, which existing files were read with
+            reader.setLenient(true);
+            return NationJsonCodec.read(reader, defaultCurrencyCode);
+        }
+    }
+
+    /**
+     * File of a nation in {@code dir}, in either format; when both exist the newer one wins, as in
+     * {@link #loadDirectory}. Null when the nation has no file.
+     */
+    public static File resolveFile(File dir, String id) {
+        File best = null;
+        for (NationFileFormat format : NationFileFormat.values()) {
+            File candidate = new File(dir, id + format.extension());
+            if (candidate.isFile() && (best == null || candidate.lastModified() > best.lastModified())) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    public static NationLoadReport loadDirectory(File dir, String defaultCurrencyCode, int parallelism) {
+        long started = System.nanoTime();
+        File[] listed = dir.listFiles((d, name) -> NationFileFormat.forFileName(name) != null);
+        List<File> files = listed == null ? new ArrayList<>() : new ArrayList<>(Arrays.asList(listed));
+        files.sort(Comparator.comparing(File::getName));
+
+        int threads = Math.max(1, Math.min(parallelism, files.size()));
+        Loaded[] decoded = new Loaded[files.size()];
+        Map<String, String> errors = new TreeMap<>();
+        if (threads == 1) {
+            for (int i = 0; i < files.size(); i++) {
+                decoded[i] = readOrRecord(files.get(i), defaultCurrencyCode, errors);
+            }
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(threads, new LoaderThreadFactory());
+            try {
+                List<Future<Loaded>> futures = new ArrayList<>(files.size());
+                for (File file : files) {
+                    futures.add(executor.submit(() -> readOrRecord(file, defaultCurrencyCode, errors)));
+                }
+                for (int i = 0; i < futures.size(); i++) {
+                    decoded[i] = await(futures.get(i), files.get(i), errors);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        // After a format switch a nation can briefly exist in both formats: keep the newer file
+        Map<String, Integer> byId = new LinkedHashMap<>();
+        for (int i = 0; i < decoded.length; i++) {
+            if (decoded[i] == null) {
+                continue;
+            }
+            String id = decoded[i].nation.getId();
+            Integer previous = byId.get(id);
+            if (previous == null || files.get(i).lastModified() >= files.get(previous).lastModified()) {
+                byId.put(id, i);
+            }
+        }
+        List<Nation> nations = new ArrayList<>(byId.size());
+        Map<String, NationLoadReport.FileFingerprint> fingerprints = new LinkedHashMap<>();
+        for (int index : byId.values()) {
+            Nation nation = decoded[index].nation;
+            nations.add(nation);
+            fingerprints.put(nation.getId(), new NationLoadReport.FileFingerprint(
+                NationFileFormat.forFileName(files.get(index).getName()), decoded[index].fingerprint));
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000L;
+        return new NationLoadReport(nations, fingerprints, errors, files.size(), threads, elapsedMillis);
+    }
+
+    private static Loaded readOrRecord(File file, String defaultCurrencyCode, Map<String, String> errors) {
+        try {
+            byte[] content = Files.readAllBytes(file.toPath());
+            return new Loaded(decode(file.toPath(), content, defaultCurrencyCode), NationWriteBehind.fingerprint(content));
+        } catch (Exception e) {
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            synchronized (errors) {
+                errors.put(file.getName(), message);
+            }
+            return null;
+        }
+    }
+
+    private static Loaded await(Future<Loaded> future, File file, Map<String, String> errors) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            synchronized (errors) {
+                errors.put(file.getName(), "interrupted");
+            }
+        } catch (ExecutionException e) {
+            synchronized (errors) {
+                errors.put(file.getName(), String.valueOf(e.getCause()));
+            }
+        }
+        return null;
+    }
+
+    private static final class Loaded {
+        private final Nation nation;
+        private final long fingerprint;
+
+        private Loaded(Nation nation, long fingerprint) {
+            this.nation = nation;
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    private static final class LoaderThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "AXIOM-NationLoad-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
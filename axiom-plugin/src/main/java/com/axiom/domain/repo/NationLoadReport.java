@@ -0,0 +1,84 @@
+package com.axiom.domain.repo;
+
+import com.axiom.domain.model.Nation;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of loading a directory of nation files: decoded nations plus per-file errors.
+ */
+public final class NationLoadReport {
+    private final List<Nation> nations;
+    private final Map<String, FileFingerprint> fingerprints;
+    private final Map<String, String> errors;
+    private final int fileCount;
+    private final int threads;
+    private final long elapsedMillis;
+
+    NationLoadReport(List<Nation> nations, Map<String, FileFingerprint> fingerprints, Map<String, String> errors,
+                     int fileCount, int threads, long elapsedMillis) {
+        this.nations = Collections.unmodifiableList(nations);
+        this.fingerprints = Collections.unmodifiableMap(fingerprints);
+        this.errors = Collections.unmodifiableMap(errors);
+        this.fileCount = fileCount;
+        this.threads = threads;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /** Successfully decoded nations, in file name order. */
+    public List<Nation> getNations() {
+        return nations;
+    }
+
+    /** Nation id -> format and content fingerprint of the file it was loaded from. */
+    public Map<String, FileFingerprint> getFingerprints() {
+        return fingerprints;
+    }
+
+    /** File name -> error message for every file that could not be read or decoded. */
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public String summary() {
+        return "loaded " + nations.size() + "/" + fileCount + " nation files in " + elapsedMillis
+            + " ms (threads: " + threads + ", errors: " + errors.size() + ")";
+    }
+
+    /** Format and {@link NationWriteBehind#fingerprint(byte[])} of a loaded nation file. */
+    public static final class FileFingerprint {
+        private final NationFileFormat format;
+        private final long hash;
+
+        FileFingerprint(NationFileFormat format, long hash) {
+            this.format = format;
+            this.hash = hash;
+        }
+
+        public NationFileFormat getFormat() {
+            return format;
+        }
+
+        public long getHash() {
+            return hash;
+        }
+    }
+}
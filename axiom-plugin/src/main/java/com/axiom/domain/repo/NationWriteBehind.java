@@ -0,0 +1,325 @@
+package com.axiom.domain.repo;
+
+import com.axiom.domain.model.Nation;
+import com.axiom.util.SnapshotBarrier;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind persistence for nation files.
+ * <p>
+ * {@link #markDirty(Nation)} only records the nation as dirty and queues it on a single writer
+ * thread, so mutators return immediately. Repeated saves of the same nation inside the
+ * coalescing window collapse into one write. The writer serializes the nation through the
+ * supplied function without any lock and writes it to a temporary file that is then renamed
+ * over the target, so a crash never leaves a torn file. The {@link Nation#getVersion()} and
+ * {@link Nation#getCollectionsFingerprint()} read before serializing are what gets recorded as
+ * written: a change that races the snapshot moves them on, and the nation is written again by
+ * the next flush.
+ * <p>
+ * A flush finds nations changed without a save by comparing versions (setters) and collection
+ * fingerprints (edits made through the mutable collections, which many services make without
+ * saving), so it serializes only what changed. Content identical to the file on disk is not
+ * rewritten; {@link #seed} records the loaded files, so nothing is rewritten after a restart
+ * until it actually changes.
+ * Files are written in the configured {@link NationFileFormat}; a file of the other format
+ * left for the same nation is removed once the new one is in place. The rename and that removal
+ * hold a {@link SnapshotBarrier} permit, so a backup freeze never sees half of a file swap.
+ */
+public final class NationWriteBehind {
+    static final long COALESCE_MILLIS = 200L;
+    static final long RETRY_MILLIS = 1_000L;
+
+    private final File dir;
+    private final NationFileFormat format;
+    private final Function<Nation, byte[]> snapshot;
+    private final Logger logger;
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+    // Nation version, collections fingerprint and content fingerprint of the file currently on disk
+    private final Map<String, Long> writtenVersions = new ConcurrentHashMap<>();
+    private final Map<String, Long> writtenCollections = new ConcurrentHashMap<>();
+    private final Map<String, Long> writtenHashes = new ConcurrentHashMap<>();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong skippedUnchanged = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private ScheduledExecutorService executor;
+
+    public NationWriteBehind(File dir, NationFileFormat format, Function<Nation, byte[]> snapshot, Logger logger) {
+        this.dir = dir;
+        this.format = format;
+        this.snapshot = snapshot;
+        this.logger = logger != null ? logger : Logger.getLogger(NationWriteBehind.class.getName());
+    }
+
+    /** Records the files the nations were loaded from as already written. */
+    public void seed(NationLoadReport report) {
+        for (Nation nation : report.getNations()) {
+            writtenVersions.put(nation.getId(), nation.getVersion());
+            writtenCollections.put(nation.getId(), nation.getCollectionsFingerprint());
+            NationLoadReport.FileFingerprint file = report.getFingerprints().get(nation.getId());
+            // A file of the other format is rewritten on the next change anyway
+            if (file != null && file.getFormat() == format) {
+                writtenHashes.put(nation.getId(), file.getHash());
+            }
+        }
+    }
+
+    /** Records a change and schedules a write; never blocks on I/O. */
+    public void markDirty(Nation nation) {
+        if (nation == null || nation.getId() == null) {
+            return;
+        }
+        String id = nation.getId();
+        // Each mark replaces the entry; the writer only clears the exact entry it wrote
+        pending.put(id, new Pending(nation));
+        if (queued.add(id)) {
+            schedule(id, COALESCE_MILLIS);
+        } else {
+            coalesced.incrementAndGet();
+        }
+    }
+
+    public boolean isDirty(String nationId) {
+        return pending.containsKey(nationId);
+    }
+
+    public int getDirtyCount() {
+        return pending.size();
+    }
+
+    /**
+     * Writes every dirty nation, plus any candidate whose version or collections fingerprint
+     * moved since its last write (covers services that change a nation through a setter or one
+     * of its collections without calling save). Checking a candidate hashes its collections but
+     * does not serialize it; only changed nations are serialized. Blocks until the writer thread
+     * is done.
+     *
+     * @return number of files written
+     */
+    public int flush(Collection<Nation> candidates) throws IOException {
+        if (candidates != null) {
+            for (Nation nation : candidates) {
+                if (nation != null && nation.getId() != null && isChanged(nation)) {
+                    pending.putIfAbsent(nation.getId(), new Pending(nation));
+                }
+            }
+        }
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        try {
+            return executor().submit(() -> {
+                int written = 0;
+                for (String id : new ArrayList<>(pending.keySet())) {
+                    if (writeNow(id)) {
+                        written++;
+                    }
+                }
+                return written;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while flushing nations", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Nation flush failed: " + e.getCause(), e.getCause());
+        }
+    }
+
+    /**
+     * Drops any pending write of the nation and queues the removal of its files in every format
+     * on the writer thread, without waiting for it. Being queued behind the writes already
+     * submitted, the removal runs after any write in progress, so that write cannot recreate the
+     * file afterwards; {@link #close()} waits for it like for any other queued work.
+     */
+    public void delete(String id) {
+        pending.remove(id);
+        executor().execute(() -> {
+            writtenVersions.remove(id);
+            writtenCollections.remove(id);
+            writtenHashes.remove(id);
+            SnapshotBarrier.enterWrite();
+            try {
+                for (NationFileFormat format : NationFileFormat.values()) {
+                    Files.deleteIfExists(new File(dir, id + format.extension()).toPath());
+                }
+            } catch (IOException e) {
+                recordFailure(id, e);
+            } finally {
+                SnapshotBarrier.exitWrite();
+            }
+        });
+    }
+
+    /** Flushes dirty nations and stops the writer thread. */
+    public void close() {
+        try {
+            flush(null);
+        } catch (IOException e) {
+            logger.severe("Failed to flush nations on shutdown: " + e.getMessage());
+        }
+        ScheduledExecutorService current;
+        synchronized (this) {
+            current = executor;
+            executor = null;
+        }
+        if (current != null) {
+            current.shutdown();
+            try {
+                if (!current.awaitTermination(10, TimeUnit.SECONDS)) {
+                    logger.warning("Nation writer did not stop in time; pending writes: " + pending.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void schedule(String id, long delayMillis) {
+        executor().schedule(() -> {
+            queued.remove(id);
+            writeNow(id);
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private boolean writeNow(String id) {
+        Pending entry = pending.get(id);
+        if (entry == null) {
+            return false;
+        }
+        try {
+            long version = entry.nation.getVersion();
+            long collections = entry.nation.getCollectionsFingerprint();
+            boolean written = write(id, snapshot.apply(entry.nation), version, collections);
+            // A newer markDirty replaced the entry while we were writing: keep it pending
+            pending.remove(id, entry);
+            return written;
+        } catch (Exception e) {
+            recordFailure(id, e);
+            if (queued.add(id)) {
+                schedule(id, RETRY_MILLIS);
+            }
+            return false;
+        }
+    }
+
+    private boolean isChanged(Nation nation) {
+        Long written = writtenVersions.get(nation.getId());
+        if (written == null || written != nation.getVersion()) {
+            return true;
+        }
+        try {
+            Long collections = writtenCollections.get(nation.getId());
+            return collections == null || collections != nation.getCollectionsFingerprint();
+        } catch (ConcurrentModificationException e) {
+            // Being changed right now; the snapshot retries on the same failure
+            return true;
+        }
+    }
+
+    private void recordFailure(String id, Exception e) {
+        // A snapshot can fail on a concurrent modification; the nation stays dirty and is retried
+        long count = failures.incrementAndGet();
+        if (count == 1 || count % 100 == 0) {
+            logger.warning("Failed to save nation " + id + " (failures: " + count + "): " + e.getMessage());
+        }
+    }
+
+    private boolean write(String id, byte[] content, long version, long collections) throws IOException {
+        long hash = fingerprint(content);
+        Long previous = writtenHashes.get(id);
+        if (previous != null && previous == hash) {
+            skippedUnchanged.incrementAndGet();
+            writtenVersions.put(id, version);
+            writtenCollections.put(id, collections);
+            return false;
+        }
+        Path target = new File(dir, id + format.extension()).toPath();
+        Path temp = new File(dir, id + format.extension() + ".tmp").toPath();
+        Files.write(temp, content);
+        SnapshotBarrier.enterWrite();
+        try {
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            for (NationFileFormat other : NationFileFormat.values()) {
+                if (other != format) {
+                    Files.deleteIfExists(new File(dir, id + other.extension()).toPath());
+                }
+            }
+        } finally {
+            SnapshotBarrier.exitWrite();
+        }
+        writtenHashes.put(id, hash);
+        writtenVersions.put(id, version);
+        writtenCollections.put(id, collections);
+        writes.incrementAndGet();
+        return true;
+    }
+
+    /** 64-bit FNV-1a over the encoded bytes. */
+    static long fingerprint(byte[] content) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : content) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private synchronized ScheduledExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "AXIOM-NationWriter");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    public long getWrites() {
+        return writes.get();
+    }
+
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    public long getSkippedUnchanged() {
+        return skippedUnchanged.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    private static final class Pending {
+        private final Nation nation;
+
+        private Pending(Nation nation) {
+            this.nation = nation;
+        }
+    }
+}
@@ -12,6 +12,7 @@ import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.infrastructure.VisualEffectsService;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages banking: loans, interest, deposits. */
 public class BankingService {
@@ -36,7 +37,7 @@ public class BankingService {
         this.loansDir = new File(plugin.getDataFolder(), "loans");
         this.loansDir.mkdirs();
         loadAll();
-        Bukkit.getScheduler().runTaskTimer(plugin, this::processInterest, 0, 20 * 60 * 60); // hourly
+        plugin.getSimulationScheduler().schedule("BankingService.processInterest", this::processInterest, 20 * 60 * 60); // hourly
     }
 
     public synchronized String issueLoan(String lenderId, String borrowerId, double amount, double interestRate, long durationDays) throws IOException {
@@ -203,8 +204,9 @@ public class BankingService {
         o.addProperty("interestRate", loan.interestRate);
         o.addProperty("issuedAt", loan.issuedAt);
         o.addProperty("dueAt", loan.dueAt);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         }
     }
 
@@ -14,6 +14,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import com.axiom.domain.service.state.PlayerDataManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages black market trading (illegal resources, weapons). */
 public class BlackMarketService {
@@ -88,8 +89,9 @@ public class BlackMarketService {
                 o.addProperty(entry.getKey(), entry.getValue());
             }
         }
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages commodity market prices and trading. */
 public class CommodityMarketService {
@@ -27,7 +28,7 @@ public class CommodityMarketService {
         this.marketDir.mkdirs();
         loadPrices();
         syncPrices();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::updatePrices, 0, 20 * 60 * 5); // every 5 minutes
+        plugin.getSimulationScheduler().schedule("CommodityMarketService.updatePrices", this::updatePrices, 20 * 60 * 5); // every 5 minutes
     }
 
     private void updatePrices() {
@@ -110,8 +111,9 @@ public class CommodityMarketService {
         for (var entry : commodityPrices.entrySet()) {
             o.addProperty(entry.getKey(), entry.getValue());
         }
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages currency unions between nations. */
 public class CurrencyUnionService {
@@ -119,8 +120,9 @@ public class CurrencyUnionService {
             arr.add(nationId);
         }
         o.add("memberNations", arr);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages economic crises and their effects. */
 public class EconomicCrisisService {
@@ -33,7 +34,7 @@ public class EconomicCrisisService {
         this.crisesDir = new File(plugin.getDataFolder(), "economiccrises");
         this.crisesDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processCrises, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("EconomicCrisisService.processCrises", this::processCrises, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String triggerCrisis(String nationId, String type, double severity, int durationDays) {
@@ -144,8 +145,9 @@ public class EconomicCrisisService {
         o.addProperty("startedAt", crisis.startedAt);
         o.addProperty("endsAt", crisis.endsAt);
         o.addProperty("active", crisis.active);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -2,6 +2,7 @@ package com.axiom.domain.service.industry;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -31,7 +32,7 @@ public class EnergyService {
         this.energyDir = new File(plugin.getDataFolder(), "energy");
         this.energyDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processEnergy, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("EnergyService.processEnergy", this::processEnergy, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String buildPowerPlant(String nationId, String source, double cost, double production) {
@@ -216,8 +217,9 @@ public class EnergyService {
         o.addProperty("storage", ed.storage);
         o.addProperty("maxStorage", ed.maxStorage);
         o.addProperty("source", ed.source);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
 
@@ -2,6 +2,7 @@ package com.axiom.domain.service.industry;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -129,8 +130,9 @@ public class ImportExportService {
             }
         }
         o.add("transactions", arr);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
 }
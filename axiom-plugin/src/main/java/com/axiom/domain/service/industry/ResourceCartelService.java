@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages resource cartels (OPEC-like organizations). */
 public class ResourceCartelService {
@@ -34,7 +35,7 @@ public class ResourceCartelService {
         this.cartelsDir = new File(plugin.getDataFolder(), "resourcecartels");
         this.cartelsDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processCartels, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("ResourceCartelService.processCartels", this::processCartels, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String createCartel(String name, String resourceType, String initiatorId, double priceControl) {
@@ -142,8 +143,9 @@ public class ResourceCartelService {
             arr.add(nationId);
         }
         o.add("memberNations", arr);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
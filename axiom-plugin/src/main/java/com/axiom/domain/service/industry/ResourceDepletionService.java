@@ -1,6 +1,7 @@
 package com.axiom.domain.service.industry;
 
 import com.axiom.AXIOM;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -21,7 +22,7 @@ public class ResourceDepletionService {
         this.depletionDir = new File(plugin.getDataFolder(), "depletion");
         this.depletionDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processDepletion, 0, 20 * 60 * 5); // every 5 minutes
+        plugin.getSimulationScheduler().schedule("ResourceDepletionService.processDepletion", this::processDepletion, 20 * 60 * 5); // every 5 minutes
     }
 
     private synchronized void processDepletion() {
@@ -77,8 +78,9 @@ public class ResourceDepletionService {
                 }
             }
         }
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
 
@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages resource discovery events. */
 public class ResourceDiscoveryService {
@@ -32,7 +33,7 @@ public class ResourceDiscoveryService {
         this.discoveriesDir = new File(plugin.getDataFolder(), "discoveries");
         this.discoveriesDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::generateDiscoveries, 0, 20 * 60 * 30); // every 30 minutes
+        plugin.getSimulationScheduler().schedule("ResourceDiscoveryService.generateDiscoveries", this::generateDiscoveries, 20 * 60 * 30); // every 30 minutes
     }
 
     private void generateDiscoveries() {
@@ -123,8 +124,9 @@ public class ResourceDiscoveryService {
             }
         }
         o.add("discoveries", arr);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
 
@@ -21,7 +21,7 @@ public class ResourceProcessingService {
 
     public ResourceProcessingService(AXIOM plugin) {
         this.plugin = plugin;
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processResources, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("ResourceProcessingService.processResources", this::processResources, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String buildProcessingFacility(String nationId, String resourceType, double cost) {
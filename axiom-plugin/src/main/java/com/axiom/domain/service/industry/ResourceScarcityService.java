@@ -13,6 +13,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import com.axiom.domain.service.state.HappinessService;
+import com.axiom.util.AtomicFileWriter;
 
 /** Tracks resource scarcity and its economic impact. */
 public class ResourceScarcityService {
@@ -25,7 +26,7 @@ public class ResourceScarcityService {
         this.scarcityDir = new File(plugin.getDataFolder(), "scarcity");
         this.scarcityDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::updateScarcity, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("ResourceScarcityService.updateScarcity", this::updateScarcity, 20 * 60 * 10); // every 10 minutes
     }
 
     private void updateScarcity() {
@@ -80,8 +81,9 @@ public class ResourceScarcityService {
         for (var entry : levels.entrySet()) {
             o.addProperty(entry.getKey(), entry.getValue());
         }
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
 
@@ -1,6 +1,7 @@
 package com.axiom.domain.service.industry;
 
 import com.axiom.AXIOM;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -170,8 +171,9 @@ public class ResourceService {
                 o.addProperty(entry.getKey(), entry.getValue());
             }
         }
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages strategic resource stockpiles for emergency situations. */
 public class ResourceStockpileService {
@@ -32,7 +33,7 @@ public class ResourceStockpileService {
         this.stockpilesDir = new File(plugin.getDataFolder(), "stockpiles");
         this.stockpilesDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processStockpiles, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("ResourceStockpileService.processStockpiles", this::processStockpiles, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String addToStockpile(String nationId, String resourceType, double amount) {
@@ -137,8 +138,9 @@ public class ResourceStockpileService {
             }
         }
         o.add("resources", resources);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
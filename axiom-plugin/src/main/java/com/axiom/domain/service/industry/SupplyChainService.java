@@ -1,6 +1,7 @@
 package com.axiom.domain.service.industry;
 
 import com.axiom.AXIOM;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -105,8 +106,9 @@ public class SupplyChainService {
         o.addProperty("resourceType", sc.resourceType);
         o.addProperty("ratePerHour", sc.ratePerHour);
         o.addProperty("active", sc.active);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         }
     }
     
@@ -2,6 +2,7 @@ package com.axiom.domain.service.industry;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -32,7 +33,7 @@ public class TradeAgreementService {
         this.agreementsDir = new File(plugin.getDataFolder(), "tradeagreements");
         this.agreementsDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processAgreements, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("TradeAgreementService.processAgreements", this::processAgreements, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String createAgreement(String nationA, String nationB, String resourceType, double pricePerUnit, int quantityPerPeriod) throws IOException {
@@ -128,8 +129,9 @@ public class TradeAgreementService {
         o.addProperty("quantityPerPeriod", ta.quantityPerPeriod);
         o.addProperty("nextTrade", ta.nextTrade);
         o.addProperty("active", ta.active);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         }
     }
 
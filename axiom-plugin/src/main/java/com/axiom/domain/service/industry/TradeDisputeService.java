@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages trade disputes and arbitration. */
 public class TradeDisputeService {
@@ -133,8 +134,9 @@ public class TradeDisputeService {
         o.addProperty("filedAt", dispute.filedAt);
         o.addProperty("resolved", dispute.resolved);
         o.addProperty("resolution", dispute.resolution);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
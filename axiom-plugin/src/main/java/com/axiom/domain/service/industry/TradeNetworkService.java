@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages trade networks between multiple nations. */
 public class TradeNetworkService {
@@ -33,7 +34,7 @@ public class TradeNetworkService {
         this.networksDir = new File(plugin.getDataFolder(), "tradenetworks");
         this.networksDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processNetworks, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("TradeNetworkService.processNetworks", this::processNetworks, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String createNetwork(String name, String founderId) {
@@ -138,8 +139,9 @@ public class TradeNetworkService {
             arr.add(nationId);
         }
         o.add("memberNations", arr);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -2,6 +2,7 @@ package com.axiom.domain.service.industry;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -32,7 +33,7 @@ public class TradeRouteService {
         this.routesDir = new File(plugin.getDataFolder(), "traderoutes");
         this.routesDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processRoutes, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("TradeRouteService.processRoutes", this::processRoutes, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String establishRoute(String cityA, String cityB, String nationA, String nationB, double cost) {
@@ -123,8 +124,9 @@ public class TradeRouteService {
         o.addProperty("capacity", tr.capacity);
         o.addProperty("active", tr.active);
         o.addProperty("establishedAt", tr.establishedAt);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
 
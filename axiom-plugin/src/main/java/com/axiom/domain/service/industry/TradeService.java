@@ -11,7 +11,6 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
-import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
@@ -23,6 +22,7 @@ import com.axiom.domain.service.infrastructure.StatisticsService;
 import com.axiom.domain.service.infrastructure.VisualEffectsService;
 import com.axiom.domain.service.politics.DiplomacyRelationService;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages trade treaties, sanctions, and embargos between nations. */
 public class TradeService {
@@ -96,8 +96,9 @@ public class TradeService {
         o.addProperty("nationB", nationBId);
         o.addProperty("tradeBonus", 0.1); // 10% trade bonus
         o.addProperty("signedAt", System.currentTimeMillis());
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         }
         
         // VISUAL EFFECTS: Celebrate trade treaty
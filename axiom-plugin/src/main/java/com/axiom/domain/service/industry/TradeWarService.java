@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages trade wars (tariff battles, etc.). */
 public class TradeWarService {
@@ -33,7 +34,7 @@ public class TradeWarService {
         this.tradeWarsDir = new File(plugin.getDataFolder(), "tradewars");
         this.tradeWarsDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processTradeWars, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("TradeWarService.processTradeWars", this::processTradeWars, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String startTradeWar(String nationA, String nationB, double tariff) {
@@ -139,8 +140,9 @@ public class TradeWarService {
         o.addProperty("tariffB", war.tariffB);
         o.addProperty("startedAt", war.startedAt);
         o.addProperty("active", war.active);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
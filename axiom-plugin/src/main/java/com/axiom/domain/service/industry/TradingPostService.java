@@ -1,6 +1,7 @@
 package com.axiom.domain.service.industry;
 
 import com.axiom.AXIOM;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -140,8 +141,9 @@ public class TradingPostService {
             offersObj.add(entry.getKey(), offerObj);
         }
         o.add("offers", offersObj);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         }
     }
     
@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages tribute payments between nations (vassals, victors). */
 public class TributeService {
@@ -32,7 +33,7 @@ public class TributeService {
         this.tributeDir = new File(plugin.getDataFolder(), "tributes");
         this.tributeDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::collectTributes, 0, 20 * 60); // every minute
+        plugin.getSimulationScheduler().schedule("TributeService.collectTributes", this::collectTributes, 20 * 60); // every minute
     }
 
     public synchronized String establishTribute(String payerId, String receiverId, double amount, long intervalMinutes) {
@@ -100,8 +101,9 @@ public class TributeService {
         o.addProperty("amount", t.amount);
         o.addProperty("intervalMinutes", t.intervalMinutes);
         o.addProperty("nextPayment", t.nextPayment);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -1,6 +1,7 @@
 package com.axiom.domain.service.infrastructure;
 
 import com.axiom.AXIOM;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -248,8 +249,9 @@ public class AchievementService {
         JsonArray arr = new JsonArray();
         for (String a : playerAchievements.getOrDefault(uuid, Collections.emptySet())) arr.add(a);
         o.add("achievements", arr);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -1,27 +1,44 @@
 package com.axiom.domain.service.infrastructure;
 
 import com.axiom.AXIOM;
+import com.axiom.infra.persistence.SnapshotStore;
+import com.axiom.util.SnapshotBarrier;
 import org.bukkit.Bukkit;
 
 import java.io.*;
 import java.text.SimpleDateFormat;
 import java.util.*;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
 /**
  * Automatic backup service for AXIOM data.
- * Creates backups every 24 hours, keeps last 7 backups.
+ * Creates incremental snapshots every 24 hours (see {@link SnapshotStore}): unchanged files are
+ * stored once and shared between snapshots, so any kept snapshot can be restored. Legacy
+ * {@code .zip} backups stay listable and restorable.
+ * <p>
+ * Data is captured through {@link SnapshotBarrier}: write-behind stores flush, writes pause
+ * while the data folder is hard-linked into a staging directory, and the snapshot is then built
+ * from that frozen view on the calling (async) thread. The SQLite database is not linked: the
+ * open storage writes a consistent copy into the staging directory instead.
  */
 public class BackupService {
+    private static final String SNAPSHOT_PREFIX = "axiom_";
+    private static final String TIME_PATTERN = "yyyy-MM-dd_HH-mm-ss";
+    private static final String PRE_RESTORE_DIR = "pre-restore";
     private final AXIOM plugin;
     private final File backupDir;
-    private static final int MAX_BACKUPS = 7;
+    private final SnapshotStore store;
+    private final int maxBackups;
     
     public BackupService(AXIOM plugin) {
         this.plugin = plugin;
         this.backupDir = new File(plugin.getDataFolder().getParentFile(), "AXIOM_backups");
         this.backupDir.mkdirs();
+        int threads = plugin.getConfig().getInt("backup.threads", 0);
+        this.store = new SnapshotStore(new File(backupDir, "store"),
+            threads > 0 ? threads : Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors())));
+        this.maxBackups = Math.max(1, plugin.getConfig().getInt("backup.keep", 30));
+        // Leftover frozen view of a backup interrupted by a crash
+        deleteDirectory(new File(backupDir, "staging"));
         
         // Schedule automatic backups every 24 hours
         plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, this::createBackup, 
@@ -33,22 +50,29 @@ public class BackupService {
     }
     
     /**
-     * Create a backup of all AXIOM data.
+     * Create an incremental snapshot of all AXIOM data.
      */
     public synchronized String createBackup() {
         try {
-            String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
-            File backupFile = new File(backupDir, "axiom_backup_" + timestamp + ".zip");
-            
-            try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(backupFile))) {
-                File dataFolder = plugin.getDataFolder();
-                addDirectoryToZip(dataFolder, dataFolder, zos);
+            String name = SNAPSHOT_PREFIX + new SimpleDateFormat(TIME_PATTERN).format(new Date());
+            for (int i = 2; store.exists(name); i++) {
+                name = SNAPSHOT_PREFIX + new SimpleDateFormat(TIME_PATTERN).format(new Date()) + "_" + i;
+            }
+            File staging = new File(backupDir, "staging" + File.separator + name);
+            SnapshotBarrier.Frozen frozen;
+            SnapshotStore.Result result;
+            try {
+                frozen = SnapshotBarrier.freeze(plugin.getDataFolder().toPath(), staging.toPath(), BackupService::isBackedUp);
+                result = store.snapshot(staging.toPath(), name, path -> true);
+            } finally {
+                deleteDirectory(staging);
             }
             
             cleanOldBackups();
             
-            plugin.getLogger().info("Backup создан: " + backupFile.getName());
-            return "Backup создан: " + backupFile.getName();
+            plugin.getLogger().info("Backup создан: " + result.summary() + ", пауза записи " + frozen.getPauseMillis()
+                + " мс (ожидание " + frozen.getWaitMillis() + " мс)");
+            return "Backup создан: " + name + " (изменено файлов: " + result.getNewObjects() + " из " + result.getFiles() + ")";
         } catch (Exception e) {
             plugin.getLogger().severe("Ошибка создания backup: " + e.getMessage());
             e.printStackTrace();
@@ -56,69 +80,44 @@ public class BackupService {
         }
     }
     
-    private void addDirectoryToZip(File sourceDir, File rootDir, ZipOutputStream zos) throws IOException {
-        File[] files = sourceDir.listFiles();
-        if (files == null) return;
-        
-        for (File file : files) {
-            if (file.isDirectory()) {
-                addDirectoryToZip(file, rootDir, zos);
-            } else {
-                String relativePath = rootDir.toPath().relativize(file.toPath()).toString().replace("\\", "/");
-                ZipEntry entry = new ZipEntry(relativePath);
-                zos.putNextEntry(entry);
-                
-                try (FileInputStream fis = new FileInputStream(file)) {
-                    byte[] buffer = new byte[1024];
-                    int length;
-                    while ((length = fis.read(buffer)) > 0) {
-                        zos.write(buffer, 0, length);
-                    }
-                }
-                zos.closeEntry();
-            }
-        }
+    private static boolean isBackedUp(String relativePath) {
+        // Unfinished atomic writes are never part of a snapshot
+        return !relativePath.endsWith(".tmp") && !relativePath.endsWith(".restore");
     }
     
     /**
      * Restore from a backup (OP only).
+     * Accepts a snapshot name, a legacy .zip name, or a point in time
+     * ("yyyy-MM-dd", "yyyy-MM-dd_HH-mm", "yyyy-MM-dd_HH-mm-ss"): the latest snapshot taken
+     * at or before it is restored.
      */
     public synchronized String restoreBackup(String backupFileName) {
-        File backupFile = new File(backupDir, backupFileName);
-        if (!backupFile.exists()) {
+        String snapshot = resolveSnapshot(backupFileName);
+        File legacyZip = new File(backupDir, backupFileName);
+        boolean legacy = snapshot == null && backupFileName.endsWith(".zip") && legacyZip.isFile();
+        if (snapshot == null && !legacy) {
             return "Backup не найден: " + backupFileName;
         }
         
         try {
-            // Create temporary backup of current data
-            String tempBackup = createBackup();
-            
-            // Extract backup
             File dataFolder = plugin.getDataFolder();
             
-            // Delete current data (except config.yml and plugin.yml)
-            deleteDirectoryExceptConfig(dataFolder);
+            // Keep the current data as a hard-linked view instead of a full backup
+            File preRestore = new File(backupDir, PRE_RESTORE_DIR);
+            deleteDirectory(preRestore);
+            SnapshotBarrier.freeze(dataFolder.toPath(), preRestore.toPath(), BackupService::isBackedUp);
             
-            // Extract zip
-            try (java.util.zip.ZipInputStream zis = new java.util.zip.ZipInputStream(new FileInputStream(backupFile))) {
-                java.util.zip.ZipEntry entry;
-                while ((entry = zis.getNextEntry()) != null) {
-                    File file = new File(dataFolder, entry.getName());
-                    if (entry.isDirectory()) {
-                        file.mkdirs();
-                    } else {
-                        file.getParentFile().mkdirs();
-                        try (FileOutputStream fos = new FileOutputStream(file)) {
-                            byte[] buffer = new byte[1024];
-                            int length;
-                            while ((length = zis.read(buffer)) > 0) {
-                                fos.write(buffer, 0, length);
-                            }
-                        }
-                    }
-                    zis.closeEntry();
+            // No data writes while files are replaced
+            SnapshotBarrier.exclusive(() -> {
+                // Delete current data (except config.yml and plugin.yml)
+                deleteDirectoryExceptConfig(dataFolder);
+                
+                if (legacy) {
+                    extractZip(legacyZip, dataFolder);
+                } else {
+                    store.restore(snapshot, dataFolder.toPath());
                 }
-            }
+            });
             
             // Reload plugin data
             Bukkit.getScheduler().runTask(plugin, () -> {
@@ -126,8 +125,9 @@ public class BackupService {
                 plugin.onEnable();
             });
             
-            plugin.getLogger().info("Backup восстановлен: " + backupFileName);
-            return "Backup восстановлен: " + backupFileName + " (временный backup: " + tempBackup + ")";
+            String restored = legacy ? backupFileName : snapshot;
+            plugin.getLogger().info("Backup восстановлен: " + restored);
+            return "Backup восстановлен: " + restored + " (прежние данные: " + preRestore.getPath() + ")";
         } catch (Exception e) {
             plugin.getLogger().severe("Ошибка восстановления backup: " + e.getMessage());
             e.printStackTrace();
@@ -135,6 +135,74 @@ public class BackupService {
         }
     }
     
+    /** Snapshot by exact name, or the latest one taken at or before the given time. */
+    private String resolveSnapshot(String nameOrTime) {
+        if (nameOrTime == null || nameOrTime.isEmpty()) {
+            return null;
+        }
+        if (!nameOrTime.contains("/") && !nameOrTime.contains("\\") && !nameOrTime.startsWith(".")
+            && store.exists(nameOrTime)) {
+            return nameOrTime;
+        }
+        Date pointInTime = parsePointInTime(nameOrTime);
+        if (pointInTime == null) {
+            return null;
+        }
+        String bound = SNAPSHOT_PREFIX + new SimpleDateFormat(TIME_PATTERN).format(pointInTime);
+        String best = null;
+        for (String name : store.list()) {
+            // Names embed the timestamp, so they sort chronologically
+            if (name.startsWith(SNAPSHOT_PREFIX) && name.compareTo(bound) <= 0) {
+                best = name;
+            }
+        }
+        return best;
+    }
+    
+    private static Date parsePointInTime(String value) {
+        String[][] patterns = {
+            {TIME_PATTERN, ""},
+            {"yyyy-MM-dd_HH-mm", "59"},
+            {"yyyy-MM-dd", "23-59-59"}
+        };
+        for (String[] pattern : patterns) {
+            try {
+                SimpleDateFormat format = new SimpleDateFormat(pattern[0]);
+                format.setLenient(false);
+                Date parsed = format.parse(value);
+                if (!format.format(parsed).equals(value)) {
+                    continue;
+                }
+                // Inclusive end of the given minute/day
+                String end = pattern[1].isEmpty() ? value : value + (pattern[1].length() == 2 ? "-" : "_") + pattern[1];
+                return new SimpleDateFormat(TIME_PATTERN).parse(end);
+            } catch (java.text.ParseException ignored) {
+            }
+        }
+        return null;
+    }
+    
+    private void extractZip(File backupFile, File dataFolder) throws IOException {
+        try (java.util.zip.ZipInputStream zis = new java.util.zip.ZipInputStream(new FileInputStream(backupFile))) {
+            java.util.zip.ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                File file = new File(dataFolder, entry.getName());
+                if (!file.getCanonicalPath().startsWith(dataFolder.getCanonicalPath() + File.separator)) {
+                    throw new IOException("Zip entry outside of data folder: " + entry.getName());
+                }
+                if (entry.isDirectory()) {
+                    file.mkdirs();
+                } else {
+                    file.getParentFile().mkdirs();
+                    try (FileOutputStream fos = new FileOutputStream(file)) {
+                        zis.transferTo(fos);
+                    }
+                }
+                zis.closeEntry();
+            }
+        }
+    }
+    
     private void deleteDirectoryExceptConfig(File dir) {
         if (!dir.exists()) return;
         
@@ -169,35 +237,34 @@ public class BackupService {
     }
     
     /**
-     * List available backups.
+     * List available backups (snapshots first, then legacy zips), newest first.
      */
     public synchronized List<String> listBackups() {
+        List<String> backups = new ArrayList<>(store.list());
+        Collections.reverse(backups);
+        List<String> zips = new ArrayList<>();
         File[] files = backupDir.listFiles((d, n) -> n.endsWith(".zip"));
-        if (files == null) return new ArrayList<>();
-        
-        List<String> backups = new ArrayList<>();
-        for (File f : files) {
-            backups.add(f.getName());
+        if (files != null) {
+            for (File f : files) {
+                zips.add(f.getName());
+            }
         }
-        backups.sort(Collections.reverseOrder()); // Newest first
+        zips.sort(Collections.reverseOrder());
+        backups.addAll(zips);
         return backups;
     }
     
     /**
-     * Clean old backups, keep only last MAX_BACKUPS.
+     * Clean old snapshots, keep only the last maxBackups, and drop content no snapshot uses.
      */
     private void cleanOldBackups() {
-        File[] files = backupDir.listFiles((d, n) -> n.endsWith(".zip"));
-        if (files == null || files.length <= MAX_BACKUPS) return;
-        
-        // Sort by modification time (oldest first)
-        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
-        
-        // Delete oldest
-        int toDelete = files.length - MAX_BACKUPS;
-        for (int i = 0; i < toDelete; i++) {
-            files[i].delete();
-            plugin.getLogger().info("Старый backup удалён: " + files[i].getName());
+        try {
+            int deleted = store.prune(maxBackups);
+            if (deleted > 0) {
+                plugin.getLogger().info("Старых backup удалено: " + deleted);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Ошибка очистки старых backup: " + e.getMessage());
         }
     }
     
@@ -209,27 +276,31 @@ public class BackupService {
         
         List<String> backups = listBackups();
         stats.put("totalBackups", backups.size());
-        stats.put("maxBackups", MAX_BACKUPS);
+        stats.put("maxBackups", maxBackups);
         stats.put("backupsList", backups);
         
-        // Backup sizes and dates
+        // Backup sizes and dates (size of a snapshot is the data it restores)
         List<Map<String, Object>> backupsDetails = new ArrayList<>();
         for (String backupName : backups) {
-            File backupFile = new File(backupDir, backupName);
+            long size = getBackupSize(backupName);
+            long modified = backupTime(backupName);
             Map<String, Object> backupData = new HashMap<>();
             backupData.put("name", backupName);
-            backupData.put("size", backupFile.length());
-            backupData.put("sizeMB", backupFile.length() / 1024.0 / 1024.0);
-            backupData.put("lastModified", backupFile.lastModified());
-            backupData.put("lastModifiedDate", new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(backupFile.lastModified())));
+            backupData.put("size", size);
+            backupData.put("sizeMB", size / 1024.0 / 1024.0);
+            backupData.put("lastModified", modified);
+            backupData.put("lastModifiedDate", new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(modified)));
             backupsDetails.add(backupData);
         }
         stats.put("backupsDetails", backupsDetails);
         
-        // Total size
-        long totalSize = 0;
-        for (File f : backupDir.listFiles((d, n) -> n.endsWith(".zip"))) {
-            if (f != null) totalSize += f.length();
+        // Total size on disk: deduplicated store plus legacy zips
+        long totalSize = store.storedBytes();
+        File[] zips = backupDir.listFiles((d, n) -> n.endsWith(".zip"));
+        if (zips != null) {
+            for (File f : zips) {
+                totalSize += f.length();
+            }
         }
         stats.put("totalSize", totalSize);
         stats.put("totalSizeMB", totalSize / 1024.0 / 1024.0);
@@ -248,10 +319,28 @@ public class BackupService {
         return stats;
     }
     
+    private long backupTime(String backupName) {
+        if (store.exists(backupName)) {
+            try {
+                return store.createdAt(backupName);
+            } catch (IOException e) {
+                return 0L;
+            }
+        }
+        return new File(backupDir, backupName).lastModified();
+    }
+    
     /**
-     * Get backup file size.
+     * Get backup size (for snapshots: total size of the files it restores).
      */
     public synchronized long getBackupSize(String backupFileName) {
+        if (isSnapshotName(backupFileName)) {
+            try {
+                return store.logicalSize(backupFileName);
+            } catch (IOException e) {
+                return 0L;
+            }
+        }
         File backupFile = new File(backupDir, backupFileName);
         return backupFile.exists() ? backupFile.length() : 0;
     }
@@ -260,12 +349,23 @@ public class BackupService {
      * Delete specific backup.
      */
     public synchronized String deleteBackup(String backupFileName) {
-        File backupFile = new File(backupDir, backupFileName);
-        if (!backupFile.exists()) {
-            return "Backup не найден: " + backupFileName;
+        boolean deleted;
+        if (isSnapshotName(backupFileName)) {
+            deleted = store.delete(backupFileName);
+            if (deleted) {
+                try {
+                    store.collectGarbage();
+                } catch (IOException e) {
+                    plugin.getLogger().warning("Ошибка очистки хранилища backup: " + e.getMessage());
+                }
+            }
+        } else {
+            File backupFile = new File(backupDir, backupFileName);
+            if (!backupFile.exists()) {
+                return "Backup не найден: " + backupFileName;
+            }
+            deleted = backupFile.delete();
         }
-        
-        boolean deleted = backupFile.delete();
         if (deleted) {
             plugin.getLogger().info("Backup удалён: " + backupFileName);
             return "Backup удалён: " + backupFileName;
@@ -286,10 +386,18 @@ public class BackupService {
      * Check if backup exists.
      */
     public synchronized boolean backupExists(String backupFileName) {
+        if (isSnapshotName(backupFileName)) {
+            return true;
+        }
         File backupFile = new File(backupDir, backupFileName);
         return backupFile.exists();
     }
     
+    private boolean isSnapshotName(String name) {
+        return name != null && !name.isEmpty() && !name.contains("/") && !name.contains("\\")
+            && !name.startsWith(".") && store.exists(name);
+    }
+    
     /**
      * Get global backup statistics (alias for getBackupStatistics for consistency).
      */
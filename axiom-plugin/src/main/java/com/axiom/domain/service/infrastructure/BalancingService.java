@@ -44,10 +44,10 @@ public class BalancingService {
         this.playerDataManager = playerDataManager;
         
         // Reset daily counters every 24 hours
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::resetDailyCounters, 0, 20 * 60 * 60 * 24);
+        plugin.getSimulationScheduler().schedule("BalancingService.resetDailyCounters", this::resetDailyCounters, 20 * 60 * 60 * 24);
         
         // Check inactive nations every hour
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::checkInactiveNations, 0, 20 * 60 * 60);
+        plugin.getSimulationScheduler().schedule("BalancingService.checkInactiveNations", this::checkInactiveNations, 20 * 60 * 60);
         
         // Track player logins via listener registration in AXIOM.java
     }
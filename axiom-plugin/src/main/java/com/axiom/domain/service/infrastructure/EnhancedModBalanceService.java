@@ -4,7 +4,6 @@ import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -319,13 +318,10 @@ public class EnhancedModBalanceService {
      */
     private void startBalanceMonitoring() {
         // Run every 10 minutes to update balance statistics
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                updateBalances();
-                checkForImbalances();
-            }
-        }.runTaskTimer(plugin, 20 * 60 * 10, 20 * 60 * 10); // Every 10 minutes
+        plugin.getSimulationScheduler().schedule("EnhancedModBalanceService.updateBalances", () -> {
+            updateBalances();
+            checkForImbalances();
+        }, 20 * 60 * 10); // Every 10 minutes
     }
     
     /**
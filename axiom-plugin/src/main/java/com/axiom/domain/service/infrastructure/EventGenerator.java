@@ -30,7 +30,7 @@ public class EventGenerator {
         this.nationManager = nationManager;
         long interval = plugin.getConfig().getLong("events.crisisIntervalMinutes", 120) * 60L * 20L;
         if (interval > 0) {
-            Bukkit.getScheduler().runTaskTimer(plugin, this::generateCrisis, interval, interval);
+            plugin.getSimulationScheduler().schedule("EventGenerator.generateCrisis", this::generateCrisis, interval);
         }
     }
 
@@ -2,6 +2,7 @@ package com.axiom.domain.service.infrastructure;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -85,8 +86,9 @@ public class HarborService {
         o.addProperty("capacity", h.capacity);
         o.addProperty("tradeBonus", h.tradeBonus);
         o.addProperty("active", h.active);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages infrastructure maintenance and decay. */
 public class InfrastructureMaintenanceService {
@@ -31,7 +32,7 @@ public class InfrastructureMaintenanceService {
         this.maintenanceDir = new File(plugin.getDataFolder(), "maintenance");
         this.maintenanceDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processMaintenance, 0, 20 * 60 * 15); // every 15 minutes
+        plugin.getSimulationScheduler().schedule("InfrastructureMaintenanceService.processMaintenance", this::processMaintenance, 20 * 60 * 15); // every 15 minutes
     }
 
     public synchronized String allocateMaintenance(String nationId, double budget) {
@@ -103,8 +104,9 @@ public class InfrastructureMaintenanceService {
         o.addProperty("buildingCondition", data.buildingCondition);
         o.addProperty("lastMaintenance", data.lastMaintenance);
         o.addProperty("maintenanceBudget", data.maintenanceBudget);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
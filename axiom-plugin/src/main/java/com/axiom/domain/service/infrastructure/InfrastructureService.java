@@ -2,6 +2,7 @@ package com.axiom.domain.service.infrastructure;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -157,8 +158,9 @@ public class InfrastructureService {
         o.addProperty("roadNetwork", data.roadNetwork);
         o.addProperty("utilities", data.utilities);
         o.addProperty("bridges", data.bridges);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -1,6 +1,7 @@
 package com.axiom.domain.service.infrastructure;
 
 import com.axiom.AXIOM;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -89,8 +90,9 @@ public class LegacyService {
         o.addProperty("warsWon", l.warsWon);
         o.addProperty("treatiesSigned", l.treatiesSigned);
         o.addProperty("totalGDP", l.totalGDP);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -0,0 +1,291 @@
+package com.axiom.domain.service.infrastructure;
+
+import com.axiom.AXIOM;
+import com.axiom.domain.service.military.AdvancedWarSystem;
+import com.axiom.domain.service.state.NationManager;
+import com.axiom.domain.service.state.TerritoryService;
+import com.axiom.infra.network.MetricsEndpoint;
+import com.axiom.infra.network.PluginMessageMetrics;
+import com.axiom.kernel.AllocationProfiler;
+import com.axiom.kernel.ContentionSampler;
+import com.axiom.kernel.SimulationScheduler;
+import com.axiom.kernel.TickProfiler;
+import com.axiom.util.CacheManager;
+import com.axiom.util.LatencyHistogram;
+import com.axiom.util.PrometheusText;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes AXIOM metrics in the Prometheus text format on a loopback HTTP endpoint
+ * ({@code http://127.0.0.1:<port>/metrics}) and optionally to a {@code .prom} file.
+ * <p>
+ * A daemon collector thread renders the exposition every interval from counters the services
+ * already keep: tick attribution, simulation jobs, operation latency histograms, cache hit
+ * rates, the nation write-behind queue, nation/chunk/war counts, plugin-message traffic, lock
+ * wait from the {@link ContentionSampler} and, when enabled, allocation per handler. Scrapes
+ * only return the last rendered bytes (see {@link MetricsEndpoint}), so neither scraping nor
+ * collection runs on the main thread; values are at most one interval old.
+ * <p>
+ * Main-thread owned state (nation and chunk counts, tick attribution, simulation backlog) is read
+ * only from the volatile copies and summaries its owners publish, so the collector never waits
+ * on a service monitor the main thread needs.
+ */
+public class MetricsExporter {
+    public static final int DEFAULT_PORT = 9464;
+    public static final long DEFAULT_INTERVAL_SECONDS = 10L;
+    private static final int TOP_ALLOCATORS = 50;
+
+    private final AXIOM plugin;
+    private final MetricsEndpoint endpoint;
+    private ScheduledExecutorService collector;
+    private int failures;
+
+    public MetricsExporter(AXIOM plugin) {
+        this.plugin = plugin;
+        this.endpoint = new MetricsEndpoint(plugin.getLogger());
+    }
+
+    /**
+     * Starts the collector and, with {@code port > 0}, the HTTP endpoint.
+     *
+     * @param file textfile mirror, or {@code null}
+     */
+    public synchronized void start(int port, File file, long intervalSeconds) {
+        if (collector != null) {
+            return;
+        }
+        endpoint.setFile(file);
+        if (port > 0) {
+            try {
+                endpoint.start(port);
+                plugin.getLogger().info("Metrics exporter listening on 127.0.0.1:" + endpoint.getPort() + MetricsEndpoint.PATH);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Metrics exporter could not bind 127.0.0.1:" + port + " -> " + e.getMessage());
+                if (file == null) {
+                    return;
+                }
+            }
+        }
+        long interval = Math.max(1L, intervalSeconds);
+        collector = Executors.newSingleThreadScheduledExecutor(new CollectorThreadFactory());
+        collector.scheduleAtFixedRate(this::collectSafely, 0L, interval, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (collector != null) {
+            collector.shutdownNow();
+            collector = null;
+        }
+        endpoint.stop();
+    }
+
+    public synchronized boolean isRunning() {
+        return collector != null;
+    }
+
+    /** Bound HTTP port, or -1 when the endpoint is not serving. */
+    public int getPort() {
+        return endpoint.getPort();
+    }
+
+    private void collectSafely() {
+        try {
+            endpoint.publish(render());
+        } catch (Exception e) {
+            if (failures++ % 100 == 0) {
+                plugin.getLogger().warning("Metrics collection failed (" + failures + "): " + e);
+            }
+        }
+    }
+
+    /** Renders the current exposition; called on the collector thread. */
+    public String render() {
+        PrometheusText text = new PrometheusText();
+        renderWorld(text);
+        renderTicks(text);
+        renderSimulation(text);
+        renderOperations(text);
+        renderCaches(text);
+        renderPersistence(text);
+        renderPluginMessages(text);
+        renderLocks(text);
+        renderAllocations(text);
+        return text.toString();
+    }
+
+    private void renderWorld(PrometheusText text) {
+        NationManager nations = plugin.getNationManager();
+        if (nations != null) {
+            text.gauge("axiom_nations", "Nations loaded", nations.getNationCount());
+        }
+        TerritoryService territory = plugin.getTerritoryService();
+        if (territory != null) {
+            text.gauge("axiom_claimed_chunks", "Chunks claimed by nations", territory.getTotalClaimedChunks());
+        }
+        AdvancedWarSystem wars = plugin.getAdvancedWarSystem();
+        if (wars != null) {
+            text.gauge("axiom_active_wars", "Wars in progress", wars.getActiveWarCount());
+        }
+    }
+
+    private void renderTicks(PrometheusText text) {
+        TickProfiler profiler = plugin.getTickProfiler();
+        if (profiler == null) {
+            return;
+        }
+        TickProfiler.Summary summary = profiler.getSummary();
+        text.counter("axiom_tick_profiled_ticks_total", "Server ticks closed by the tick profiler", summary.getProfiledTicks());
+        List<TickProfiler.OwnerStats> owners = summary.getOwnerStats();
+        for (TickProfiler.OwnerStats owner : owners) {
+            text.counter("axiom_tick_owner_seconds_total", "Main-thread time attributed to a service or listener",
+                owner.getTotalNanos() / 1e9, "owner", owner.getName());
+        }
+        for (TickProfiler.OwnerStats owner : owners) {
+            text.counter("axiom_tick_owner_ticks_total", "Ticks in which the owner ran on the main thread",
+                owner.getTicks(), "owner", owner.getName());
+        }
+        long worst = 0L;
+        for (TickProfiler.TickRecord tick : summary.getWorstTicks()) {
+            worst = Math.max(worst, tick.getAttributedNanos());
+        }
+        text.gauge("axiom_tick_worst_attributed_seconds", "Largest AXIOM time in one tick within the profiler window", worst / 1e9);
+    }
+
+    private void renderSimulation(PrometheusText text) {
+        SimulationScheduler scheduler = plugin.getSimulationScheduler();
+        if (scheduler == null) {
+            return;
+        }
+        text.gauge("axiom_simulation_backlog", "Simulation jobs and handoffs waiting to run", scheduler.getLastBacklog());
+        text.counter("axiom_simulation_over_budget_ticks_total", "Ticks in which simulation work hit the budget",
+            scheduler.getOverBudgetTicks());
+        List<SimulationScheduler.JobStats> jobs = scheduler.getPublishedJobStats();
+        for (SimulationScheduler.JobStats job : jobs) {
+            text.counter("axiom_simulation_job_seconds_total", "Time spent in a simulation job", job.getTotalNanos() / 1e9,
+                "job", job.getName());
+        }
+        for (SimulationScheduler.JobStats job : jobs) {
+            text.counter("axiom_simulation_job_runs_total", "Simulation job runs", job.getRuns(), "job", job.getName());
+        }
+    }
+
+    private void renderOperations(PrometheusText text) {
+        PerformanceMetricsService metrics = plugin.getPerformanceMetricsService();
+        if (metrics == null) {
+            return;
+        }
+        for (Map.Entry<String, LatencyHistogram.Snapshot> entry : metrics.getSnapshots().entrySet()) {
+            text.histogram("axiom_operation_duration_seconds", "Latency of measured AXIOM operations",
+                entry.getValue(), "operation", entry.getKey());
+        }
+    }
+
+    private void renderCaches(PrometheusText text) {
+        CacheManager caches = plugin.getCacheManager();
+        if (caches == null) {
+            return;
+        }
+        Map<String, Map<String, Object>> stats = caches.getStatistics();
+        for (Map.Entry<String, Map<String, Object>> entry : stats.entrySet()) {
+            text.counter("axiom_cache_hits_total", "Cache hits", number(entry.getValue().get("hits")), "cache", entry.getKey());
+        }
+        for (Map.Entry<String, Map<String, Object>> entry : stats.entrySet()) {
+            text.counter("axiom_cache_misses_total", "Cache misses", number(entry.getValue().get("misses")), "cache", entry.getKey());
+        }
+        for (Map.Entry<String, Map<String, Object>> entry : stats.entrySet()) {
+            text.gauge("axiom_cache_hit_ratio", "Cache hits / lookups since start", number(entry.getValue().get("hitRate")),
+                "cache", entry.getKey());
+        }
+        for (Map.Entry<String, Map<String, Object>> entry : stats.entrySet()) {
+            text.gauge("axiom_cache_entries", "Entries in the cache", number(entry.getValue().get("size")), "cache", entry.getKey());
+        }
+        for (Map.Entry<String, Map<String, Object>> entry : stats.entrySet()) {
+            text.counter("axiom_cache_evictions_total", "Entries evicted by size", number(entry.getValue().get("evictions")),
+                "cache", entry.getKey());
+        }
+    }
+
+    private void renderPersistence(PrometheusText text) {
+        NationManager nations = plugin.getNationManager();
+        if (nations == null) {
+            return;
+        }
+        text.gauge("axiom_persistence_queue_depth", "Records waiting for the write-behind writer",
+            nations.getDirtyNationCount(), "writer", "nations");
+        text.counter("axiom_persistence_writes_total", "Files written by the write-behind writer",
+            nations.getNationWrites(), "writer", "nations");
+        text.counter("axiom_persistence_failures_total", "Failed write-behind writes",
+            nations.getNationWriteFailures(), "writer", "nations");
+    }
+
+    private void renderPluginMessages(PrometheusText text) {
+        PluginMessageMetrics messages = plugin.getPluginMessageMetrics();
+        if (messages == null) {
+            return;
+        }
+        List<PluginMessageMetrics.ChannelStats> stats = messages.getStats();
+        for (PluginMessageMetrics.ChannelStats channel : stats) {
+            text.counter("axiom_plugin_message_bytes_total", "Plugin message payload bytes", channel.getBytes(),
+                "direction", channel.getDirection(), "channel", channel.getChannel(), "type", channel.getType());
+        }
+        for (PluginMessageMetrics.ChannelStats channel : stats) {
+            text.counter("axiom_plugin_messages_total", "Plugin messages", channel.getMessages(),
+                "direction", channel.getDirection(), "channel", channel.getChannel(), "type", channel.getType());
+        }
+    }
+
+    private void renderLocks(PrometheusText text) {
+        ContentionSampler sampler = plugin.getContentionSampler();
+        if (sampler == null) {
+            return;
+        }
+        List<ContentionSampler.LockStats> locks = sampler.getStats();
+        for (ContentionSampler.LockStats lock : locks) {
+            text.counter("axiom_lock_wait_seconds_total", "Estimated time threads waited for a service monitor",
+                lock.getMainWaitNanos() / 1e9, "lock", lock.getName(), "thread", "main");
+            text.counter("axiom_lock_wait_seconds_total", "Estimated time threads waited for a service monitor",
+                lock.getAsyncWaitNanos() / 1e9, "lock", lock.getName(), "thread", "async");
+        }
+        for (ContentionSampler.LockStats lock : locks) {
+            text.counter("axiom_lock_contended_total", "Contended monitor acquires seen by the sampler",
+                lock.getMainContended(), "lock", lock.getName(), "thread", "main");
+            text.counter("axiom_lock_contended_total", "Contended monitor acquires seen by the sampler",
+                lock.getAsyncContended(), "lock", lock.getName(), "thread", "async");
+        }
+    }
+
+    private void renderAllocations(PrometheusText text) {
+        AllocationProfiler allocations = plugin.getAllocationProfiler();
+        if (allocations == null || !allocations.isEnabled()) {
+            return;
+        }
+        for (AllocationProfiler.HandlerStats handler : allocations.getTopAllocators(TOP_ALLOCATORS)) {
+            text.counter("axiom_allocated_bytes_total", "Bytes allocated by an event handler or job",
+                handler.getTotalBytes(), "handler", handler.getName());
+        }
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0.0;
+    }
+
+    private static final class CollectorThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "AXIOM-Metrics-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -23,7 +23,7 @@ public class ModEnergyService {
     public ModEnergyService(AXIOM plugin, ModIntegrationService modIntegration) {
         this.plugin = plugin;
         this.modIntegration = modIntegration;
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::updateEnergyProduction, 0, 20 * 60 * 5); // every 5 minutes
+        plugin.getSimulationScheduler().schedule("ModEnergyService.updateEnergyProduction", this::updateEnergyProduction, 20 * 60 * 5); // every 5 minutes
     }
     
     /**
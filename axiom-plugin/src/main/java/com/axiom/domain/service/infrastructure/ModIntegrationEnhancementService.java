@@ -2,7 +2,6 @@ package com.axiom.domain.service.infrastructure;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.entity.Player;
@@ -46,9 +45,6 @@ public class ModIntegrationEnhancementService implements Listener {
         // Initialize material mapping
         initializeMaterialMapping();
         
-        // Register this as a listener
-        Bukkit.getPluginManager().registerEvents(this, plugin);
-        
         // Start periodic cleanup task
         startMaintenanceTasks();
     }
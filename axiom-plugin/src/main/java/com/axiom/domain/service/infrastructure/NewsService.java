@@ -16,7 +16,7 @@ public class NewsService {
         this.nationManager = nationManager;
         long interval = plugin.getConfig().getLong("events.newsBroadcastIntervalSeconds", 900) * 20L;
         if (interval > 0) {
-            Bukkit.getScheduler().runTaskTimer(plugin, this::broadcast, interval, interval);
+            plugin.getSimulationScheduler().schedule("NewsService.broadcast", this::broadcast, interval);
         }
     }
 
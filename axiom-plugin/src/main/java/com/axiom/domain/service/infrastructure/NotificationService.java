@@ -13,7 +13,7 @@ public class NotificationService {
 
     public NotificationService(AXIOM plugin) {
         this.plugin = plugin;
-        Bukkit.getScheduler().runTaskTimer(plugin, this::deliverNotifications, 0, 20 * 5); // every 5 seconds
+        plugin.getSimulationScheduler().schedule("NotificationService.deliverNotifications", this::deliverNotifications, 20 * 5); // every 5 seconds
     }
 
     public synchronized void notifyPlayer(UUID playerId, String message) {
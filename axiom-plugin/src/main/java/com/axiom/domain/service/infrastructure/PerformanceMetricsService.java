@@ -1,21 +1,30 @@
 package com.axiom.domain.service.infrastructure;
 
 import com.axiom.AXIOM;
+import com.axiom.kernel.SimulationScheduler;
+import com.axiom.util.LatencyHistogram;
 import org.bukkit.Bukkit;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Performance metrics and monitoring service.
- * Tracks execution times, warns about slow operations.
+ * Tracks execution times per operation in lock-free nanosecond histograms (p50/p95/p99/max),
+ * warns about slow operations. Cheap enough to wrap hot event handlers permanently.
  * Integrates with Spark profiler if available.
  */
 public class PerformanceMetricsService {
+    private static final long SLOW_NANOS = 100_000_000L; // 100 ms
+    private static final long CRITICAL_NANOS = 500_000_000L; // 500 ms
+    private static final int SLOW_OPERATIONS_KEPT = 100;
     private final AXIOM plugin;
-    private final Map<String, Long> operationTimes = new ConcurrentHashMap<>(); // operation -> total time (ms)
-    private final Map<String, Integer> operationCounts = new ConcurrentHashMap<>(); // operation -> count
-    private final List<SlowOperation> slowOperations = new ArrayList<>(); // Recent slow operations
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>(); // operation -> latency histogram
+    // Ring of the last slow operations; writers claim a slot without locking
+    private final AtomicReferenceArray<SlowOperation> slowOperations = new AtomicReferenceArray<>(SLOW_OPERATIONS_KEPT);
+    private final AtomicLong slowCursor = new AtomicLong();
     
     public static class SlowOperation {
         String operation;
@@ -39,8 +48,7 @@ public class PerformanceMetricsService {
             20 * 60 * 10, 20 * 60 * 10);
         
         // Clean old slow operations every hour
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::cleanSlowOperations, 
-            20 * 60 * 60, 20 * 60 * 60);
+        plugin.getSimulationScheduler().schedule("PerformanceMetricsService.cleanSlowOperations", this::cleanSlowOperations, 20 * 60 * 60);
     }
     
     /**
@@ -51,8 +59,7 @@ public class PerformanceMetricsService {
         try {
             return operation.get();
         } finally {
-            long duration = (System.nanoTime() - start) / 1_000_000; // Convert to ms
-            recordOperation(operationName, duration, "");
+            record(operationName, System.nanoTime() - start);
         }
     }
     
@@ -64,28 +71,30 @@ public class PerformanceMetricsService {
         try {
             operation.run();
         } finally {
-            long duration = (System.nanoTime() - start) / 1_000_000;
-            recordOperation(operationName, duration, "");
+            record(operationName, System.nanoTime() - start);
         }
     }
     
     /**
-     * Record operation timing.
+     * Record an operation timed by the caller (nanoseconds).
      */
-    private void recordOperation(String operation, long durationMs, String details) {
-        operationTimes.merge(operation, durationMs, Long::sum);
-        operationCounts.merge(operation, 1, Integer::sum);
+    public void record(String operation, long durationNanos) {
+        record(operation, durationNanos, "");
+    }
+    
+    /**
+     * Record operation timing with details kept for slow operations.
+     */
+    public void record(String operation, long durationNanos, String details) {
+        histogram(operation).record(durationNanos);
         
         // Warn about slow operations
-        if (durationMs > 100) { // More than 100ms
-            synchronized (slowOperations) {
-                slowOperations.add(new SlowOperation(operation, durationMs, details));
-                if (slowOperations.size() > 100) {
-                    slowOperations.remove(0); // Keep last 100
-                }
-            }
+        if (durationNanos > SLOW_NANOS) {
+            long durationMs = durationNanos / 1_000_000L;
+            int slot = (int) (slowCursor.getAndIncrement() % SLOW_OPERATIONS_KEPT); // Keep last 100
+            slowOperations.set(slot, new SlowOperation(operation, durationMs, details));
             
-            if (durationMs > 500) { // More than 500ms - critical
+            if (durationNanos > CRITICAL_NANOS) {
                 plugin.getLogger().warning(String.format(
                     "[PERFORMANCE] Медленная операция: %s заняла %d ms. Детали: %s",
                     operation, durationMs, details
@@ -94,37 +103,80 @@ public class PerformanceMetricsService {
         }
     }
     
+    private LatencyHistogram histogram(String operation) {
+        LatencyHistogram histogram = histograms.get(operation);
+        return histogram != null ? histogram : histograms.computeIfAbsent(operation, k -> new LatencyHistogram());
+    }
+    
     /**
-     * Get average time for operation.
+     * Latency histogram snapshot of an operation (since start or the last reset).
+     */
+    public LatencyHistogram.Snapshot getLatencySnapshot(String operation) {
+        LatencyHistogram histogram = histograms.get(operation);
+        return histogram != null ? histogram.snapshot() : new LatencyHistogram().snapshot();
+    }
+    
+    /**
+     * Latency snapshots of all operations since start or the last reset; does not disturb the
+     * interval snapshots used by the periodic report.
+     */
+    public Map<String, LatencyHistogram.Snapshot> getSnapshots() {
+        Map<String, LatencyHistogram.Snapshot> snapshots = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            snapshots.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return snapshots;
+    }
+    
+    /**
+     * Latency snapshots of all operations recorded since the previous interval snapshot.
+     */
+    public Map<String, LatencyHistogram.Snapshot> getIntervalSnapshots() {
+        Map<String, LatencyHistogram.Snapshot> snapshots = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            snapshots.put(entry.getKey(), entry.getValue().intervalSnapshot());
+        }
+        return snapshots;
+    }
+    
+    /**
+     * Get average time for operation (ms).
      */
     public double getAverageTime(String operation) {
-        Long total = operationTimes.get(operation);
-        Integer count = operationCounts.get(operation);
-        if (total == null || count == null || count == 0) return 0.0;
-        return (double) total / count;
+        LatencyHistogram histogram = histograms.get(operation);
+        if (histogram == null || histogram.getCount() == 0) return 0.0;
+        return histogram.getTotalNanos() / 1_000_000.0 / histogram.getCount();
     }
     
     /**
-     * Get total time for operation.
+     * Get total time for operation (ms).
      */
     public long getTotalTime(String operation) {
-        return operationTimes.getOrDefault(operation, 0L);
+        LatencyHistogram histogram = histograms.get(operation);
+        return histogram != null ? histogram.getTotalNanos() / 1_000_000L : 0L;
     }
     
     /**
      * Get count of operations.
      */
     public int getCount(String operation) {
-        return operationCounts.getOrDefault(operation, 0);
+        LatencyHistogram histogram = histograms.get(operation);
+        return histogram != null ? (int) Math.min(Integer.MAX_VALUE, histogram.getCount()) : 0;
     }
     
     /**
      * Get recent slow operations.
      */
     public List<SlowOperation> getSlowOperations() {
-        synchronized (slowOperations) {
-            return new ArrayList<>(slowOperations);
+        List<SlowOperation> result = new ArrayList<>();
+        for (int i = 0; i < SLOW_OPERATIONS_KEPT; i++) {
+            SlowOperation op = slowOperations.get(i);
+            if (op != null) {
+                result.add(op);
+            }
         }
+        result.sort(Comparator.comparingLong(op -> op.timestamp));
+        return result;
     }
     
     /**
@@ -133,36 +185,58 @@ public class PerformanceMetricsService {
     private void reportMetrics() {
         plugin.getLogger().info("=== AXIOM Performance Metrics ===");
         
-        // Sort by total time
-        List<Map.Entry<String, Long>> sorted = new ArrayList<>(operationTimes.entrySet());
-        sorted.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+        // Interval since the previous report, sorted by total time
+        List<Map.Entry<String, LatencyHistogram.Snapshot>> sorted = new ArrayList<>(getIntervalSnapshots().entrySet());
+        sorted.removeIf(entry -> entry.getValue().getCount() == 0);
+        sorted.sort((a, b) -> Long.compare(b.getValue().getSumNanos(), a.getValue().getSumNanos()));
         
-        plugin.getLogger().info("Топ-10 операций по времени:");
+        plugin.getLogger().info("Топ-10 операций по времени за интервал:");
         for (int i = 0; i < Math.min(10, sorted.size()); i++) {
-            Map.Entry<String, Long> entry = sorted.get(i);
-            String op = entry.getKey();
-            long total = entry.getValue();
-            int count = operationCounts.getOrDefault(op, 1);
-            double avg = (double) total / count;
+            String op = sorted.get(i).getKey();
+            LatencyHistogram.Snapshot snapshot = sorted.get(i).getValue();
             plugin.getLogger().info(String.format(
-                "  %s: %d ms (всего), %.2f ms (среднее), %d вызовов",
-                op, total, avg, count
+                "  %s: %.1f ms (всего), %d вызовов, p50 %.3f / p95 %.3f / p99 %.3f / макс. %.3f ms",
+                op, snapshot.getSumNanos() / 1_000_000.0, snapshot.getCount(),
+                snapshot.percentileMillis(0.50), snapshot.percentileMillis(0.95),
+                snapshot.percentileMillis(0.99), snapshot.getMaxMillis()
             ));
         }
         
         // Report slow operations
-        synchronized (slowOperations) {
-            if (!slowOperations.isEmpty()) {
-                plugin.getLogger().info("Медленные операции (>100ms): " + slowOperations.size());
-            }
+        int slowCount = getSlowOperations().size();
+        if (slowCount > 0) {
+            plugin.getLogger().info("Медленные операции (>100ms): " + slowCount);
         }
-        
+
+        reportSimulationJobs();
+
         // Try to integrate with Spark if available
         if (isSparkAvailable()) {
             reportToSpark();
         }
     }
     
+    private void reportSimulationJobs() {
+        SimulationScheduler scheduler = plugin.getSimulationScheduler();
+        if (scheduler == null) return;
+        List<SimulationScheduler.JobStats> jobs = scheduler.getJobStats();
+        if (jobs.isEmpty()) return;
+
+        plugin.getLogger().info(String.format(
+            "Симуляция: бюджет %d ms/тик, превышений %d, очередь %d (макс. %d)",
+            scheduler.getTickBudgetMillis(), scheduler.getOverBudgetTicks(),
+            scheduler.getBacklog(), scheduler.getMaxBacklog()
+        ));
+        for (int i = 0; i < Math.min(10, jobs.size()); i++) {
+            SimulationScheduler.JobStats job = jobs.get(i);
+            plugin.getLogger().info(String.format(
+                "  %s: %.2f ms (среднее), %.2f ms (макс.), %d запусков, задержка до %d тиков",
+                job.getName(), job.getAverageMillis(), job.getMaxNanos() / 1_000_000.0,
+                job.getRuns(), job.getMaxDelayTicks()
+            ));
+        }
+    }
+
     private boolean isSparkAvailable() {
         try {
             Class.forName("me.lucko.spark.Spark");
@@ -179,9 +253,12 @@ public class PerformanceMetricsService {
     }
     
     private void cleanSlowOperations() {
-        synchronized (slowOperations) {
-            long cutoff = System.currentTimeMillis() - 60 * 60_000L; // 1 hour
-            slowOperations.removeIf(op -> op.timestamp < cutoff);
+        long cutoff = System.currentTimeMillis() - 60 * 60_000L; // 1 hour
+        for (int i = 0; i < SLOW_OPERATIONS_KEPT; i++) {
+            SlowOperation op = slowOperations.get(i);
+            if (op != null && op.timestamp < cutoff) {
+                slowOperations.compareAndSet(i, op, null);
+            }
         }
     }
     
@@ -189,10 +266,11 @@ public class PerformanceMetricsService {
      * Reset all metrics.
      */
     public void resetMetrics() {
-        operationTimes.clear();
-        operationCounts.clear();
-        synchronized (slowOperations) {
-            slowOperations.clear();
+        for (LatencyHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+        for (int i = 0; i < SLOW_OPERATIONS_KEPT; i++) {
+            slowOperations.set(i, null);
         }
         plugin.getLogger().info("Метрики производительности сброшены.");
     }
@@ -203,58 +281,49 @@ public class PerformanceMetricsService {
     public synchronized Map<String, Object> getPerformanceStatistics() {
         Map<String, Object> stats = new HashMap<>();
         
-        stats.put("totalOperations", operationCounts.values().stream().mapToInt(Integer::intValue).sum());
-        stats.put("totalTime", operationTimes.values().stream().mapToLong(Long::longValue).sum());
+        Map<String, LatencyHistogram.Snapshot> snapshots = new HashMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            snapshots.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        stats.put("totalOperations", snapshots.values().stream().mapToLong(LatencyHistogram.Snapshot::getCount).sum());
+        stats.put("totalTime", snapshots.values().stream().mapToLong(LatencyHistogram.Snapshot::getSumNanos).sum() / 1_000_000L);
         
         // Top operations by time
-        List<Map.Entry<String, Long>> sortedByTime = new ArrayList<>(operationTimes.entrySet());
-        sortedByTime.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+        List<Map.Entry<String, LatencyHistogram.Snapshot>> sortedByTime = new ArrayList<>(snapshots.entrySet());
+        sortedByTime.sort((a, b) -> Long.compare(b.getValue().getSumNanos(), a.getValue().getSumNanos()));
         
         List<Map<String, Object>> topByTime = new ArrayList<>();
         for (int i = 0; i < Math.min(10, sortedByTime.size()); i++) {
-            Map.Entry<String, Long> entry = sortedByTime.get(i);
-            Map<String, Object> opData = new HashMap<>();
-            opData.put("operation", entry.getKey());
-            opData.put("totalTime", entry.getValue());
-            opData.put("count", operationCounts.getOrDefault(entry.getKey(), 0));
-            opData.put("averageTime", getAverageTime(entry.getKey()));
-            topByTime.add(opData);
+            topByTime.add(operationData(sortedByTime.get(i).getKey(), sortedByTime.get(i).getValue()));
         }
         stats.put("topByTime", topByTime);
         
         // Top operations by count
-        List<Map.Entry<String, Integer>> sortedByCount = new ArrayList<>(operationCounts.entrySet());
-        sortedByCount.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+        List<Map.Entry<String, LatencyHistogram.Snapshot>> sortedByCount = new ArrayList<>(snapshots.entrySet());
+        sortedByCount.sort((a, b) -> Long.compare(b.getValue().getCount(), a.getValue().getCount()));
         
         List<Map<String, Object>> topByCount = new ArrayList<>();
         for (int i = 0; i < Math.min(10, sortedByCount.size()); i++) {
-            Map.Entry<String, Integer> entry = sortedByCount.get(i);
-            Map<String, Object> opData = new HashMap<>();
-            opData.put("operation", entry.getKey());
-            opData.put("count", entry.getValue());
-            opData.put("totalTime", operationTimes.getOrDefault(entry.getKey(), 0L));
-            opData.put("averageTime", getAverageTime(entry.getKey()));
-            topByCount.add(opData);
+            topByCount.add(operationData(sortedByCount.get(i).getKey(), sortedByCount.get(i).getValue()));
         }
         stats.put("topByCount", topByCount);
         
         // Slow operations
-        synchronized (slowOperations) {
-            stats.put("slowOperationsCount", slowOperations.size());
-            List<Map<String, Object>> slowOpsList = new ArrayList<>();
-            for (SlowOperation op : slowOperations.stream()
-                    .sorted((a, b) -> Long.compare(b.duration, a.duration))
-                    .limit(10)
-                    .collect(java.util.stream.Collectors.toList())) {
-                Map<String, Object> opData = new HashMap<>();
-                opData.put("operation", op.operation);
-                opData.put("duration", op.duration);
-                opData.put("details", op.details);
-                opData.put("timestamp", op.timestamp);
-                slowOpsList.add(opData);
-            }
-            stats.put("recentSlowOperations", slowOpsList);
+        List<SlowOperation> recentSlow = getSlowOperations();
+        stats.put("slowOperationsCount", recentSlow.size());
+        List<Map<String, Object>> slowOpsList = new ArrayList<>();
+        for (SlowOperation op : recentSlow.stream()
+                .sorted((a, b) -> Long.compare(b.duration, a.duration))
+                .limit(10)
+                .collect(java.util.stream.Collectors.toList())) {
+            Map<String, Object> opData = new HashMap<>();
+            opData.put("operation", op.operation);
+            opData.put("duration", op.duration);
+            opData.put("details", op.details);
+            opData.put("timestamp", op.timestamp);
+            slowOpsList.add(opData);
         }
+        stats.put("recentSlowOperations", slowOpsList);
         
         // Spark integration status
         stats.put("sparkAvailable", isSparkAvailable());
@@ -262,35 +331,41 @@ public class PerformanceMetricsService {
         return stats;
     }
     
+    private static Map<String, Object> operationData(String operation, LatencyHistogram.Snapshot snapshot) {
+        Map<String, Object> opData = new HashMap<>();
+        opData.put("operation", operation);
+        opData.put("count", snapshot.getCount());
+        opData.put("totalTime", snapshot.getSumNanos() / 1_000_000L);
+        opData.put("averageTime", snapshot.getMeanMillis());
+        opData.put("p50Ms", snapshot.percentileMillis(0.50));
+        opData.put("p95Ms", snapshot.percentileMillis(0.95));
+        opData.put("p99Ms", snapshot.percentileMillis(0.99));
+        opData.put("maxMs", snapshot.getMaxMillis());
+        return opData;
+    }
+    
     /**
      * Get statistics for specific operation.
      */
     public synchronized Map<String, Object> getOperationStatistics(String operation) {
-        Map<String, Object> stats = new HashMap<>();
-        
-        stats.put("operation", operation);
-        stats.put("totalTime", getTotalTime(operation));
-        stats.put("count", getCount(operation));
-        stats.put("averageTime", getAverageTime(operation));
+        Map<String, Object> stats = operationData(operation, getLatencySnapshot(operation));
         
         // Slow instances of this operation
-        synchronized (slowOperations) {
-            List<SlowOperation> slowOps = slowOperations.stream()
-                .filter(op -> op.operation.equals(operation))
-                .sorted((a, b) -> Long.compare(b.duration, a.duration))
-                .limit(5)
-                .collect(java.util.stream.Collectors.toList());
-            
-            List<Map<String, Object>> slowList = new ArrayList<>();
-            for (SlowOperation op : slowOps) {
-                Map<String, Object> opData = new HashMap<>();
-                opData.put("duration", op.duration);
-                opData.put("details", op.details);
-                opData.put("timestamp", op.timestamp);
-                slowList.add(opData);
-            }
-            stats.put("slowInstances", slowList);
+        List<SlowOperation> slowOps = getSlowOperations().stream()
+            .filter(op -> op.operation.equals(operation))
+            .sorted((a, b) -> Long.compare(b.duration, a.duration))
+            .limit(5)
+            .collect(java.util.stream.Collectors.toList());
+        
+        List<Map<String, Object>> slowList = new ArrayList<>();
+        for (SlowOperation op : slowOps) {
+            Map<String, Object> opData = new HashMap<>();
+            opData.put("duration", op.duration);
+            opData.put("details", op.details);
+            opData.put("timestamp", op.timestamp);
+            slowList.add(opData);
         }
+        stats.put("slowInstances", slowList);
         
         return stats;
     }
@@ -299,25 +374,27 @@ public class PerformanceMetricsService {
      * Get performance rating.
      */
     public synchronized String getPerformanceRating() {
-        long totalTime = operationTimes.values().stream().mapToLong(Long::longValue).sum();
-        int totalCount = operationCounts.values().stream().mapToInt(Integer::intValue).sum();
+        long totalNanos = 0L;
+        long totalCount = 0L;
+        for (LatencyHistogram histogram : histograms.values()) {
+            totalNanos += histogram.getTotalNanos();
+            totalCount += histogram.getCount();
+        }
         
         if (totalCount == 0) return "НЕТ ДАННЫХ";
         
-        double avgTime = (double) totalTime / totalCount;
+        double avgTime = totalNanos / 1_000_000.0 / totalCount;
         
-        synchronized (slowOperations) {
-            long criticalSlow = slowOperations.stream()
-                .filter(op -> op.duration > 500)
-                .count();
-            
-            if (criticalSlow > 100) return "КРИТИЧЕСКИЕ ПРОБЛЕМЫ";
-            if (criticalSlow > 50) return "СЕРЬЁЗНЫЕ ПРОБЛЕМЫ";
-            if (criticalSlow > 10) return "УМЕРЕННЫЕ ПРОБЛЕМЫ";
-            if (avgTime > 50) return "МЕДЛЕННО";
-            if (avgTime > 20) return "НОРМАЛЬНО";
-            return "ОТЛИЧНО";
-        }
+        long criticalSlow = getSlowOperations().stream()
+            .filter(op -> op.duration > 500)
+            .count();
+        
+        if (criticalSlow > 100) return "КРИТИЧЕСКИЕ ПРОБЛЕМЫ";
+        if (criticalSlow > 50) return "СЕРЬЁЗНЫЕ ПРОБЛЕМЫ";
+        if (criticalSlow > 10) return "УМЕРЕННЫЕ ПРОБЛЕМЫ";
+        if (avgTime > 50) return "МЕДЛЕННО";
+        if (avgTime > 20) return "НОРМАЛЬНО";
+        return "ОТЛИЧНО";
     }
     
     /**
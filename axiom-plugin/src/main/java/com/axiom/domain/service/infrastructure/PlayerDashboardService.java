@@ -31,8 +31,7 @@ public class PlayerDashboardService {
         this.plugin = plugin;
         
         // Update dashboards every 3 seconds
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::updateAllDashboards, 
-            20 * 3, 20 * 3);
+        plugin.getSimulationScheduler().schedule("PlayerDashboardService.updateAllDashboards", this::updateAllDashboards, 20 * 3);
     }
     
     /**
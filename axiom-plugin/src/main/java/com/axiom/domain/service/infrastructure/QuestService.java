@@ -1,6 +1,7 @@
 package com.axiom.domain.service.infrastructure;
 
 import com.axiom.AXIOM;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -130,8 +131,9 @@ public class QuestService {
         JsonObject prog = new JsonObject();
         for (var entry : q.progress.entrySet()) prog.addProperty(entry.getKey(), entry.getValue());
         o.add("progress", prog);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         }
     }
     
@@ -95,9 +95,6 @@ public class RecipeIntegrationService implements Listener {
         // Register recipes
         Bukkit.getScheduler().runTask(plugin, this::registerIntegrationRecipes);
         
-        // Register this as a listener to handle dynamic recipe checks
-        Bukkit.getPluginManager().registerEvents(this, plugin);
-        
         // Start periodic cleanup task
         startMaintenanceTasks();
     }
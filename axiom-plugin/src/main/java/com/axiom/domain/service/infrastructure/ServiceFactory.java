@@ -5,6 +5,10 @@ import com.axiom.domain.repo.NationRepository;
 import com.axiom.domain.repo.MilitaryRepository;
 import com.axiom.infra.persistence.JsonNationRepository;
 import com.axiom.infra.persistence.JsonMilitaryRepository;
+import com.axiom.infra.persistence.JsonToSqlMigrator;
+import com.axiom.infra.persistence.SqlMilitaryRepository;
+import com.axiom.infra.persistence.SqlNationRepository;
+import com.axiom.infra.persistence.SqlStorage;
 import com.axiom.service.adapter.MilitaryServiceAdapter;
 import com.axiom.service.adapter.SiegeServiceAdapter;
 import com.axiom.service.adapter.EconomyServiceAdapter;
@@ -15,6 +19,12 @@ import com.axiom.domain.service.military.MilitaryService;
 import com.axiom.domain.service.military.MilitaryServiceInterface;
 import com.axiom.domain.service.military.SiegeService;
 import com.axiom.domain.service.military.SiegeServiceInterface;
+import com.axiom.domain.repo.NationJsonLoader;
+
+import java.io.File;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Фабрика для создания сервисов
@@ -23,6 +33,8 @@ import com.axiom.domain.service.military.SiegeServiceInterface;
 public class ServiceFactory {
     
     private final AXIOM plugin;
+    private SqlStorage sqlStorage;
+    private boolean sqlUnavailable;
     
     public ServiceFactory(AXIOM plugin) {
         this.plugin = plugin;
@@ -59,21 +71,102 @@ public class ServiceFactory {
     }
     
     /**
-     * Создать NationRepository
+     * Создать NationRepository (бэкенд выбирается через storage.backend: json | sqlite)
      * @return NationRepository
      */
     public NationRepository createNationRepository() {
+        SqlStorage storage = getSqlStorage();
+        if (storage != null) {
+            try {
+                return new SqlNationRepository(plugin, storage);
+            } catch (SQLException e) {
+                plugin.getLogger().severe("SQL-репозиторий наций недоступен, используется JSON: " + e.getMessage());
+            }
+        }
         return new JsonNationRepository(plugin);
     }
     
     /**
-     * Создать MilitaryRepository
+     * Создать MilitaryRepository (бэкенд выбирается через storage.backend: json | sqlite)
      * @return MilitaryRepository
      */
     public MilitaryRepository createMilitaryRepository() {
+        SqlStorage storage = getSqlStorage();
+        if (storage != null) {
+            try {
+                return new SqlMilitaryRepository(plugin, storage);
+            } catch (SQLException e) {
+                plugin.getLogger().severe("SQL-репозиторий военных данных недоступен, используется JSON: " + e.getMessage());
+            }
+        }
         return new JsonMilitaryRepository(plugin);
     }
     
+    /**
+     * Общее SQL-хранилище; null, если выбран JSON или драйвер недоступен.
+     * При первом открытии пустой БД данные автоматически переносятся из JSON-файлов.
+     */
+    public synchronized SqlStorage getSqlStorage() {
+        if (sqlStorage != null || sqlUnavailable) {
+            return sqlStorage;
+        }
+        String backend = plugin.getConfig().getString("storage.backend", "json").toLowerCase(Locale.ROOT);
+        if (!backend.equals("sqlite")) {
+            sqlUnavailable = true;
+            return null;
+        }
+        try {
+            File file = new File(plugin.getDataFolder(), plugin.getConfig().getString("storage.sqlite.file", "axiom.db"));
+            sqlStorage = new SqlStorage(file, plugin.getLogger(), plugin.getConfig().getInt("storage.sqlite.poolSize", 4));
+            SqlNationRepository nations = new SqlNationRepository(plugin, sqlStorage);
+            if (nations.count() == 0 && plugin.getConfig().getBoolean("storage.sqlite.autoMigrate", true)) {
+                JsonToSqlMigrator.Result result = migrateFromJson();
+                plugin.getLogger().info("Импорт JSON -> SQL: " + result.summary());
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Не удалось открыть SQL-хранилище, используется JSON: " + e.getMessage());
+            if (sqlStorage != null) {
+                sqlStorage.close();
+                sqlStorage = null;
+            }
+            sqlUnavailable = true;
+        }
+        return sqlStorage;
+    }
+    
+    /**
+     * Перенести nations/ и military/ из JSON в SQL-хранилище (идемпотентно)
+     * @return итог миграции
+     */
+    public JsonToSqlMigrator.Result migrateFromJson() throws SQLException {
+        SqlStorage storage = getSqlStorage();
+        if (storage == null) {
+            throw new SQLException("SQL-хранилище не включено (storage.backend: sqlite)");
+        }
+        int threads = plugin.getConfig().getInt("storage.loadThreads", 0);
+        JsonToSqlMigrator.Result result = JsonToSqlMigrator.migrate(
+            plugin.getDataFolder(),
+            plugin.getConfig().getString("economy.defaultCurrencyCode", "AXC"),
+            threads > 0 ? threads : NationJsonLoader.defaultParallelism(),
+            storage
+        );
+        for (Map.Entry<String, String> error : result.getErrors().entrySet()) {
+            plugin.getLogger().warning("Миграция: " + error.getKey() + ": " + error.getValue());
+        }
+        return result;
+    }
+    
+    /**
+     * Закрыть SQL-хранилище (пул соединений и потоки)
+     */
+    public synchronized void shutdown() {
+        if (sqlStorage != null) {
+            sqlStorage.close();
+            sqlStorage = null;
+        }
+        sqlUnavailable = true;
+    }
+    
     /**
      * Создать новый MilitaryService (будущая реализация)
      * @return MilitaryServiceInterface
@@ -2,6 +2,7 @@ package com.axiom.domain.service.infrastructure;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -324,8 +325,9 @@ public class StatisticsService {
         o.addProperty("electionsHeld", stats.electionsHeld);
         o.addProperty("totalTradeVolume", stats.totalTradeVolume);
         o.addProperty("totalPlaytime", stats.totalPlaytime);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
 
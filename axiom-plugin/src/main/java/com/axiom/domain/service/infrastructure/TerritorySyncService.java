@@ -2,13 +2,13 @@ package com.axiom.domain.service.infrastructure;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.service.state.TerritoryService;
+import com.axiom.infra.network.PluginMessageMetrics;
+import com.axiom.infra.network.UiMessageCodec;
 import com.google.gson.Gson;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
-import java.io.ByteArrayOutputStream;
-import java.io.DataOutputStream;
-import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -68,7 +68,7 @@ public class TerritorySyncService {
                 continue;
             }
             if (!delta.getChanges().isEmpty()) {
-                sendDelta(player, delta);
+                sendDelta(player, lastVersion, delta);
                 lastVersionByPlayer.put(id, delta.getVersion());
             } else if (delta.getVersion() != lastVersion) {
                 lastVersionByPlayer.put(id, delta.getVersion());
@@ -78,20 +78,68 @@ public class TerritorySyncService {
     }
 
     private void sendSnapshot(Player player) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("version", territoryService.getVersion());
-        payload.put("territories", com.axiom.api.AxiomAPI.getTerritories());
-        sendData(player, "territories_snapshot", payload);
-        plugin.getLogger().fine("Pushed territories snapshot to " + player.getName());
+        try {
+            byte[] message = encodeSnapshot();
+            sendFrames(player, message);
+            recordSent("territories_snapshot", message);
+            plugin.getLogger().fine("Pushed territories snapshot to " + player.getName());
+        } catch (RuntimeException e) {
+            plugin.getLogger().warning("Failed to push territory sync: " + e.getMessage());
+        }
     }
 
-    private void sendDelta(Player player, TerritoryService.DeltaResult delta) {
+    private void sendDelta(Player player, long fromVersion, TerritoryService.DeltaResult delta) {
         List<TerritoryService.TerritoryChange> changes = delta.getChanges();
         if (changes.isEmpty()) {
             return;
         }
-        List<Map<String, Object>> out = new java.util.ArrayList<>();
-        for (TerritoryService.TerritoryChange change : changes) {
+        try {
+            byte[] message = encodeDelta(fromVersion, delta);
+            sendFrames(player, message);
+            recordSent("territories_delta", message);
+            plugin.getLogger().info("Pushed territories delta to " + player.getName() + " (" + changes.size() + ")");
+        } catch (RuntimeException e) {
+            plugin.getLogger().warning("Failed to push territory sync: " + e.getMessage());
+        }
+    }
+
+    private void sendFrames(Player player, byte[] message) {
+        for (byte[] frame : UiMessageCodec.frames(message)) {
+            player.sendPluginMessage(plugin, CHANNEL, frame);
+        }
+    }
+
+    private void recordSent(String type, byte[] message) {
+        PluginMessageMetrics metrics = plugin.getPluginMessageMetrics();
+        if (metrics != null) {
+            metrics.recordOutgoing(CHANNEL, type, message.length);
+        }
+    }
+
+    /** Encodes the full territory snapshot message sent on first sync or after a log gap. */
+    public byte[] encodeSnapshot() {
+        List<Map<String, Object>> territories = new ArrayList<>();
+        for (TerritoryService.TerritorySquare square : territoryService.getAllSquares()) {
+            Map<String, Object> t = new HashMap<>();
+            t.put("world", square.getWorld());
+            t.put("x", square.getX());
+            t.put("z", square.getZ());
+            t.put("nationId", square.getNationId());
+            territories.add(t);
+        }
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("version", territoryService.getVersion());
+        payload.put("territories", territories);
+        return encode("territories_snapshot", payload);
+    }
+
+    /**
+     * Encodes a delta message with the given changes. {@code from} is the version the changes
+     * apply to; a client holding another version asks for a snapshot instead of applying them.
+     */
+    public byte[] encodeDelta(long fromVersion, TerritoryService.DeltaResult delta) {
+        List<Map<String, Object>> out = new ArrayList<>();
+        for (TerritoryService.TerritoryChange change : delta.getChanges()) {
             Map<String, Object> entry = new HashMap<>();
             entry.put("op", change.getOp());
             entry.put("world", change.getWorld());
@@ -101,22 +149,19 @@ public class TerritorySyncService {
             out.add(entry);
         }
         Map<String, Object> payload = new HashMap<>();
+        payload.put("from", fromVersion);
         payload.put("version", delta.getVersion());
         payload.put("changes", out);
-        sendData(player, "territories_delta", payload);
-        plugin.getLogger().info("Pushed territories delta to " + player.getName() + " (" + out.size() + ")");
+        return encode("territories_delta", payload);
     }
 
-    private void sendData(Player player, String type, Object data) {
-        try {
-            ByteArrayOutputStream msgBytes = new ByteArrayOutputStream();
-            DataOutputStream out = new DataOutputStream(msgBytes);
-            out.writeUTF(type);
-            out.writeUTF(gson.toJson(data));
-            player.sendPluginMessage(plugin, CHANNEL, msgBytes.toByteArray());
-        } catch (IOException e) {
-            plugin.getLogger().warning("Failed to push territory sync: " + e.getMessage());
-        }
+    private byte[] encode(String type, Object data) {
+        return UiMessageCodec.encode(type, gson.toJson(data));
+    }
+
+    /** Sends the player a full snapshot on the next push, e.g. after the client reported a gap. */
+    public void requestSnapshot(UUID playerId) {
+        lastVersionByPlayer.remove(playerId);
     }
 
     public void shutdown() {
@@ -1,6 +1,7 @@
 package com.axiom.domain.service.infrastructure;
 
 import com.axiom.AXIOM;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -93,8 +94,9 @@ public class TransportService {
         o.addProperty("toNationId", r.toNationId);
         o.addProperty("tradeBonus", r.tradeBonus);
         o.addProperty("active", r.active);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         }
     }
     
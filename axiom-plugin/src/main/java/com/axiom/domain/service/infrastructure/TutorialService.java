@@ -25,7 +25,6 @@ public class TutorialService implements Listener {
     
     public TutorialService(AXIOM plugin) {
         this.plugin = plugin;
-        Bukkit.getPluginManager().registerEvents(this, plugin);
         loadTutorialProgress();
     }
     
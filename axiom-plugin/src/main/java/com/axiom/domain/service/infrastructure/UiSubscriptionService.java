@@ -0,0 +1,356 @@
+package com.axiom.domain.service.infrastructure;
+
+import com.axiom.AXIOM;
+import com.axiom.api.AxiomAPI;
+import com.axiom.domain.service.state.NationManager;
+import com.axiom.domain.service.state.TerritoryService;
+import com.axiom.domain.service.technology.TechnologyTreeService;
+import com.axiom.infra.network.PluginMessageMetrics;
+import com.axiom.infra.network.UiMessageCodec;
+import com.axiom.util.JsonDiff;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes axiom:ui topics to clients that subscribed to them, instead of answering polls.
+ * <p>
+ * Topics are {@code stats} (the player's own nation and balance), {@code techs} (the player's
+ * nation tech tree), {@code nations} (the nation list) and {@code territory}. Each topic instance
+ * keeps a version and the last document sent; a push run rebuilds an instance only when its source
+ * version changed (see {@link NationManager#getDataVersion()}, {@link TechnologyTreeService#getVersion()},
+ * {@link TerritoryService#getVersion()}) and sends subscribers a {@code topic_diff} of the changed
+ * fields ({@link JsonDiff}). A subscriber that is not exactly one version behind gets a
+ * {@code topic_snapshot} instead; clients that see a diff whose {@code from} is not their version
+ * send {@code resync}. Player stats include the balance, which has no version counter, so they are
+ * rebuilt every run but still only sent when a field changed. Territory keeps its own
+ * snapshot/delta transport in {@link TerritorySyncService}; subscribing to it asks that service for
+ * a fresh snapshot.
+ * <p>
+ * A run is a simulation job on the main thread that reads the API and builds the changed documents;
+ * diffing, encoding ({@link UiMessageCodec}) and sending happen on an async task that owns the topic
+ * states. A failed send only affects its own subscription, and a diff too large for one plugin
+ * message is replaced by a snapshot. Subscriptions are dropped when the player quits.
+ */
+public class UiSubscriptionService implements Listener {
+    public static final String TOPIC_STATS = "stats";
+    public static final String TOPIC_TECHS = "techs";
+    public static final String TOPIC_NATIONS = "nations";
+    public static final String TOPIC_TERRITORY = "territory";
+    public static final Set<String> TOPICS = Set.of(TOPIC_STATS, TOPIC_TECHS, TOPIC_NATIONS, TOPIC_TERRITORY);
+
+    private static final String CHANNEL = "axiom:ui";
+    private static final String JOB = "UiSubscriptionService.collect";
+    private static final long DEFAULT_PUSH_INTERVAL_TICKS = 20L;
+
+    private final AXIOM plugin;
+    private final Gson gson = new Gson();
+    private final Map<UUID, Map<String, Subscription>> subscriptions = new ConcurrentHashMap<>();
+    // Source version each instance was last built from; written by the main thread, cleared by the push task on failure
+    private final Map<String, String> builtSources = new ConcurrentHashMap<>();
+    // Touched only by the push task
+    private final Map<String, TopicState> topics = new HashMap<>();
+    // Held from collection until the push task is done, so runs never overlap
+    private final AtomicBoolean pushing = new AtomicBoolean();
+    private boolean started;
+    private int failures;
+
+    public UiSubscriptionService(AXIOM plugin) {
+        this.plugin = plugin;
+    }
+
+    public void start() {
+        if (started) {
+            return;
+        }
+        long interval = Math.max(1L, plugin.getConfig().getLong("ui.push.intervalTicks", DEFAULT_PUSH_INTERVAL_TICKS));
+        plugin.getSimulationScheduler().schedule(JOB, this::collect, interval);
+        started = true;
+    }
+
+    public void shutdown() {
+        if (started) {
+            plugin.getSimulationScheduler().cancel(JOB);
+            started = false;
+        }
+        subscriptions.clear();
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        subscriptions.remove(event.getPlayer().getUniqueId());
+    }
+
+    /** Subscribes the player; the next push sends a snapshot. Already subscribed topics are left as is. */
+    public boolean subscribe(Player player, String topic) {
+        if (!TOPICS.contains(topic)) {
+            return false;
+        }
+        Map<String, Subscription> topicsOfPlayer = subscriptions.computeIfAbsent(player.getUniqueId(), id -> new ConcurrentHashMap<>());
+        if (topicsOfPlayer.putIfAbsent(topic, new Subscription()) == null && TOPIC_TERRITORY.equals(topic)) {
+            requestTerritorySnapshot(player);
+        }
+        return true;
+    }
+
+    public void unsubscribe(Player player, String topic) {
+        Map<String, Subscription> topicsOfPlayer = subscriptions.get(player.getUniqueId());
+        if (topicsOfPlayer != null) {
+            topicsOfPlayer.remove(topic);
+        }
+    }
+
+    /** Client lost track of a topic (version gap); the next push sends a snapshot. */
+    public void resync(Player player, String topic) {
+        if (!subscribe(player, topic)) {
+            return;
+        }
+        if (TOPIC_TERRITORY.equals(topic)) {
+            requestTerritorySnapshot(player);
+        } else {
+            subscriptions.get(player.getUniqueId()).put(topic, new Subscription());
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    private void requestTerritorySnapshot(Player player) {
+        TerritorySyncService territorySync = plugin.getTerritorySyncService();
+        if (territorySync != null) {
+            territorySync.requestSnapshot(player.getUniqueId());
+        }
+    }
+
+    /** Main thread: builds the documents whose source changed, then hands the run to an async task. */
+    private void collect() {
+        if (subscriptions.isEmpty() || !pushing.compareAndSet(false, true)) {
+            return;
+        }
+        List<Target> targets = new ArrayList<>();
+        Map<String, JsonObject> rebuilt = new HashMap<>();
+        Set<String> live = new HashSet<>();
+        try {
+            for (Map.Entry<UUID, Map<String, Subscription>> subscriber : subscriptions.entrySet()) {
+                Player player = Bukkit.getPlayer(subscriber.getKey());
+                if (player == null || !player.isOnline()) {
+                    continue;
+                }
+                for (Map.Entry<String, Subscription> entry : subscriber.getValue().entrySet()) {
+                    String topic = entry.getKey();
+                    if (TOPIC_TERRITORY.equals(topic)) {
+                        continue;
+                    }
+                    String instance = instanceKey(topic, player);
+                    if (live.add(instance)) {
+                        String source = sourceVersion(topic, instance);
+                        if (source == null || !source.equals(builtSources.get(instance))) {
+                            rebuilt.put(instance, build(topic, player));
+                            if (source != null) {
+                                builtSources.put(instance, source);
+                            }
+                        }
+                    }
+                    targets.add(new Target(player, topic, instance, entry.getValue()));
+                }
+            }
+            builtSources.keySet().retainAll(live);
+        } catch (RuntimeException e) {
+            pushing.set(false);
+            recordFailure("UI topic collection failed", e);
+            return;
+        }
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> push(targets, rebuilt, live));
+    }
+
+    private void push(List<Target> targets, Map<String, JsonObject> rebuilt, Set<String> live) {
+        try {
+            for (Map.Entry<String, JsonObject> entry : rebuilt.entrySet()) {
+                try {
+                    refresh(topics.computeIfAbsent(entry.getKey(), key -> new TopicState()), entry.getValue());
+                } catch (RuntimeException e) {
+                    builtSources.remove(entry.getKey());
+                    recordFailure("UI topic " + entry.getKey() + " diff failed", e);
+                }
+            }
+            for (Target target : targets) {
+                TopicState state = topics.get(target.instance);
+                if (state == null || !target.player.isOnline()) {
+                    continue;
+                }
+                try {
+                    send(target, state);
+                } catch (RuntimeException e) {
+                    recordFailure("Failed to push UI topic " + target.topic + " to " + target.player.getName(), e);
+                }
+            }
+            topics.keySet().retainAll(live);
+        } finally {
+            pushing.set(false);
+        }
+    }
+
+    private void recordFailure(String message, RuntimeException e) {
+        if (failures++ % 100 == 0) {
+            plugin.getLogger().warning(message + " (" + failures + "): " + e);
+        }
+    }
+
+    private String instanceKey(String topic, Player player) {
+        switch (topic) {
+            case TOPIC_STATS:
+                return TOPIC_STATS + ":" + player.getUniqueId();
+            case TOPIC_TECHS:
+                return TOPIC_TECHS + ":" + plugin.getNationManager().getNationIdOfPlayer(player.getUniqueId());
+            default:
+                return topic;
+        }
+    }
+
+    private void refresh(TopicState state, JsonObject document) {
+        if (state.document == null) {
+            state.document = document;
+            state.version = 1L;
+            return;
+        }
+        JsonArray ops = JsonDiff.diff(state.document, document);
+        if (ops.size() == 0) {
+            return;
+        }
+        state.diff = ops;
+        state.diffFrom = state.version;
+        state.version++;
+        state.document = document;
+    }
+
+    /** Cheap key of the data behind a topic instance, or {@code null} when it must be rebuilt every run. */
+    private String sourceVersion(String topic, String instance) {
+        TerritoryService territoryService = plugin.getTerritoryService();
+        long territoryVersion = territoryService != null ? territoryService.getVersion() : 0L;
+        switch (topic) {
+            case TOPIC_TECHS:
+                TechnologyTreeService techs = plugin.getTechnologyTreeService();
+                return instance + "@" + (techs != null ? techs.getVersion() : 0L);
+            case TOPIC_NATIONS:
+                return plugin.getNationManager().getDataVersion() + "/" + territoryVersion;
+            default:
+                return null;
+        }
+    }
+
+    private JsonObject build(String topic, Player player) {
+        switch (topic) {
+            case TOPIC_STATS:
+                return gson.toJsonTree(AxiomAPI.getPlayerStats(player)).getAsJsonObject();
+            case TOPIC_TECHS:
+                return byId(AxiomAPI.getTechnologies(plugin.getNationManager().getNationIdOfPlayer(player.getUniqueId())));
+            case TOPIC_NATIONS:
+                return byId(AxiomAPI.getNations());
+            default:
+                return new JsonObject();
+        }
+    }
+
+    /** Lists are keyed by id so that a diff touches only the entries that changed. */
+    private JsonObject byId(List<Map<String, Object>> entries) {
+        JsonObject document = new JsonObject();
+        for (Map<String, Object> entry : entries) {
+            Object id = entry.get("id");
+            if (id != null) {
+                document.add(id.toString(), gson.toJsonTree(entry));
+            }
+        }
+        return document;
+    }
+
+    private void send(Target target, TopicState state) {
+        Subscription subscription = target.subscription;
+        if (state.document == null || (target.instance.equals(subscription.instance) && subscription.version == state.version)) {
+            return;
+        }
+        String type = null;
+        byte[] message = null;
+        if (target.instance.equals(subscription.instance) && subscription.version == state.diffFrom && state.diff != null) {
+            JsonObject payload = header(target.topic, state);
+            payload.addProperty("from", state.diffFrom);
+            payload.add("ops", state.diff);
+            type = "topic_diff";
+            message = encode(type, payload);
+            if (message.length > UiMessageCodec.MAX_FRAME_BYTES) {
+                // Cheaper for the client to replace the document than to apply a diff this large
+                message = null;
+            }
+        }
+        if (message == null) {
+            JsonObject payload = header(target.topic, state);
+            payload.add("data", state.document);
+            type = "topic_snapshot";
+            message = encode(type, payload);
+        }
+        for (byte[] frame : UiMessageCodec.frames(message)) {
+            target.player.sendPluginMessage(plugin, CHANNEL, frame);
+        }
+        PluginMessageMetrics metrics = plugin.getPluginMessageMetrics();
+        if (metrics != null) {
+            metrics.recordOutgoing(CHANNEL, type, message.length);
+        }
+        subscription.instance = target.instance;
+        subscription.version = state.version;
+    }
+
+    private static JsonObject header(String topic, TopicState state) {
+        JsonObject payload = new JsonObject();
+        payload.addProperty("topic", topic);
+        payload.addProperty("version", state.version);
+        return payload;
+    }
+
+    private byte[] encode(String type, JsonElement payload) {
+        return UiMessageCodec.encode(type, gson.toJson(payload));
+    }
+
+    private static final class TopicState {
+        private JsonObject document;
+        private long version;
+        private JsonArray diff;
+        private long diffFrom = -1L;
+    }
+
+    /** What a subscriber last received; version -1 means a snapshot is due. */
+    private static final class Subscription {
+        private volatile String instance;
+        private volatile long version = -1L;
+    }
+
+    /** One subscription of an online player in a push run. */
+    private static final class Target {
+        private final Player player;
+        private final String topic;
+        private final String instance;
+        private final Subscription subscription;
+
+        private Target(Player player, String topic, String instance, Subscription subscription) {
+            this.player = player;
+            this.topic = topic;
+            this.instance = instance;
+            this.subscription = subscription;
+        }
+    }
+}
@@ -2,12 +2,11 @@ package com.axiom.domain.service.infrastructure;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
+import com.axiom.util.JsonFileWriter;
+import com.google.gson.stream.JsonWriter;
 import org.bukkit.Bukkit;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.HashMap;
@@ -36,173 +35,176 @@ public class WebExportService {
         this.webExportDir.mkdirs();
         
         // Export every 5 minutes
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::exportData, 
-            20 * 60 * 5, // First export after 5 minutes
-            20 * 60 * 5); // Then every 5 minutes
+        plugin.getSimulationScheduler().schedule("WebExportService.exportData", this::exportData, 20 * 60 * 5);
     }
     
     /**
      * Export all AXIOM data to web format.
+     * Both files are streamed while iterating nations, so memory use does not grow with the
+     * size of the world; the previous export stays in place until the new one is complete.
      */
     public synchronized void exportData() {
-        try {
-            if (nationManager == null) return;
-            JsonObject root = new JsonObject();
-            root.addProperty("timestamp", System.currentTimeMillis());
-            root.addProperty("date", new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()));
+        if (nationManager == null) return;
+        long timestamp = System.currentTimeMillis();
+        try (JsonFileWriter full = JsonFileWriter.open(new File(webExportDir, "data.json"), false);
+             JsonFileWriter minimal = JsonFileWriter.open(new File(webExportDir, "data_minimal.json"), false)) {
+            JsonWriter out = full.writer();
+            JsonWriter min = minimal.writer();
+            out.beginObject();
+            out.name("timestamp").value(timestamp);
+            out.name("date").value(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(timestamp)));
+            min.beginObject();
+            min.name("timestamp").value(timestamp);
             
             // Nations data
-            JsonArray nations = new JsonArray();
-            for (Nation n : nationManager.getAll()) {
-                if (n == null) continue;
-                JsonObject nationObj = new JsonObject();
-                nationObj.addProperty("id", n.getId());
-                nationObj.addProperty("name", n.getName());
-                String leaderName = "Unknown";
-                if (n.getLeader() != null) {
-                    leaderName = Bukkit.getOfflinePlayer(n.getLeader()).getName();
-                    if (leaderName == null) leaderName = "Unknown";
-                }
-                nationObj.addProperty("leader", leaderName);
-                nationObj.addProperty("government", n.getGovernmentType());
-                nationObj.addProperty("treasury", n.getTreasury());
-                nationObj.addProperty("currency", n.getCurrencyCode());
-                nationObj.addProperty("inflation", n.getInflation());
-                nationObj.addProperty("taxRate", n.getTaxRate());
-                nationObj.addProperty("citizens", n.getCitizens() != null ? n.getCitizens().size() : 0);
-                Set<String> chunkKeys = getNationChunkKeys(n);
-                int chunkCount = chunkKeys.size();
-                nationObj.addProperty("chunks", chunkCount);
-                nationObj.addProperty("motto", n.getMotto() != null ? n.getMotto() : "");
-                nationObj.addProperty("flagColor", n.getFlagIconMaterial() != null ? n.getFlagIconMaterial() : "BLUE_BANNER");
-                
-                // Territories (for map)
-                JsonArray territories = new JsonArray();
-                for (String chunkKey : chunkKeys) {
-                    String[] parts = chunkKey.split(":");
-                    if (parts.length == 3) {
-                        try {
-                            JsonObject territory = new JsonObject();
-                            territory.addProperty("world", parts[0]);
-                            territory.addProperty("x", Integer.parseInt(parts[1]));
-                            territory.addProperty("z", Integer.parseInt(parts[2]));
-                            territories.add(territory);
-                        } catch (NumberFormatException ignored) {}
-                    }
-                }
-                nationObj.add("territories", territories);
-                
-                // Capital
-                if (n.getCapitalChunkStr() != null && !n.getCapitalChunkStr().isEmpty()) {
-                    String[] capitalParts = n.getCapitalChunkStr().split(":");
-                    if (capitalParts.length == 3) {
-                        try {
-                            JsonObject capital = new JsonObject();
-                            capital.addProperty("world", capitalParts[0]);
-                            capital.addProperty("x", Integer.parseInt(capitalParts[1]));
-                            capital.addProperty("z", Integer.parseInt(capitalParts[2]));
-                            nationObj.add("capital", capital);
-                        } catch (NumberFormatException ignored) {}
-                    }
-                }
-                
-                // Diplomacy
-                JsonArray allies = new JsonArray();
-                if (n.getAllies() != null) {
-                    for (String allyId : n.getAllies()) {
-                        Nation ally = nationManager.getNationById(allyId);
-                        if (ally != null) {
-                            allies.add(ally.getName());
-                        }
-                    }
-                }
-                nationObj.add("allies", allies);
-                
-                JsonArray enemies = new JsonArray();
-                if (n.getEnemies() != null) {
-                    for (String enemyId : n.getEnemies()) {
-                        Nation enemy = nationManager.getNationById(enemyId);
-                        if (enemy != null) {
-                            enemies.add(enemy.getName());
-                        }
-                    }
-                }
-                nationObj.add("enemies", enemies);
-                
-                // Stats
-                JsonObject stats = new JsonObject();
-                int warsWon = 0;
-                int warsLost = 0;
-                int treatiesSigned = 0;
-                if (plugin.getStatisticsService() != null) {
-                    var nationStats = plugin.getStatisticsService().getStats(n.getId());
-                    if (nationStats != null) {
-                        warsWon = nationStats.warsWon;
-                        warsLost = nationStats.warsLost;
-                        treatiesSigned = nationStats.treatiesSigned;
-                    }
-                }
-                stats.addProperty("warsWon", warsWon);
-                stats.addProperty("warsLost", warsLost);
-                stats.addProperty("treaties", treatiesSigned);
-                nationObj.add("stats", stats);
-                
-                nations.add(nationObj);
-            }
-            root.add("nations", nations);
-            
-            // Global stats
-            JsonObject globalStats = new JsonObject();
-            globalStats.addProperty("totalNations", nations.size());
+            int totalNations = 0;
             // Count total unique players who have joined any nation
             Set<UUID> allPlayers = new HashSet<>();
+            out.name("nations").beginArray();
+            min.name("nations").beginArray();
             for (Nation n : nationManager.getAll()) {
+                if (n == null) continue;
                 if (n.getLeader() != null) allPlayers.add(n.getLeader());
                 allPlayers.addAll(n.getCitizens());
+                Set<String> chunkKeys = getNationChunkKeys(n);
+                writeNation(out, n, chunkKeys);
+                writeMinimalNation(min, n, chunkKeys.size());
+                totalNations++;
             }
-            globalStats.addProperty("totalPlayers", allPlayers.size());
-            root.add("global", globalStats);
-            
-            // Write to file
-            File exportFile = new File(webExportDir, "data.json");
-            try (Writer w = new OutputStreamWriter(new FileOutputStream(exportFile), StandardCharsets.UTF_8)) {
-                w.write(root.toString());
-            }
-            
-            // Also create a minimal version for fast loading
-            createMinimalExport(root);
+            out.endArray();
+            min.endArray();
             
+            // Global stats
+            writeGlobalStats(out, totalNations, allPlayers.size());
+            writeGlobalStats(min, totalNations, allPlayers.size());
+            out.endObject();
+            min.endObject();
+            full.commit();
+            minimal.commit();
         } catch (Exception e) {
             plugin.getLogger().severe("Ошибка экспорта данных: " + e.getMessage());
             e.printStackTrace();
         }
     }
     
-    /**
-     * Create minimal export (nations list only, no territories).
-     */
-    private void createMinimalExport(JsonObject fullData) throws IOException {
-        JsonObject minimal = new JsonObject();
-        if (!fullData.has("timestamp") || !fullData.has("nations")) return;
-        minimal.addProperty("timestamp", fullData.get("timestamp").getAsLong());
+    private void writeNation(JsonWriter out, Nation n, Set<String> chunkKeys) throws IOException {
+        out.beginObject();
+        out.name("id").value(n.getId());
+        out.name("name").value(n.getName());
+        String leaderName = "Unknown";
+        if (n.getLeader() != null) {
+            leaderName = Bukkit.getOfflinePlayer(n.getLeader()).getName();
+            if (leaderName == null) leaderName = "Unknown";
+        }
+        out.name("leader").value(leaderName);
+        out.name("government").value(n.getGovernmentType());
+        out.name("treasury").value(n.getTreasury());
+        out.name("currency").value(n.getCurrencyCode());
+        out.name("inflation").value(n.getInflation());
+        out.name("taxRate").value(n.getTaxRate());
+        out.name("citizens").value(n.getCitizens() != null ? n.getCitizens().size() : 0);
+        out.name("chunks").value(chunkKeys.size());
+        out.name("motto").value(n.getMotto() != null ? n.getMotto() : "");
+        out.name("flagColor").value(n.getFlagIconMaterial() != null ? n.getFlagIconMaterial() : "BLUE_BANNER");
         
-        JsonArray nations = new JsonArray();
-        for (var nationElem : fullData.getAsJsonArray("nations")) {
-            JsonObject nationObj = nationElem.getAsJsonObject();
-            JsonObject minimalNation = new JsonObject();
-            minimalNation.addProperty("id", nationObj.get("id").getAsString());
-            minimalNation.addProperty("name", nationObj.get("name").getAsString());
-            minimalNation.addProperty("citizens", nationObj.get("citizens").getAsInt());
-            minimalNation.addProperty("chunks", nationObj.get("chunks").getAsInt());
-            minimalNation.addProperty("treasury", nationObj.get("treasury").getAsDouble());
-            nations.add(minimalNation);
+        // Territories (for map)
+        out.name("territories").beginArray();
+        for (String chunkKey : chunkKeys) {
+            writeChunk(out, chunkKey);
         }
-        minimal.add("nations", nations);
-        minimal.add("global", fullData.get("global"));
+        out.endArray();
         
-        File minimalFile = new File(webExportDir, "data_minimal.json");
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(minimalFile), StandardCharsets.UTF_8)) {
-            w.write(minimal.toString());
+        // Capital
+        if (n.getCapitalChunkStr() != null && !n.getCapitalChunkStr().isEmpty() && parseChunk(n.getCapitalChunkStr()) != null) {
+            out.name("capital");
+            writeChunk(out, n.getCapitalChunkStr());
+        }
+        
+        // Diplomacy
+        out.name("allies").beginArray();
+        if (n.getAllies() != null) {
+            for (String allyId : n.getAllies()) {
+                Nation ally = nationManager.getNationById(allyId);
+                if (ally != null) {
+                    out.value(ally.getName());
+                }
+            }
+        }
+        out.endArray();
+        
+        out.name("enemies").beginArray();
+        if (n.getEnemies() != null) {
+            for (String enemyId : n.getEnemies()) {
+                Nation enemy = nationManager.getNationById(enemyId);
+                if (enemy != null) {
+                    out.value(enemy.getName());
+                }
+            }
+        }
+        out.endArray();
+        
+        // Stats
+        int warsWon = 0;
+        int warsLost = 0;
+        int treatiesSigned = 0;
+        if (plugin.getStatisticsService() != null) {
+            var nationStats = plugin.getStatisticsService().getStats(n.getId());
+            if (nationStats != null) {
+                warsWon = nationStats.warsWon;
+                warsLost = nationStats.warsLost;
+                treatiesSigned = nationStats.treatiesSigned;
+            }
+        }
+        out.name("stats").beginObject();
+        out.name("warsWon").value(warsWon);
+        out.name("warsLost").value(warsLost);
+        out.name("treaties").value(treatiesSigned);
+        out.endObject();
+        out.endObject();
+    }
+    
+    /**
+     * Minimal export entry (no territories) for fast loading.
+     */
+    private void writeMinimalNation(JsonWriter out, Nation n, int chunkCount) throws IOException {
+        out.beginObject();
+        out.name("id").value(n.getId());
+        out.name("name").value(n.getName());
+        out.name("citizens").value(n.getCitizens() != null ? n.getCitizens().size() : 0);
+        out.name("chunks").value(chunkCount);
+        out.name("treasury").value(n.getTreasury());
+        out.endObject();
+    }
+    
+    private void writeGlobalStats(JsonWriter out, int totalNations, int totalPlayers) throws IOException {
+        out.name("global").beginObject();
+        out.name("totalNations").value(totalNations);
+        out.name("totalPlayers").value(totalPlayers);
+        out.endObject();
+    }
+    
+    private void writeChunk(JsonWriter out, String chunkKey) throws IOException {
+        int[] coords = parseChunk(chunkKey);
+        if (coords == null) {
+            return;
+        }
+        out.beginObject();
+        out.name("world").value(chunkKey.substring(0, chunkKey.indexOf(':')));
+        out.name("x").value(coords[0]);
+        out.name("z").value(coords[1]);
+        out.endObject();
+    }
+    
+    /** x/z of a world:x:z key, or null when the key is malformed. */
+    private static int[] parseChunk(String chunkKey) {
+        String[] parts = chunkKey.split(":");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            return new int[] {Integer.parseInt(parts[1]), Integer.parseInt(parts[2])};
+        } catch (NumberFormatException e) {
+            return null;
         }
     }
 
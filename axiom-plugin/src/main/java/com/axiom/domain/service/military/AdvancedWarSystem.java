@@ -4,6 +4,7 @@ import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
 import org.bukkit.Bukkit;
 
 import java.io.*;
@@ -19,6 +20,7 @@ import com.axiom.domain.service.politics.DiplomacySystem;
 import com.axiom.domain.service.state.NationManager;
 import com.axiom.domain.service.state.TerritoryService;
 import com.axiom.domain.service.technology.TechnologyTreeService;
+import com.axiom.util.JsonFileWriter;
 
 /**
  * Advanced war system with battles, fronts, occupation, and military operations.
@@ -1104,76 +1106,75 @@ public class AdvancedWarSystem {
     
     private void saveWar(War war) {
         File f = new File(warsDir, war.id + ".json");
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
-            w.write(serializeWar(war).toString());
-        } catch (Exception ignored) {}
+        try {
+            JsonFileWriter.write(f, false, out -> writeWar(out, war));
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to save war: " + war.id + " - " + e.getMessage());
+        }
     }
     
-    private JsonObject serializeWar(War war) {
-        JsonObject o = new JsonObject();
-        o.addProperty("id", war.id);
-        o.addProperty("attackerId", war.attackerId);
-        o.addProperty("defenderId", war.defenderId);
-        o.addProperty("type", war.type.name());
-        o.addProperty("status", war.status.name());
-        o.addProperty("stage", war.stage != null ? war.stage.name() : WarStage.ACTIVE.name());
-        o.addProperty("startTime", war.startTime);
-        o.addProperty("endTime", war.endTime);
-        o.addProperty("preparationEndsAt", war.preparationEndsAt);
-        o.addProperty("ceasefireEndsAt", war.ceasefireEndsAt);
-        o.addProperty("battlesFought", war.battlesFought);
-        o.addProperty("attackerWins", war.attackerWins);
-        o.addProperty("defenderWins", war.defenderWins);
-        o.addProperty("territoriesCaptured", war.territoriesCaptured);
-        o.addProperty("territoriesLost", war.territoriesLost);
-        o.addProperty("attackerCost", war.attackerCost);
-        o.addProperty("defenderCost", war.defenderCost);
-        o.addProperty("damagesDealt", war.damagesDealt);
-        o.addProperty("attackerCasualties", war.attackerCasualties);
-        o.addProperty("defenderCasualties", war.defenderCasualties);
-        
-        // Serialize occupied chunks
-        com.google.gson.JsonArray occupiedArr = new com.google.gson.JsonArray();
-        if (war.occupiedChunks != null) {
-            for (String chunk : war.occupiedChunks) occupiedArr.add(chunk);
-        }
-        o.add("occupiedChunks", occupiedArr);
-        
-        // Serialize fronts
-        JsonObject frontsObj = new JsonObject();
+    private void writeWar(JsonWriter out, War war) throws IOException {
+        out.beginObject();
+        out.name("id").value(war.id);
+        out.name("attackerId").value(war.attackerId);
+        out.name("defenderId").value(war.defenderId);
+        out.name("type").value(war.type.name());
+        out.name("status").value(war.status.name());
+        out.name("stage").value(war.stage != null ? war.stage.name() : WarStage.ACTIVE.name());
+        out.name("startTime").value(war.startTime);
+        out.name("endTime").value(war.endTime);
+        out.name("preparationEndsAt").value(war.preparationEndsAt);
+        out.name("ceasefireEndsAt").value(war.ceasefireEndsAt);
+        out.name("battlesFought").value(war.battlesFought);
+        out.name("attackerWins").value(war.attackerWins);
+        out.name("defenderWins").value(war.defenderWins);
+        out.name("territoriesCaptured").value(war.territoriesCaptured);
+        out.name("territoriesLost").value(war.territoriesLost);
+        out.name("attackerCost").value(war.attackerCost);
+        out.name("defenderCost").value(war.defenderCost);
+        out.name("damagesDealt").value(war.damagesDealt);
+        out.name("attackerCasualties").value(war.attackerCasualties);
+        out.name("defenderCasualties").value(war.defenderCasualties);
+        
+        // Occupied chunks
+        writeStrings(out, "occupiedChunks", war.occupiedChunks);
+        
+        // Fronts
+        out.name("fronts").beginObject();
         for (Map.Entry<String, Front> entry : war.fronts.entrySet()) {
-            JsonObject frontObj = new JsonObject();
-            frontObj.addProperty("name", entry.getValue().name);
-            frontObj.addProperty("region", entry.getValue().region);
-            frontObj.addProperty("attackerProgress", entry.getValue().attackerProgress);
-            frontObj.addProperty("defenderDefense", entry.getValue().defenderDefense);
-            frontObj.addProperty("lastBattleTime", entry.getValue().lastBattleTime);
-            frontObj.addProperty("battlesOnFront", entry.getValue().battlesOnFront);
-            com.google.gson.JsonArray contestedArr = new com.google.gson.JsonArray();
-            if (entry.getValue().contestedChunks != null) {
-                for (String chunk : entry.getValue().contestedChunks) contestedArr.add(chunk);
-            }
-            frontObj.add("contestedChunks", contestedArr);
-            frontsObj.add(entry.getKey(), frontObj);
+            Front front = entry.getValue();
+            out.name(entry.getKey()).beginObject();
+            out.name("name").value(front.name);
+            out.name("region").value(front.region);
+            out.name("attackerProgress").value(front.attackerProgress);
+            out.name("defenderDefense").value(front.defenderDefense);
+            out.name("lastBattleTime").value(front.lastBattleTime);
+            out.name("battlesOnFront").value(front.battlesOnFront);
+            writeStrings(out, "contestedChunks", front.contestedChunks);
+            out.endObject();
         }
-        o.add("fronts", frontsObj);
-        
-        // Serialize goals
-        com.google.gson.JsonArray goalsArr = new com.google.gson.JsonArray();
-        for (String goal : war.attackerGoals) goalsArr.add(goal);
-        o.add("attackerGoals", goalsArr);
+        out.endObject();
         
-        com.google.gson.JsonArray defenderGoalsArr = new com.google.gson.JsonArray();
-        for (String goal : war.defenderGoals) defenderGoalsArr.add(goal);
-        o.add("defenderGoals", defenderGoalsArr);
+        // Goals
+        writeStrings(out, "attackerGoals", war.attackerGoals);
+        writeStrings(out, "defenderGoals", war.defenderGoals);
         
-        JsonObject goalProgressObj = new JsonObject();
+        out.name("goalProgress").beginObject();
         for (Map.Entry<String, Integer> entry : war.goalProgress.entrySet()) {
-            goalProgressObj.addProperty(entry.getKey(), entry.getValue());
+            out.name(entry.getKey()).value(entry.getValue());
         }
-        o.add("goalProgress", goalProgressObj);
-        
-        return o;
+        out.endObject();
+        out.endObject();
+    }
+    
+    private static void writeStrings(JsonWriter out, String name, Collection<String> values) throws IOException {
+        out.name(name).beginArray();
+        if (values != null) {
+            for (String value : values) {
+                out.value(value);
+            }
+        }
+        out.endArray();
     }
     
     private War deserializeWar(JsonObject o) {
@@ -1277,6 +1278,11 @@ public class AdvancedWarSystem {
     public synchronized Collection<War> getAllActiveWars() {
         return new ArrayList<>(activeWars.values());
     }
+
+    /** Lock-free: the war map is concurrent. */
+    public int getActiveWarCount() {
+        return activeWars.size();
+    }
     
     /**
      * Get global war statistics across all nations.
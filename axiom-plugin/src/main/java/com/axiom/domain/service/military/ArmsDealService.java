@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages arms deals and weapons trading between nations. */
 public class ArmsDealService {
@@ -35,7 +36,7 @@ public class ArmsDealService {
         this.dealsDir = new File(plugin.getDataFolder(), "armsdeals");
         this.dealsDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processDeliveries, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("ArmsDealService.processDeliveries", this::processDeliveries, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String createDeal(String sellerId, String buyerId, String weaponType, int quantity, double pricePerUnit, int deliveryDays) {
@@ -117,8 +118,9 @@ public class ArmsDealService {
         o.addProperty("pricePerUnit", deal.pricePerUnit);
         o.addProperty("deliveryDate", deal.deliveryDate);
         o.addProperty("delivered", deal.delivered);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -20,6 +20,7 @@ import com.axiom.domain.service.infrastructure.VisualEffectsService;
 import com.axiom.domain.service.politics.DiplomacyRelationService;
 import com.axiom.domain.service.state.NationManager;
 import com.axiom.domain.service.state.TerritoryService;
+import com.axiom.util.AtomicFileWriter;
 
 /** Tracks conquered territories and conquest mechanics. */
 public class ConquestService {
@@ -184,8 +185,9 @@ public class ConquestService {
                 o.addProperty(entry.getKey(), entry.getValue());
             }
         }
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
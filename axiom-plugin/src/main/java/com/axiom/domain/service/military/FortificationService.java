@@ -10,6 +10,7 @@ import java.nio.file.Files;
 import java.util.*;
 import java.util.UUID;
 import com.axiom.domain.service.infrastructure.VisualEffectsService;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages fortifications and defensive structures. */
 public class FortificationService {
@@ -108,8 +109,9 @@ public class FortificationService {
         o.addProperty("level", f.level);
         o.addProperty("defenseBonus", f.defenseBonus);
         o.addProperty("builtAt", f.builtAt);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(file)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages military exercises and training. */
 public class MilitaryExerciseService {
@@ -33,7 +34,7 @@ public class MilitaryExerciseService {
         this.exercisesDir = new File(plugin.getDataFolder(), "exercises");
         this.exercisesDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processExercises, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("MilitaryExerciseService.processExercises", this::processExercises, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String startExercise(String nationId, String type, int durationHours, double cost) {
@@ -118,8 +119,9 @@ public class MilitaryExerciseService {
         o.addProperty("startTime", ex.startTime);
         o.addProperty("endTime", ex.endTime);
         o.addProperty("cost", ex.cost);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages military intelligence and reconnaissance. */
 public class MilitaryIntelligenceService {
@@ -129,8 +130,9 @@ public class MilitaryIntelligenceService {
             data.addProperty(entry.getKey(), entry.getValue().toString());
         }
         o.add("data", data);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -2,6 +2,7 @@ package com.axiom.domain.service.military;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -33,7 +34,7 @@ public class MilitaryService {
         this.militaryDir = new File(plugin.getDataFolder(), "military");
         this.militaryDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::updateStrength, 0, 20 * 60 * 5); // every 5 minutes
+        plugin.getSimulationScheduler().schedule("MilitaryService.updateStrength", this::updateStrength, 20 * 60 * 5); // every 5 minutes
     }
 
     public synchronized String recruitUnits(String nationId, String unitType, int count, double cost) {
@@ -147,8 +148,9 @@ public class MilitaryService {
         o.addProperty("navy", md.navy);
         o.addProperty("airForce", md.airForce);
         o.addProperty("strength", md.strength);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
 
@@ -22,7 +22,7 @@ public class MobilizationService {
         this.plugin = plugin;
         this.nationManager = nationManager;
         this.diplomacySystem = diplomacySystem;
-        Bukkit.getScheduler().runTaskTimer(plugin, this::applyMobilizationBuffs, 0, 20 * 60); // every minute
+        plugin.getSimulationScheduler().schedule("MobilizationService.applyMobilizationBuffs", this::applyMobilizationBuffs, 20 * 60); // every minute
     }
 
     public synchronized void mobilize(String nationId) {
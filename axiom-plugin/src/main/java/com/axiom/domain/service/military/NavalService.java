@@ -1,6 +1,7 @@
 package com.axiom.domain.service.military;
 
 import com.axiom.AXIOM;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -76,8 +77,9 @@ public class NavalService {
         o.addProperty("ships", power.ships);
         o.addProperty("tradeBonus", power.tradeBonus);
         o.addProperty("defenseBonus", power.defenseBonus);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
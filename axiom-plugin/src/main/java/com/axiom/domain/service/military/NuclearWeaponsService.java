@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages nuclear weapons programs and deterrence. */
 public class NuclearWeaponsService {
@@ -33,7 +34,7 @@ public class NuclearWeaponsService {
         this.nuclearDir = new File(plugin.getDataFolder(), "nuclear");
         this.nuclearDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processPrograms, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("NuclearWeaponsService.processPrograms", this::processPrograms, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String startProgram(String nationId, double cost) {
@@ -130,8 +131,9 @@ public class NuclearWeaponsService {
         o.addProperty("researchProgress", program.researchProgress);
         o.addProperty("startedAt", program.startedAt);
         o.addProperty("deterrenceLevel", program.deterrenceLevel);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -2,6 +2,7 @@ package com.axiom.domain.service.military;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -32,7 +33,7 @@ public class PartisanService {
         this.partisansDir = new File(plugin.getDataFolder(), "partisans");
         this.partisansDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::partisanActions, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("PartisanService.partisanActions", this::partisanActions, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized void establishPartisans(String territoryKey, String originalNationId, String occupierNationId) {
@@ -103,8 +104,9 @@ public class PartisanService {
         o.addProperty("occupierNationId", pg.occupierNationId);
         o.addProperty("activityLevel", pg.activityLevel);
         o.addProperty("establishedAt", pg.establishedAt);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -11,6 +11,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages rebellions and uprisings within nations. */
 public class RebellionService {
@@ -34,7 +35,7 @@ public class RebellionService {
         this.rebellionsDir = new File(plugin.getDataFolder(), "rebellions");
         this.rebellionsDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::updateRebellions, 0, 20 * 60 * 15); // every 15 minutes
+        plugin.getSimulationScheduler().schedule("RebellionService.updateRebellions", this::updateRebellions, 20 * 60 * 15); // every 15 minutes
     }
 
     public synchronized String startRebellion(String nationId, UUID leaderId) {
@@ -132,8 +133,9 @@ public class RebellionService {
         o.addProperty("strength", r.strength);
         o.addProperty("support", r.support);
         o.addProperty("startedAt", r.startedAt);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
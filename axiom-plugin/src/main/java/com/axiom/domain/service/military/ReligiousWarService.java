@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages religious wars (crusades, jihads). */
 public class ReligiousWarService {
@@ -33,7 +34,7 @@ public class ReligiousWarService {
         this.religiousWarsDir = new File(plugin.getDataFolder(), "religiouswars");
         this.religiousWarsDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::checkExpiry, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("ReligiousWarService.checkExpiry", this::checkExpiry, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String declareReligiousWar(String religionId, String attackerId, String targetId, String type, int durationHours) {
@@ -119,8 +120,9 @@ public class ReligiousWarService {
         o.addProperty("targetNationId", rw.targetNationId);
         o.addProperty("type", rw.type);
         o.addProperty("expiresAt", rw.expiresAt);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
 
@@ -2,6 +2,7 @@ package com.axiom.domain.service.military;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -105,8 +106,9 @@ public class ResistanceMovementService {
         o.addProperty("targetNationId", rm.targetNationId);
         o.addProperty("supportLevel", rm.supportLevel);
         o.addProperty("establishedAt", rm.establishedAt);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -27,7 +27,7 @@ public class RevoltService {
         this.plugin = plugin;
         this.nationManager = nationManager;
         this.happinessService = happinessService;
-        Bukkit.getScheduler().runTaskTimer(plugin, this::checkRevoltConditions, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("RevoltService.checkRevoltConditions", this::checkRevoltConditions, 20 * 60 * 10); // every 10 minutes
     }
 
     private synchronized void checkRevoltConditions() {
@@ -16,6 +16,7 @@ import java.util.UUID;
 import java.util.Objects;
 import java.util.Set;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages siege warfare against cities. */
 public class SiegeService {
@@ -38,7 +39,7 @@ public class SiegeService {
         this.siegesDir = new File(plugin.getDataFolder(), "sieges");
         this.siegesDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::updateSieges, 0, 20 * 60 * 5); // every 5 minutes
+        plugin.getSimulationScheduler().schedule("SiegeService.updateSieges", this::updateSieges, 20 * 60 * 5); // every 5 minutes
     }
 
     public synchronized String startSiege(String cityId, String attackerId, String defenderId) {
@@ -230,8 +231,9 @@ public class SiegeService {
         o.addProperty("defenderNationId", s.defenderNationId);
         o.addProperty("progress", s.progress);
         o.addProperty("startTime", s.startTime);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages terrorist cells and attacks. */
 public class TerrorismService {
@@ -32,7 +33,7 @@ public class TerrorismService {
         this.cellsDir = new File(plugin.getDataFolder(), "terrorism");
         this.cellsDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processAttacks, 0, 20 * 60 * 30); // every 30 minutes
+        plugin.getSimulationScheduler().schedule("TerrorismService.processAttacks", this::processAttacks, 20 * 60 * 30); // every 30 minutes
     }
 
     public synchronized String createCell(String nationId, String sponsorId, double funding) {
@@ -110,8 +111,9 @@ public class TerrorismService {
         if (cell.sponsorNationId != null) o.addProperty("sponsorNationId", cell.sponsorNationId);
         o.addProperty("activity", cell.activity);
         o.addProperty("nextAttack", cell.nextAttack);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -11,6 +11,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /**
  * Unified Espionage System.
@@ -219,7 +220,7 @@ public class UnifiedEspionageService {
     
     private void saveNetwork(SpyNetwork sn) {
         File f = new File(dataDir, "net_" + sn.ownerNationId + "_" + sn.targetNationId + ".json");
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             JsonObject o = new JsonObject();
             o.addProperty("owner", sn.ownerNationId);
             o.addProperty("target", sn.targetNationId);
@@ -227,6 +228,7 @@ public class UnifiedEspionageService {
             o.addProperty("chance", sn.successChance);
             o.addProperty("lastMission", sn.lastMission);
             w.write(o.toString());
+            w.commit();
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -234,7 +236,7 @@ public class UnifiedEspionageService {
     
     private void saveReport(String collectorId, IntelligenceReport r) {
         File f = new File(dataDir, "intel_" + collectorId + "_" + r.targetNationId + ".json");
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             JsonObject o = new JsonObject();
             o.addProperty("target", r.targetNationId);
             o.addProperty("treasury", r.treasuryEstimate);
@@ -245,6 +247,7 @@ public class UnifiedEspionageService {
             r.knownAllies.forEach(arr::add);
             o.add("allies", arr);
             w.write(o.toString());
+            w.commit();
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -11,6 +11,7 @@ import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.military.AdvancedWarSystem;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages ceasefire agreements and truces. */
 public class CeasefireService {
@@ -33,7 +34,7 @@ public class CeasefireService {
         this.ceasefiresDir = new File(plugin.getDataFolder(), "ceasefires");
         this.ceasefiresDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::checkExpiry, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("CeasefireService.checkExpiry", this::checkExpiry, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String createCeasefire(String nationA, String nationB, int durationHours, boolean permanent, String terms) {
@@ -115,8 +116,9 @@ public class CeasefireService {
         o.addProperty("expiresAt", cf.expiresAt);
         o.addProperty("permanent", cf.permanent);
         o.addProperty("terms", cf.terms);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
 
@@ -2,6 +2,7 @@ package com.axiom.domain.service.politics;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
+import com.axiom.kernel.SimulationPipeline;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -10,6 +11,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Tracks corruption levels in nations. */
 public class CorruptionService {
@@ -17,6 +19,7 @@ public class CorruptionService {
     private final NationManager nationManager;
     private final File corruptionDir;
     private final Map<String, CorruptionData> nationCorruption = new HashMap<>(); // nationId -> data
+    private final SimulationPipeline<String, CorruptionInput, Double> corruptionPipeline;
 
     public static class CorruptionData {
         double level; // 0-100
@@ -37,7 +40,14 @@ public class CorruptionService {
         this.corruptionDir = new File(plugin.getDataFolder(), "corruption");
         this.corruptionDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::updateCorruption, 0, 20 * 60 * 10); // every 10 minutes
+        this.corruptionPipeline = plugin.getSimulationScheduler().pipeline(
+            "CorruptionService.updateCorruption",
+            this::trackedNationIds,
+            this::captureCorruption,
+            CorruptionService::computeCorruption,
+            this::applyCorruption
+        );
+        plugin.getSimulationScheduler().schedule("CorruptionService.updateCorruption", corruptionPipeline, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String reportCorruption(String nationId, String type, String description, double amount) {
@@ -68,23 +78,46 @@ public class CorruptionService {
         return "Коррупция зафиксирована (уровень: " + data.level + "%)";
     }
 
-    private synchronized void updateCorruption() {
-        // Corruption naturally decreases if there's good governance
-        long now = System.currentTimeMillis();
-        for (Map.Entry<String, CorruptionData> e : nationCorruption.entrySet()) {
-            CorruptionData data = e.getValue();
-            Nation n = nationManager.getNationById(e.getKey());
-            if (n == null) continue;
-            // Good education and low crime reduce corruption
-            double education = plugin.getEducationService() != null ? plugin.getEducationService().getEducationLevel(e.getKey()) : 0.0;
-            double crime = plugin.getCrimeService() != null ? plugin.getCrimeService().getCrimeRate(e.getKey()) : 0.0;
-            double reduction = (education * 0.1) - (crime * 0.05);
-            data.level = Math.max(0, Math.min(100, data.level - reduction * 0.1));
-            data.lastCheck = now;
-            saveCorruption(e.getKey(), data);
+    /** Read-only inputs for one nation, captured on the main thread. */
+    private static final class CorruptionInput {
+        final double level;
+        final double education;
+        final double crime;
+
+        CorruptionInput(double level, double education, double crime) {
+            this.level = level;
+            this.education = education;
+            this.crime = crime;
         }
     }
 
+    private synchronized List<String> trackedNationIds() {
+        return new ArrayList<>(nationCorruption.keySet());
+    }
+
+    private synchronized CorruptionInput captureCorruption(String nationId) {
+        CorruptionData data = nationCorruption.get(nationId);
+        if (data == null || nationManager.getNationById(nationId) == null) return null;
+        double education = plugin.getEducationService() != null ? plugin.getEducationService().getEducationLevel(nationId) : 0.0;
+        double crime = plugin.getCrimeService() != null ? plugin.getCrimeService().getCrimeRate(nationId) : 0.0;
+        return new CorruptionInput(data.level, education, crime);
+    }
+
+    // Corruption naturally decreases if there's good governance
+    private static Double computeCorruption(CorruptionInput input) {
+        // Good education and low crime reduce corruption
+        double reduction = (input.education * 0.1) - (input.crime * 0.05);
+        return Math.max(0, Math.min(100, input.level - reduction * 0.1));
+    }
+
+    private synchronized void applyCorruption(String nationId, Double level) {
+        CorruptionData data = nationCorruption.get(nationId);
+        if (data == null) return;
+        data.level = level;
+        data.lastCheck = System.currentTimeMillis();
+        saveCorruption(nationId, data);
+    }
+
     public synchronized double getCorruptionLevel(String nationId) {
         CorruptionData data = nationCorruption.get(nationId);
         return data != null ? data.level : 0.0;
@@ -131,8 +164,9 @@ public class CorruptionService {
             arr.add(iObj);
         }
         o.add("incidents", arr);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages cultural exchange programs between nations. */
 public class CulturalExchangeService {
@@ -35,7 +36,7 @@ public class CulturalExchangeService {
         this.exchangesDir = new File(plugin.getDataFolder(), "culturalexchanges");
         this.exchangesDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processExchanges, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("CulturalExchangeService.processExchanges", this::processExchanges, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String startExchange(String nationA, String nationB, String type, int durationDays, double cost) {
@@ -141,8 +142,9 @@ public class CulturalExchangeService {
         o.addProperty("startTime", exchange.startTime);
         o.addProperty("endTime", exchange.endTime);
         o.addProperty("active", exchange.active);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -12,6 +12,7 @@ import java.util.*;
 import com.axiom.domain.service.state.HappinessService;
 import com.axiom.domain.service.state.NationManager;
 import com.axiom.domain.service.state.EducationService;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages cultural revolutions and major cultural shifts. */
 public class CulturalRevolutionService {
@@ -35,7 +36,7 @@ public class CulturalRevolutionService {
         this.revolutionsDir = new File(plugin.getDataFolder(), "culturalrevolutions");
         this.revolutionsDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processRevolutions, 0, 20 * 60 * 15); // every 15 minutes
+        plugin.getSimulationScheduler().schedule("CulturalRevolutionService.processRevolutions", this::processRevolutions, 20 * 60 * 15); // every 15 minutes
     }
 
     public synchronized String startRevolution(String nationId, String type, double cost) {
@@ -169,8 +170,9 @@ public class CulturalRevolutionService {
         o.addProperty("intensity", rev.intensity);
         o.addProperty("startedAt", rev.startedAt);
         o.addProperty("active", rev.active);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
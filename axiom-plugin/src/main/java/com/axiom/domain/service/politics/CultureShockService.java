@@ -3,6 +3,7 @@ package com.axiom.domain.service.politics;
 import com.axiom.AXIOM;
 import java.util.UUID;
 import com.axiom.domain.model.Nation;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -23,7 +24,7 @@ public class CultureShockService {
         this.shockDir = new File(plugin.getDataFolder(), "cultureshock");
         this.shockDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processShock, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("CultureShockService.processShock", this::processShock, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized void applyShock(UUID playerId, String oldNationId, String newNationId) {
@@ -87,8 +88,9 @@ public class CultureShockService {
         for (var entry : shocks.entrySet()) {
             o.addProperty(entry.getKey(), entry.getValue());
         }
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
 }
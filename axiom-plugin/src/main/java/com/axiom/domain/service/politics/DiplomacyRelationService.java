@@ -12,7 +12,6 @@ import java.io.FileOutputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
-import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
@@ -23,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /**
  * Unified diplomacy relations and sanctions storage.
@@ -88,7 +88,7 @@ public class DiplomacyRelationService {
         cleanupExpired();
         reconcileNationLinks();
 
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::cleanupExpired, 0, 20L * 60L * 5L);
+        plugin.getSimulationScheduler().schedule("DiplomacyRelationService.cleanupExpired", this::cleanupExpired, 20L * 60L * 5L);
     }
 
     public synchronized RelationStatus getStatus(String nationA, String nationB) {
@@ -630,8 +630,9 @@ public class DiplomacyRelationService {
             o.addProperty("reason", rel.reason != null ? rel.reason : "");
             arr.add(o);
         }
-        try (Writer writer = new OutputStreamWriter(new FileOutputStream(relationsFile), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter writer = AtomicFileWriter.open(relationsFile)) {
             writer.write(arr.toString());
+            writer.commit();
         } catch (Exception ignored) {}
     }
 
@@ -647,8 +648,9 @@ public class DiplomacyRelationService {
             o.addProperty("reason", s.reason != null ? s.reason : "");
             arr.add(o);
         }
-        try (Writer writer = new OutputStreamWriter(new FileOutputStream(sanctionsFile), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter writer = AtomicFileWriter.open(sanctionsFile)) {
             writer.write(arr.toString());
+            writer.commit();
         } catch (Exception ignored) {}
     }
 
@@ -76,6 +76,11 @@ public class DiplomacySystem {
         return "Война объявлена. Режим боевой зоны активен на 24 часа.";
     }
 
+    /** Drops per-nation state such as the war declaration cooldown; called when a nation is deleted. */
+    public void forgetNation(String nationId) {
+        lastWarDeclaredAt.remove(nationId);
+    }
+
     public boolean isAtWar(String nationId, String otherNationId) {
         if (relationService == null) return false;
         return relationService.isAtWar(nationId, otherNationId);
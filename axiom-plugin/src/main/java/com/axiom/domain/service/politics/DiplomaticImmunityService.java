@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages expanded diplomatic immunity (beyond basic immunity). */
 public class DiplomaticImmunityService {
@@ -34,7 +35,7 @@ public class DiplomaticImmunityService {
         this.immunityDir = new File(plugin.getDataFolder(), "expandedimmunity");
         this.immunityDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processImmunities, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("DiplomaticImmunityService.processImmunities", this::processImmunities, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String grantImmunity(String grantingNationId, UUID targetPlayerId, String level, int durationHours, Set<String> applicableNations) {
@@ -126,8 +127,9 @@ public class DiplomaticImmunityService {
             arr.add(nationId);
         }
         o.add("applicableNations", arr);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -2,6 +2,7 @@ package com.axiom.domain.service.politics;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -93,8 +94,9 @@ public class DiplomaticMissionService {
         o.addProperty("type", m.type);
         o.addProperty("establishedAt", m.establishedAt);
         o.addProperty("active", m.active);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         }
     }
     
@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages diplomatic recognition between nations. */
 public class DiplomaticRecognitionService {
@@ -120,8 +121,9 @@ public class DiplomaticRecognitionService {
             }
         }
         o.add("recognized", arr);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (IOException e) {
             throw e; // Re-throw IOException
         } catch (Exception e) {
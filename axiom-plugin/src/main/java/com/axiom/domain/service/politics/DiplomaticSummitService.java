@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages diplomatic summits and conferences. */
 public class DiplomaticSummitService {
@@ -36,7 +37,7 @@ public class DiplomaticSummitService {
         this.summitsDir = new File(plugin.getDataFolder(), "summits");
         this.summitsDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processSummits, 0, 20 * 60 * 5); // every 5 minutes
+        plugin.getSimulationScheduler().schedule("DiplomaticSummitService.processSummits", this::processSummits, 20 * 60 * 5); // every 5 minutes
     }
 
     public synchronized String scheduleSummit(String name, String hostId, String agenda, int durationHours) {
@@ -161,8 +162,9 @@ public class DiplomaticSummitService {
             arr.add(nationId);
         }
         o.add("participantNations", arr);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -1,6 +1,7 @@
 package com.axiom.domain.service.politics;
 
 import com.axiom.AXIOM;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -94,8 +95,9 @@ public class DynastyService {
         JsonArray arr = new JsonArray();
         for (UUID m : d.members) arr.add(m.toString());
         o.add("members", arr);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         }
     }
     
@@ -12,6 +12,7 @@ import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.infrastructure.VisualEffectsService;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages elections and parliament voting. */
 public class ElectionService {
@@ -186,8 +187,9 @@ public class ElectionService {
         JsonObject votesObj = new JsonObject();
         for (var entry : e.votes.entrySet()) votesObj.addProperty(entry.getKey().toString(), entry.getValue());
         o.add("votes", votesObj);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         }
     }
 
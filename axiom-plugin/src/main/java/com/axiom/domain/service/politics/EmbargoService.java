@@ -2,6 +2,7 @@ package com.axiom.domain.service.politics;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -69,8 +70,9 @@ public class EmbargoService {
         JsonArray arr = new JsonArray();
         for (String t : embargoes.getOrDefault(embargorId, Collections.emptySet())) arr.add(t);
         o.add("targets", arr);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         }
     }
     
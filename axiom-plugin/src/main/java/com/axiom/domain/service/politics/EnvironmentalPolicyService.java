@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages environmental policies and regulations. */
 public class EnvironmentalPolicyService {
@@ -33,7 +34,7 @@ public class EnvironmentalPolicyService {
         this.policiesDir = new File(plugin.getDataFolder(), "environmentalpolicies");
         this.policiesDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processPolicies, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("EnvironmentalPolicyService.processPolicies", this::processPolicies, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String setPolicy(String nationId, double pollutionLimit, double conservationLevel, boolean carbonTax, double taxRate) {
@@ -109,8 +110,9 @@ public class EnvironmentalPolicyService {
         o.addProperty("renewableEnergyTarget", policy.renewableEnergyTarget);
         o.addProperty("carbonTax", policy.carbonTax);
         o.addProperty("carbonTaxRate", policy.carbonTaxRate);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
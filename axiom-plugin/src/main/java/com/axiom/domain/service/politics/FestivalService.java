@@ -1,6 +1,7 @@
 package com.axiom.domain.service.politics;
 
 import com.axiom.AXIOM;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -30,7 +31,7 @@ public class FestivalService {
         this.festivalsDir = new File(plugin.getDataFolder(), "festivals");
         this.festivalsDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::checkActiveFestivals, 0, 20 * 60); // every minute
+        plugin.getSimulationScheduler().schedule("FestivalService.checkActiveFestivals", this::checkActiveFestivals, 20 * 60); // every minute
     }
 
     public synchronized String scheduleFestival(String nationId, String name, String type, long scheduledTime, double happinessBoost) throws IOException {
@@ -122,8 +123,9 @@ public class FestivalService {
         o.addProperty("scheduledTime", f.scheduledTime);
         o.addProperty("happinessBoost", f.happinessBoost);
         o.addProperty("active", f.active);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(file)) {
             w.write(o.toString());
+            w.commit();
         }
     }
     
@@ -13,6 +13,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.infrastructure.VisualEffectsService;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages religious holidays with scheduled buff effects. */
 public class HolidayService {
@@ -36,7 +37,7 @@ public class HolidayService {
         this.holidaysDir = new File(plugin.getDataFolder(), "holidays");
         this.holidaysDir.mkdirs();
         loadAll();
-        Bukkit.getScheduler().runTaskTimer(plugin, this::checkActiveHolidays, 0, 20 * 60); // check every minute
+        plugin.getSimulationScheduler().schedule("HolidayService.checkActiveHolidays", this::checkActiveHolidays, 20 * 60); // check every minute
     }
 
     public synchronized String createHoliday(String religionId, String name, String buffType, long durationMinutes) throws IOException {
@@ -152,8 +153,9 @@ public class HolidayService {
         o.addProperty("buffType", h.buffType);
         o.addProperty("durationMinutes", h.durationMinutes);
         o.addProperty("startTime", h.startTime);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -13,6 +13,7 @@ import com.axiom.domain.service.military.MilitaryService;
 import com.axiom.domain.service.state.HappinessService;
 import com.axiom.domain.service.state.NationManager;
 import com.axiom.domain.service.state.EducationService;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages international aid and humanitarian assistance. */
 public class InternationalAidService {
@@ -37,7 +38,7 @@ public class InternationalAidService {
         this.aidDir = new File(plugin.getDataFolder(), "aid");
         this.aidDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processAid, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("InternationalAidService.processAid", this::processAid, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String sendAid(String donorId, String recipientId, String type, double amount) {
@@ -160,8 +161,9 @@ public class InternationalAidService {
             }
         }
         o.add("packages", arr);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
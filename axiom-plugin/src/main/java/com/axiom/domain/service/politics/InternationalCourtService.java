@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages international court cases and rulings. */
 public class InternationalCourtService {
@@ -36,7 +37,7 @@ public class InternationalCourtService {
         this.casesDir = new File(plugin.getDataFolder(), "courtcases");
         this.casesDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processCases, 0, 20 * 60 * 30); // every 30 minutes
+        plugin.getSimulationScheduler().schedule("InternationalCourtService.processCases", this::processCases, 20 * 60 * 30); // every 30 minutes
     }
 
     public synchronized String fileCase(String plaintiffId, String defendantId, String charge, String description) {
@@ -146,8 +147,9 @@ public class InternationalCourtService {
         if (courtCase.verdict != null) o.addProperty("verdict", courtCase.verdict);
         o.addProperty("penalty", courtCase.penalty);
         o.addProperty("resolved", courtCase.resolved);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -1,6 +1,7 @@
 package com.axiom.domain.service.politics;
 
 import com.axiom.AXIOM;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -92,8 +93,9 @@ public class MonumentService {
         o.addProperty("chunkKey", m.chunkKey);
         o.addProperty("prestigeBonus", m.prestigeBonus);
         o.addProperty("builtAt", m.builtAt);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         }
     }
     
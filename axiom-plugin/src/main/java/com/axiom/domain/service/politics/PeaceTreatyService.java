@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages peace treaties after wars. */
 public class PeaceTreatyService {
@@ -35,7 +36,7 @@ public class PeaceTreatyService {
         this.treatiesDir = new File(plugin.getDataFolder(), "peacetreaties");
         this.treatiesDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processTreaties, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("PeaceTreatyService.processTreaties", this::processTreaties, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String signTreaty(String nationA, String nationB, String terms, double reparations, boolean permanent, int durationDays) {
@@ -136,8 +137,9 @@ public class PeaceTreatyService {
             arr.add(chunkKey);
         }
         o.add("territoryTransfers", arr);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages propaganda campaigns. */
 public class PropagandaCampaignService {
@@ -35,7 +36,7 @@ public class PropagandaCampaignService {
         this.campaignsDir = new File(plugin.getDataFolder(), "propaganda");
         this.campaignsDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processCampaigns, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("PropagandaCampaignService.processCampaigns", this::processCampaigns, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String startCampaign(String nationId, String targetNationId, String message, int durationHours, double cost) {
@@ -155,8 +156,9 @@ public class PropagandaCampaignService {
         o.addProperty("startTime", campaign.startTime);
         o.addProperty("endTime", campaign.endTime);
         o.addProperty("cost", campaign.cost);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
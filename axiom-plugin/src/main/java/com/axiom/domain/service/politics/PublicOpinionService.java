@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Tracks public opinion and approval ratings for nations. */
 public class PublicOpinionService {
@@ -30,7 +31,7 @@ public class PublicOpinionService {
         this.opinionDir = new File(plugin.getDataFolder(), "publicopinion");
         this.opinionDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::updateOpinions, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("PublicOpinionService.updateOpinions", this::updateOpinions, 20 * 60 * 10); // every 10 minutes
     }
 
     private synchronized void updateOpinions() {
@@ -117,8 +118,9 @@ public class PublicOpinionService {
             }
         }
         o.add("issueSupport", issues);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -1,6 +1,8 @@
 package com.axiom.domain.service.politics;
 
 import com.axiom.AXIOM;
+import com.axiom.util.AtomicFileWriter;
+import com.axiom.util.SnapshotBarrier;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -193,8 +195,9 @@ public class ReligionManager {
     private void save(JsonObject o) throws IOException {
         if (o == null || !o.has("id")) return;
         File f = new File(religionsDir, o.get("id").getAsString() + ".json");
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         }
     }
     
@@ -243,6 +246,21 @@ public class ReligionManager {
         return "Святое место удалено.";
     }
     
+    /**
+     * Delete religion and its file.
+     */
+    public synchronized String deleteReligion(String religionId) throws IOException {
+        if (isBlank(religionId)) return "Неверный идентификатор религии.";
+        if (idToReligion.remove(religionId) == null) return "Религия не найдена.";
+        SnapshotBarrier.enterWrite();
+        try {
+            Files.deleteIfExists(new File(religionsDir, religionId + ".json").toPath());
+        } finally {
+            SnapshotBarrier.exitWrite();
+        }
+        return "Религия удалена.";
+    }
+    
     /**
      * Get all holy sites for a religion.
      */
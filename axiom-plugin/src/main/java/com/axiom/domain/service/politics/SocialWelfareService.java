@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages social welfare programs and benefits. */
 public class SocialWelfareService {
@@ -34,7 +35,7 @@ public class SocialWelfareService {
         this.welfareDir = new File(plugin.getDataFolder(), "welfare");
         this.welfareDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processWelfare, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("SocialWelfareService.processWelfare", this::processWelfare, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String setupProgram(String nationId, double unemployment, double healthcare, double pension, double education) {
@@ -124,8 +125,9 @@ public class SocialWelfareService {
         o.addProperty("educationSubsidies", program.educationSubsidies);
         o.addProperty("totalCost", program.totalCost);
         o.addProperty("active", program.active);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages diplomatic treaties (NAP, trade agreements, etc.). */
 public class TreatyService {
@@ -116,8 +117,9 @@ public class TreatyService {
         o.addProperty("type", t.type);
         o.addProperty("signedAt", t.signedAt);
         o.addProperty("expiresAt", t.expiresAt);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         }
     }
     
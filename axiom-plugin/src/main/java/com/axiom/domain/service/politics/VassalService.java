@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages vassal-overlord relationships between nations. */
 public class VassalService {
@@ -84,8 +85,9 @@ public class VassalService {
         JsonObject o = new JsonObject();
         o.addProperty("vassalId", vassalId);
         o.addProperty("overlordId", overlordId);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         }
     }
 
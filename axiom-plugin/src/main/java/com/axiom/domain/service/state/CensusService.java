@@ -2,6 +2,7 @@ package com.axiom.domain.service.state;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -32,7 +33,7 @@ public class CensusService {
         this.censusDir = new File(plugin.getDataFolder(), "census");
         this.censusDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::conductCensus, 0, 20 * 60 * 60); // hourly
+        plugin.getSimulationScheduler().schedule("CensusService.conductCensus", this::conductCensus, 20 * 60 * 60); // hourly
     }
 
     private void conductCensus() {
@@ -78,8 +79,9 @@ public class CensusService {
         o.addProperty("activePlayers", data.activePlayers);
         o.addProperty("cities", data.cities);
         o.addProperty("conductedAt", data.conductedAt);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -11,6 +11,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.infrastructure.VisualEffectsService;
+import com.axiom.util.AtomicFileWriter;
 
 /** Simulates city growth, demographics and productivity. */
 public class CityGrowthEngine {
@@ -221,7 +222,8 @@ public class CityGrowthEngine {
         o.addProperty("hasSchool", c.hasSchool());
         o.addProperty("hasUniversity", c.hasUniversity());
         o.addProperty("happiness", c.getHappiness());
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) { w.write(o.toString()); }
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) { w.write(o.toString());
+ w.commit(); }
     }
     
     /**
@@ -26,7 +26,7 @@ public class ClimateService {
         this.plugin = plugin;
         long interval = plugin.getConfig().getLong("climate.changeIntervalHours", 168) * 60L * 60L * 20L; // default 1 week
         if (interval > 0) {
-            Bukkit.getScheduler().runTaskTimer(plugin, this::tickClimate, interval, interval);
+            plugin.getSimulationScheduler().schedule("ClimateService.tickClimate", this::tickClimate, interval);
         }
     }
 
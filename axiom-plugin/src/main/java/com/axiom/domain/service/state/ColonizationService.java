@@ -2,6 +2,7 @@ package com.axiom.domain.service.state;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -90,8 +91,9 @@ public class ColonizationService {
         o.addProperty("territoryKey", c.territoryKey);
         o.addProperty("establishedAt", c.establishedAt);
         o.addProperty("population", c.population);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         }
     }
     
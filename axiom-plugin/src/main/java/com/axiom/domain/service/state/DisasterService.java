@@ -26,7 +26,7 @@ public class DisasterService {
     public DisasterService(AXIOM plugin, NationManager nationManager) {
         this.plugin = plugin;
         this.nationManager = nationManager;
-        Bukkit.getScheduler().runTaskTimer(plugin, this::generateDisasters, 0, 20 * 60 * 30); // every 30 minutes
+        plugin.getSimulationScheduler().schedule("DisasterService.generateDisasters", this::generateDisasters, 20 * 60 * 30); // every 30 minutes
     }
 
     public synchronized void triggerDisaster(String nationId, String type, double severity, long durationMinutes) {
@@ -2,6 +2,7 @@ package com.axiom.domain.service.state;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -32,7 +33,7 @@ public class EmergencyService {
         this.emergenciesDir = new File(plugin.getDataFolder(), "emergencies");
         this.emergenciesDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::checkExpiry, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("EmergencyService.checkExpiry", this::checkExpiry, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String declareEmergency(String nationId, String type, int durationHours) {
@@ -128,8 +129,9 @@ public class EmergencyService {
         o.addProperty("declaredAt", e.declaredAt);
         o.addProperty("expiresAt", e.expiresAt);
         o.addProperty("active", e.active);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
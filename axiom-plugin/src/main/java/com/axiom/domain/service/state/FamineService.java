@@ -23,7 +23,7 @@ public class FamineService {
     public FamineService(AXIOM plugin, NationManager nationManager) {
         this.plugin = plugin;
         this.nationManager = nationManager;
-        Bukkit.getScheduler().runTaskTimer(plugin, this::checkFamineConditions, 0, 20 * 60 * 15); // every 15 minutes
+        plugin.getSimulationScheduler().schedule("FamineService.checkFamineConditions", this::checkFamineConditions, 20 * 60 * 15); // every 15 minutes
     }
 
     private void checkFamineConditions() {
@@ -3,6 +3,7 @@ package com.axiom.domain.service.state;
 import com.axiom.AXIOM;
 import com.axiom.domain.model.City;
 import com.axiom.domain.model.Nation;
+import com.axiom.kernel.SimulationPipeline;
 import org.bukkit.Bukkit;
 
 import java.util.*;
@@ -16,6 +17,7 @@ public class HappinessService {
     private final CityGrowthEngine cityGrowthEngine;
     private final CrimeService crimeService;
     private final EducationService educationService;
+    private final SimulationPipeline<Nation, HappinessInput, HappinessResult> happinessPipeline;
 
     public HappinessService(AXIOM plugin, NationManager nationManager, CityGrowthEngine cityGrowthEngine, CrimeService crimeService, EducationService educationService) {
         this.plugin = plugin;
@@ -23,65 +25,134 @@ public class HappinessService {
         this.cityGrowthEngine = cityGrowthEngine;
         this.crimeService = crimeService;
         this.educationService = educationService;
-        Bukkit.getScheduler().runTaskTimer(plugin, this::updateHappiness, 0, 20 * 60 * 10); // every 10 minutes
+        this.happinessPipeline = plugin.getSimulationScheduler().pipeline(
+            "HappinessService.updateHappiness",
+            nationManager::getAll,
+            this::captureHappiness,
+            HappinessService::computeHappiness,
+            this::applyHappiness
+        );
+        plugin.getSimulationScheduler().schedule("HappinessService.updateHappiness", happinessPipeline, 20 * 60 * 10); // every 10 minutes
     }
 
-    private void updateHappiness() {
-        if (cityGrowthEngine == null) return;
-        for (Nation n : nationManager.getAll()) {
-            for (City c : cityGrowthEngine.getCitiesOf(n.getId())) {
-                double oldHappiness = c.getHappiness();
-                double newHappiness = calculateHappiness(n, c);
-                c.setHappiness(newHappiness);
-                
-                // VISUAL EFFECTS: Notify citizens of significant happiness changes (>10 points)
-                double delta = newHappiness - oldHappiness;
-                if (Math.abs(delta) >= 10.0 && oldHappiness > 0) { // Only notify on significant changes
-                    org.bukkit.Bukkit.getScheduler().runTask(plugin, () -> {
-                        String msg;
-                        if (delta > 0) {
-                            msg = "§a📈 Счастье в '" + c.getName() + "' выросло: §e" + String.format("%.1f", newHappiness) + "%";
-                        } else {
-                            msg = "§c📉 Счастье в '" + c.getName() + "' упало: §e" + String.format("%.1f", newHappiness) + "%";
-                        }
-                        for (UUID citizenId : n.getCitizens()) {
-                            org.bukkit.entity.Player citizen = org.bukkit.Bukkit.getPlayer(citizenId);
-                            if (citizen != null && citizen.isOnline()) {
-                                if (plugin.getVisualEffectsService() != null) {
-                                    plugin.getVisualEffectsService().sendActionBar(citizen, msg);
-                                }
-                                // Subtle particles based on direction
-                                org.bukkit.Location loc = citizen.getLocation();
-                                if (delta > 0) {
-                                    loc.getWorld().spawnParticle(org.bukkit.Particle.VILLAGER_HAPPY, loc.add(0, 1, 0), 5, 0.3, 0.5, 0.3, 0.05);
-                                } else {
-                                    loc.getWorld().spawnParticle(org.bukkit.Particle.SMOKE_NORMAL, loc.add(0, 1, 0), 5, 0.3, 0.5, 0.3, 0.05);
-                                }
-                            }
-                        }
-                    });
+    /** Read-only inputs for one nation, captured on the main thread. */
+    private static final class HappinessInput {
+        final List<City> cities;
+        final double[] current;
+        final boolean[] hospital;
+        final boolean[] school;
+        final boolean[] university;
+        final double crimeRate;
+        final double education;
+        final double budgetHealth;
+        final double budgetEducation;
+        final boolean atWar;
+
+        HappinessInput(Nation n, List<City> cities, double crimeRate, double education) {
+            this.cities = cities;
+            this.current = new double[cities.size()];
+            this.hospital = new boolean[cities.size()];
+            this.school = new boolean[cities.size()];
+            this.university = new boolean[cities.size()];
+            for (int i = 0; i < cities.size(); i++) {
+                City c = cities.get(i);
+                current[i] = c.getHappiness();
+                hospital[i] = c.hasHospital();
+                school[i] = c.hasSchool();
+                university[i] = c.hasUniversity();
+            }
+            this.crimeRate = crimeRate;
+            this.education = education;
+            this.budgetHealth = n.getBudgetHealth();
+            this.budgetEducation = n.getBudgetEducation();
+            this.atWar = !n.getEnemies().isEmpty();
+        }
+    }
+
+    /** New happiness per city, in the same order as the captured city list. */
+    private static final class HappinessResult {
+        final List<City> cities;
+        final double[] previous;
+        final double[] updated;
+
+        HappinessResult(List<City> cities, double[] previous, double[] updated) {
+            this.cities = cities;
+            this.previous = previous;
+            this.updated = updated;
+        }
+    }
+
+    private HappinessInput captureHappiness(Nation n) {
+        if (cityGrowthEngine == null) return null;
+        List<City> cities = cityGrowthEngine.getCitiesOf(n.getId());
+        if (cities.isEmpty()) return null;
+        double crimeRate = crimeService != null ? crimeService.getCrimeRate(n.getId()) : 0.0;
+        double education = educationService != null ? educationService.getEducationLevel(n.getId()) : 0.0;
+        return new HappinessInput(n, cities, crimeRate, education);
+    }
+
+    private static HappinessResult computeHappiness(HappinessInput input) {
+        double[] updated = new double[input.cities.size()];
+        for (int i = 0; i < updated.length; i++) {
+            updated[i] = calculateHappiness(input, i);
+        }
+        return new HappinessResult(input.cities, input.current, updated);
+    }
+
+    private void applyHappiness(Nation n, HappinessResult result) {
+        for (int i = 0; i < result.cities.size(); i++) {
+            City c = result.cities.get(i);
+            double oldHappiness = result.previous[i];
+            double newHappiness = result.updated[i];
+            c.setHappiness(newHappiness);
+
+            // VISUAL EFFECTS: Notify citizens of significant happiness changes (>10 points)
+            double delta = newHappiness - oldHappiness;
+            if (Math.abs(delta) >= 10.0 && oldHappiness > 0) { // Only notify on significant changes
+                notifyHappinessChange(n, c, newHappiness, delta);
+            }
+        }
+    }
+
+    private void notifyHappinessChange(Nation n, City c, double newHappiness, double delta) {
+        String msg;
+        if (delta > 0) {
+            msg = "§a📈 Счастье в '" + c.getName() + "' выросло: §e" + String.format("%.1f", newHappiness) + "%";
+        } else {
+            msg = "§c📉 Счастье в '" + c.getName() + "' упало: §e" + String.format("%.1f", newHappiness) + "%";
+        }
+        for (UUID citizenId : n.getCitizens()) {
+            org.bukkit.entity.Player citizen = org.bukkit.Bukkit.getPlayer(citizenId);
+            if (citizen != null && citizen.isOnline()) {
+                if (plugin.getVisualEffectsService() != null) {
+                    plugin.getVisualEffectsService().sendActionBar(citizen, msg);
+                }
+                // Subtle particles based on direction
+                org.bukkit.Location loc = citizen.getLocation();
+                if (delta > 0) {
+                    loc.getWorld().spawnParticle(org.bukkit.Particle.VILLAGER_HAPPY, loc.add(0, 1, 0), 5, 0.3, 0.5, 0.3, 0.05);
+                } else {
+                    loc.getWorld().spawnParticle(org.bukkit.Particle.SMOKE_NORMAL, loc.add(0, 1, 0), 5, 0.3, 0.5, 0.3, 0.05);
                 }
             }
         }
     }
 
-    private double calculateHappiness(Nation n, City c) {
+    private static double calculateHappiness(HappinessInput input, int city) {
         double base = 50.0;
         // Crime reduces happiness
-        double crimeRate = crimeService != null ? crimeService.getCrimeRate(n.getId()) : 0.0;
-        base -= crimeRate * 0.5;
+        base -= input.crimeRate * 0.5;
         // Education increases happiness
-        double education = educationService != null ? educationService.getEducationLevel(n.getId()) : 0.0;
-        base += education * 0.3;
+        base += input.education * 0.3;
         // Infrastructure bonuses
-        if (c.hasHospital()) base += 10;
-        if (c.hasSchool()) base += 5;
-        if (c.hasUniversity()) base += 15;
+        if (input.hospital[city]) base += 10;
+        if (input.school[city]) base += 5;
+        if (input.university[city]) base += 15;
         // Budget allocations
-        base += (n.getBudgetHealth() / 1000.0) * 2;
-        base += (n.getBudgetEducation() / 1000.0) * 1;
+        base += (input.budgetHealth / 1000.0) * 2;
+        base += (input.budgetEducation / 1000.0) * 1;
         // War reduces happiness
-        if (!n.getEnemies().isEmpty()) base -= 10;
+        if (input.atWar) base -= 10;
         return Math.max(0, Math.min(100, base));
     }
 
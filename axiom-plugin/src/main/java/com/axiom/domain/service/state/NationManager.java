@@ -2,16 +2,23 @@ package com.axiom.domain.service.state;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
+import com.axiom.domain.repo.NationBinaryCodec;
+import com.axiom.domain.repo.NationFileFormat;
 import com.axiom.domain.repo.NationJsonCodec;
+import com.axiom.domain.repo.NationJsonLoader;
+import com.axiom.domain.repo.NationLoadReport;
+import com.axiom.domain.repo.NationWriteBehind;
+import com.axiom.util.SnapshotBarrier;
 import com.google.gson.*;
+import com.google.gson.stream.JsonWriter;
 import org.bukkit.Chunk;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import com.axiom.domain.service.military.AdvancedWarSystem;
 
 /**
@@ -21,8 +28,15 @@ public class NationManager {
     private final AXIOM plugin;
     private final File nationsDir;
     private final Gson gson;
+    private final NationFileFormat fileFormat;
+    private final NationWriteBehind writer;
     private final Map<String, Nation> idToNation = new HashMap<>();
     private final Map<String, Long> unclaimCooldownUntil = new HashMap<>(); // key: world:x:z
+    private final SnapshotBarrier.Participant backupParticipant = this::flush;
+    // Bumped on every save, so readers can tell that cached nation views are stale
+    private final AtomicLong dataVersion = new AtomicLong();
+    // Copy of idToNation.size() for lock-free readers (metrics collector)
+    private volatile int nationCount;
 
     public NationManager(AXIOM plugin) {
         this.plugin = plugin;
@@ -33,7 +47,11 @@ public class NationManager {
             builder.setPrettyPrinting();
         }
         this.gson = builder.create();
+        this.fileFormat = NationFileFormat.fromConfig(plugin.getConfig().getString("storage.nationFormat", "json"));
+        this.writer = new NationWriteBehind(nationsDir, fileFormat, this::snapshot, plugin.getLogger());
         loadAll();
+        // Backups flush pending nation writes before freezing the data folder
+        SnapshotBarrier.register(backupParticipant);
     }
 
     public synchronized Nation createNation(Player founder, String name, String currencyCode, double startingTreasury) throws IOException {
@@ -52,6 +70,7 @@ public class NationManager {
         long timestamp = System.currentTimeMillis();
         nation.getHistory().add(java.time.Instant.ofEpochMilli(timestamp).atZone(java.time.ZoneId.systemDefault()).format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")) + " — Нация основана лидером " + founder.getName());
         idToNation.put(id, nation);
+        nationCount = idToNation.size();
         save(nation);
         // Grant achievement
         plugin.getAchievementService().grantAchievement(founder.getUniqueId(), "founder");
@@ -59,17 +78,70 @@ public class NationManager {
     }
 
 
+    /**
+     * Marks the nation dirty; the file is written shortly after by the write-behind thread,
+     * coalescing repeated saves. Use {@link #flush()} when the data must be on disk. Also counts
+     * as a change of the nation ({@link Nation#changed()}), for edits made through its collections.
+     */
     public synchronized void save(Nation nation) throws IOException {
-        File f = new File(nationsDir, nation.getId() + ".json");
-        try (Writer writer = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
-            gson.toJson(NationJsonCodec.serialize(nation), writer);
-        }
+        nation.changed();
+        dataVersion.incrementAndGet();
+        writer.markDirty(nation);
     }
 
-    public synchronized void flush() throws IOException {
-        for (Nation n : idToNation.values()) {
-            save(n);
-        }
+    /**
+     * Counter increased by every {@link #save(Nation)}; lock-free. Changes made without a save
+     * are not reflected, so caches keyed on it should still expire.
+     */
+    public long getDataVersion() {
+        return dataVersion.get();
+    }
+
+    /**
+     * Writes dirty nations, and nations changed through a setter without a save, and waits for
+     * the writes. Not synchronized, so mutators are not blocked while files are written.
+     */
+    public void flush() throws IOException {
+        writer.flush(getAll());
+    }
+
+    /** Flushes pending writes and stops the writer thread. */
+    public void shutdown() {
+        SnapshotBarrier.unregister(backupParticipant);
+        writer.close();
+    }
+
+    public int getDirtyNationCount() {
+        return writer.getDirtyCount();
+    }
+
+    /** Nation files written by the write-behind thread since startup. */
+    public long getNationWrites() {
+        return writer.getWrites();
+    }
+
+    public long getNationWriteFailures() {
+        return writer.getFailures();
+    }
+
+    /** Lock-free; updated whenever a nation is added or removed. */
+    public int getNationCount() {
+        return nationCount;
+    }
+
+    private byte[] snapshot(Nation nation) {
+        // Taken without the monitor: a racing change bumps the nation's version or marks it dirty
+        // again, so the writer rewrites it; a concurrent modification error is retried
+        if (fileFormat == NationFileFormat.BINARY) {
+            return NationBinaryCodec.encode(nation);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        try (JsonWriter out = gson.newJsonWriter(new OutputStreamWriter(bytes, StandardCharsets.UTF_8))) {
+            NationJsonCodec.write(out, nation);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
     }
 
     public synchronized Nation getNationById(String id) { return idToNation.get(id); }
@@ -114,18 +186,21 @@ public class NationManager {
     }
 
     private void loadAll() {
-        File[] files = nationsDir.listFiles((dir, name) -> name.endsWith(".json"));
-        if (files == null) return;
-        for (File f : files) {
-            try (Reader reader = new InputStreamReader(Files.newInputStream(f.toPath()), StandardCharsets.UTF_8)) {
-                JsonObject o = JsonParser.parseReader(reader).getAsJsonObject();
-                Nation n = NationJsonCodec.deserialize(o,
-                    plugin.getConfig().getString("economy.defaultCurrencyCode", "AXC"));
-                idToNation.put(n.getId(), n);
-            } catch (Exception e) {
-                plugin.getLogger().severe("Failed to load nation file " + f.getName() + ": " + e.getMessage());
-            }
-        }
+        int threads = plugin.getConfig().getInt("storage.loadThreads", 0);
+        NationLoadReport report = NationJsonLoader.loadDirectory(
+            nationsDir,
+            plugin.getConfig().getString("economy.defaultCurrencyCode", "AXC"),
+            threads > 0 ? threads : NationJsonLoader.defaultParallelism()
+        );
+        for (Nation n : report.getNations()) {
+            idToNation.put(n.getId(), n);
+        }
+        nationCount = idToNation.size();
+        writer.seed(report);
+        for (Map.Entry<String, String> error : report.getErrors().entrySet()) {
+            plugin.getLogger().severe("Failed to load nation file " + error.getKey() + ": " + error.getValue());
+        }
+        plugin.getLogger().info("Nations: " + report.summary());
     }
 
     public synchronized String claimChunk(Player actor) throws IOException {
@@ -691,6 +766,46 @@ public class NationManager {
         return stats;
     }
 
+    /**
+     * Removes a nation together with its claims, diplomatic state, its citizens' player mappings
+     * and file. The file removal is queued on the writer thread and not waited for. There is no
+     * disband flow in gameplay yet; this is used to clean up nations created for testing/admin.
+     */
+    public String deleteNation(String id) throws IOException {
+        Nation removed;
+        synchronized (this) {
+            removed = idToNation.remove(id);
+            if (removed == null) return "Нация не найдена.";
+            nationCount = idToNation.size();
+            dataVersion.incrementAndGet();
+        }
+        PlayerDataManager playerData = plugin.getPlayerDataManager();
+        if (playerData != null) {
+            Set<UUID> members = new HashSet<>(removed.getCitizens());
+            if (removed.getLeader() != null) members.add(removed.getLeader());
+            for (UUID member : members) {
+                // A player who has already moved to another nation keeps that mapping
+                if (id.equals(playerData.getNation(member))) {
+                    playerData.clearNation(member);
+                }
+            }
+        }
+        TerritoryService territoryService = plugin.getTerritoryService();
+        if (territoryService != null) {
+            for (com.axiom.domain.model.ChunkPos pos : territoryService.getNationClaims(id)) {
+                territoryService.unclaim(id, pos.getWorld(), pos.getX(), pos.getZ());
+            }
+        }
+        if (plugin.getDiplomacyRelationService() != null) {
+            plugin.getDiplomacyRelationService().cleanupNation(id);
+        }
+        if (plugin.getDiplomacySystem() != null) {
+            plugin.getDiplomacySystem().forgetNation(id);
+        }
+        writer.delete(id);
+        return "Нация удалена.";
+    }
+
     /**
      * Create nation without player actor (for testing/admin)
      */
@@ -702,6 +817,7 @@ public class NationManager {
         nation.setCapitalChunkStr("world:0:0"); 
         nation.getClaimedChunkKeys().add("world:0:0");
         idToNation.put(id, nation);
+        nationCount = idToNation.size();
         save(nation);
         return nation;
     }
@@ -1,6 +1,7 @@
 package com.axiom.domain.service.state;
 
 import com.axiom.AXIOM;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -29,7 +30,7 @@ public class NationModifierService {
         this.modifiersDir = new File(plugin.getDataFolder(), "modifiers");
         this.modifiersDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::cleanupExpired, 0, 20 * 60); // every minute
+        plugin.getSimulationScheduler().schedule("NationModifierService.cleanupExpired", this::cleanupExpired, 20 * 60); // every minute
     }
 
     public synchronized String addModifier(String nationId, String type, String effect, double value, long durationMinutes) {
@@ -172,8 +173,9 @@ public class NationModifierService {
         o.addProperty("effect", m.effect);
         o.addProperty("value", m.value);
         o.addProperty("expiresAt", m.expiresAt);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -24,7 +24,7 @@ public class PandemicService {
     public PandemicService(AXIOM plugin, NationManager nationManager) {
         this.plugin = plugin;
         this.nationManager = nationManager;
-        Bukkit.getScheduler().runTaskTimer(plugin, this::spreadPandemics, 0, 20 * 60 * 5); // every 5 minutes
+        plugin.getSimulationScheduler().schedule("PandemicService.spreadPandemics", this::spreadPandemics, 20 * 60 * 5); // every 5 minutes
     }
 
     public synchronized void triggerPandemic(String nationId, String diseaseName, double severity) {
@@ -2,7 +2,6 @@ package com.axiom.domain.service.state;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
-import org.bukkit.Bukkit;
 
 import java.io.IOException;
 import java.util.*;
@@ -24,7 +23,7 @@ public class PlagueService {
     public PlagueService(AXIOM plugin, NationManager nationManager) {
         this.plugin = plugin;
         this.nationManager = nationManager;
-        Bukkit.getScheduler().runTaskTimer(plugin, this::processPlagues, 0, 20 * 60 * 5); // every 5 minutes
+        plugin.getSimulationScheduler().schedule("PlagueService.processPlagues", this::processPlagues, 20 * 60 * 5); // every 5 minutes
     }
 
     public synchronized void triggerPlague(String cityId, String nationId, double mortalityRate, long durationMinutes) {
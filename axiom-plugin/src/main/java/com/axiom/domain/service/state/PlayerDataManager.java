@@ -12,6 +12,7 @@ import java.util.*;
 import java.util.UUID;
 import com.axiom.domain.service.infrastructure.VisualEffectsService;
 import com.axiom.domain.service.politics.ReligionManager;
+import com.axiom.util.AtomicFileWriter;
 
 /**
  * Manages per-player data under plugins/AXIOM/players/{uuid}.json
@@ -19,6 +20,8 @@ import com.axiom.domain.service.politics.ReligionManager;
 public class PlayerDataManager {
     private final AXIOM plugin;
     private final File playersDir;
+    // Bumped on every write of a player's file; read without the manager's lock
+    private final Map<UUID, Long> versions = new java.util.concurrent.ConcurrentHashMap<>();
 
     public PlayerDataManager(AXIOM plugin) {
         this.plugin = plugin;
@@ -101,10 +104,21 @@ public class PlayerDataManager {
         }
     }
 
+    /**
+     * Changes whenever the player's data is written (nation, role, balance, religion, fields).
+     * Lock-free, so hot readers can check it before deciding to read the file.
+     */
+    public long getVersion(UUID uuid) {
+        Long version = versions.get(uuid);
+        return version != null ? version : 0L;
+    }
+
     private void save(UUID uuid, JsonObject o) {
+        versions.merge(uuid, 1L, Long::sum);
         File f = new File(playersDir, uuid.toString() + ".json");
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception e) {
             plugin.getLogger().warning("Failed to write player file: " + e.getMessage());
         }
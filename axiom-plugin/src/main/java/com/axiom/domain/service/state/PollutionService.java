@@ -2,6 +2,7 @@ package com.axiom.domain.service.state;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -26,7 +27,7 @@ public class PollutionService {
         this.pollutionDir = new File(plugin.getDataFolder(), "pollution");
         this.pollutionDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::updatePollution, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("PollutionService.updatePollution", this::updatePollution, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized void addPollution(String nationId, double amount) {
@@ -77,8 +78,9 @@ public class PollutionService {
         File f = new File(pollutionDir, nationId + ".json");
         JsonObject o = new JsonObject();
         o.addProperty("pollution", nationPollution.getOrDefault(nationId, 0.0));
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
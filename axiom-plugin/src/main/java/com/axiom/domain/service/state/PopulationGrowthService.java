@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.infrastructure.InfrastructureService;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages population growth and demographics. */
 public class PopulationGrowthService {
@@ -33,7 +34,7 @@ public class PopulationGrowthService {
         this.populationDir = new File(plugin.getDataFolder(), "population");
         this.populationDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processGrowth, 0, 20 * 60 * 30); // every 30 minutes
+        plugin.getSimulationScheduler().schedule("PopulationGrowthService.processGrowth", this::processGrowth, 20 * 60 * 30); // every 30 minutes
     }
 
     private synchronized void processGrowth() {
@@ -101,8 +102,9 @@ public class PopulationGrowthService {
         o.addProperty("deathRate", data.deathRate);
         o.addProperty("migrationRate", data.migrationRate);
         o.addProperty("lastUpdated", data.lastUpdated);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
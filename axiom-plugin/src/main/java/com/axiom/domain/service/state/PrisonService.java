@@ -1,6 +1,7 @@
 package com.axiom.domain.service.state;
 
 import com.axiom.AXIOM;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -29,7 +30,7 @@ public class PrisonService {
         this.prisonsDir = new File(plugin.getDataFolder(), "prisons");
         this.prisonsDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::checkSentences, 0, 20 * 60); // every minute
+        plugin.getSimulationScheduler().schedule("PrisonService.checkSentences", this::checkSentences, 20 * 60); // every minute
     }
 
     public synchronized String imprisonPlayer(UUID playerId, String nationId, String crime, long sentenceMinutes) throws IOException {
@@ -120,8 +121,9 @@ public class PrisonService {
             arr.add(pObj);
         }
         o.add("prisoners", arr);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         }
     }
     
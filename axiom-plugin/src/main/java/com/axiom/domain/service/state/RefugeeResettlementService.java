@@ -2,6 +2,7 @@ package com.axiom.domain.service.state;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -31,7 +32,7 @@ public class RefugeeResettlementService {
         this.resettlementDir = new File(plugin.getDataFolder(), "resettlement");
         this.resettlementDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processResettlement, 0, 20 * 60 * 15); // every 15 minutes
+        plugin.getSimulationScheduler().schedule("RefugeeResettlementService.processResettlement", this::processResettlement, 20 * 60 * 15); // every 15 minutes
     }
 
     public synchronized String createProgram(String nationId, int capacity, double funding) {
@@ -129,8 +130,9 @@ public class RefugeeResettlementService {
         o.addProperty("currentRefugees", program.currentRefugees);
         o.addProperty("fundingPerRefugee", program.fundingPerRefugee);
         o.addProperty("active", program.active);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -2,7 +2,6 @@ package com.axiom.domain.service.state;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
-import org.bukkit.Bukkit;
 
 import java.io.IOException;
 import java.util.*;
@@ -22,7 +21,7 @@ public class RefugeeService {
     public RefugeeService(AXIOM plugin, NationManager nationManager) {
         this.plugin = plugin;
         this.nationManager = nationManager;
-        Bukkit.getScheduler().runTaskTimer(plugin, this::processRefugees, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("RefugeeService.processRefugees", this::processRefugees, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized void acceptRefugees(String hostNationId, String sourceNationId, int population) {
@@ -2,15 +2,14 @@ package com.axiom.domain.service.state;
 
 import com.axiom.domain.model.ChunkPos;
 import com.axiom.domain.model.Nation;
+import com.axiom.util.JsonFileWriter;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 
 import java.io.File;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
 import java.io.Reader;
-import java.io.Writer;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -42,6 +41,8 @@ public class TerritoryService {
     private final Map<String, Set<ChunkPos>> claimsByNation = new HashMap<>();
     private final Map<String, Map<ChunkPos, String>> claimsByWorld = new HashMap<>();
     private final Map<ChunkPos, String> ownerIndex = new HashMap<>();
+    // Copy of ownerIndex.size() for lock-free readers (metrics collector)
+    private volatile int claimedChunks;
 
     public TerritoryService(Logger logger, NationManager nationManager) {
         this(logger, nationManager, null);
@@ -195,8 +196,9 @@ public class TerritoryService {
         return squares;
     }
 
-    public synchronized int getTotalClaimedChunks() {
-        return ownerIndex.size();
+    /** Lock-free; updated with every change of the claim index. */
+    public int getTotalClaimedChunks() {
+        return claimedChunks;
     }
 
     public synchronized long getVersion() {
@@ -276,6 +278,7 @@ public class TerritoryService {
     }
 
     private void markDirty() {
+        claimedChunks = ownerIndex.size();
         if (storageFile == null) {
             return;
         }
@@ -293,18 +296,21 @@ public class TerritoryService {
         if (storageFile == null) {
             return;
         }
+        // Streamed straight from the owner index: no intermediate list or JSON tree
         try {
-            File parent = storageFile.getParentFile();
-            if (parent != null) {
-                parent.mkdirs();
-            }
-            List<StoredTerritory> stored = new ArrayList<>();
-            for (TerritorySquare square : getAllSquares()) {
-                stored.add(new StoredTerritory(square.world, square.x, square.z, square.nationId));
-            }
-            try (Writer writer = new OutputStreamWriter(Files.newOutputStream(storageFile.toPath()), StandardCharsets.UTF_8)) {
-                gson.toJson(stored, writer);
-            }
+            JsonFileWriter.write(storageFile, true, out -> {
+                out.beginArray();
+                for (Map.Entry<ChunkPos, String> entry : ownerIndex.entrySet()) {
+                    ChunkPos pos = entry.getKey();
+                    out.beginObject();
+                    out.name("world").value(pos.getWorld());
+                    out.name("x").value(pos.getX());
+                    out.name("z").value(pos.getZ());
+                    out.name("nationId").value(entry.getValue());
+                    out.endObject();
+                }
+                out.endArray();
+            });
             dirty = false;
         } catch (Exception ex) {
             logger.warning("Failed to save territories: " + ex.getMessage());
@@ -333,6 +339,7 @@ public class TerritoryService {
             changeLog.clear();
             version = 0;
             dirty = false;
+            claimedChunks = ownerIndex.size();
             return true;
         } catch (Exception ex) {
             logger.warning("Failed to load territories: " + ex.getMessage());
@@ -490,13 +497,6 @@ public class TerritoryService {
 
         private StoredTerritory() {
         }
-
-        private StoredTerritory(String world, int x, int z, String nationId) {
-            this.world = world;
-            this.x = x;
-            this.z = z;
-            this.nationId = nationId;
-        }
     }
 
     public static final class TerritorySquare {
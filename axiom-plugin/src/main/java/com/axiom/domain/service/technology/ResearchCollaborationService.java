@@ -4,6 +4,7 @@ import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
 import com.axiom.domain.service.state.EducationService;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -35,7 +36,7 @@ public class ResearchCollaborationService {
         this.collaborationsDir = new File(plugin.getDataFolder(), "researchcollaborations");
         this.collaborationsDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processCollaborations, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("ResearchCollaborationService.processCollaborations", this::processCollaborations, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String startCollaboration(String nationA, String nationB, String topic, double cost) {
@@ -140,8 +141,9 @@ public class ResearchCollaborationService {
             arr.add(nationId);
         }
         o.add("participantNations", arr);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
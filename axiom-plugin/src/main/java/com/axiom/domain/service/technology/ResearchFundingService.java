@@ -2,6 +2,7 @@ package com.axiom.domain.service.technology;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -32,7 +33,7 @@ public class ResearchFundingService {
         this.fundingDir = new File(plugin.getDataFolder(), "researchfunding");
         this.fundingDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processFunding, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("ResearchFundingService.processFunding", this::processFunding, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String allocateBudget(String nationId, double totalBudget, double military, double economy, double science, double medicine) {
@@ -126,8 +127,9 @@ public class ResearchFundingService {
             projectFunding.addProperty(entry.getKey(), entry.getValue());
         }
         o.add("projectFunding", projectFunding);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -10,6 +10,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import com.axiom.domain.service.state.NationManager;
+import com.axiom.util.AtomicFileWriter;
 
 /** Manages space programs and achievements. */
 public class SpaceProgramService {
@@ -33,7 +34,7 @@ public class SpaceProgramService {
         this.programsDir = new File(plugin.getDataFolder(), "spaceprograms");
         this.programsDir.mkdirs();
         loadAll();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processPrograms, 0, 20 * 60 * 10); // every 10 minutes
+        plugin.getSimulationScheduler().schedule("SpaceProgramService.processPrograms", this::processPrograms, 20 * 60 * 10); // every 10 minutes
     }
 
     public synchronized String startProgram(String nationId, double cost) {
@@ -152,8 +153,9 @@ public class SpaceProgramService {
             arr.add(achievement);
         }
         o.add("achievements", arr);
-        try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter w = AtomicFileWriter.open(f)) {
             w.write(o.toString());
+            w.commit();
         } catch (Exception ignored) {}
     }
     
@@ -4,6 +4,8 @@ import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
 import com.axiom.domain.repo.TechProgressStore;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import com.axiom.domain.service.state.NationManager;
 
 /**
@@ -16,6 +18,9 @@ public class TechnologyTreeService {
     private final Map<String, Set<String>> unlockedTechs = new HashMap<>(); // nationId -> techs
     private final Map<String, Technology> technologies = new HashMap<>(); // techId -> tech
     private final Map<String, ResearchBranch> branches = new HashMap<>(); // branchId -> branch
+    private final AtomicLong version = new AtomicLong(); // bumped whenever unlocked techs change
+    private final Map<String, Long> nationVersions = new ConcurrentHashMap<>(); // nationId -> version of its last change
+    private volatile long loadedVersion; // version of the last full load
 
     public enum ProgressStage {
         EARLY("early", "Ранний", 1, 2),
@@ -121,7 +126,7 @@ public class TechnologyTreeService {
         initializeBranches();
         initializeDefaultTechs();
         loadUnlockedTechs();
-        plugin.getServer().getScheduler().runTaskTimer(plugin, this::processResearch, 0, 20 * 60 * 5); // every 5 minutes
+        plugin.getSimulationScheduler().schedule("TechnologyTreeService.processResearch", this::processResearch, 20 * 60 * 5); // every 5 minutes
     }
 
     private void initializeBranches() {
@@ -686,11 +691,25 @@ public class TechnologyTreeService {
     private void loadUnlockedTechs() {
         unlockedTechs.clear();
         unlockedTechs.putAll(techProgressStore.loadAll());
+        nationVersions.clear();
+        loadedVersion = version.incrementAndGet();
     }
 
     private void saveUnlockedTechs(String nationId, Set<String> techs) {
+        nationVersions.put(nationId, version.incrementAndGet());
         techProgressStore.save(nationId, techs);
     }
+
+    /** Changes whenever any nation's unlocked technologies change; lock-free. */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /** Changes whenever this nation's unlocked technologies change; lock-free. */
+    public long getVersion(String nationId) {
+        Long changed = nationVersions.get(nationId);
+        return changed != null ? changed : loadedVersion;
+    }
     
     /**
      * Get technology research progress for a nation.
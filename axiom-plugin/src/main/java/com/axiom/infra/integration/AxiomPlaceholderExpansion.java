@@ -2,20 +2,44 @@ package com.axiom.infra.integration;
 
 import com.axiom.AXIOM;
 import com.axiom.domain.model.Nation;
+import com.axiom.domain.service.state.PlayerDataManager;
+import com.axiom.domain.service.technology.TechnologyTreeService;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * PlaceholderAPI expansion for AXIOM.
  * Provides placeholders for nation, balance, government, etc.
  * 
  * NOTE: This requires PlaceholderAPI plugin to be installed.
  * If PlaceholderAPI is not available, this will be skipped.
+ * <p>
+ * Scoreboard and tab plugins resolve placeholders several times per second per player, so each
+ * player has a {@link PlaceholderSnapshot} of resolved values. A request checks the snapshot
+ * against the player's {@link PlayerDataManager#getVersion data version}, the
+ * {@link Nation#getVersion() version} of the player's nation and
+ * {@link TechnologyTreeService#getVersion(String) its tech version}, all lock-free reads, and
+ * then answers with a map lookup. Writes to the player's file (balance, role, religion), saves of the
+ * player's nation and its tech unlocks invalidate the snapshot; changes to other nations do not.
+ * Placeholders about another nation ({@code nation_<id>_<property>}) are not cached. Happiness,
+ * education and military strength have no version, so a snapshot is also dropped after
+ * {@code placeholders.maxAgeSeconds}.
  */
 public class AxiomPlaceholderExpansion {
+    private static final long PRUNE_PERIOD_TICKS = 20L * 60;
+
     private final AXIOM plugin;
+    private final Map<UUID, PlaceholderSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final long maxAgeNanos;
     
     public AxiomPlaceholderExpansion(AXIOM plugin) {
         this.plugin = plugin;
+        this.maxAgeNanos = Math.max(0L, plugin.getConfig().getLong("placeholders.maxAgeSeconds", 5L)) * 1_000_000_000L;
+        plugin.getSimulationScheduler().schedule("AxiomPlaceholderExpansion.pruneSnapshots", this::pruneSnapshots, PRUNE_PERIOD_TICKS);
     }
     
     public void register() {
@@ -54,10 +78,45 @@ public class AxiomPlaceholderExpansion {
     
     public String onPlaceholderRequest(Player player, String identifier) {
         if (player == null) return "";
-        
-        String nationId = plugin.getPlayerDataManager().getNation(player.getUniqueId());
-        Nation nation = nationId != null ? plugin.getNationManager().getNationById(nationId) : null;
-        
+        if (identifier == null) return null;
+
+        if (isOtherNationPlaceholder(identifier)) {
+            // Depends on another nation's version, which the snapshot does not track
+            String nationId = plugin.getPlayerDataManager().getNation(player.getUniqueId());
+            Nation nation = nationId != null ? plugin.getNationManager().getNationById(nationId) : null;
+            return resolve(player, identifier, nationId, nation);
+        }
+
+        UUID playerId = player.getUniqueId();
+        PlayerDataManager players = plugin.getPlayerDataManager();
+        long playerVersion = players.getVersion(playerId);
+        long now = System.nanoTime();
+        PlaceholderSnapshot snapshot = snapshots.get(playerId);
+        if (snapshot == null || !snapshot.isCurrent(playerVersion, techVersion(snapshot.getNationId()), now, maxAgeNanos)) {
+            String nationId = players.getNation(playerId);
+            long techVersion = techVersion(nationId);
+            Nation nation = nationId != null ? plugin.getNationManager().getNationById(nationId) : null;
+            snapshot = new PlaceholderSnapshot(playerVersion, nationId, nation, techVersion, now);
+            snapshots.put(playerId, snapshot);
+        }
+        PlaceholderSnapshot current = snapshot;
+        return current.get(identifier, id -> resolve(player, id, current.getNationId(), current.getNation()));
+    }
+
+    private static boolean isOtherNationPlaceholder(String identifier) {
+        return identifier.startsWith("nation_") && identifier.split("_", 3).length >= 3;
+    }
+
+    private long techVersion(String nationId) {
+        TechnologyTreeService techs = plugin.getTechnologyTreeService();
+        return techs != null && nationId != null ? techs.getVersion(nationId) : 0L;
+    }
+
+    private void pruneSnapshots() {
+        snapshots.keySet().removeIf(playerId -> Bukkit.getPlayer(playerId) == null);
+    }
+
+    private String resolve(Player player, String identifier, String nationId, Nation nation) {
         // Player placeholders
         switch (identifier.toLowerCase()) {
             case "nation":
@@ -155,4 +214,3 @@ public class AxiomPlaceholderExpansion {
         return null;
     }
 }
-
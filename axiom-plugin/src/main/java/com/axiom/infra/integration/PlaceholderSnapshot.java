@@ -0,0 +1,59 @@
+package com.axiom.infra.integration;
+
+import com.axiom.domain.model.Nation;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Resolved placeholder values of one player, valid while the versions they were built from are
+ * unchanged: the player's data version, the version of the player's nation and the version of
+ * that nation's unlocked technologies. Values are resolved lazily, one placeholder at a time;
+ * placeholders that resolve to nothing are remembered as {@link Optional#empty()}.
+ */
+final class PlaceholderSnapshot {
+    private final long playerVersion;
+    private final String nationId;
+    private final Nation nation;
+    private final long nationVersion;
+    private final long techVersion;
+    private final long createdNanos;
+    private final Map<String, Optional<String>> values = new ConcurrentHashMap<>();
+
+    /** Versions must be read before the nation lookup, so a change during the build forces another one. */
+    PlaceholderSnapshot(long playerVersion, String nationId, Nation nation, long techVersion, long createdNanos) {
+        this.playerVersion = playerVersion;
+        this.nationId = nationId;
+        this.nation = nation;
+        this.nationVersion = nation != null ? nation.getVersion() : 0L;
+        this.techVersion = techVersion;
+        this.createdNanos = createdNanos;
+    }
+
+    String getNationId() {
+        return nationId;
+    }
+
+    Nation getNation() {
+        return nation;
+    }
+
+    boolean isCurrent(long playerVersion, long techVersion, long nowNanos, long maxAgeNanos) {
+        return this.playerVersion == playerVersion
+            && this.techVersion == techVersion
+            && (nation == null || nation.getVersion() == nationVersion)
+            && nowNanos - createdNanos <= maxAgeNanos;
+    }
+
+    /** The cached value, resolving it on first use; {@code null} when the placeholder is unknown. */
+    String get(String identifier, Function<String, String> resolver) {
+        Optional<String> value = values.get(identifier);
+        if (value == null) {
+            value = Optional.ofNullable(resolver.apply(identifier));
+            values.put(identifier, value);
+        }
+        return value.orElse(null);
+    }
+}
@@ -0,0 +1,116 @@
+package com.axiom.infra.network;
+
+import com.axiom.util.AtomicFileWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+/**
+ * Serves the last published Prometheus text on {@code GET /metrics} from an embedded JDK
+ * {@link HttpServer} bound to the loopback address, and optionally mirrors it to a file for the
+ * node_exporter textfile collector.
+ * <p>
+ * A scrape only copies the byte array set by the latest {@link #publish(String)}; it never calls
+ * into services, so scrape frequency has no effect on the server. The file is replaced
+ * atomically, so a collector never reads a partial exposition.
+ */
+public final class MetricsEndpoint {
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    public static final String PATH = "/metrics";
+
+    private final Logger logger;
+    private volatile byte[] body = new byte[0];
+    private volatile File file;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public MetricsEndpoint(Logger logger) {
+        this.logger = logger != null ? logger : Logger.getLogger(MetricsEndpoint.class.getName());
+    }
+
+    /** Starts serving on {@code 127.0.0.1:port}; port 0 picks a free port. */
+    public synchronized void start(int port) throws IOException {
+        if (server != null) {
+            return;
+        }
+        HttpServer created = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        created.createContext(PATH, this::handle);
+        executor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "AXIOM-MetricsHttp");
+            thread.setDaemon(true);
+            return thread;
+        });
+        created.setExecutor(executor);
+        created.start();
+        server = created;
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /** Bound port, or -1 when not serving. */
+    public synchronized int getPort() {
+        return server != null ? server.getAddress().getPort() : -1;
+    }
+
+    /** Target of the textfile mirror; {@code null} disables it. */
+    public void setFile(File file) {
+        this.file = file;
+    }
+
+    /** Replaces the exposition served to scrapers and rewrites the mirror file. */
+    public void publish(String text) throws IOException {
+        body = text.getBytes(StandardCharsets.UTF_8);
+        File target = file;
+        if (target != null) {
+            try (AtomicFileWriter out = AtomicFileWriter.open(target)) {
+                out.write(text);
+                out.commit();
+            }
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            if (!PATH.equals(exchange.getRequestURI().getPath())) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] current = body;
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, current.length == 0 ? -1 : current.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(current);
+            }
+        } catch (IOException e) {
+            logger.fine("Metrics scrape failed: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -2,25 +2,76 @@ package com.axiom.infra.network;
 
 import com.axiom.AXIOM;
 import com.axiom.api.AxiomAPI;
+import com.axiom.domain.service.infrastructure.UiSubscriptionService;
+import com.axiom.domain.service.state.NationManager;
+import com.axiom.domain.service.state.TerritoryService;
+import com.axiom.domain.service.technology.TechnologyTreeService;
+import com.axiom.util.BoundedCache;
+import com.axiom.util.CacheManager;
+import com.axiom.util.TokenBucket;
 import com.google.gson.Gson;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.messaging.PluginMessageListener;
 
 import java.io.*;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
+/**
+ * Answers axiom:ui requests from the client mod.
+ * <p>
+ * Data requests (stats, techs, nations, territory snapshot) are answered from caches of encoded
+ * messages keyed on the version of the data they are built from, so repeated refreshes of an
+ * unchanged view cost a map lookup. On a miss the payload is built on the main thread, where the
+ * API reads live nation and player state; it is a fresh map/list tree, so only JSON encoding and
+ * caching run on an async task. Nation data is versioned by
+ * {@link NationManager#getDataVersion()}, which does not see changes made without a save, so
+ * entries also expire after {@code ui.requests.cacheSeconds}; player stats include the balance
+ * and expire after {@code ui.requests.statsCacheSeconds}. Each player has a token bucket and
+ * requests over the limit are dropped.
+ */
 public class ModCommunicationHandler implements PluginMessageListener {
+    private static final String CHANNEL = "axiom:ui";
     private static final Gson gson = new Gson();
+    private static final long CACHE_BYTES = 32L * 1024 * 1024;
+    private static final long PRUNE_PERIOD_TICKS = 20L * 60;
+
     private final AXIOM plugin;
+    private final BoundedCache<String, byte[]> responses;
+    private final BoundedCache<String, byte[]> playerStats;
+    private final Map<UUID, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong throttled = new AtomicLong();
+    private final double ratePerSecond;
+    private final int burst;
 
     public ModCommunicationHandler(AXIOM plugin) {
         this.plugin = plugin;
+        this.ratePerSecond = plugin.getConfig().getDouble("ui.requests.ratePerSecond", 4.0);
+        this.burst = plugin.getConfig().getInt("ui.requests.burst", 20);
+        this.responses = createCache("ui.responses", plugin.getConfig().getLong("ui.requests.cacheSeconds", 30L));
+        this.playerStats = createCache("ui.playerStats", plugin.getConfig().getLong("ui.requests.statsCacheSeconds", 1L));
+        plugin.getSimulationScheduler().schedule("ModCommunicationHandler.pruneRateLimits", this::pruneRateLimits, PRUNE_PERIOD_TICKS);
+    }
+
+    private BoundedCache<String, byte[]> createCache(String name, long ttlSeconds) {
+        CacheManager caches = plugin.getCacheManager();
+        BoundedCache.Weigher<String, byte[]> weigher = (key, message) -> message.length;
+        if (caches == null) {
+            return new BoundedCache<>(ttlSeconds, CACHE_BYTES, weigher, 0L, ForkJoinPool.commonPool());
+        }
+        return caches.createCache(name, ttlSeconds, CACHE_BYTES, weigher, 0L);
     }
 
     @Override
     public void onPluginMessageReceived(String channel, Player player, byte[] message) {
-        if (!channel.equals("axiom:ui")) return;
+        if (!channel.equals(CHANNEL)) return;
         if (message == null || message.length == 0) return;
+        if (!allow(player)) return;
 
         try {
             DataInputStream in = new DataInputStream(new ByteArrayInputStream(message));
@@ -30,6 +81,10 @@ public class ModCommunicationHandler implements PluginMessageListener {
             } catch (EOFException eof) {
                 return;
             }
+            PluginMessageMetrics metrics = plugin.getPluginMessageMetrics();
+            if (metrics != null) {
+                metrics.recordIncoming(channel, action, message.length);
+            }
 
             switch (action) {
                 case "get_stats":
@@ -53,6 +108,17 @@ public class ModCommunicationHandler implements PluginMessageListener {
                     }
                     sendTerritoriesDelta(player, since);
                     break;
+                case "subscribe":
+                case "unsubscribe":
+                case "resync":
+                    String topic;
+                    try {
+                        topic = in.readUTF();
+                    } catch (EOFException eof) {
+                        return;
+                    }
+                    handleSubscription(player, action, topic);
+                    break;
                 case "get_language":
                     sendLanguage(player);
                     break;
@@ -86,29 +152,109 @@ public class ModCommunicationHandler implements PluginMessageListener {
         }
     }
 
+    private void handleSubscription(Player player, String action, String topic) {
+        UiSubscriptionService subscriptionService = plugin.getUiSubscriptionService();
+        if (subscriptionService == null) {
+            return;
+        }
+        switch (action) {
+            case "subscribe":
+                subscriptionService.subscribe(player, topic);
+                break;
+            case "unsubscribe":
+                subscriptionService.unsubscribe(player, topic);
+                break;
+            default:
+                subscriptionService.resync(player, topic);
+                break;
+        }
+    }
+
+    private boolean allow(Player player) {
+        TokenBucket bucket = buckets.get(player.getUniqueId());
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(player.getUniqueId(), id -> new TokenBucket(ratePerSecond, burst));
+        }
+        if (bucket.tryAcquire()) {
+            return true;
+        }
+        if (throttled.getAndIncrement() % 100 == 0) {
+            plugin.getLogger().warning("UI requests over the rate limit dropped (" + throttled.get() + " so far), last from " + player.getName());
+        }
+        return false;
+    }
+
+    private void pruneRateLimits() {
+        // A full bucket means no recent requests, so the player loses nothing by starting over
+        buckets.values().removeIf(TokenBucket::isFull);
+    }
+
+    /** Requests dropped by the per-player rate limit since startup. */
+    public long getThrottledRequests() {
+        return throttled.get();
+    }
+
     private void sendStats(Player player) {
-        Map<String, Object> stats = AxiomAPI.getPlayerStats(player);
-        sendData(player, "stats", stats);
+        String key = "stats:" + player.getUniqueId() + "@" + nationsVersion();
+        respond(player, "stats", playerStats, key, () -> AxiomAPI.getPlayerStats(player));
     }
 
     private void sendTechs(Player player) {
         String nationId = plugin.getNationManager().getNationIdOfPlayer(player.getUniqueId());
-        sendData(player, "techs", AxiomAPI.getTechnologies(nationId));
+        TechnologyTreeService techs = plugin.getTechnologyTreeService();
+        String key = "techs:" + nationId + "@" + (techs != null ? techs.getVersion() : 0L);
+        respond(player, "techs", responses, key, () -> AxiomAPI.getTechnologies(nationId));
     }
 
     private void sendNations(Player player) {
-        sendData(player, "nations", AxiomAPI.getNations());
+        respond(player, "nations", responses, "nations@" + nationsVersion(), AxiomAPI::getNations);
     }
 
     private void sendTerritoriesSnapshot(Player player) {
-        long version = plugin.getTerritoryService() != null ? plugin.getTerritoryService().getVersion() : 0L;
-        Map<String, Object> payload = new java.util.HashMap<>();
-        payload.put("version", version);
-        payload.put("territories", AxiomAPI.getTerritories());
-        sendData(player, "territories_snapshot", payload);
+        TerritoryService territoryService = plugin.getTerritoryService();
+        long version = territoryService != null ? territoryService.getVersion() : 0L;
+        respond(player, "territories_snapshot", responses, "territories@" + version, () -> {
+            Map<String, Object> payload = new java.util.HashMap<>();
+            payload.put("version", version);
+            payload.put("territories", AxiomAPI.getTerritories());
+            return payload;
+        });
         plugin.getLogger().fine("Sent territories snapshot to " + player.getName() + " (v" + version + ")");
     }
 
+    /** Nation views also show claim counts, so they change with either version. */
+    private long nationsVersion() {
+        TerritoryService territoryService = plugin.getTerritoryService();
+        return plugin.getNationManager().getDataVersion() + (territoryService != null ? territoryService.getVersion() : 0L);
+    }
+
+    /** Called on the main thread: a cached message is sent directly, a miss is built here and encoded async. */
+    private void respond(Player player, String type, BoundedCache<String, byte[]> cache, String key, Supplier<Object> data) {
+        Optional<byte[]> cached = cache.get(key);
+        if (cached.isPresent()) {
+            send(player, type, cached.get());
+            return;
+        }
+        Object payload;
+        try {
+            payload = data.get();
+        } catch (RuntimeException e) {
+            plugin.getLogger().warning("Failed to answer UI request '" + type + "' for " + player.getName() + ": " + e.getMessage());
+            return;
+        }
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            try {
+                byte[] message = encode(type, payload);
+                cache.put(key, message);
+                if (player.isOnline()) {
+                    send(player, type, message);
+                }
+            } catch (RuntimeException e) {
+                plugin.getLogger().warning("Failed to answer UI request '" + type + "' for " + player.getName() + ": " + e.getMessage());
+            }
+        });
+    }
+
     private void sendTerritoriesDelta(Player player, long sinceVersion) {
         var territoryService = plugin.getTerritoryService();
         if (territoryService == null) {
@@ -135,6 +281,7 @@ public class ModCommunicationHandler implements PluginMessageListener {
             changes.add(entry);
         }
         Map<String, Object> payload = new java.util.HashMap<>();
+        payload.put("from", sinceVersion);
         payload.put("version", delta.getVersion());
         payload.put("changes", changes);
         sendData(player, "territories_delta", payload);
@@ -158,14 +305,20 @@ public class ModCommunicationHandler implements PluginMessageListener {
     }
 
     private void sendData(Player player, String type, Object data) {
-        try {
-            ByteArrayOutputStream msgBytes = new ByteArrayOutputStream();
-            DataOutputStream out = new DataOutputStream(msgBytes);
-            out.writeUTF(type);
-            out.writeUTF(gson.toJson(data));
-            player.sendPluginMessage(plugin, "axiom:ui", msgBytes.toByteArray());
-        } catch (IOException e) {
-            e.printStackTrace();
+        send(player, type, encode(type, data));
+    }
+
+    private static byte[] encode(String type, Object data) {
+        return UiMessageCodec.encode(type, gson.toJson(data));
+    }
+
+    private void send(Player player, String type, byte[] message) {
+        for (byte[] frame : UiMessageCodec.frames(message)) {
+            player.sendPluginMessage(plugin, CHANNEL, frame);
+        }
+        PluginMessageMetrics metrics = plugin.getPluginMessageMetrics();
+        if (metrics != null) {
+            metrics.recordOutgoing(CHANNEL, type, message.length);
         }
     }
 }
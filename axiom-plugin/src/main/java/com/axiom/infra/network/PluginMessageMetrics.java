@@ -0,0 +1,136 @@
+package com.axiom.infra.network;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Message and byte counters for AXIOM plugin channels, per direction, channel and message type.
+ * <p>
+ * Senders call {@link #recordOutgoing} with the encoded payload size after
+ * {@code sendPluginMessage}; the handler of incoming messages calls {@link #recordIncoming}.
+ * Counters are {@link LongAdder}s, so recording from the main thread and async pushes does not
+ * contend, and readers (the metrics exporter) never block a sender.
+ */
+public final class PluginMessageMetrics {
+    public static final String OUTGOING = "out";
+    public static final String INCOMING = "in";
+
+    private final Map<Key, Counter> counters = new ConcurrentHashMap<>();
+
+    public void recordOutgoing(String channel, String type, int bytes) {
+        record(OUTGOING, channel, type, bytes);
+    }
+
+    public void recordIncoming(String channel, String type, int bytes) {
+        record(INCOMING, channel, type, bytes);
+    }
+
+    private void record(String direction, String channel, String type, int bytes) {
+        Key key = new Key(direction, channel, type != null ? type : "");
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(key, Counter::new);
+        }
+        counter.messages.increment();
+        counter.bytes.add(Math.max(0, bytes));
+    }
+
+    /** Current totals, one entry per direction/channel/type seen so far. */
+    public List<ChannelStats> getStats() {
+        List<ChannelStats> result = new ArrayList<>(counters.size());
+        for (Counter counter : counters.values()) {
+            result.add(new ChannelStats(counter.key, counter.messages.sum(), counter.bytes.sum()));
+        }
+        result.sort((a, b) -> Long.compare(b.getBytes(), a.getBytes()));
+        return result;
+    }
+
+    public long getTotalBytes(String direction) {
+        long total = 0L;
+        for (Counter counter : counters.values()) {
+            if (counter.key.direction.equals(direction)) {
+                total += counter.bytes.sum();
+            }
+        }
+        return total;
+    }
+
+    private static final class Key {
+        private final String direction;
+        private final String channel;
+        private final String type;
+
+        private Key(String direction, String channel, String type) {
+            this.direction = direction;
+            this.channel = channel;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return direction.equals(other.direction) && channel.equals(other.channel) && type.equals(other.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return (direction.hashCode() * 31 + channel.hashCode()) * 31 + type.hashCode();
+        }
+    }
+
+    private static final class Counter {
+        private final Key key;
+        private final LongAdder messages = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        private Counter(Key key) {
+            this.key = key;
+        }
+    }
+
+    public static final class ChannelStats {
+        private final String direction;
+        private final String channel;
+        private final String type;
+        private final long messages;
+        private final long bytes;
+
+        private ChannelStats(Key key, long messages, long bytes) {
+            this.direction = key.direction;
+            this.channel = key.channel;
+            this.type = key.type;
+            this.messages = messages;
+            this.bytes = bytes;
+        }
+
+        /** {@link #OUTGOING} or {@link #INCOMING}. */
+        public String getDirection() {
+            return direction;
+        }
+
+        public String getChannel() {
+            return channel;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public long getMessages() {
+            return messages;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+    }
+}
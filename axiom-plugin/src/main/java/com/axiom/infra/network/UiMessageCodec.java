@@ -0,0 +1,79 @@
+package com.axiom.infra.network;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wire format of axiom:ui messages sent to the client mod.
+ * <p>
+ * A message is its type and its JSON payload, each written as a VarInt byte length followed by
+ * UTF-8 bytes: the string format the client's {@code FriendlyByteBuf} reads, without the 64 KB
+ * limit of {@link java.io.DataOutputStream#writeUTF}. A message larger than
+ * {@link #MAX_FRAME_BYTES} is split by {@link #frames(byte[])} into {@value #CHUNK_TYPE} frames
+ * (chunk id, index and count as VarInts, then a slice of the message) that the client joins
+ * before decoding.
+ */
+public final class UiMessageCodec {
+    /** Bukkit rejects larger plugin messages ({@code Messenger.MAX_MESSAGE_SIZE}). */
+    public static final int MAX_FRAME_BYTES = 1024 * 1024;
+    public static final String CHUNK_TYPE = "chunk";
+    // "chunk" plus three VarInts of at most 5 bytes each
+    private static final int CHUNK_HEADER_BYTES = 1 + CHUNK_TYPE.length() + 15;
+
+    private static final AtomicInteger chunkIds = new AtomicInteger();
+
+    private UiMessageCodec() {
+    }
+
+    public static byte[] encode(String type, String json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length() + type.length() + 8);
+        writeString(bytes, type);
+        writeString(bytes, json);
+        return bytes.toByteArray();
+    }
+
+    /** The message itself when it fits in one plugin message, otherwise its chunk frames in order. */
+    public static List<byte[]> frames(byte[] message) {
+        return frames(message, MAX_FRAME_BYTES);
+    }
+
+    static List<byte[]> frames(byte[] message, int maxFrameBytes) {
+        if (message.length <= maxFrameBytes) {
+            return Collections.singletonList(message);
+        }
+        int slice = maxFrameBytes - CHUNK_HEADER_BYTES;
+        int count = (message.length + slice - 1) / slice;
+        int id = chunkIds.incrementAndGet() & Integer.MAX_VALUE;
+        List<byte[]> frames = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            int from = index * slice;
+            int length = Math.min(slice, message.length - from);
+            ByteArrayOutputStream frame = new ByteArrayOutputStream(length + CHUNK_HEADER_BYTES);
+            writeString(frame, CHUNK_TYPE);
+            writeVarInt(frame, id);
+            writeVarInt(frame, index);
+            writeVarInt(frame, count);
+            frame.write(message, from, length);
+            frames.add(frame.toByteArray());
+        }
+        return frames;
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, utf8.length);
+        out.write(utf8, 0, utf8.length);
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
@@ -3,6 +3,7 @@ package com.axiom.infra.persistence;
 import com.axiom.domain.repo.MilitaryRepository;
 import com.axiom.domain.model.MilitaryData;
 import com.axiom.AXIOM;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.Gson;
 
 import java.io.*;
@@ -49,8 +50,9 @@ public class JsonMilitaryRepository implements MilitaryRepository {
     public void save(MilitaryData militaryData) {
         File file = new File(militaryDir, militaryData.getNationId() + ".json");
         
-        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter writer = AtomicFileWriter.open(file)) {
             gson.toJson(militaryData, writer);
+            writer.commit();
         } catch (Exception e) {
             plugin.getLogger().severe("Failed to save military data for " + militaryData.getNationId() + ": " + e.getMessage());
         }
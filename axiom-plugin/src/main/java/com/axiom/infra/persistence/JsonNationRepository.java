@@ -1,17 +1,18 @@
 package com.axiom.infra.persistence;
 
 import com.axiom.domain.repo.NationRepository;
+import com.axiom.domain.repo.NationFileFormat;
 import com.axiom.domain.repo.NationJsonCodec;
+import com.axiom.domain.repo.NationJsonLoader;
+import com.axiom.domain.repo.NationLoadReport;
 import com.axiom.domain.model.Nation;
 import com.axiom.AXIOM;
+import com.axiom.util.AtomicFileWriter;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -37,14 +38,14 @@ public class JsonNationRepository implements NationRepository {
     
     @Override
     public Optional<Nation> findById(String id) {
-        File file = new File(nationsDir, id + ".json");
-        if (!file.exists()) {
+        // A nation can be stored as .json or .axn (storage.nationFormat)
+        File file = NationJsonLoader.resolveFile(nationsDir, id);
+        if (file == null) {
             return Optional.empty();
         }
         
-        try (Reader reader = new InputStreamReader(Files.newInputStream(file.toPath()), StandardCharsets.UTF_8)) {
-            JsonObject obj = JsonParser.parseReader(reader).getAsJsonObject();
-            Nation nation = NationJsonCodec.deserialize(obj,
+        try {
+            Nation nation = NationJsonLoader.readFile(file.toPath(),
                 plugin.getConfig().getString("economy.defaultCurrencyCode", "AXC"));
             return Optional.of(nation);
         } catch (Exception e) {
@@ -55,31 +56,25 @@ public class JsonNationRepository implements NationRepository {
     
     @Override
     public List<Nation> findAll() {
-        File[] files = nationsDir.listFiles((dir, name) -> name.endsWith(".json"));
-        if (files == null || files.length == 0) {
-            return new ArrayList<>();
+        int threads = plugin.getConfig().getInt("storage.loadThreads", 0);
+        NationLoadReport report = NationJsonLoader.loadDirectory(
+            nationsDir,
+            plugin.getConfig().getString("economy.defaultCurrencyCode", "AXC"),
+            threads > 0 ? threads : NationJsonLoader.defaultParallelism()
+        );
+        for (Map.Entry<String, String> error : report.getErrors().entrySet()) {
+            plugin.getLogger().warning("Failed to load nation from " + error.getKey() + ": " + error.getValue());
         }
-        
-        List<Nation> nations = new ArrayList<>();
-        for (File file : files) {
-            try (Reader reader = new InputStreamReader(Files.newInputStream(file.toPath()), StandardCharsets.UTF_8)) {
-                JsonObject obj = JsonParser.parseReader(reader).getAsJsonObject();
-                Nation nation = NationJsonCodec.deserialize(obj,
-                    plugin.getConfig().getString("economy.defaultCurrencyCode", "AXC"));
-                nations.add(nation);
-            } catch (Exception e) {
-                plugin.getLogger().warning("Failed to load nation from " + file.getName() + ": " + e.getMessage());
-            }
-        }
-        return nations;
+        return new ArrayList<>(report.getNations());
     }
     
     @Override
     public void save(Nation nation) {
         File file = new File(nationsDir, nation.getId() + ".json");
         
-        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+        try (AtomicFileWriter writer = AtomicFileWriter.open(file)) {
             gson.toJson(NationJsonCodec.serialize(nation), writer);
+            writer.commit();
         } catch (Exception e) {
             plugin.getLogger().severe("Failed to save nation " + nation.getId() + ": " + e.getMessage());
         }
@@ -90,9 +85,11 @@ public class JsonNationRepository implements NationRepository {
         if (plugin.getDiplomacyRelationService() != null) {
             plugin.getDiplomacyRelationService().cleanupNation(id);
         }
-        File file = new File(nationsDir, id + ".json");
-        if (file.exists()) {
-            file.delete();
+        for (NationFileFormat format : NationFileFormat.values()) {
+            File file = new File(nationsDir, id + format.extension());
+            if (file.exists()) {
+                file.delete();
+            }
         }
     }
     
@@ -0,0 +1,112 @@
+package com.axiom.infra.persistence;
+
+import com.axiom.domain.model.MilitaryData;
+import com.axiom.domain.model.Nation;
+import com.axiom.domain.repo.NationJsonLoader;
+import com.axiom.domain.repo.NationLoadReport;
+import com.google.gson.Gson;
+
+import java.io.File;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Переносит JSON-данные ({@code nations/*.json}, {@code military/*.json}) в SQL-хранилище.
+ * Всё пишется одной транзакцией: при ошибке БД не остаётся наполовину заполненной.
+ * Исходные файлы не удаляются, повторный запуск безопасен (upsert по ключу).
+ */
+public final class JsonToSqlMigrator {
+    private JsonToSqlMigrator() {}
+
+    public static Result migrate(File dataFolder, String defaultCurrencyCode, int loadThreads, SqlStorage storage)
+        throws SQLException {
+        long started = System.nanoTime();
+        SqlNationRepository.createSchema(storage);
+        SqlMilitaryRepository.createSchema(storage);
+
+        NationLoadReport nations = NationJsonLoader.loadDirectory(
+            new File(dataFolder, "nations"), defaultCurrencyCode, loadThreads);
+        Map<String, String> errors = new TreeMap<>();
+        for (Map.Entry<String, String> error : nations.getErrors().entrySet()) {
+            errors.put("nations/" + error.getKey(), error.getValue());
+        }
+        List<MilitaryData> military = readMilitary(new File(dataFolder, "military"), errors);
+
+        Gson gson = new Gson();
+        List<Nation> nationList = nations.getNations();
+        int[] written = storage.inTransaction(connection -> new int[] {
+            SqlNationRepository.upsertBatch(connection, nationList),
+            SqlMilitaryRepository.upsertBatch(connection, gson, military)
+        });
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000L;
+        return new Result(written[0], written[1], errors, elapsedMillis);
+    }
+
+    private static List<MilitaryData> readMilitary(File dir, Map<String, String> errors) {
+        File[] listed = dir.listFiles((d, name) -> name.endsWith(".json"));
+        List<MilitaryData> result = new ArrayList<>();
+        if (listed == null) {
+            return result;
+        }
+        Arrays.sort(listed, Comparator.comparing(File::getName));
+        Gson gson = new Gson();
+        for (File file : listed) {
+            try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                MilitaryData data = gson.fromJson(reader, MilitaryData.class);
+                if (data == null || data.getNationId() == null) {
+                    errors.put("military/" + file.getName(), "missing nationId");
+                    continue;
+                }
+                data.recomputeDerivedStats();
+                result.add(data);
+            } catch (Exception e) {
+                errors.put("military/" + file.getName(), String.valueOf(e.getMessage()));
+            }
+        }
+        return result;
+    }
+
+    /** Итог миграции. */
+    public static final class Result {
+        private final int nations;
+        private final int military;
+        private final Map<String, String> errors;
+        private final long elapsedMillis;
+
+        Result(int nations, int military, Map<String, String> errors, long elapsedMillis) {
+            this.nations = nations;
+            this.military = military;
+            this.errors = errors;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int getNations() {
+            return nations;
+        }
+
+        public int getMilitary() {
+            return military;
+        }
+
+        public Map<String, String> getErrors() {
+            return errors;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public String summary() {
+            return "nations: " + nations + ", military: " + military
+                + ", errors: " + errors.size() + ", " + elapsedMillis + " ms";
+        }
+    }
+}
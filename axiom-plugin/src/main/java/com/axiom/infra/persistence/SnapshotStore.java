@@ -0,0 +1,456 @@
+package com.axiom.infra.persistence;
+
+import com.axiom.util.JsonFileWriter;
+import com.google.gson.Gson;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Incremental, content-addressed snapshot store used for backups.
+ * <p>
+ * Every file is stored once under {@code objects/<2 hex>/<sha-256>.gz}; a snapshot is only a
+ * manifest ({@code snapshots/<name>.json}) mapping relative paths to content hashes. A file
+ * whose size and modification time match the previous snapshot reuses its hash without being
+ * read; new content is hashed and compressed in parallel. The cost of a snapshot therefore
+ * follows the amount of changed data, not the size of the data folder.
+ */
+public final class SnapshotStore {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Files modified this close to the previous snapshot are re-hashed (mtime granularity)
+    private static final long RACY_WINDOW_MILLIS = 2_000L;
+
+    private final File objectsDir;
+    private final File snapshotsDir;
+    private final int threads;
+    private final Gson gson = new Gson();
+
+    public SnapshotStore(File root, int threads) {
+        this.objectsDir = new File(root, "objects");
+        this.snapshotsDir = new File(root, "snapshots");
+        this.objectsDir.mkdirs();
+        this.snapshotsDir.mkdirs();
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Captures every regular file under {@code sourceRoot} accepted by the filter.
+     *
+     * @param name snapshot name; sorts chronologically when built from a timestamp
+     */
+    public Result snapshot(Path sourceRoot, String name, Predicate<String> include) throws IOException {
+        long started = System.nanoTime();
+        if (manifestFile(name).exists()) {
+            throw new IOException("Snapshot already exists: " + name);
+        }
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(sourceRoot)) {
+            files = walk.filter(Files::isRegularFile)
+                .filter(path -> include.test(relative(sourceRoot, path)))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+
+        Manifest previous = latestManifest();
+        Map<String, Entry> previousByPath = new HashMap<>();
+        if (previous != null) {
+            for (Entry entry : previous.files) {
+                previousByPath.put(entry.path, entry);
+            }
+        }
+
+        AtomicInteger newObjects = new AtomicInteger();
+        AtomicInteger reused = new AtomicInteger();
+        AtomicLong bytesAdded = new AtomicLong();
+        List<Entry> entries = new ArrayList<>(files.size());
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new BackupThreadFactory());
+        try {
+            List<Future<Entry>> futures = new ArrayList<>(files.size());
+            for (Path file : files) {
+                String path = relative(sourceRoot, file);
+                Entry before = previousByPath.get(path);
+                long previousCreatedAt = previous != null ? previous.createdAt : 0L;
+                futures.add(executor.submit(() ->
+                    store(file, path, before, previousCreatedAt, newObjects, reused, bytesAdded)));
+            }
+            for (Future<Entry> future : futures) {
+                entries.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while taking snapshot " + name, e);
+        } catch (ExecutionException e) {
+            throw new IOException("Snapshot " + name + " failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Manifest manifest = new Manifest();
+        manifest.name = name;
+        manifest.createdAt = System.currentTimeMillis();
+        manifest.files = entries;
+        writeManifest(manifest);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000L;
+        return new Result(name, entries.size(), newObjects.get(), reused.get(), bytesAdded.get(), elapsedMillis);
+    }
+
+    private Entry store(Path file, String path, Entry before, long previousCreatedAt,
+                        AtomicInteger newObjects, AtomicInteger reused, AtomicLong bytesAdded) throws IOException {
+        long size = Files.size(file);
+        long modified = Files.getLastModifiedTime(file).toMillis();
+        Entry entry = new Entry();
+        entry.path = path;
+        entry.size = size;
+        entry.modified = modified;
+        if (before != null && before.size == size && before.modified == modified
+            && modified < previousCreatedAt - RACY_WINDOW_MILLIS && objectFile(before.hash).exists()) {
+            entry.hash = before.hash;
+            reused.incrementAndGet();
+            return entry;
+        }
+        entry.hash = hash(file);
+        File object = objectFile(entry.hash);
+        if (object.exists()) {
+            reused.incrementAndGet();
+            return entry;
+        }
+        object.getParentFile().mkdirs();
+        Path temp = Files.createTempFile(object.getParentFile().toPath(), entry.hash, ".tmp");
+        try {
+            try (InputStream in = Files.newInputStream(file);
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp), BUFFER_SIZE)) {
+                in.transferTo(out);
+            }
+            move(temp, object.toPath());
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        newObjects.incrementAndGet();
+        bytesAdded.addAndGet(object.length());
+        return entry;
+    }
+
+    /**
+     * Writes every file of the snapshot under {@code target}. Existing files with the same path
+     * are replaced; other files are left alone (the caller clears the target if needed).
+     *
+     * @return number of restored files
+     */
+    public int restore(String name, Path target) throws IOException {
+        Manifest manifest = readManifest(name);
+        if (manifest == null) {
+            throw new IOException("Snapshot not found: " + name);
+        }
+        Path root = target.toAbsolutePath().normalize();
+        int restored = 0;
+        for (Entry entry : manifest.files) {
+            Path destination = root.resolve(entry.path).normalize();
+            if (!destination.startsWith(root)) {
+                throw new IOException("Snapshot path escapes the target: " + entry.path);
+            }
+            File object = objectFile(entry.hash);
+            if (!object.exists()) {
+                throw new IOException("Missing object " + entry.hash + " for " + entry.path);
+            }
+            Files.createDirectories(destination.getParent());
+            Path temp = destination.resolveSibling(destination.getFileName() + ".restore");
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(object.toPath()), BUFFER_SIZE)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            move(temp, destination);
+            restored++;
+        }
+        return restored;
+    }
+
+    /** Snapshot names, oldest first. */
+    public List<String> list() {
+        File[] files = snapshotsDir.listFiles((dir, n) -> n.endsWith(".json"));
+        List<String> names = new ArrayList<>();
+        if (files != null) {
+            for (File file : files) {
+                names.add(file.getName().substring(0, file.getName().length() - ".json".length()));
+            }
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    public boolean exists(String name) {
+        return manifestFile(name).exists();
+    }
+
+    public long createdAt(String name) throws IOException {
+        Manifest manifest = readManifest(name);
+        return manifest != null ? manifest.createdAt : 0L;
+    }
+
+    /** Sum of the original sizes of the files in the snapshot. */
+    public long logicalSize(String name) throws IOException {
+        Manifest manifest = readManifest(name);
+        long total = 0;
+        if (manifest != null) {
+            for (Entry entry : manifest.files) {
+                total += entry.size;
+            }
+        }
+        return total;
+    }
+
+    public boolean delete(String name) {
+        return manifestFile(name).delete();
+    }
+
+    /**
+     * Keeps the newest {@code keep} snapshots and removes objects no snapshot references.
+     *
+     * @return number of deleted snapshots
+     */
+    public int prune(int keep) throws IOException {
+        List<String> names = list();
+        int deleted = 0;
+        for (int i = 0; i < names.size() - Math.max(1, keep); i++) {
+            if (delete(names.get(i))) {
+                deleted++;
+            }
+        }
+        collectGarbage();
+        return deleted;
+    }
+
+    /** Deletes objects that are not referenced by any manifest. */
+    public int collectGarbage() throws IOException {
+        Set<String> live = new HashSet<>();
+        for (String name : list()) {
+            Manifest manifest = readManifest(name);
+            if (manifest != null) {
+                for (Entry entry : manifest.files) {
+                    live.add(entry.hash);
+                }
+            }
+        }
+        int removed = 0;
+        File[] buckets = objectsDir.listFiles(File::isDirectory);
+        if (buckets == null) {
+            return 0;
+        }
+        for (File bucket : buckets) {
+            File[] objects = bucket.listFiles();
+            if (objects == null) {
+                continue;
+            }
+            for (File object : objects) {
+                String fileName = object.getName();
+                String hash = fileName.endsWith(".gz") ? fileName.substring(0, fileName.length() - 3) : null;
+                if (hash == null || !live.contains(hash)) {
+                    if (object.delete()) {
+                        removed++;
+                    }
+                }
+            }
+        }
+        return removed;
+    }
+
+    /** Bytes used by stored objects (the real disk footprint of all snapshots). */
+    public long storedBytes() {
+        long total = 0;
+        File[] buckets = objectsDir.listFiles(File::isDirectory);
+        if (buckets != null) {
+            for (File bucket : buckets) {
+                File[] objects = bucket.listFiles();
+                if (objects != null) {
+                    for (File object : objects) {
+                        total += object.length();
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    private Manifest latestManifest() throws IOException {
+        List<String> names = list();
+        return names.isEmpty() ? null : readManifest(names.get(names.size() - 1));
+    }
+
+    private Manifest readManifest(String name) throws IOException {
+        File file = manifestFile(name);
+        if (!file.exists()) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            Manifest manifest = gson.fromJson(reader, Manifest.class);
+            if (manifest != null && manifest.files == null) {
+                manifest.files = new ArrayList<>();
+            }
+            return manifest;
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt snapshot manifest " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void writeManifest(Manifest manifest) throws IOException {
+        JsonFileWriter.write(manifestFile(manifest.name), false, out -> {
+            out.beginObject();
+            out.name("name").value(manifest.name);
+            out.name("createdAt").value(manifest.createdAt);
+            out.name("files").beginArray();
+            for (Entry entry : manifest.files) {
+                out.beginObject();
+                out.name("path").value(entry.path);
+                out.name("hash").value(entry.hash);
+                out.name("size").value(entry.size);
+                out.name("modified").value(entry.modified);
+                out.endObject();
+            }
+            out.endArray();
+            out.endObject();
+        });
+    }
+
+    private File manifestFile(String name) {
+        if (name == null || name.isEmpty() || name.contains("/") || name.contains("\\") || name.startsWith(".")) {
+            throw new IllegalArgumentException("Invalid snapshot name: " + name);
+        }
+        return new File(snapshotsDir, name + ".json");
+    }
+
+    private File objectFile(String hash) {
+        return new File(new File(objectsDir, hash.substring(0, 2)), hash + ".gz");
+    }
+
+    private static String relative(Path root, Path file) {
+        return root.relativize(file).toString().replace('\\', '/');
+    }
+
+    static String hash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static void move(Path from, Path to) throws IOException {
+        try {
+            Files.move(from, to, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /** Outcome of one snapshot. */
+    public static final class Result {
+        private final String name;
+        private final int files;
+        private final int newObjects;
+        private final int reusedObjects;
+        private final long bytesAdded;
+        private final long elapsedMillis;
+
+        Result(String name, int files, int newObjects, int reusedObjects, long bytesAdded, long elapsedMillis) {
+            this.name = name;
+            this.files = files;
+            this.newObjects = newObjects;
+            this.reusedObjects = reusedObjects;
+            this.bytesAdded = bytesAdded;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getFiles() {
+            return files;
+        }
+
+        public int getNewObjects() {
+            return newObjects;
+        }
+
+        public int getReusedObjects() {
+            return reusedObjects;
+        }
+
+        public long getBytesAdded() {
+            return bytesAdded;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public String summary() {
+            return name + ": files " + files + ", new " + newObjects + ", unchanged " + reusedObjects
+                + ", +" + (bytesAdded / 1024) + " KB, " + elapsedMillis + " ms";
+        }
+    }
+
+    private static final class Manifest {
+        private String name;
+        private long createdAt;
+        private List<Entry> files;
+    }
+
+    private static final class Entry {
+        private String path;
+        private String hash;
+        private long size;
+        private long modified;
+    }
+
+    private static final class BackupThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "AXIOM-Backup-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
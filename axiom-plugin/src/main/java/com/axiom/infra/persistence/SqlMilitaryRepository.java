@@ -0,0 +1,146 @@
+package com.axiom.infra.persistence;
+
+import com.axiom.domain.repo.MilitaryRepository;
+import com.axiom.domain.model.MilitaryData;
+import com.axiom.AXIOM;
+import com.google.gson.Gson;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+
+/**
+ * SQL реализация репозитория военных данных (встроенная SQLite через {@link SqlStorage})
+ */
+public class SqlMilitaryRepository implements MilitaryRepository {
+
+    static final String UPSERT = "INSERT INTO military (nation_id, data, updated_at) VALUES (?, ?, ?) "
+        + "ON CONFLICT(nation_id) DO UPDATE SET data = excluded.data, updated_at = excluded.updated_at";
+
+    private final AXIOM plugin;
+    private final SqlStorage storage;
+    private final Gson gson = new Gson();
+
+    public SqlMilitaryRepository(AXIOM plugin, SqlStorage storage) throws SQLException {
+        this.plugin = plugin;
+        this.storage = storage;
+        createSchema(storage);
+    }
+
+    static void createSchema(SqlStorage storage) throws SQLException {
+        storage.withConnection(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS military ("
+                    + "nation_id TEXT PRIMARY KEY, "
+                    + "data TEXT NOT NULL, "
+                    + "updated_at INTEGER NOT NULL)");
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<MilitaryData> findByNationId(String nationId) {
+        try {
+            return storage.withConnection(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("SELECT data FROM military WHERE nation_id = ?")) {
+                    statement.setString(1, nationId);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        return rs.next() ? Optional.ofNullable(decode(rs.getString(1))) : Optional.<MilitaryData>empty();
+                    }
+                }
+            });
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to load military data for " + nationId + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void save(MilitaryData militaryData) {
+        try {
+            storage.withConnection(connection -> upsertBatch(connection, gson, List.of(militaryData)));
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to save military data for " + militaryData.getNationId() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Сохраняет пачку записей одной транзакцией.
+     * @return количество сохранённых записей
+     */
+    public int saveAll(Collection<MilitaryData> data) throws SQLException {
+        return storage.inTransaction(connection -> upsertBatch(connection, gson, data));
+    }
+
+    static int upsertBatch(Connection connection, Gson gson, Collection<MilitaryData> data) throws SQLException {
+        long now = System.currentTimeMillis();
+        int count = 0;
+        try (PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+            for (MilitaryData entry : data) {
+                if (entry == null || entry.getNationId() == null) {
+                    continue;
+                }
+                statement.setString(1, entry.getNationId());
+                statement.setString(2, gson.toJson(entry));
+                statement.setLong(3, now);
+                statement.addBatch();
+                count++;
+            }
+            statement.executeBatch();
+        }
+        return count;
+    }
+
+    @Override
+    public void delete(String nationId) {
+        try {
+            storage.withConnection(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("DELETE FROM military WHERE nation_id = ?")) {
+                    statement.setString(1, nationId);
+                    return statement.executeUpdate();
+                }
+            });
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to delete military data for " + nationId + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean exists(String nationId) {
+        return findByNationId(nationId).isPresent();
+    }
+
+    @Override
+    public List<MilitaryData> findAll() {
+        try {
+            return storage.withConnection(connection -> {
+                List<MilitaryData> dataList = new ArrayList<>();
+                try (Statement statement = connection.createStatement();
+                     ResultSet rs = statement.executeQuery("SELECT data FROM military ORDER BY nation_id")) {
+                    while (rs.next()) {
+                        MilitaryData data = decode(rs.getString(1));
+                        if (data != null) {
+                            dataList.add(data);
+                        }
+                    }
+                }
+                return dataList;
+            });
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to load military data: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private MilitaryData decode(String json) {
+        MilitaryData data = gson.fromJson(json, MilitaryData.class);
+        if (data != null) {
+            data.recomputeDerivedStats();
+        }
+        return data;
+    }
+}
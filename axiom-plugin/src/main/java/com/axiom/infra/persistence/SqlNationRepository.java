@@ -0,0 +1,287 @@
+package com.axiom.infra.persistence;
+
+import com.axiom.domain.repo.NationRepository;
+import com.axiom.domain.repo.NationJsonCodec;
+import com.axiom.domain.model.Nation;
+import com.axiom.AXIOM;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * SQL реализация репозитория наций (встроенная SQLite через {@link SqlStorage}).
+ * Нация хранится тем же JSON, что и в файлах ({@link NationJsonCodec}); имя и лидер
+ * вынесены в индексированные колонки, поэтому findByName/findByLeader не читают всю таблицу.
+ * JSON пишется и читается потоково: колонка data заполняется прямо из {@link NationJsonCodec#write}
+ * и разбирается из символьного потока ResultSet, без промежуточного дерева JsonObject.
+ */
+public class SqlNationRepository implements NationRepository {
+
+    static final String UPSERT = "INSERT INTO nations (id, name, name_lower, leader, data, updated_at) "
+        + "VALUES (?, ?, ?, ?, ?, ?) "
+        + "ON CONFLICT(id) DO UPDATE SET name = excluded.name, name_lower = excluded.name_lower, "
+        + "leader = excluded.leader, data = excluded.data, updated_at = excluded.updated_at";
+
+    private final AXIOM plugin;
+    private final SqlStorage storage;
+    private final String defaultCurrencyCode;
+
+    public SqlNationRepository(AXIOM plugin, SqlStorage storage) throws SQLException {
+        this.plugin = plugin;
+        this.storage = storage;
+        this.defaultCurrencyCode = plugin.getConfig().getString("economy.defaultCurrencyCode", "AXC");
+        createSchema(storage);
+    }
+
+    static void createSchema(SqlStorage storage) throws SQLException {
+        storage.withConnection(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS nations ("
+                    + "id TEXT PRIMARY KEY, "
+                    + "name TEXT NOT NULL, "
+                    + "name_lower TEXT NOT NULL, "
+                    + "leader TEXT NOT NULL, "
+                    + "data TEXT NOT NULL, "
+                    + "updated_at INTEGER NOT NULL)");
+                statement.execute("CREATE INDEX IF NOT EXISTS idx_nations_name_lower ON nations(name_lower)");
+                statement.execute("CREATE INDEX IF NOT EXISTS idx_nations_leader ON nations(leader)");
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<Nation> findById(String id) {
+        try {
+            return storage.withConnection(connection ->
+                queryOne(connection, "SELECT data FROM nations WHERE id = ?", id));
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to load nation " + id + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public List<Nation> findAll() {
+        try {
+            return storage.withConnection(connection ->
+                queryList(connection, "SELECT data FROM nations ORDER BY id", null));
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to load nations: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public void save(Nation nation) {
+        try {
+            storage.withConnection(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+                    bind(statement, row(nation), System.currentTimeMillis());
+                    return statement.executeUpdate();
+                }
+            });
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to save nation " + nation.getId() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Сохраняет пачку наций одной транзакцией (batch upsert).
+     * @return количество сохранённых наций
+     */
+    public int saveAll(Collection<Nation> nations) throws SQLException {
+        return storage.inTransaction(connection -> upsertBatch(connection, nations));
+    }
+
+    /** Асинхронное сохранение пачки наций на потоках хранилища. */
+    public CompletableFuture<Integer> saveAllAsync(Collection<Nation> nations) {
+        // Снимок сериализуется в вызывающем потоке, чтобы пул не читал изменяемые нации
+        List<Row> rows = rows(nations);
+        return storage.inTransactionAsync(connection -> upsertRows(connection, rows));
+    }
+
+    static int upsertBatch(Connection connection, Collection<Nation> nations) throws SQLException {
+        return upsertRows(connection, rows(nations));
+    }
+
+    private static int upsertRows(Connection connection, List<Row> rows) throws SQLException {
+        long now = System.currentTimeMillis();
+        try (PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+            for (Row row : rows) {
+                bind(statement, row, now);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        return rows.size();
+    }
+
+    @Override
+    public void delete(String id) {
+        if (plugin.getDiplomacyRelationService() != null) {
+            plugin.getDiplomacyRelationService().cleanupNation(id);
+        }
+        try {
+            storage.withConnection(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("DELETE FROM nations WHERE id = ?")) {
+                    statement.setString(1, id);
+                    return statement.executeUpdate();
+                }
+            });
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to delete nation " + id + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Optional<Nation> findByName(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        try {
+            return storage.withConnection(connection ->
+                queryOne(connection, "SELECT data FROM nations WHERE name_lower = ? ORDER BY id LIMIT 1",
+                    name.toLowerCase(Locale.ROOT)));
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to find nation by name " + name + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public List<Nation> findByLeader(UUID leaderId) {
+        if (leaderId == null) {
+            return new ArrayList<>();
+        }
+        try {
+            return storage.withConnection(connection ->
+                queryList(connection, "SELECT data FROM nations WHERE leader = ? ORDER BY id", leaderId.toString()));
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to find nations by leader " + leaderId + ": " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public boolean exists(String id) {
+        try {
+            return storage.withConnection(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("SELECT 1 FROM nations WHERE id = ?")) {
+                    statement.setString(1, id);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        return rs.next();
+                    }
+                }
+            });
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to check nation " + id + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /** Количество строк в таблице наций. */
+    public int count() throws SQLException {
+        return count(storage, "nations");
+    }
+
+    static int count(SqlStorage storage, String table) throws SQLException {
+        return storage.withConnection(connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        });
+    }
+
+    private Optional<Nation> queryOne(Connection connection, String sql, String param) throws SQLException {
+        List<Nation> found = queryList(connection, sql, param);
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    private List<Nation> queryList(Connection connection, String sql, String param) throws SQLException {
+        List<Nation> nations = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            if (param != null) {
+                statement.setString(1, param);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    Nation nation = decode(rs.getCharacterStream(1));
+                    if (nation != null) {
+                        nations.add(nation);
+                    }
+                }
+            }
+        }
+        return nations;
+    }
+
+    private Nation decode(Reader data) {
+        if (data == null) {
+            return null;
+        }
+        try (JsonReader reader = new JsonReader(data)) {
+            reader.setLenient(true);
+            return NationJsonCodec.read(reader, defaultCurrencyCode);
+        } catch (IOException | RuntimeException e) {
+            plugin.getLogger().warning("Failed to decode nation row: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Row row, long now) throws SQLException {
+        statement.setString(1, row.id);
+        statement.setString(2, row.name);
+        statement.setString(3, row.name.toLowerCase(Locale.ROOT));
+        statement.setString(4, row.leader);
+        statement.setString(5, row.data);
+        statement.setLong(6, now);
+    }
+
+    private static List<Row> rows(Collection<Nation> nations) {
+        List<Row> rows = new ArrayList<>(nations.size());
+        for (Nation nation : nations) {
+            rows.add(row(nation));
+        }
+        return rows;
+    }
+
+    private static Row row(Nation nation) {
+        StringWriter data = new StringWriter(1024);
+        try (JsonWriter writer = new JsonWriter(data)) {
+            NationJsonCodec.write(writer, nation);
+        } catch (IOException e) {
+            // StringWriter не бросает IOException
+            throw new UncheckedIOException(e);
+        }
+        String name = nation.getName() != null ? nation.getName() : nation.getId();
+        return new Row(nation.getId(), name, String.valueOf(nation.getLeader()), data.toString());
+    }
+
+    /** Снимок колонок одной нации, снятый в вызывающем потоке. */
+    private static final class Row {
+        private final String id;
+        private final String name;
+        private final String leader;
+        private final String data;
+
+        private Row(String id, String name, String leader, String data) {
+            this.id = id;
+            this.name = name;
+            this.leader = leader;
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.axiom.infra.persistence;
+
+import com.axiom.util.SnapshotBarrier;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Embedded, file-local SQL storage (SQLite through JDBC; the driver ships with the server).
+ * <p>
+ * Holds a small fixed pool of connections and an executor of the same size for async work.
+ * SQLite allows one writer at a time, so the database runs in WAL mode with a busy timeout:
+ * readers never block the writer and concurrent writers wait instead of failing.
+ * <p>
+ * SQLite writes the database files in place, so backups must not hard-link them: the storage
+ * registers with {@link SnapshotBarrier} and hands backups a {@code VACUUM INTO} copy instead.
+ */
+public class SqlStorage implements AutoCloseable {
+    static final String DRIVER_CLASS = "org.sqlite.JDBC";
+
+    private final String url;
+    private final SnapshotBarrier.Database snapshotHook;
+    private final Logger logger;
+    private final BlockingQueue<Connection> idle;
+    private final List<Connection> all = new ArrayList<>();
+    private final ExecutorService executor;
+    private volatile boolean closed;
+
+    public SqlStorage(File databaseFile, Logger logger, int poolSize) throws SQLException {
+        this(sqliteUrl(databaseFile), databaseFile, logger, poolSize);
+    }
+
+    SqlStorage(String url, File databaseFile, Logger logger, int poolSize) throws SQLException {
+        this.url = url;
+        this.logger = logger != null ? logger : Logger.getLogger(SqlStorage.class.getName());
+        int size = Math.max(1, poolSize);
+        this.idle = new ArrayBlockingQueue<>(size);
+        loadDriver();
+        try {
+            for (int i = 0; i < size; i++) {
+                Connection connection = open();
+                synchronized (all) {
+                    all.add(connection);
+                }
+                idle.add(connection);
+            }
+        } catch (SQLException e) {
+            closeConnections();
+            throw e;
+        }
+        this.executor = Executors.newFixedThreadPool(size, new SqlThreadFactory());
+        if (databaseFile != null) {
+            Path file = databaseFile.toPath();
+            this.snapshotHook = new SnapshotBarrier.Database() {
+                @Override
+                public Path file() {
+                    return file;
+                }
+
+                @Override
+                public void backupTo(Path destination) throws IOException {
+                    backupInto(destination);
+                }
+            };
+            SnapshotBarrier.registerDatabase(snapshotHook);
+        } else {
+            this.snapshotHook = null;
+        }
+    }
+
+    /**
+     * Writes a transactionally consistent copy of the database to {@code destination}
+     * ({@code VACUUM INTO}); concurrent writers are not blocked.
+     */
+    public void backupInto(Path destination) throws IOException {
+        String target = destination.toAbsolutePath().toString().replace("'", "''");
+        try {
+            withConnection(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("VACUUM INTO '" + target + "'");
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            throw new IOException("Failed to copy SQL storage to " + destination + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** True when the SQLite JDBC driver is on the classpath (always on a Spigot/Paper server). */
+    public static boolean isDriverAvailable() {
+        try {
+            Class.forName(DRIVER_CLASS);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static String sqliteUrl(File databaseFile) {
+        File parent = databaseFile.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        return "jdbc:sqlite:" + databaseFile.getAbsolutePath();
+    }
+
+    private static void loadDriver() throws SQLException {
+        if (!isDriverAvailable()) {
+            throw new SQLException("SQLite JDBC driver not found: " + DRIVER_CLASS);
+        }
+    }
+
+    private Connection open() throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode=WAL");
+            statement.execute("PRAGMA synchronous=NORMAL");
+            statement.execute("PRAGMA busy_timeout=5000");
+            statement.execute("PRAGMA foreign_keys=ON");
+        }
+        connection.setAutoCommit(true);
+        return connection;
+    }
+
+    /** Runs the callback with a pooled connection in auto-commit mode. */
+    public <T> T withConnection(SqlFunction<T> callback) throws SQLException {
+        Connection connection = borrow();
+        try {
+            return callback.apply(connection);
+        } finally {
+            idle.offer(connection);
+        }
+    }
+
+    /** Runs the callback in one transaction; any exception rolls everything back. */
+    public <T> T inTransaction(SqlFunction<T> callback) throws SQLException {
+        Connection connection = borrow();
+        try {
+            connection.setAutoCommit(false);
+            try {
+                T result = callback.apply(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } finally {
+            idle.offer(connection);
+        }
+    }
+
+    /** Runs a transaction on the storage executor. */
+    public <T> CompletableFuture<T> inTransactionAsync(SqlFunction<T> callback) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return inTransaction(callback);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /** Runs a read on the storage executor. */
+    public <T> CompletableFuture<T> withConnectionAsync(SqlFunction<T> callback) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return withConnection(callback);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    private Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("SQL storage is closed");
+        }
+        try {
+            Connection connection = idle.poll(30, TimeUnit.SECONDS);
+            if (connection == null) {
+                throw new SQLException("Timed out waiting for a pooled connection: " + url);
+            }
+            if (!connection.isValid(2)) {
+                Connection replacement;
+                try {
+                    replacement = open();
+                } catch (SQLException | RuntimeException e) {
+                    // Keep the slot: the next borrow finds this connection invalid and reopens again
+                    idle.offer(connection);
+                    throw e;
+                }
+                synchronized (all) {
+                    all.remove(connection);
+                    all.add(replacement);
+                }
+                closeQuietly(connection);
+                connection = replacement;
+            }
+            return connection;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a pooled connection", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (snapshotHook != null) {
+            SnapshotBarrier.unregisterDatabase(snapshotHook);
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warning("SQL storage executor did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeConnections();
+    }
+
+    private void closeConnections() {
+        synchronized (all) {
+            for (Connection connection : all) {
+                closeQuietly(connection);
+            }
+            all.clear();
+        }
+        idle.clear();
+    }
+
+    private void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.warning("Failed to close SQL connection: " + e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    public interface SqlFunction<T> {
+        T apply(Connection connection) throws SQLException;
+    }
+
+    private static final class SqlThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "AXIOM-SQL-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.axiom.kernel;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Opt-in profiler that attributes heap allocations to AXIOM event handlers and scheduled jobs.
+ * <p>
+ * Instrumented code calls {@link #start()} and {@link #stop(String, long)} around a handler, the
+ * same way as for {@link TickProfiler}. The measurement reads the current thread's allocated
+ * bytes counter ({@code com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes}), so it
+ * works on any thread and is not disturbed by other threads allocating at the same time.
+ * Nested measurements are exclusive: bytes allocated by an inner handler (an event fired from a
+ * job) are attributed to the inner handler only and subtracted from the outer one.
+ * <p>
+ * Disabled by default. While disabled {@link #start()} is a single volatile read; while enabled
+ * the accounting itself allocates nothing in steady state, so it does not show up in its own
+ * numbers. Counters are only as precise as the JVM's TLAB accounting, i.e. a handler that
+ * allocates nothing may still report a few bytes.
+ */
+public class AllocationProfiler {
+    /** Returned by {@link #start()} when nothing is measured. */
+    public static final long NOT_MEASURED = -1L;
+    private static final int MAX_DEPTH = 32;
+
+    private final LongSupplier allocatedBytes;
+    private final boolean supported;
+    private final Map<String, Handler> handlers = new ConcurrentHashMap<>();
+    // Per-thread bytes allocated by finished nested measurements, one slot per nesting level
+    private final ThreadLocal<Frames> frames = ThreadLocal.withInitial(Frames::new);
+    private volatile boolean enabled;
+
+    public AllocationProfiler() {
+        this(threadAllocatedBytes(), allocationCountingSupported());
+    }
+
+    AllocationProfiler(LongSupplier allocatedBytes, boolean supported) {
+        this.allocatedBytes = allocatedBytes;
+        this.supported = supported;
+    }
+
+    /** Whether the JVM exposes per-thread allocation counters; if not, enabling has no effect. */
+    public boolean isSupported() {
+        return supported;
+    }
+
+    public void setEnabled(boolean enabled) {
+        if (enabled && supported) {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                ((com.sun.management.ThreadMXBean) bean).setThreadAllocatedMemoryEnabled(true);
+            }
+        }
+        this.enabled = enabled && supported;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Starts a measurement on the current thread; pass the result to {@link #stop(String, long)}. */
+    public long start() {
+        if (!enabled) {
+            return NOT_MEASURED;
+        }
+        Frames stack = frames.get();
+        if (stack.depth >= MAX_DEPTH) {
+            return NOT_MEASURED;
+        }
+        long now = allocatedBytes.getAsLong();
+        if (now < 0L) {
+            return NOT_MEASURED;
+        }
+        stack.nested[stack.depth++] = 0L;
+        return now;
+    }
+
+    /**
+     * Ends a measurement started with {@link #start()} on the same thread and attributes the bytes
+     * allocated since, minus those of nested measurements, to {@code handler}.
+     */
+    public void stop(String handler, long startBytes) {
+        if (startBytes < 0L) {
+            return;
+        }
+        Frames stack = frames.get();
+        if (stack.depth == 0) {
+            return;
+        }
+        long total = Math.max(0L, allocatedBytes.getAsLong() - startBytes);
+        long own = Math.max(0L, total - stack.nested[--stack.depth]);
+        if (stack.depth > 0) {
+            stack.nested[stack.depth - 1] += total;
+        }
+        Handler stats = handlers.computeIfAbsent(handler, Handler::new);
+        synchronized (stats) {
+            stats.invocations++;
+            stats.totalBytes += own;
+            stats.maxBytes = Math.max(stats.maxBytes, own);
+        }
+    }
+
+    /** Handlers ranked by total bytes allocated since the last reset, largest first. */
+    public List<HandlerStats> getTopAllocators(int limit) {
+        List<HandlerStats> result = new ArrayList<>(handlers.size());
+        for (Handler stats : handlers.values()) {
+            synchronized (stats) {
+                if (stats.invocations > 0) {
+                    result.add(new HandlerStats(stats.name, stats.invocations, stats.totalBytes, stats.maxBytes));
+                }
+            }
+        }
+        result.sort((a, b) -> Long.compare(b.getTotalBytes(), a.getTotalBytes()));
+        return limit > 0 && result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /** Sum over all handlers since the last reset. */
+    public long getTotalBytes() {
+        long total = 0L;
+        for (Handler stats : handlers.values()) {
+            synchronized (stats) {
+                total += stats.totalBytes;
+            }
+        }
+        return total;
+    }
+
+    public void reset() {
+        handlers.clear();
+    }
+
+    private static LongSupplier threadAllocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            return threads::getCurrentThreadAllocatedBytes;
+        }
+        return () -> NOT_MEASURED;
+    }
+
+    private static boolean allocationCountingSupported() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        return bean instanceof com.sun.management.ThreadMXBean
+            && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported();
+    }
+
+    private static final class Frames {
+        private final long[] nested = new long[MAX_DEPTH];
+        private int depth;
+    }
+
+    private static final class Handler {
+        private final String name;
+        private long invocations;
+        private long totalBytes;
+        private long maxBytes;
+
+        private Handler(String name) {
+            this.name = name;
+        }
+    }
+
+    public static final class HandlerStats {
+        private final String name;
+        private final long invocations;
+        private final long totalBytes;
+        private final long maxBytes;
+
+        private HandlerStats(String name, long invocations, long totalBytes, long maxBytes) {
+            this.name = name;
+            this.invocations = invocations;
+            this.totalBytes = totalBytes;
+            this.maxBytes = maxBytes;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getInvocations() {
+            return invocations;
+        }
+
+        public long getTotalBytes() {
+            return totalBytes;
+        }
+
+        /** Largest single invocation. */
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public double getBytesPerInvocation() {
+            return invocations == 0 ? 0.0 : totalBytes / (double) invocations;
+        }
+    }
+}
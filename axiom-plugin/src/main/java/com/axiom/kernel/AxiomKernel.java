@@ -8,13 +8,24 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 public class AxiomKernel {
     private final Logger logger;
     private final ServiceRegistry services;
+    private final SimulationScheduler simulation;
+    private final TickProfiler profiler;
+    private final AllocationProfiler allocations;
+    private final ContentionSampler contention;
     private final Map<String, KernelModule> modules = new LinkedHashMap<>();
     private List<KernelModule> startupOrder = new ArrayList<>();
+    private int startupThreads = 1;
 
     public AxiomKernel(Logger logger) {
         this(logger, null);
@@ -23,12 +34,38 @@ public class AxiomKernel {
     public AxiomKernel(Logger logger, ServiceBinder binder) {
         this.logger = logger != null ? logger : Logger.getLogger(AxiomKernel.class.getName());
         this.services = new ServiceRegistry(binder);
+        this.simulation = new SimulationScheduler(this.logger);
+        services.register(SimulationScheduler.class, simulation);
+        this.profiler = new TickProfiler();
+        simulation.setProfiler(profiler);
+        services.register(TickProfiler.class, profiler);
+        this.allocations = new AllocationProfiler();
+        simulation.setAllocationProfiler(allocations);
+        services.register(AllocationProfiler.class, allocations);
+        this.contention = new ContentionSampler(this.logger, profiler);
+        services.register(ContentionSampler.class, contention);
     }
 
     public ServiceRegistry services() {
         return services;
     }
 
+    public SimulationScheduler simulation() {
+        return simulation;
+    }
+
+    public TickProfiler profiler() {
+        return profiler;
+    }
+
+    public AllocationProfiler allocations() {
+        return allocations;
+    }
+
+    public ContentionSampler contention() {
+        return contention;
+    }
+
     public void registerModule(KernelModule module) {
         if (module == null) {
             throw new IllegalArgumentException("Kernel module cannot be null");
@@ -43,15 +80,81 @@ public class AxiomKernel {
         modules.put(moduleId, module);
     }
 
+    /**
+     * Number of threads used to run module registration. With more than one thread, modules
+     * whose dependencies are registered run concurrently and {@link ServiceRegistry#registerAsync}
+     * loads run in parallel; {@code onEnable} always runs on the calling thread.
+     */
+    public void setStartupThreads(int threads) {
+        this.startupThreads = Math.max(1, threads);
+    }
+
     public void start() {
         startupOrder = resolveOrder();
         logStartupOrder();
-        for (KernelModule module : startupOrder) {
-            module.register(services);
+        long started = System.nanoTime();
+        if (startupThreads <= 1) {
+            for (KernelModule module : startupOrder) {
+                registerTimed(module).join();
+            }
+        } else {
+            registerConcurrently();
         }
+        logger.info("Kernel modules registered in " + elapsedMillis(started) + " ms (threads: " + startupThreads + ")");
+        // Listener and scheduler wiring is main-thread affine: keep onEnable on the calling thread, in order
         for (KernelModule module : startupOrder) {
+            long enableStarted = System.nanoTime();
             module.onEnable();
+            logger.fine("Kernel module enabled: " + module.id() + " in " + elapsedMillis(enableStarted) + " ms");
+        }
+    }
+
+    private void registerConcurrently() {
+        ExecutorService executor = Executors.newFixedThreadPool(startupThreads, new StartupThreadFactory());
+        services.beginStartup(executor);
+        Map<String, CompletableFuture<Void>> registered = new HashMap<>();
+        try {
+            // startupOrder is topological, so every dependency future already exists
+            for (KernelModule module : startupOrder) {
+                CompletableFuture<?>[] deps = module.dependencies().stream()
+                    .map(registered::get)
+                    .toArray(CompletableFuture[]::new);
+                CompletableFuture<Void> future = CompletableFuture.allOf(deps)
+                    .thenComposeAsync(ignored -> registerTimed(module), executor);
+                registered.put(module.id(), future);
+            }
+            CompletableFuture.allOf(registered.values().toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Kernel module startup failed: " + cause.getMessage(), cause);
+        } finally {
+            services.endStartup();
+            executor.shutdown();
+        }
+    }
+
+    private CompletableFuture<Void> registerTimed(KernelModule module) {
+        long started = System.nanoTime();
+        services.openModuleScope(module.id());
+        List<CompletableFuture<?>> pending;
+        try {
+            module.register(services);
+        } finally {
+            pending = services.closeModuleScope();
         }
+        long registerMillis = elapsedMillis(started);
+        return CompletableFuture.allOf(pending.toArray(new CompletableFuture[0]))
+            .thenRun(() -> logger.info(
+                "Kernel module registered: " + module.id() + " in " + elapsedMillis(started) + " ms"
+                    + (pending.isEmpty() ? "" : " (" + registerMillis + " ms inline, " + pending.size() + " parallel loads)")
+            ));
+    }
+
+    private static long elapsedMillis(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000L;
     }
 
     public void stop() {
@@ -67,6 +170,8 @@ public class AxiomKernel {
                 logger.warning("Kernel module shutdown failed: " + module.id() + " -> " + ex.getMessage());
             }
         }
+        simulation.clear();
+        contention.stop();
     }
 
     private List<KernelModule> resolveOrder() {
@@ -124,6 +229,17 @@ public class AxiomKernel {
         }
     }
 
+    private static final class StartupThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "AXIOM-Startup-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
     private void logStartupOrder() {
         if (startupOrder.isEmpty()) {
             return;
@@ -0,0 +1,301 @@
+package com.axiom.kernel;
+
+import java.lang.management.LockInfo;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Samples JVM monitor contention and attributes it to the AXIOM classes that own the locks.
+ * <p>
+ * Services guard their state with {@code synchronized} methods shared by the main thread and
+ * async timers. Instead of replacing those monitors, a daemon thread periodically reads the
+ * {@link ThreadMXBean} state of the main thread and the plugin's worker threads (AXIOM pools and
+ * the scheduler's async threads) and, for every sample:
+ * <ul>
+ *   <li>each of those threads BLOCKED on a monitor adds one wait sample to the lock owner;</li>
+ *   <li>the thread holding that monitor adds one hold sample to the same owner;</li>
+ *   <li>a thread newly blocked on a lock (not blocked on it in the previous sample) counts as
+ *       one contended acquire.</li>
+ * </ul>
+ * The state read takes no stack traces and no locked monitors, so it does not stop the JVM at a
+ * safepoint; a short stack is fetched only for blocked threads whose lock is not an AXIOM object.
+ * The owner is the lock object's class when it is an AXIOM class (a synchronized service
+ * method), otherwise the AXIOM class whose frame is waiting for the lock. Samples are split by
+ * main thread vs async threads. Times are estimates (samples x interval) and acquire counts are a
+ * lower bound: waits shorter than the interval can be missed. Holds are only seen while someone
+ * waits, which is the part that costs ticks.
+ */
+public class ContentionSampler {
+    public static final long MIN_INTERVAL_MILLIS = 100L;
+    public static final long DEFAULT_INTERVAL_MILLIS = MIN_INTERVAL_MILLIS;
+    private static final String PACKAGE_PREFIX = "com.axiom.";
+    private static final String[] WORKER_PREFIXES = {"AXIOM-", "Craft Scheduler Thread"};
+    private static final int STACK_DEPTH = 32;
+
+    private final Logger logger;
+    private final TickProfiler profiler;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final Map<String, Owner> owners = new ConcurrentHashMap<>();
+    private final AtomicLong samples = new AtomicLong();
+    // Lock each thread was blocked on in the previous sample: thread id -> lock identity
+    private Map<Long, Integer> previouslyBlocked = new HashMap<>();
+    private ScheduledExecutorService executor;
+    private long intervalNanos = DEFAULT_INTERVAL_MILLIS * 1_000_000L;
+    private int failures;
+
+    public ContentionSampler(Logger logger, TickProfiler profiler) {
+        this.logger = logger != null ? logger : Logger.getLogger(ContentionSampler.class.getName());
+        this.profiler = profiler;
+    }
+
+    public synchronized void start(long intervalMillis) {
+        if (executor != null) {
+            return;
+        }
+        long interval = Math.max(MIN_INTERVAL_MILLIS, intervalMillis);
+        intervalNanos = interval * 1_000_000L;
+        previouslyBlocked = new HashMap<>();
+        executor = Executors.newSingleThreadScheduledExecutor(new SamplerThreadFactory());
+        executor.scheduleAtFixedRate(this::sampleSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return executor != null;
+    }
+
+    public synchronized long getIntervalMillis() {
+        return intervalNanos / 1_000_000L;
+    }
+
+    public long getSamples() {
+        return samples.get();
+    }
+
+    public void reset() {
+        owners.clear();
+        samples.set(0L);
+    }
+
+    private void sampleSafely() {
+        try {
+            sample();
+        } catch (Exception ex) {
+            if (failures++ % 100 == 0) {
+                logger.warning("Contention sampling failed: " + ex.getMessage());
+            }
+        }
+    }
+
+    /** Takes one sample of the main and worker threads. */
+    void sample() {
+        Thread main = profiler != null ? profiler.getMainThread() : null;
+        long mainId = main != null ? main.getId() : -1L;
+        // Depth 0: state and lock only, no stacks, so no safepoint
+        ThreadInfo[] infos = threads.getThreadInfo(threads.getAllThreadIds(), 0);
+        List<ThreadInfo> blocked = new ArrayList<>();
+        List<Long> needStacks = new ArrayList<>();
+        for (ThreadInfo info : infos) {
+            if (info == null || info.getThreadState() != Thread.State.BLOCKED || info.getLockInfo() == null
+                || !isTracked(info, mainId)) {
+                continue;
+            }
+            blocked.add(info);
+            String lockClass = info.getLockInfo().getClassName();
+            if (lockClass == null || !lockClass.startsWith(PACKAGE_PREFIX)) {
+                needStacks.add(info.getThreadId());
+            }
+        }
+        Map<Long, StackTraceElement[]> stacks = stacksOf(needStacks);
+        Map<Long, Integer> blockedNow = new HashMap<>();
+        Set<String> heldThisSample = new HashSet<>();
+        for (ThreadInfo info : blocked) {
+            LockInfo lock = info.getLockInfo();
+            String owner = ownerOf(lock.getClassName(), stacks.get(info.getThreadId()));
+            if (owner == null) {
+                continue;
+            }
+            boolean onMain = info.getThreadId() == mainId;
+            Owner stats = owner(owner);
+            stats.waitSamples[onMain ? 0 : 1].incrementAndGet();
+            Integer before = previouslyBlocked.get(info.getThreadId());
+            if (before == null || before != lock.getIdentityHashCode()) {
+                stats.contended[onMain ? 0 : 1].incrementAndGet();
+            }
+            blockedNow.put(info.getThreadId(), lock.getIdentityHashCode());
+            // Several waiters on one lock still mean a single holder; count it once per sample
+            long holder = info.getLockOwnerId();
+            if (holder != -1L && heldThisSample.add(holder + ":" + owner)) {
+                stats.holdSamples[holder == mainId ? 0 : 1].incrementAndGet();
+            }
+        }
+        previouslyBlocked = blockedNow;
+        samples.incrementAndGet();
+    }
+
+    private Map<Long, StackTraceElement[]> stacksOf(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        long[] array = new long[ids.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = ids.get(i);
+        }
+        Map<Long, StackTraceElement[]> stacks = new HashMap<>();
+        for (ThreadInfo info : threads.getThreadInfo(array, STACK_DEPTH)) {
+            if (info != null) {
+                stacks.put(info.getThreadId(), info.getStackTrace());
+            }
+        }
+        return stacks;
+    }
+
+    static boolean isTracked(ThreadInfo info, long mainId) {
+        if (info.getThreadId() == mainId) {
+            return true;
+        }
+        String name = info.getThreadName();
+        if (name == null) {
+            return false;
+        }
+        for (String prefix : WORKER_PREFIXES) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String ownerOf(String lockClassName, StackTraceElement[] stack) {
+        if (lockClassName != null && lockClassName.startsWith(PACKAGE_PREFIX)) {
+            return TickProfiler.ownerOfClassName(lockClassName);
+        }
+        if (stack != null) {
+            for (StackTraceElement frame : stack) {
+                if (frame.getClassName().startsWith(PACKAGE_PREFIX)) {
+                    return TickProfiler.ownerOfClassName(frame.getClassName());
+                }
+            }
+        }
+        return null;
+    }
+
+    private Owner owner(String name) {
+        return owners.computeIfAbsent(name, Owner::new);
+    }
+
+    /** Per-owner statistics, largest total wait first. */
+    public List<LockStats> getStats() {
+        long interval;
+        synchronized (this) {
+            interval = intervalNanos;
+        }
+        List<LockStats> result = new ArrayList<>(owners.size());
+        for (Owner owner : owners.values()) {
+            result.add(new LockStats(owner.name,
+                owner.waitSamples[0].get() * interval, owner.waitSamples[1].get() * interval,
+                owner.holdSamples[0].get() * interval, owner.holdSamples[1].get() * interval,
+                owner.contended[0].get(), owner.contended[1].get()));
+        }
+        result.sort((a, b) -> Long.compare(b.getWaitNanos(), a.getWaitNanos()));
+        return result;
+    }
+
+    private static final class Owner {
+        private final String name;
+        // Index 0: main thread, 1: async threads
+        private final AtomicLong[] waitSamples = {new AtomicLong(), new AtomicLong()};
+        private final AtomicLong[] holdSamples = {new AtomicLong(), new AtomicLong()};
+        private final AtomicLong[] contended = {new AtomicLong(), new AtomicLong()};
+
+        private Owner(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final class SamplerThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "AXIOM-Contention-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    public static final class LockStats {
+        private final String name;
+        private final long mainWaitNanos;
+        private final long asyncWaitNanos;
+        private final long mainHoldNanos;
+        private final long asyncHoldNanos;
+        private final long mainContended;
+        private final long asyncContended;
+
+        private LockStats(String name, long mainWaitNanos, long asyncWaitNanos, long mainHoldNanos,
+                          long asyncHoldNanos, long mainContended, long asyncContended) {
+            this.name = name;
+            this.mainWaitNanos = mainWaitNanos;
+            this.asyncWaitNanos = asyncWaitNanos;
+            this.mainHoldNanos = mainHoldNanos;
+            this.asyncHoldNanos = asyncHoldNanos;
+            this.mainContended = mainContended;
+            this.asyncContended = asyncContended;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getMainWaitNanos() {
+            return mainWaitNanos;
+        }
+
+        public long getAsyncWaitNanos() {
+            return asyncWaitNanos;
+        }
+
+        public long getWaitNanos() {
+            return mainWaitNanos + asyncWaitNanos;
+        }
+
+        public long getMainHoldNanos() {
+            return mainHoldNanos;
+        }
+
+        public long getAsyncHoldNanos() {
+            return asyncHoldNanos;
+        }
+
+        public long getMainContended() {
+            return mainContended;
+        }
+
+        public long getAsyncContended() {
+            return asyncContended;
+        }
+    }
+}
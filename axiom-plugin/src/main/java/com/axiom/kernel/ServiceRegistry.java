@@ -1,13 +1,26 @@
 package com.axiom.kernel;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 public class ServiceRegistry {
-    private final Map<Class<?>, Object> byType = new HashMap<>();
-    private final Map<String, Object> byName = new HashMap<>();
+    private final Map<Class<?>, Object> byType = new ConcurrentHashMap<>();
+    private final Map<String, Object> byName = new ConcurrentHashMap<>();
+    private final Map<Class<?>, LazyProvider<?>> providers = new ConcurrentHashMap<>();
     private final ServiceBinder binder;
+    private final ThreadLocal<ModuleScope> moduleScope = new ThreadLocal<>();
+    private volatile Executor startupExecutor;
+    private volatile Set<String> dormantModules = Collections.emptySet();
 
     public ServiceRegistry() {
         this(null);
@@ -17,11 +30,11 @@ public class ServiceRegistry {
         this.binder = binder;
     }
 
-    public <T> void register(Class<T> type, T service) {
+    public synchronized <T> void register(Class<T> type, T service) {
         if (type == null || service == null) {
             return;
         }
-        if (byType.containsKey(type)) {
+        if (byType.containsKey(type) || providers.containsKey(type)) {
             throw new IllegalStateException("Service already registered: " + type.getName());
         }
         byType.put(type, service);
@@ -30,7 +43,7 @@ public class ServiceRegistry {
         }
     }
 
-    public void register(String key, Object service) {
+    public synchronized void register(String key, Object service) {
         if (key == null || key.isEmpty() || service == null) {
             return;
         }
@@ -40,14 +53,103 @@ public class ServiceRegistry {
         byName.put(key, service);
     }
 
+    /**
+     * Constructs and registers a service on the kernel startup executor. The factory must only
+     * use services that are already registered (or captured instances); the owning module is not
+     * considered started until every async registration has completed. Outside of a parallel
+     * startup the factory runs inline.
+     */
+    public <T> CompletableFuture<T> registerAsync(Class<T> type, Supplier<T> factory) {
+        Executor executor = startupExecutor;
+        ModuleScope scope = moduleScope.get();
+        if (executor == null || scope == null) {
+            T service = factory.get();
+            register(type, service);
+            return CompletableFuture.completedFuture(service);
+        }
+        CompletableFuture<T> registered = CompletableFuture.supplyAsync(factory, executor)
+            .thenApply(service -> {
+                register(type, service);
+                return service;
+            });
+        scope.pending.add(registered);
+        return registered;
+    }
+
+    /**
+     * Registers an optional feature service. When the registering module is listed as dormant
+     * (see {@link #setDormantModules}) only the factory is stored and the service is built on
+     * first {@link #resolve}; otherwise this behaves like {@link #registerAsync}. The factory
+     * runs at most once, and the built instance is bound like an eagerly registered one.
+     */
+    public <T> void registerLazy(Class<T> type, Supplier<T> factory) {
+        if (type == null || factory == null) {
+            return;
+        }
+        ModuleScope scope = moduleScope.get();
+        if (scope == null || !dormantModules.contains(scope.moduleId)) {
+            registerAsync(type, factory);
+            return;
+        }
+        synchronized (this) {
+            if (byType.containsKey(type) || providers.containsKey(type)) {
+                throw new IllegalStateException("Service already registered: " + type.getName());
+            }
+            providers.put(type, new LazyProvider<>(type, factory, scope.moduleId));
+        }
+    }
+
+    /** Module ids whose {@link #registerLazy} services stay dormant until first access. */
+    public void setDormantModules(Collection<String> moduleIds) {
+        this.dormantModules = moduleIds == null ? Collections.emptySet() : Set.copyOf(moduleIds);
+    }
+
+    /** Registered lazy services that have not been built yet. */
+    public Set<Class<?>> getDormantServices() {
+        Set<Class<?>> dormant = new HashSet<>();
+        for (LazyProvider<?> provider : providers.values()) {
+            if (!provider.isInitialized()) {
+                dormant.add(provider.type);
+            }
+        }
+        return dormant;
+    }
+
+    void beginStartup(Executor executor) {
+        this.startupExecutor = executor;
+    }
+
+    void endStartup() {
+        this.startupExecutor = null;
+    }
+
+    void openModuleScope(String moduleId) {
+        moduleScope.set(new ModuleScope(moduleId));
+    }
+
+    List<CompletableFuture<?>> closeModuleScope() {
+        ModuleScope scope = moduleScope.get();
+        moduleScope.remove();
+        return scope != null ? scope.pending : new ArrayList<>();
+    }
+
     public <T> Optional<T> resolve(Class<T> type) {
         Object service = byType.get(type);
         if (service == null) {
-            return Optional.empty();
+            LazyProvider<?> provider = providers.get(type);
+            if (provider == null) {
+                return Optional.empty();
+            }
+            service = provider.get();
         }
         return Optional.of(type.cast(service));
     }
 
+    /** Like {@link #resolve(Class)}, but never wakes a dormant service. */
+    public <T> Optional<T> resolveIfInitialized(Class<T> type) {
+        return Optional.ofNullable(byType.get(type)).map(type::cast);
+    }
+
     public <T> Optional<T> resolve(String key, Class<T> type) {
         Object service = byName.get(key);
         if (service == null) {
@@ -69,6 +171,65 @@ public class ServiceRegistry {
     }
 
     public boolean contains(Class<?> type) {
-        return byType.containsKey(type);
+        return byType.containsKey(type) || providers.containsKey(type);
+    }
+
+    private static final class ModuleScope {
+        private final String moduleId;
+        private final List<CompletableFuture<?>> pending = new ArrayList<>();
+
+        private ModuleScope(String moduleId) {
+            this.moduleId = moduleId;
+        }
+    }
+
+    private final class LazyProvider<T> {
+        private final Class<T> type;
+        private final Supplier<T> factory;
+        private final String moduleId;
+        private volatile T instance;
+        private boolean initializing;
+
+        private LazyProvider(Class<T> type, Supplier<T> factory, String moduleId) {
+            this.type = type;
+            this.factory = factory;
+            this.moduleId = moduleId;
+        }
+
+        private boolean isInitialized() {
+            return instance != null;
+        }
+
+        private T get() {
+            T current = instance;
+            if (current != null) {
+                return current;
+            }
+            synchronized (this) {
+                if (instance != null) {
+                    return instance;
+                }
+                if (initializing) {
+                    throw new IllegalStateException("Circular lazy service initialization: " + type.getName());
+                }
+                initializing = true;
+                try {
+                    T created = factory.get();
+                    if (created == null) {
+                        throw new IllegalStateException("Lazy service factory returned null: " + type.getName()
+                            + " (module " + moduleId + ")");
+                    }
+                    // Publish to the eager map first so later lookups skip the provider entirely
+                    byType.put(type, created);
+                    instance = created;
+                    if (binder != null) {
+                        binder.bind(type, created);
+                    }
+                    return created;
+                } finally {
+                    initializing = false;
+                }
+            }
+        }
     }
 }
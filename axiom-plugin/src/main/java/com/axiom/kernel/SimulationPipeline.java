@@ -0,0 +1,233 @@
+package com.axiom.kernel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Snapshot-compute-apply cycle for per-entity simulation (usually one entry per nation).
+ * <ol>
+ *     <li>{@link #run()} on the main thread: reads the source and captures an immutable
+ *     snapshot per entry;</li>
+ *     <li>worker pool: {@code compute} turns each snapshot into a result without touching
+ *     live state or other services;</li>
+ *     <li>main thread again: {@code apply} writes each non-null result back, in batches so a
+ *     large world does not land in a single tick.</li>
+ * </ol>
+ * A run that is triggered while the previous one is still in flight is skipped. Apply batches
+ * are handed to the main thread as {@link SimulationScheduler#handoff named handoffs}, so the
+ * profilers attribute the main-thread cost to the system that owns the pipeline.
+ */
+public class SimulationPipeline<T, S, R> implements Runnable {
+    static final int COMPUTE_CHUNK = 64;
+    static final int APPLY_BATCH = 256;
+
+    private final String name;
+    private final Logger logger;
+    private final Executor mainThread;
+    private final Executor workers;
+    private final Supplier<? extends Collection<T>> source;
+    private final Function<T, S> snapshot;
+    private final Function<S, R> compute;
+    private final BiConsumer<T, R> apply;
+    private final AtomicBoolean inFlight = new AtomicBoolean();
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong skippedRuns = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile long lastCaptureNanos;
+    private volatile long lastComputeNanos;
+    private volatile long lastApplyNanos;
+    private volatile int lastItems;
+
+    public SimulationPipeline(String name,
+                              Logger logger,
+                              Executor mainThread,
+                              Executor workers,
+                              Supplier<? extends Collection<T>> source,
+                              Function<T, S> snapshot,
+                              Function<S, R> compute,
+                              BiConsumer<T, R> apply) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Simulation pipeline name cannot be blank");
+        }
+        if (mainThread == null || workers == null) {
+            throw new IllegalArgumentException("Simulation pipeline executors cannot be null: " + name);
+        }
+        if (source == null || snapshot == null || compute == null || apply == null) {
+            throw new IllegalArgumentException("Simulation pipeline stages cannot be null: " + name);
+        }
+        this.name = name;
+        this.logger = logger != null ? logger : Logger.getLogger(SimulationPipeline.class.getName());
+        this.mainThread = mainThread;
+        this.workers = workers;
+        this.source = source;
+        this.snapshot = snapshot;
+        this.compute = compute;
+        this.apply = apply;
+    }
+
+    /** Captures snapshots on the calling (main) thread and hands computation to the workers. */
+    @Override
+    public void run() {
+        if (!inFlight.compareAndSet(false, true)) {
+            skippedRuns.incrementAndGet();
+            return;
+        }
+        try {
+            long captureStart = System.nanoTime();
+            List<Entry<T, S, R>> entries = capture();
+            lastCaptureNanos = System.nanoTime() - captureStart;
+            lastItems = entries.size();
+            runs.incrementAndGet();
+            if (entries.isEmpty()) {
+                inFlight.set(false);
+                return;
+            }
+            computeAsync(entries).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    failures.incrementAndGet();
+                    logger.warning("Simulation pipeline compute failed: " + name + " -> " + error.getMessage());
+                    inFlight.set(false);
+                    return;
+                }
+                scheduleApply(entries, 0, 0L);
+            });
+        } catch (RuntimeException ex) {
+            inFlight.set(false);
+            throw ex;
+        }
+    }
+
+    private List<Entry<T, S, R>> capture() {
+        Collection<T> items = source.get();
+        List<Entry<T, S, R>> entries = new ArrayList<>(items != null ? items.size() : 0);
+        if (items == null) {
+            return entries;
+        }
+        for (T item : items) {
+            if (item == null) {
+                continue;
+            }
+            try {
+                S captured = snapshot.apply(item);
+                if (captured != null) {
+                    entries.add(new Entry<>(item, captured));
+                }
+            } catch (Exception ex) {
+                recordFailure("snapshot", ex);
+            }
+        }
+        return entries;
+    }
+
+    private CompletableFuture<Void> computeAsync(List<Entry<T, S, R>> entries) {
+        long computeStart = System.nanoTime();
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < entries.size(); from += COMPUTE_CHUNK) {
+            List<Entry<T, S, R>> chunk = entries.subList(from, Math.min(entries.size(), from + COMPUTE_CHUNK));
+            chunks.add(CompletableFuture.runAsync(() -> {
+                for (Entry<T, S, R> entry : chunk) {
+                    try {
+                        entry.result = compute.apply(entry.snapshot);
+                    } catch (Exception ex) {
+                        recordFailure("compute", ex);
+                    }
+                }
+            }, workers));
+        }
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0]))
+            .whenComplete((ignored, error) -> lastComputeNanos = System.nanoTime() - computeStart);
+    }
+
+    private void scheduleApply(List<Entry<T, S, R>> entries, int from, long elapsedNanos) {
+        mainThread.execute(SimulationScheduler.handoff(name, () -> {
+            long batchStart = System.nanoTime();
+            int to = Math.min(entries.size(), from + APPLY_BATCH);
+            try {
+                for (int i = from; i < to; i++) {
+                    Entry<T, S, R> entry = entries.get(i);
+                    if (entry.result == null) {
+                        continue;
+                    }
+                    try {
+                        apply.accept(entry.item, entry.result);
+                    } catch (Exception ex) {
+                        recordFailure("apply", ex);
+                    }
+                }
+            } finally {
+                long elapsed = elapsedNanos + (System.nanoTime() - batchStart);
+                if (to < entries.size()) {
+                    scheduleApply(entries, to, elapsed);
+                } else {
+                    lastApplyNanos = elapsed;
+                    inFlight.set(false);
+                }
+            }
+        }));
+    }
+
+    private void recordFailure(String stage, Exception ex) {
+        // Log the first failure and then every 100th, so a broken stage cannot flood the console
+        long count = failures.incrementAndGet();
+        if (count == 1 || count % 100 == 0) {
+            logger.warning("Simulation pipeline " + stage + " failed: " + name + " -> " + ex.getMessage());
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRuns() {
+        return runs.get();
+    }
+
+    public long getSkippedRuns() {
+        return skippedRuns.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public int getLastItems() {
+        return lastItems;
+    }
+
+    public long getLastCaptureNanos() {
+        return lastCaptureNanos;
+    }
+
+    public long getLastComputeNanos() {
+        return lastComputeNanos;
+    }
+
+    public long getLastApplyNanos() {
+        return lastApplyNanos;
+    }
+
+    private static final class Entry<T, S, R> {
+        private final T item;
+        private final S snapshot;
+        // Written by one worker, read on the main thread after the compute future completes
+        private R result;
+
+        private Entry(T item, S snapshot) {
+            this.item = item;
+            this.snapshot = snapshot;
+        }
+    }
+}
@@ -0,0 +1,513 @@
+package com.axiom.kernel;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Single main-thread driver for periodic simulation jobs.
+ * <p>
+ * Services register named jobs instead of owning their own Bukkit timers. Each job gets a
+ * phase offset inside its period so jobs with equal periods do not fire on the same tick,
+ * and {@link #tick()} only runs as many due jobs as fit in the per-tick budget. Jobs that
+ * do not fit stay queued and run on the following ticks.
+ * <p>
+ * The scheduler is also the main-thread {@link Executor} for work handed back from the
+ * simulation worker pool (see {@link SimulationPipeline}); such tasks share the same budget.
+ * A task wrapped with {@link #handoff(String, Runnable)} is profiled like a job of that name;
+ * any other task under the class that created it.
+ * <p>
+ * Counters read by metrics collectors (backlog, over-budget ticks, job stats) are published by
+ * the main thread and can be read without the scheduler lock.
+ */
+public class SimulationScheduler implements Executor {
+    public static final long DEFAULT_TICK_BUDGET_MILLIS = 5L;
+    public static final long PUBLISH_INTERVAL_TICKS = 20L;
+
+    private final Logger logger;
+    private final LongSupplier nanoClock;
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+    private final PriorityQueue<Job> timeline = new PriorityQueue<>(
+        Comparator.comparingLong((Job job) -> job.nextRunTick).thenComparingLong(job -> job.sequence)
+    );
+    private final Deque<Job> ready = new ArrayDeque<>();
+    private final Queue<Runnable> mainThreadTasks = new ConcurrentLinkedQueue<>();
+    private ExecutorService workers;
+    private volatile TickProfiler profiler;
+    private volatile AllocationProfiler allocationProfiler;
+    private long tickBudgetNanos = DEFAULT_TICK_BUDGET_MILLIS * 1_000_000L;
+    private long currentTick;
+    private long sequence;
+    // Written by the main thread under the lock, read lock-free by metrics collectors
+    private volatile long overBudgetTicks;
+    private volatile int lastBacklog;
+    private volatile List<JobStats> publishedJobStats = Collections.emptyList();
+    private int maxBacklog;
+
+    public SimulationScheduler(Logger logger) {
+        this(logger, System::nanoTime);
+    }
+
+    SimulationScheduler(Logger logger, LongSupplier nanoClock) {
+        this.logger = logger != null ? logger : Logger.getLogger(SimulationScheduler.class.getName());
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Registers a periodic job. The first run happens within one period, at the phase
+     * assigned to the job, rather than on the next tick.
+     */
+    public synchronized Job schedule(String name, Runnable task, long periodTicks) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Simulation job name cannot be blank");
+        }
+        if (task == null) {
+            throw new IllegalArgumentException("Simulation job task cannot be null: " + name);
+        }
+        if (periodTicks <= 0) {
+            throw new IllegalArgumentException("Simulation job period must be positive: " + name);
+        }
+        if (jobs.containsKey(name)) {
+            throw new IllegalStateException("Simulation job already registered: " + name);
+        }
+        long phase = (long) (periodTicks * spread(sequence));
+        Job job = new Job(name, task, periodTicks, phase, sequence++);
+        job.nextRunTick = currentTick + 1 + phase;
+        jobs.put(name, job);
+        timeline.add(job);
+        return job;
+    }
+
+    public synchronized boolean cancel(String name) {
+        Job job = jobs.remove(name);
+        if (job == null) {
+            return false;
+        }
+        job.cancelled = true;
+        timeline.remove(job);
+        ready.remove(job);
+        return true;
+    }
+
+    /**
+     * Advances the simulation clock by one server tick and runs due jobs within the budget.
+     * Must be called from the main thread.
+     */
+    public void tick() {
+        TickProfiler tickProfiler = profiler;
+        if (tickProfiler != null) {
+            tickProfiler.beginTick();
+        }
+        long tickStart = nanoClock.getAsLong();
+        collectDueJobs();
+        int ran = 0;
+        while (ran == 0 || nanoClock.getAsLong() - tickStart < tickBudgetNanos) {
+            Runnable handoff = mainThreadTasks.poll();
+            if (handoff != null) {
+                runHandoff(handoff);
+                ran++;
+                continue;
+            }
+            Job job;
+            synchronized (this) {
+                job = ready.poll();
+                if (job == null) {
+                    break;
+                }
+                job.queued = false;
+            }
+            runJob(job);
+            ran++;
+        }
+        synchronized (this) {
+            if (nanoClock.getAsLong() - tickStart > tickBudgetNanos) {
+                overBudgetTicks++;
+            }
+            lastBacklog = ready.size() + mainThreadTasks.size();
+            if (currentTick % PUBLISH_INTERVAL_TICKS == 0L) {
+                publishedJobStats = Collections.unmodifiableList(jobStats());
+            }
+        }
+    }
+
+    /** Queues a task to run on the main thread during the next ticks, within the budget. */
+    @Override
+    public void execute(Runnable task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Main-thread task cannot be null");
+        }
+        mainThreadTasks.add(task);
+    }
+
+    /**
+     * Wraps a main-thread task so that {@link #execute(Runnable)} attributes it like a job named
+     * {@code name}: time to {@link TickProfiler#ownerOfJob its owner}, allocations to the name,
+     * rather than both to the class of the task.
+     */
+    public static Runnable handoff(String name, Runnable task) {
+        return new Handoff(name, task);
+    }
+
+    /**
+     * Creates a snapshot-compute-apply pipeline bound to this scheduler's main thread and worker
+     * pool. Register it with {@link #schedule(String, Runnable, long)} to run it periodically.
+     */
+    public <T, S, R> SimulationPipeline<T, S, R> pipeline(String name,
+                                                          Supplier<? extends Collection<T>> source,
+                                                          Function<T, S> snapshot,
+                                                          Function<S, R> compute,
+                                                          BiConsumer<T, R> apply) {
+        return new SimulationPipeline<>(name, logger, this, this::executeOnWorker, source, snapshot, compute, apply);
+    }
+
+    private void executeOnWorker(Runnable task) {
+        ExecutorService pool;
+        synchronized (this) {
+            if (workers == null || workers.isShutdown()) {
+                workers = Executors.newFixedThreadPool(workerThreads(), new SimulationThreadFactory());
+            }
+            pool = workers;
+        }
+        pool.execute(task);
+    }
+
+    static int workerThreads() {
+        return Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    private void runHandoff(Runnable task) {
+        TickProfiler tickProfiler = profiler;
+        AllocationProfiler allocations = allocationProfiler;
+        // Resolved before the measurements start so the owner's name is not counted as the task's garbage
+        Handoff named = task instanceof Handoff ? (Handoff) task : null;
+        String owner = named != null ? named.owner : TickProfiler.ownerOf(task);
+        long profileStart = tickProfiler != null ? tickProfiler.start() : 0L;
+        String allocationOwner = allocations != null && allocations.isEnabled() ? (named != null ? named.name : owner) : null;
+        long allocationStart = allocationOwner != null ? allocations.start() : AllocationProfiler.NOT_MEASURED;
+        try {
+            task.run();
+        } catch (Exception ex) {
+            logger.warning("Simulation main-thread task failed: " + ex.getMessage());
+        } finally {
+            if (allocationStart != AllocationProfiler.NOT_MEASURED) {
+                allocations.stop(allocationOwner, allocationStart);
+            }
+            if (profileStart != 0L) {
+                tickProfiler.stop(owner, profileStart);
+            }
+        }
+    }
+
+    private synchronized void collectDueJobs() {
+        currentTick++;
+        while (!timeline.isEmpty() && timeline.peek().nextRunTick <= currentTick) {
+            Job job = timeline.poll();
+            if (job.queued) {
+                // Still waiting from the previous period: coalesce instead of queueing twice.
+                job.coalesced++;
+            } else {
+                job.queued = true;
+                job.dueTick = currentTick;
+                ready.add(job);
+            }
+            job.nextRunTick += job.periodTicks;
+            timeline.add(job);
+        }
+        maxBacklog = Math.max(maxBacklog, ready.size() + mainThreadTasks.size());
+    }
+
+    private void runJob(Job job) {
+        if (job.cancelled) {
+            return;
+        }
+        TickProfiler tickProfiler = profiler;
+        AllocationProfiler allocations = allocationProfiler;
+        long profileStart = tickProfiler != null ? tickProfiler.start() : 0L;
+        long allocationStart = allocations != null ? allocations.start() : AllocationProfiler.NOT_MEASURED;
+        long start = nanoClock.getAsLong();
+        try {
+            job.task.run();
+        } catch (Exception ex) {
+            synchronized (this) {
+                job.failures++;
+            }
+            logger.warning("Simulation job failed: " + job.name + " -> " + ex.getMessage());
+        } finally {
+            long elapsed = nanoClock.getAsLong() - start;
+            if (allocationStart != AllocationProfiler.NOT_MEASURED) {
+                allocations.stop(job.name, allocationStart);
+            }
+            if (profileStart != 0L) {
+                tickProfiler.stop(job.owner, profileStart);
+            }
+            synchronized (this) {
+                job.runs++;
+                job.totalNanos += elapsed;
+                job.lastNanos = elapsed;
+                job.maxNanos = Math.max(job.maxNanos, elapsed);
+                job.maxDelayTicks = Math.max(job.maxDelayTicks, currentTick - job.dueTick);
+            }
+        }
+    }
+
+    /** Attributes job and handoff time to owners and opens a profiler tick on every {@link #tick()}. */
+    public void setProfiler(TickProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /** Attributes bytes allocated by each job and named handoff to its name, by other handoffs to their owner. */
+    public void setAllocationProfiler(AllocationProfiler allocationProfiler) {
+        this.allocationProfiler = allocationProfiler;
+    }
+
+    public synchronized void setTickBudgetMillis(long millis) {
+        this.tickBudgetNanos = Math.max(1L, millis) * 1_000_000L;
+    }
+
+    public synchronized long getTickBudgetMillis() {
+        return tickBudgetNanos / 1_000_000L;
+    }
+
+    public synchronized long getCurrentTick() {
+        return currentTick;
+    }
+
+    public synchronized int getBacklog() {
+        return ready.size() + mainThreadTasks.size();
+    }
+
+    /** Backlog left at the end of the last {@link #tick()}; lock-free. */
+    public int getLastBacklog() {
+        return lastBacklog;
+    }
+
+    public synchronized int getMaxBacklog() {
+        return maxBacklog;
+    }
+
+    /** Lock-free. */
+    public long getOverBudgetTicks() {
+        return overBudgetTicks;
+    }
+
+    public synchronized boolean isScheduled(String name) {
+        return jobs.containsKey(name);
+    }
+
+    /** Per-job timing snapshot, slowest total first. */
+    public synchronized List<JobStats> getJobStats() {
+        return jobStats();
+    }
+
+    /**
+     * Job stats as published by the main thread every {@link #PUBLISH_INTERVAL_TICKS} ticks;
+     * lock-free, for collectors on other threads.
+     */
+    public List<JobStats> getPublishedJobStats() {
+        return publishedJobStats;
+    }
+
+    private List<JobStats> jobStats() {
+        List<JobStats> stats = new ArrayList<>(jobs.size());
+        for (Job job : jobs.values()) {
+            stats.add(new JobStats(job));
+        }
+        stats.sort((a, b) -> Long.compare(b.getTotalNanos(), a.getTotalNanos()));
+        return stats;
+    }
+
+    public synchronized void clear() {
+        for (Job job : jobs.values()) {
+            job.cancelled = true;
+        }
+        jobs.clear();
+        timeline.clear();
+        ready.clear();
+        mainThreadTasks.clear();
+        if (workers != null) {
+            workers.shutdownNow();
+            workers = null;
+        }
+    }
+
+    /**
+     * Van der Corput sequence in base 2: successive jobs land in the largest remaining gap
+     * of their period (0, 1/2, 1/4, 3/4, 1/8, ...).
+     */
+    static double spread(long index) {
+        double result = 0.0;
+        double fraction = 0.5;
+        long n = index;
+        while (n > 0) {
+            if ((n & 1L) != 0) {
+                result += fraction;
+            }
+            fraction /= 2.0;
+            n >>>= 1;
+        }
+        return result;
+    }
+
+    private static final class SimulationThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "AXIOM-Simulation-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    public static final class Job {
+        private final String name;
+        private final String owner;
+        private final Runnable task;
+        private final long periodTicks;
+        private final long phaseTicks;
+        private final long sequence;
+        private long nextRunTick;
+        private long dueTick;
+        private boolean queued;
+        private volatile boolean cancelled;
+        private long runs;
+        private long failures;
+        private long coalesced;
+        private long totalNanos;
+        private long lastNanos;
+        private long maxNanos;
+        private long maxDelayTicks;
+
+        private Job(String name, Runnable task, long periodTicks, long phaseTicks, long sequence) {
+            this.name = name;
+            this.owner = TickProfiler.ownerOfJob(name);
+            this.task = task;
+            this.periodTicks = periodTicks;
+            this.phaseTicks = phaseTicks;
+            this.sequence = sequence;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getPeriodTicks() {
+            return periodTicks;
+        }
+
+        public long getPhaseTicks() {
+            return phaseTicks;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    public static final class JobStats {
+        private final String name;
+        private final long periodTicks;
+        private final long phaseTicks;
+        private final long runs;
+        private final long failures;
+        private final long coalesced;
+        private final long totalNanos;
+        private final long lastNanos;
+        private final long maxNanos;
+        private final long maxDelayTicks;
+
+        private JobStats(Job job) {
+            this.name = job.name;
+            this.periodTicks = job.periodTicks;
+            this.phaseTicks = job.phaseTicks;
+            this.runs = job.runs;
+            this.failures = job.failures;
+            this.coalesced = job.coalesced;
+            this.totalNanos = job.totalNanos;
+            this.lastNanos = job.lastNanos;
+            this.maxNanos = job.maxNanos;
+            this.maxDelayTicks = job.maxDelayTicks;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getPeriodTicks() {
+            return periodTicks;
+        }
+
+        public long getPhaseTicks() {
+            return phaseTicks;
+        }
+
+        public long getRuns() {
+            return runs;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public long getCoalesced() {
+            return coalesced;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getLastNanos() {
+            return lastNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public long getMaxDelayTicks() {
+            return maxDelayTicks;
+        }
+
+        public double getAverageMillis() {
+            return runs == 0 ? 0.0 : totalNanos / (double) runs / 1_000_000.0;
+        }
+    }
+
+    /** Main-thread task attributed like the job or pipeline it belongs to. */
+    private static final class Handoff implements Runnable {
+        private final String name;
+        private final String owner;
+        private final Runnable task;
+
+        private Handoff(String name, Runnable task) {
+            this.name = name;
+            this.owner = TickProfiler.ownerOfJob(name);
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+}
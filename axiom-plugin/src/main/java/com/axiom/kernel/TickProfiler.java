@@ -0,0 +1,371 @@
+package com.axiom.kernel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Main-thread profiler that attributes AXIOM wall time inside each server tick to the service
+ * (or listener) that spent it.
+ * <p>
+ * Instrumented code calls {@link #start()} and {@link #stop(String, long)} around a task or an
+ * event handler; only the outermost measurement on the main thread is attributed, so a job that
+ * fires an event handled by another AXIOM listener is not counted twice. Calls from other
+ * threads are ignored. {@link #beginTick()} closes the previous tick: per-owner totals are
+ * updated and, if the tick is among the worst of the rolling window, its breakdown is kept.
+ * <p>
+ * In steady state nothing is allocated per tick; a breakdown map is built only for a tick that
+ * enters the worst-ticks list. Every {@link #PUBLISH_INTERVAL_TICKS} ticks the main thread also
+ * publishes an immutable {@link Summary} that other threads read without the lock.
+ */
+public class TickProfiler {
+    public static final int DEFAULT_WORST_TICKS = 10;
+    public static final long DEFAULT_WINDOW_TICKS = 20L * 60 * 5;
+    public static final long PUBLISH_INTERVAL_TICKS = 20L;
+
+    private final LongSupplier nanoClock;
+    private final Map<String, Owner> owners = new HashMap<>();
+    private final List<Owner> touched = new ArrayList<>();
+    private final List<TickRecord> worst = new ArrayList<>();
+    private volatile boolean enabled = true;
+    private volatile Thread mainThread;
+    private volatile Summary summary = Summary.EMPTY;
+    private int worstTicks = DEFAULT_WORST_TICKS;
+    private long windowTicks = DEFAULT_WINDOW_TICKS;
+    private long tick;
+    private long tickStartNanos;
+    private long tickAttributedNanos;
+    private int depth;
+    private long profiledTicks;
+
+    public TickProfiler() {
+        this(System::nanoTime);
+    }
+
+    TickProfiler(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized void configure(int worstTicks, long windowTicks) {
+        this.worstTicks = Math.max(1, worstTicks);
+        this.windowTicks = Math.max(1L, windowTicks);
+    }
+
+    /**
+     * Closes the previous tick and opens the next one. Must be called once per server tick from
+     * the main thread; the first call also binds the main thread.
+     */
+    public void beginTick() {
+        long now = nanoClock.getAsLong();
+        if (mainThread == null) {
+            mainThread = Thread.currentThread();
+        }
+        synchronized (this) {
+            if (tickStartNanos != 0L && enabled) {
+                closeTick(now - tickStartNanos);
+            } else {
+                resetTouched();
+            }
+            tick++;
+            tickStartNanos = now;
+            tickAttributedNanos = 0L;
+            depth = 0;
+        }
+    }
+
+    /** Starts a measurement; pass the result to {@link #stop(String, long)}. */
+    public long start() {
+        if (!enabled || Thread.currentThread() != mainThread) {
+            return 0L;
+        }
+        depth++;
+        return nanoClock.getAsLong();
+    }
+
+    /** Ends a measurement started with {@link #start()} and attributes it to {@code owner}. */
+    public void stop(String owner, long startNanos) {
+        if (startNanos == 0L || Thread.currentThread() != mainThread) {
+            return;
+        }
+        long elapsed = nanoClock.getAsLong() - startNanos;
+        if (--depth > 0) {
+            return;
+        }
+        depth = 0;
+        synchronized (this) {
+            Owner stats = owners.get(owner);
+            if (stats == null) {
+                stats = new Owner(owner);
+                owners.put(owner, stats);
+            }
+            if (stats.tickNanos == 0L) {
+                touched.add(stats);
+            }
+            stats.tickNanos += elapsed;
+            tickAttributedNanos += elapsed;
+        }
+    }
+
+    /** Wraps a main-thread task so its run time is attributed to {@code owner}. */
+    public Runnable wrap(String owner, Runnable task) {
+        return () -> {
+            long start = start();
+            try {
+                task.run();
+            } finally {
+                stop(owner, start);
+            }
+        };
+    }
+
+    /** Owner name for a task or listener: its top-level class simple name, without lambda suffixes. */
+    public static String ownerOf(Object source) {
+        if (source == null) {
+            return "unknown";
+        }
+        Class<?> type = source instanceof Class ? (Class<?>) source : source.getClass();
+        return ownerOfClassName(type.getName());
+    }
+
+    /** Same as {@link #ownerOf(Object)} for a binary class name such as {@code a.b.Service$1}. */
+    public static String ownerOfClassName(String className) {
+        String name = className;
+        int lambda = name.indexOf("$$");
+        if (lambda >= 0) {
+            name = name.substring(0, lambda);
+        }
+        int inner = name.indexOf('$');
+        if (inner >= 0) {
+            name = name.substring(0, inner);
+        }
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    /** Owner of a simulation job named "Service.method" (or the whole name). */
+    public static String ownerOfJob(String jobName) {
+        int dot = jobName.indexOf('.');
+        return dot > 0 ? jobName.substring(0, dot) : jobName;
+    }
+
+    private void closeTick(long tickNanos) {
+        profiledTicks++;
+        boolean keep = tickAttributedNanos > 0L && qualifies(tickAttributedNanos);
+        Map<String, Long> breakdown = keep ? new LinkedHashMap<>() : null;
+        if (keep) {
+            touched.sort((a, b) -> Long.compare(b.tickNanos, a.tickNanos));
+        }
+        for (Owner stats : touched) {
+            stats.totalNanos += stats.tickNanos;
+            stats.maxTickNanos = Math.max(stats.maxTickNanos, stats.tickNanos);
+            stats.ticks++;
+            if (keep) {
+                breakdown.put(stats.name, stats.tickNanos);
+            }
+            stats.tickNanos = 0L;
+        }
+        touched.clear();
+        if (keep) {
+            worst.add(new TickRecord(tick, tickNanos, tickAttributedNanos, Collections.unmodifiableMap(breakdown)));
+            worst.sort((a, b) -> Long.compare(b.attributedNanos, a.attributedNanos));
+            while (worst.size() > worstTicks) {
+                worst.remove(worst.size() - 1);
+            }
+        }
+        if (profiledTicks % PUBLISH_INTERVAL_TICKS == 0L) {
+            publish();
+        }
+    }
+
+    private void publish() {
+        summary = new Summary(profiledTicks, ownerStats(), currentWorst());
+    }
+
+    private boolean qualifies(long attributedNanos) {
+        worst.removeIf(record -> tick - record.tick >= windowTicks);
+        return worst.size() < worstTicks || attributedNanos > worst.get(worst.size() - 1).attributedNanos;
+    }
+
+    private void resetTouched() {
+        for (Owner stats : touched) {
+            stats.tickNanos = 0L;
+        }
+        touched.clear();
+    }
+
+    /** Worst ticks of the rolling window by AXIOM time, worst first. */
+    public synchronized List<TickRecord> getWorstTicks() {
+        return currentWorst();
+    }
+
+    /** Per-owner totals since the last reset, largest total first. */
+    public synchronized List<OwnerStats> getOwnerStats() {
+        return ownerStats();
+    }
+
+    /**
+     * Totals and worst ticks as last published by the main thread; lock-free, at most
+     * {@link #PUBLISH_INTERVAL_TICKS} ticks old. Meant for collectors on other threads.
+     */
+    public Summary getSummary() {
+        return summary;
+    }
+
+    private List<TickRecord> currentWorst() {
+        worst.removeIf(record -> tick - record.tick >= windowTicks);
+        return new ArrayList<>(worst);
+    }
+
+    private List<OwnerStats> ownerStats() {
+        List<OwnerStats> result = new ArrayList<>(owners.size());
+        for (Owner stats : owners.values()) {
+            if (stats.ticks > 0) {
+                result.add(new OwnerStats(stats.name, stats.totalNanos, stats.maxTickNanos, stats.ticks));
+            }
+        }
+        result.sort((a, b) -> Long.compare(b.getTotalNanos(), a.getTotalNanos()));
+        return result;
+    }
+
+    /** The server main thread, or {@code null} before the first {@link #beginTick()}. */
+    public Thread getMainThread() {
+        return mainThread;
+    }
+
+    public synchronized long getProfiledTicks() {
+        return profiledTicks;
+    }
+
+    public synchronized long getWindowTicks() {
+        return windowTicks;
+    }
+
+    public synchronized void reset() {
+        owners.clear();
+        touched.clear();
+        worst.clear();
+        profiledTicks = 0L;
+        tickAttributedNanos = 0L;
+        summary = Summary.EMPTY;
+    }
+
+    /** Immutable view published by the main thread, see {@link #getSummary()}. */
+    public static final class Summary {
+        static final Summary EMPTY = new Summary(0L, Collections.emptyList(), Collections.emptyList());
+
+        private final long profiledTicks;
+        private final List<OwnerStats> owners;
+        private final List<TickRecord> worstTicks;
+
+        private Summary(long profiledTicks, List<OwnerStats> owners, List<TickRecord> worstTicks) {
+            this.profiledTicks = profiledTicks;
+            this.owners = Collections.unmodifiableList(owners);
+            this.worstTicks = Collections.unmodifiableList(worstTicks);
+        }
+
+        public long getProfiledTicks() {
+            return profiledTicks;
+        }
+
+        /** Same order as {@link TickProfiler#getOwnerStats()}. */
+        public List<OwnerStats> getOwnerStats() {
+            return owners;
+        }
+
+        /** Same order as {@link TickProfiler#getWorstTicks()}. */
+        public List<TickRecord> getWorstTicks() {
+            return worstTicks;
+        }
+    }
+
+    private static final class Owner {
+        private final String name;
+        private long tickNanos;
+        private long totalNanos;
+        private long maxTickNanos;
+        private long ticks;
+
+        private Owner(String name) {
+            this.name = name;
+        }
+    }
+
+    public static final class TickRecord {
+        private final long tick;
+        private final long tickNanos;
+        private final long attributedNanos;
+        private final Map<String, Long> breakdown;
+
+        private TickRecord(long tick, long tickNanos, long attributedNanos, Map<String, Long> breakdown) {
+            this.tick = tick;
+            this.tickNanos = tickNanos;
+            this.attributedNanos = attributedNanos;
+            this.breakdown = breakdown;
+        }
+
+        public long getTick() {
+            return tick;
+        }
+
+        /** Full server tick length, from this tick's start to the next one. */
+        public long getTickNanos() {
+            return tickNanos;
+        }
+
+        /** Time spent in instrumented AXIOM code during the tick. */
+        public long getAttributedNanos() {
+            return attributedNanos;
+        }
+
+        /** Owner name to nanoseconds, largest first. */
+        public Map<String, Long> getBreakdown() {
+            return breakdown;
+        }
+    }
+
+    public static final class OwnerStats {
+        private final String name;
+        private final long totalNanos;
+        private final long maxTickNanos;
+        private final long ticks;
+
+        private OwnerStats(String name, long totalNanos, long maxTickNanos, long ticks) {
+            this.name = name;
+            this.totalNanos = totalNanos;
+            this.maxTickNanos = maxTickNanos;
+            this.ticks = ticks;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMaxTickNanos() {
+            return maxTickNanos;
+        }
+
+        /** Ticks in which the owner ran at all. */
+        public long getTicks() {
+            return ticks;
+        }
+
+        public double getAverageMillisPerActiveTick() {
+            return ticks == 0 ? 0.0 : totalNanos / (double) ticks / 1_000_000.0;
+        }
+    }
+}
@@ -23,11 +23,8 @@ public class CoreStateModule implements KernelModule {
         NationManager nationManager = new NationManager(plugin);
         services.register(NationManager.class, nationManager);
 
-        PlayerDataManager playerDataManager = new PlayerDataManager(plugin);
-        services.register(PlayerDataManager.class, playerDataManager);
-
-        RolePermissionService rolePermissionService = new RolePermissionService(plugin);
-        services.register(RolePermissionService.class, rolePermissionService);
+        services.registerAsync(PlayerDataManager.class, () -> new PlayerDataManager(plugin));
+        services.registerAsync(RolePermissionService.class, () -> new RolePermissionService(plugin));
 
         CityGrowthEngine cityGrowthEngine = new CityGrowthEngine(plugin, nationManager);
         services.register(CityGrowthEngine.class, cityGrowthEngine);
@@ -38,73 +35,35 @@ public class CoreStateModule implements KernelModule {
         EducationService educationService = new EducationService(plugin, nationManager);
         services.register(EducationService.class, educationService);
 
-        ClimateService climateService = new ClimateService(plugin);
-        services.register(ClimateService.class, climateService);
+        services.registerAsync(ClimateService.class, () -> new ClimateService(plugin));
 
-        HappinessService happinessService = new HappinessService(
+        services.registerAsync(HappinessService.class, () -> new HappinessService(
             plugin,
             nationManager,
             cityGrowthEngine,
             crimeService,
             educationService
-        );
-        services.register(HappinessService.class, happinessService);
-
-        PlayerReputationService playerReputationService = new PlayerReputationService(plugin);
-        services.register(PlayerReputationService.class, playerReputationService);
-
-        NationModifierService nationModifierService = new NationModifierService(plugin);
-        services.register(NationModifierService.class, nationModifierService);
-
-        PollutionService pollutionService = new PollutionService(plugin, nationManager);
-        services.register(PollutionService.class, pollutionService);
-
-        CrisisResponseService crisisResponseService = new CrisisResponseService(plugin, nationManager);
-        services.register(CrisisResponseService.class, crisisResponseService);
-
-        MigrationService migrationService = new MigrationService(plugin);
-        services.register(MigrationService.class, migrationService);
-
-        DisasterService disasterService = new DisasterService(plugin, nationManager);
-        services.register(DisasterService.class, disasterService);
-
-        SanitationService sanitationService = new SanitationService(plugin, nationManager);
-        services.register(SanitationService.class, sanitationService);
-
-        PrisonService prisonService = new PrisonService(plugin);
-        services.register(PrisonService.class, prisonService);
-
-        PandemicService pandemicService = new PandemicService(plugin, nationManager);
-        services.register(PandemicService.class, pandemicService);
-
-        RefugeeService refugeeService = new RefugeeService(plugin, nationManager);
-        services.register(RefugeeService.class, refugeeService);
-
-        PlagueService plagueService = new PlagueService(plugin, nationManager);
-        services.register(PlagueService.class, plagueService);
-
-        FamineService famineService = new FamineService(plugin, nationManager);
-        services.register(FamineService.class, famineService);
-
-        ColonizationService colonizationService = new ColonizationService(plugin, nationManager);
-        services.register(ColonizationService.class, colonizationService);
-
-        CensusService censusService = new CensusService(plugin, nationManager);
-        services.register(CensusService.class, censusService);
-
-        PopulationGrowthService populationGrowthService = new PopulationGrowthService(plugin, nationManager);
-        services.register(PopulationGrowthService.class, populationGrowthService);
-
-        RefugeeResettlementService refugeeResettlementService = new RefugeeResettlementService(plugin, nationManager);
-        services.register(RefugeeResettlementService.class, refugeeResettlementService);
-
-        ImmigrationControlService immigrationControlService = new ImmigrationControlService(plugin);
-        services.register(ImmigrationControlService.class, immigrationControlService);
+        ));
+
+        services.registerAsync(PlayerReputationService.class, () -> new PlayerReputationService(plugin));
+        services.registerAsync(NationModifierService.class, () -> new NationModifierService(plugin));
+        services.registerAsync(PollutionService.class, () -> new PollutionService(plugin, nationManager));
+        services.registerAsync(CrisisResponseService.class, () -> new CrisisResponseService(plugin, nationManager));
+        services.registerAsync(MigrationService.class, () -> new MigrationService(plugin));
+        services.registerAsync(DisasterService.class, () -> new DisasterService(plugin, nationManager));
+        services.registerAsync(SanitationService.class, () -> new SanitationService(plugin, nationManager));
+        services.registerAsync(PrisonService.class, () -> new PrisonService(plugin));
+        services.registerLazy(PandemicService.class, () -> new PandemicService(plugin, nationManager));
+        services.registerAsync(RefugeeService.class, () -> new RefugeeService(plugin, nationManager));
+        services.registerLazy(PlagueService.class, () -> new PlagueService(plugin, nationManager));
+        services.registerLazy(FamineService.class, () -> new FamineService(plugin, nationManager));
+        services.registerLazy(ColonizationService.class, () -> new ColonizationService(plugin, nationManager));
+        services.registerAsync(CensusService.class, () -> new CensusService(plugin, nationManager));
+        services.registerAsync(PopulationGrowthService.class, () -> new PopulationGrowthService(plugin, nationManager));
+        services.registerAsync(RefugeeResettlementService.class, () -> new RefugeeResettlementService(plugin, nationManager));
+        services.registerAsync(ImmigrationControlService.class, () -> new ImmigrationControlService(plugin));
         
-        EmergencyService emergencyService = new EmergencyService(plugin, nationManager);
-        services.register(EmergencyService.class, emergencyService);
-
-        TerritoryService territoryService = new TerritoryService(plugin, nationManager);
-        services.register(TerritoryService.class, territoryService);
+        services.registerAsync(EmergencyService.class, () -> new EmergencyService(plugin, nationManager));
+        services.registerAsync(TerritoryService.class, () -> new TerritoryService(plugin, nationManager));
     }
 }
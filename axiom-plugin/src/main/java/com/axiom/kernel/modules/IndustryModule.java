@@ -38,94 +38,35 @@ public class IndustryModule implements KernelModule {
         EconomyService economyService = new EconomyService(plugin, nationManager);
         services.register(EconomyService.class, economyService);
 
-        WalletService walletService = new WalletService(plugin, playerDataManager);
-        services.register(WalletService.class, walletService);
-
-        BankingService bankingService = new BankingService(plugin, nationManager);
-        services.register(BankingService.class, bankingService);
-
-        StockMarketService stockMarketService = new StockMarketService(plugin);
-        services.register(StockMarketService.class, stockMarketService);
-
-        TradeService tradeService = new TradeService(plugin, nationManager);
-        services.register(TradeService.class, tradeService);
-
-        TradingPostService tradingPostService = new TradingPostService(plugin);
-        services.register(TradingPostService.class, tradingPostService);
-
-        ResourceService resourceService = new ResourceService(plugin);
-        services.register(ResourceService.class, resourceService);
-
-        SupplyChainService supplyChainService = new SupplyChainService(plugin);
-        services.register(SupplyChainService.class, supplyChainService);
-
-        ResourceProcessingService resourceProcessingService = new ResourceProcessingService(plugin);
-        services.register(ResourceProcessingService.class, resourceProcessingService);
-
-        ResourceStockpileService resourceStockpileService = new ResourceStockpileService(plugin, nationManager);
-        services.register(ResourceStockpileService.class, resourceStockpileService);
-
-        ResourceCartelService resourceCartelService = new ResourceCartelService(plugin, nationManager);
-        services.register(ResourceCartelService.class, resourceCartelService);
-
-        ResourceNationalizationService resourceNationalizationService = new ResourceNationalizationService(plugin);
-        services.register(ResourceNationalizationService.class, resourceNationalizationService);
-
-        ResourceDiscoveryService resourceDiscoveryService = new ResourceDiscoveryService(plugin, nationManager);
-        services.register(ResourceDiscoveryService.class, resourceDiscoveryService);
-
-        ResourceDepletionService resourceDepletionService = new ResourceDepletionService(plugin);
-        services.register(ResourceDepletionService.class, resourceDepletionService);
-
-        ResourceScarcityService resourceScarcityService = new ResourceScarcityService(plugin);
-        services.register(ResourceScarcityService.class, resourceScarcityService);
-
-        CommodityMarketService commodityMarketService = new CommodityMarketService(plugin);
-        services.register(CommodityMarketService.class, commodityMarketService);
-
-        CurrencyExchangeService currencyExchangeService = new CurrencyExchangeService(plugin, nationManager, economyService);
-        services.register(CurrencyExchangeService.class, currencyExchangeService);
-
-        CurrencyManipulationService currencyManipulationService = new CurrencyManipulationService(plugin);
-        services.register(CurrencyManipulationService.class, currencyManipulationService);
-
-        MonetaryPolicyService monetaryPolicyService = new MonetaryPolicyService(plugin);
-        services.register(MonetaryPolicyService.class, monetaryPolicyService);
-
-        TaxEvasionService taxEvasionService = new TaxEvasionService(plugin);
-        services.register(TaxEvasionService.class, taxEvasionService);
-
-        EconomicCrisisService economicCrisisService = new EconomicCrisisService(plugin, nationManager);
-        services.register(EconomicCrisisService.class, economicCrisisService);
-
-        TradeNetworkService tradeNetworkService = new TradeNetworkService(plugin, nationManager);
-        services.register(TradeNetworkService.class, tradeNetworkService);
-
-        TradeRouteService tradeRouteService = new TradeRouteService(plugin);
-        services.register(TradeRouteService.class, tradeRouteService);
-
-        TradeDisputeService tradeDisputeService = new TradeDisputeService(plugin, nationManager);
-        services.register(TradeDisputeService.class, tradeDisputeService);
-
-        TradeWarService tradeWarService = new TradeWarService(plugin, nationManager);
-        services.register(TradeWarService.class, tradeWarService);
-
-        TradeAgreementService tradeAgreementService = new TradeAgreementService(plugin);
-        services.register(TradeAgreementService.class, tradeAgreementService);
-
-        ImportExportService importExportService = new ImportExportService(plugin);
-        services.register(ImportExportService.class, importExportService);
-
-        EnergyService energyService = new EnergyService(plugin);
-        services.register(EnergyService.class, energyService);
-
-        CurrencyUnionService currencyUnionService = new CurrencyUnionService(plugin, nationManager);
-        services.register(CurrencyUnionService.class, currencyUnionService);
-
-        BlackMarketService blackMarketService = new BlackMarketService(plugin);
-        services.register(BlackMarketService.class, blackMarketService);
-
-        TributeService tributeService = new TributeService(plugin, nationManager);
-        services.register(TributeService.class, tributeService);
+        services.registerAsync(WalletService.class, () -> new WalletService(plugin, playerDataManager));
+        services.registerAsync(BankingService.class, () -> new BankingService(plugin, nationManager));
+        services.registerAsync(StockMarketService.class, () -> new StockMarketService(plugin));
+        services.registerAsync(TradeService.class, () -> new TradeService(plugin, nationManager));
+        services.registerAsync(TradingPostService.class, () -> new TradingPostService(plugin));
+        services.registerAsync(ResourceService.class, () -> new ResourceService(plugin));
+        services.registerAsync(SupplyChainService.class, () -> new SupplyChainService(plugin));
+        services.registerAsync(ResourceProcessingService.class, () -> new ResourceProcessingService(plugin));
+        services.registerAsync(ResourceStockpileService.class, () -> new ResourceStockpileService(plugin, nationManager));
+        services.registerLazy(ResourceCartelService.class, () -> new ResourceCartelService(plugin, nationManager));
+        services.registerAsync(ResourceNationalizationService.class, () -> new ResourceNationalizationService(plugin));
+        services.registerAsync(ResourceDiscoveryService.class, () -> new ResourceDiscoveryService(plugin, nationManager));
+        services.registerAsync(ResourceDepletionService.class, () -> new ResourceDepletionService(plugin));
+        services.registerAsync(ResourceScarcityService.class, () -> new ResourceScarcityService(plugin));
+        services.registerAsync(CommodityMarketService.class, () -> new CommodityMarketService(plugin));
+        services.registerAsync(CurrencyExchangeService.class, () -> new CurrencyExchangeService(plugin, nationManager, economyService));
+        services.registerLazy(CurrencyManipulationService.class, () -> new CurrencyManipulationService(plugin));
+        services.registerAsync(MonetaryPolicyService.class, () -> new MonetaryPolicyService(plugin));
+        services.registerAsync(TaxEvasionService.class, () -> new TaxEvasionService(plugin));
+        services.registerAsync(EconomicCrisisService.class, () -> new EconomicCrisisService(plugin, nationManager));
+        services.registerAsync(TradeNetworkService.class, () -> new TradeNetworkService(plugin, nationManager));
+        services.registerAsync(TradeRouteService.class, () -> new TradeRouteService(plugin));
+        services.registerAsync(TradeDisputeService.class, () -> new TradeDisputeService(plugin, nationManager));
+        services.registerLazy(TradeWarService.class, () -> new TradeWarService(plugin, nationManager));
+        services.registerAsync(TradeAgreementService.class, () -> new TradeAgreementService(plugin));
+        services.registerAsync(ImportExportService.class, () -> new ImportExportService(plugin));
+        services.registerAsync(EnergyService.class, () -> new EnergyService(plugin));
+        services.registerAsync(CurrencyUnionService.class, () -> new CurrencyUnionService(plugin, nationManager));
+        services.registerLazy(BlackMarketService.class, () -> new BlackMarketService(plugin));
+        services.registerLazy(TributeService.class, () -> new TributeService(plugin, nationManager));
     }
 }
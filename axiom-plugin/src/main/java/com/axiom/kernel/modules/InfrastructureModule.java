@@ -2,6 +2,7 @@ package com.axiom.kernel.modules;
 
 import com.axiom.AXIOM;
 import com.axiom.api.ModIntegrationAPI;
+import com.axiom.app.listener.ProfiledListeners;
 import com.axiom.kernel.KernelModule;
 import com.axiom.kernel.ModuleIds;
 import com.axiom.kernel.ServiceRegistry;
@@ -20,12 +21,23 @@ import com.axiom.domain.service.infrastructure.PlayerDashboardService;
 import com.axiom.domain.service.state.PlayerDataManager;
 import com.axiom.domain.service.state.TerritoryService;
 import com.axiom.domain.service.infrastructure.TerritorySyncService;
+import com.axiom.infra.network.PluginMessageMetrics;
 import com.axiom.util.CacheManager;
+import org.bukkit.event.Listener;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 public class InfrastructureModule implements KernelModule {
     private final AXIOM plugin;
+    // Listener registration is main-thread only; register() may run on a startup thread
+    private final List<Listener> listeners = new ArrayList<>();
+    private ServiceFactory serviceFactory;
+    private CacheManager cacheManager;
+    private MetricsExporter metricsExporter;
+    private UiSubscriptionService uiSubscriptionService;
 
     public InfrastructureModule(AXIOM plugin) {
         this.plugin = plugin;
@@ -109,9 +121,11 @@ public class InfrastructureModule implements KernelModule {
 
         RecipeIntegrationService recipeIntegrationService = new RecipeIntegrationService(plugin);
         services.register(RecipeIntegrationService.class, recipeIntegrationService);
+        listeners.add(recipeIntegrationService);
 
         ModIntegrationEnhancementService modIntegrationEnhancementService = new ModIntegrationEnhancementService(plugin);
         services.register(ModIntegrationEnhancementService.class, modIntegrationEnhancementService);
+        listeners.add(modIntegrationEnhancementService);
 
         ModPackBuilderService modPackBuilderService = new ModPackBuilderService(plugin);
         services.register(ModPackBuilderService.class, modPackBuilderService);
@@ -137,12 +151,22 @@ public class InfrastructureModule implements KernelModule {
         TerritorySyncService territorySyncService = new TerritorySyncService(plugin, territoryService);
         services.register(TerritorySyncService.class, territorySyncService);
 
+        uiSubscriptionService = new UiSubscriptionService(plugin);
+        services.register(UiSubscriptionService.class, uiSubscriptionService);
+        listeners.add(uiSubscriptionService);
+
         TutorialService tutorialService = new TutorialService(plugin);
         services.register(TutorialService.class, tutorialService);
+        listeners.add(tutorialService);
 
         PerformanceMetricsService performanceMetricsService = new PerformanceMetricsService(plugin);
         services.register(PerformanceMetricsService.class, performanceMetricsService);
 
+        services.register(PluginMessageMetrics.class, new PluginMessageMetrics());
+
+        metricsExporter = new MetricsExporter(plugin);
+        services.register(MetricsExporter.class, metricsExporter);
+
         PlayerDashboardService playerDashboardService = new PlayerDashboardService(plugin);
         services.register(PlayerDashboardService.class, playerDashboardService);
 
@@ -180,10 +204,10 @@ public class InfrastructureModule implements KernelModule {
         EconomicIndicatorsService economicIndicatorsService = new EconomicIndicatorsService(plugin);
         services.register(EconomicIndicatorsService.class, economicIndicatorsService);
 
-        ServiceFactory serviceFactory = new ServiceFactory(plugin);
+        serviceFactory = new ServiceFactory(plugin);
         services.register(ServiceFactory.class, serviceFactory);
 
-        CacheManager cacheManager = new CacheManager(plugin);
+        cacheManager = new CacheManager(plugin);
         services.register(CacheManager.class, cacheManager);
 
         MilitaryServiceInterface militaryServiceInterface = serviceFactory.createMilitaryService();
@@ -192,4 +216,37 @@ public class InfrastructureModule implements KernelModule {
         EconomyServiceInterface economyServiceInterface = serviceFactory.createEconomyService();
         services.register(EconomyServiceInterface.class, economyServiceInterface);
     }
+
+    @Override
+    public void onEnable() {
+        for (Listener listener : listeners) {
+            ProfiledListeners.register(plugin, listener);
+        }
+        listeners.clear();
+        uiSubscriptionService.start();
+        if (plugin.getConfig().getBoolean("metrics.exporter.enabled", false)) {
+            String file = plugin.getConfig().getString("metrics.exporter.file", "");
+            metricsExporter.start(
+                plugin.getConfig().getInt("metrics.exporter.port", MetricsExporter.DEFAULT_PORT),
+                file == null || file.isBlank() ? null : new File(file),
+                plugin.getConfig().getLong("metrics.exporter.intervalSeconds", MetricsExporter.DEFAULT_INTERVAL_SECONDS)
+            );
+        }
+    }
+
+    @Override
+    public void onDisable() {
+        if (metricsExporter != null) {
+            metricsExporter.stop();
+        }
+        if (uiSubscriptionService != null) {
+            uiSubscriptionService.shutdown();
+        }
+        if (serviceFactory != null) {
+            serviceFactory.shutdown();
+        }
+        if (cacheManager != null) {
+            cacheManager.shutdown();
+        }
+    }
 }
@@ -34,14 +34,12 @@ public class MilitaryModule implements KernelModule {
         DiplomacySystem diplomacySystem = services.require(DiplomacySystem.class);
         HappinessService happinessService = services.require(HappinessService.class);
 
-        PvpService pvpService = new PvpService(plugin);
-        services.register(PvpService.class, pvpService);
+        services.registerAsync(PvpService.class, () -> new PvpService(plugin));
 
         MilitaryService militaryService = new MilitaryService(plugin);
         services.register(MilitaryService.class, militaryService);
 
-        MobilizationService mobilizationService = new MobilizationService(plugin, nationManager, diplomacySystem);
-        services.register(MobilizationService.class, mobilizationService);
+        services.registerAsync(MobilizationService.class, () -> new MobilizationService(plugin, nationManager, diplomacySystem));
 
         ConquestService conquestService = new ConquestService(plugin, nationManager);
         services.register(ConquestService.class, conquestService);
@@ -52,10 +50,9 @@ public class MilitaryModule implements KernelModule {
         SiegeService siegeService = new SiegeService(plugin, nationManager);
         services.register(SiegeService.class, siegeService);
 
-        RevoltService revoltService = new RevoltService(plugin, nationManager, happinessService);
-        services.register(RevoltService.class, revoltService);
+        services.registerAsync(RevoltService.class, () -> new RevoltService(plugin, nationManager, happinessService));
 
-        AdvancedWarSystem advancedWarSystem = new AdvancedWarSystem(
+        services.registerAsync(AdvancedWarSystem.class, () -> new AdvancedWarSystem(
             plugin,
             nationManager,
             diplomacySystem,
@@ -63,64 +60,26 @@ public class MilitaryModule implements KernelModule {
             conquestService,
             raidService,
             siegeService
-        );
-        services.register(AdvancedWarSystem.class, advancedWarSystem);
-
-        FortificationService fortificationService = new FortificationService(plugin);
-        services.register(FortificationService.class, fortificationService);
-
-        TerrorismService terrorismService = new TerrorismService(plugin, nationManager);
-        services.register(TerrorismService.class, terrorismService);
-
-        ReligiousWarService religiousWarService = new ReligiousWarService(plugin, nationManager);
-        services.register(ReligiousWarService.class, religiousWarService);
-
-        RebellionService rebellionService = new RebellionService(plugin, nationManager);
-        services.register(RebellionService.class, rebellionService);
-
-        ConscriptionService conscriptionService = new ConscriptionService(plugin, nationManager);
-        services.register(ConscriptionService.class, conscriptionService);
-
-        NavalService navalService = new NavalService(plugin);
-        services.register(NavalService.class, navalService);
-
-        BlockadeService blockadeService = new BlockadeService(plugin);
-        services.register(BlockadeService.class, blockadeService);
-
-        MilitaryExerciseService militaryExerciseService = new MilitaryExerciseService(plugin, nationManager);
-        services.register(MilitaryExerciseService.class, militaryExerciseService);
-
-        MilitaryIntelligenceService militaryIntelligenceService = new MilitaryIntelligenceService(plugin, nationManager);
-        services.register(MilitaryIntelligenceService.class, militaryIntelligenceService);
-
-        ResistanceMovementService resistanceMovementService = new ResistanceMovementService(plugin);
-        services.register(ResistanceMovementService.class, resistanceMovementService);
-
-        WarCrimeService warCrimeService = new WarCrimeService(plugin, nationManager);
-        services.register(WarCrimeService.class, warCrimeService);
-
-        ArmsDealService armsDealService = new ArmsDealService(plugin, nationManager);
-        services.register(ArmsDealService.class, armsDealService);
-
-        ArmsControlService armsControlService = new ArmsControlService(plugin, nationManager);
-        services.register(ArmsControlService.class, armsControlService);
-
-        NuclearWeaponsService nuclearWeaponsService = new NuclearWeaponsService(plugin, nationManager);
-        services.register(NuclearWeaponsService.class, nuclearWeaponsService);
-
-        PartisanService partisanService = new PartisanService(plugin);
-        services.register(PartisanService.class, partisanService);
-
-        AssassinationService assassinationService = new AssassinationService(plugin, nationManager);
-        services.register(AssassinationService.class, assassinationService);
-
-        MilitaryAllianceService militaryAllianceService = new MilitaryAllianceService(plugin, nationManager);
-        services.register(MilitaryAllianceService.class, militaryAllianceService);
-
-        UnifiedEspionageService unifiedEspionageService = new UnifiedEspionageService(plugin, nationManager);
-        services.register(UnifiedEspionageService.class, unifiedEspionageService);
-
-        CountryCaptureService countryCaptureService = new CountryCaptureService(plugin);
-        services.register(CountryCaptureService.class, countryCaptureService);
+        ));
+
+        services.registerAsync(FortificationService.class, () -> new FortificationService(plugin));
+        services.registerLazy(TerrorismService.class, () -> new TerrorismService(plugin, nationManager));
+        services.registerAsync(ReligiousWarService.class, () -> new ReligiousWarService(plugin, nationManager));
+        services.registerAsync(RebellionService.class, () -> new RebellionService(plugin, nationManager));
+        services.registerAsync(ConscriptionService.class, () -> new ConscriptionService(plugin, nationManager));
+        services.registerLazy(NavalService.class, () -> new NavalService(plugin));
+        services.registerLazy(BlockadeService.class, () -> new BlockadeService(plugin));
+        services.registerLazy(MilitaryExerciseService.class, () -> new MilitaryExerciseService(plugin, nationManager));
+        services.registerAsync(MilitaryIntelligenceService.class, () -> new MilitaryIntelligenceService(plugin, nationManager));
+        services.registerLazy(ResistanceMovementService.class, () -> new ResistanceMovementService(plugin));
+        services.registerLazy(WarCrimeService.class, () -> new WarCrimeService(plugin, nationManager));
+        services.registerLazy(ArmsDealService.class, () -> new ArmsDealService(plugin, nationManager));
+        services.registerLazy(ArmsControlService.class, () -> new ArmsControlService(plugin, nationManager));
+        services.registerLazy(NuclearWeaponsService.class, () -> new NuclearWeaponsService(plugin, nationManager));
+        services.registerLazy(PartisanService.class, () -> new PartisanService(plugin));
+        services.registerLazy(AssassinationService.class, () -> new AssassinationService(plugin, nationManager));
+        services.registerAsync(MilitaryAllianceService.class, () -> new MilitaryAllianceService(plugin, nationManager));
+        services.registerAsync(UnifiedEspionageService.class, () -> new UnifiedEspionageService(plugin, nationManager));
+        services.registerAsync(CountryCaptureService.class, () -> new CountryCaptureService(plugin));
     }
 }
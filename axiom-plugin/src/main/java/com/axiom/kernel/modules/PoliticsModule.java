@@ -33,53 +33,22 @@ public class PoliticsModule implements KernelModule {
         ReligionManager religionManager = new ReligionManager(plugin);
         services.register(ReligionManager.class, religionManager);
 
-        HolidayService holidayService = new HolidayService(plugin, religionManager);
-        services.register(HolidayService.class, holidayService);
-
-        DynastyService dynastyService = new DynastyService(plugin);
-        services.register(DynastyService.class, dynastyService);
-
-        RitualService ritualService = new RitualService(plugin);
-        services.register(RitualService.class, ritualService);
-
-        CultureService cultureService = new CultureService(plugin);
-        services.register(CultureService.class, cultureService);
-
-        FestivalService festivalService = new FestivalService(plugin);
-        services.register(FestivalService.class, festivalService);
-
-        MonumentService monumentService = new MonumentService(plugin);
-        services.register(MonumentService.class, monumentService);
-
-        GreatWorksService greatWorksService = new GreatWorksService(plugin);
-        services.register(GreatWorksService.class, greatWorksService);
-
-        RaceService raceService = new RaceService(plugin);
-        services.register(RaceService.class, raceService);
-
-        RacialDiscriminationService racialDiscriminationService = new RacialDiscriminationService(plugin, nationManager);
-        services.register(RacialDiscriminationService.class, racialDiscriminationService);
-
-        CulturalExchangeService culturalExchangeService = new CulturalExchangeService(plugin, nationManager);
-        services.register(CulturalExchangeService.class, culturalExchangeService);
-
-        CulturalHeritageService culturalHeritageService = new CulturalHeritageService(plugin, nationManager);
-        services.register(CulturalHeritageService.class, culturalHeritageService);
-
-        CulturalRevolutionService culturalRevolutionService = new CulturalRevolutionService(plugin, nationManager);
-        services.register(CulturalRevolutionService.class, culturalRevolutionService);
-
-        SocialWelfareService socialWelfareService = new SocialWelfareService(plugin, nationManager);
-        services.register(SocialWelfareService.class, socialWelfareService);
-
-        EnvironmentalPolicyService environmentalPolicyService = new EnvironmentalPolicyService(plugin, nationManager);
-        services.register(EnvironmentalPolicyService.class, environmentalPolicyService);
-
-        CorruptionService corruptionService = new CorruptionService(plugin, nationManager);
-        services.register(CorruptionService.class, corruptionService);
-
-        TradeEmbargoExpansionService tradeEmbargoExpansionService = new TradeEmbargoExpansionService(plugin);
-        services.register(TradeEmbargoExpansionService.class, tradeEmbargoExpansionService);
+        services.registerAsync(HolidayService.class, () -> new HolidayService(plugin, religionManager));
+        services.registerLazy(DynastyService.class, () -> new DynastyService(plugin));
+        services.registerLazy(RitualService.class, () -> new RitualService(plugin));
+        services.registerAsync(CultureService.class, () -> new CultureService(plugin));
+        services.registerLazy(FestivalService.class, () -> new FestivalService(plugin));
+        services.registerLazy(MonumentService.class, () -> new MonumentService(plugin));
+        services.registerLazy(GreatWorksService.class, () -> new GreatWorksService(plugin));
+        services.registerAsync(RaceService.class, () -> new RaceService(plugin));
+        services.registerAsync(RacialDiscriminationService.class, () -> new RacialDiscriminationService(plugin, nationManager));
+        services.registerAsync(CulturalExchangeService.class, () -> new CulturalExchangeService(plugin, nationManager));
+        services.registerAsync(CulturalHeritageService.class, () -> new CulturalHeritageService(plugin, nationManager));
+        services.registerLazy(CulturalRevolutionService.class, () -> new CulturalRevolutionService(plugin, nationManager));
+        services.registerAsync(SocialWelfareService.class, () -> new SocialWelfareService(plugin, nationManager));
+        services.registerAsync(EnvironmentalPolicyService.class, () -> new EnvironmentalPolicyService(plugin, nationManager));
+        services.registerAsync(CorruptionService.class, () -> new CorruptionService(plugin, nationManager));
+        services.registerAsync(TradeEmbargoExpansionService.class, () -> new TradeEmbargoExpansionService(plugin));
 
         DiplomacyRelationService diplomacyRelationService = new DiplomacyRelationService(plugin, nationManager);
         services.register(DiplomacyRelationService.class, diplomacyRelationService);
@@ -87,76 +56,29 @@ public class PoliticsModule implements KernelModule {
         DiplomacySystem diplomacySystem = new DiplomacySystem(plugin, nationManager, diplomacyRelationService);
         services.register(DiplomacySystem.class, diplomacySystem);
 
-        TreatyService treatyService = new TreatyService(plugin, nationManager);
-        services.register(TreatyService.class, treatyService);
-
-        ElectionService electionService = new ElectionService(plugin, nationManager);
-        services.register(ElectionService.class, electionService);
-
-        AllianceService allianceService = new AllianceService(plugin, diplomacySystem);
-        services.register(AllianceService.class, allianceService);
-
-        VassalService vassalService = new VassalService(plugin, nationManager);
-        services.register(VassalService.class, vassalService);
-
-        InfluenceService influenceService = new InfluenceService(plugin);
-        services.register(InfluenceService.class, influenceService);
-
-        EmbargoService embargoService = new EmbargoService(plugin);
-        services.register(EmbargoService.class, embargoService);
-
-        SanctionService sanctionService = new SanctionService(plugin, nationManager);
-        services.register(SanctionService.class, sanctionService);
-
-        DiplomaticRecognitionService diplomaticRecognitionService = new DiplomaticRecognitionService(plugin, nationManager);
-        services.register(DiplomaticRecognitionService.class, diplomaticRecognitionService);
-
-        DiplomaticMissionService diplomaticMissionService = new DiplomaticMissionService(plugin);
-        services.register(DiplomaticMissionService.class, diplomaticMissionService);
-
-        DiplomaticImmunityService diplomaticImmunityService = new DiplomaticImmunityService(plugin, nationManager);
-        services.register(DiplomaticImmunityService.class, diplomaticImmunityService);
-
-        DiplomaticProtocolService diplomaticProtocolService = new DiplomaticProtocolService(plugin);
-        services.register(DiplomaticProtocolService.class, diplomaticProtocolService);
-
-        TreatyViolationService treatyViolationService = new TreatyViolationService(plugin, nationManager);
-        services.register(TreatyViolationService.class, treatyViolationService);
-
-        TreatyRenegotiationService treatyRenegotiationService = new TreatyRenegotiationService(plugin, nationManager);
-        services.register(TreatyRenegotiationService.class, treatyRenegotiationService);
-
-        CeasefireService ceasefireService = new CeasefireService(plugin, nationManager);
-        services.register(CeasefireService.class, ceasefireService);
-
-        PeaceTreatyService peaceTreatyService = new PeaceTreatyService(plugin, nationManager);
-        services.register(PeaceTreatyService.class, peaceTreatyService);
-
-        InternationalCourtService internationalCourtService = new InternationalCourtService(plugin, nationManager);
-        services.register(InternationalCourtService.class, internationalCourtService);
-
-        InternationalAidService internationalAidService = new InternationalAidService(plugin, nationManager);
-        services.register(InternationalAidService.class, internationalAidService);
-
-        DiplomaticSummitService diplomaticSummitService = new DiplomaticSummitService(plugin, nationManager);
-        services.register(DiplomaticSummitService.class, diplomaticSummitService);
-
-        PropagandaService propagandaService = new PropagandaService(plugin, nationManager);
-        services.register(PropagandaService.class, propagandaService);
-
-        PropagandaCampaignService propagandaCampaignService = new PropagandaCampaignService(plugin, nationManager);
-        services.register(PropagandaCampaignService.class, propagandaCampaignService);
-
-        PublicOpinionService publicOpinionService = new PublicOpinionService(plugin, nationManager);
-        services.register(PublicOpinionService.class, publicOpinionService);
-
-        BorderControlService borderControlService = new BorderControlService(plugin);
-        services.register(BorderControlService.class, borderControlService);
-
-        CultureShockService cultureShockService = new CultureShockService(plugin);
-        services.register(CultureShockService.class, cultureShockService);
-
-        CoupService coupService = new CoupService(plugin, nationManager);
-        services.register(CoupService.class, coupService);
+        services.registerAsync(TreatyService.class, () -> new TreatyService(plugin, nationManager));
+        services.registerAsync(ElectionService.class, () -> new ElectionService(plugin, nationManager));
+        services.registerAsync(AllianceService.class, () -> new AllianceService(plugin, diplomacySystem));
+        services.registerAsync(VassalService.class, () -> new VassalService(plugin, nationManager));
+        services.registerAsync(InfluenceService.class, () -> new InfluenceService(plugin));
+        services.registerAsync(EmbargoService.class, () -> new EmbargoService(plugin));
+        services.registerAsync(SanctionService.class, () -> new SanctionService(plugin, nationManager));
+        services.registerAsync(DiplomaticRecognitionService.class, () -> new DiplomaticRecognitionService(plugin, nationManager));
+        services.registerAsync(DiplomaticMissionService.class, () -> new DiplomaticMissionService(plugin));
+        services.registerAsync(DiplomaticImmunityService.class, () -> new DiplomaticImmunityService(plugin, nationManager));
+        services.registerAsync(DiplomaticProtocolService.class, () -> new DiplomaticProtocolService(plugin));
+        services.registerAsync(TreatyViolationService.class, () -> new TreatyViolationService(plugin, nationManager));
+        services.registerAsync(TreatyRenegotiationService.class, () -> new TreatyRenegotiationService(plugin, nationManager));
+        services.registerAsync(CeasefireService.class, () -> new CeasefireService(plugin, nationManager));
+        services.registerAsync(PeaceTreatyService.class, () -> new PeaceTreatyService(plugin, nationManager));
+        services.registerAsync(InternationalCourtService.class, () -> new InternationalCourtService(plugin, nationManager));
+        services.registerAsync(InternationalAidService.class, () -> new InternationalAidService(plugin, nationManager));
+        services.registerLazy(DiplomaticSummitService.class, () -> new DiplomaticSummitService(plugin, nationManager));
+        services.registerAsync(PropagandaService.class, () -> new PropagandaService(plugin, nationManager));
+        services.registerLazy(PropagandaCampaignService.class, () -> new PropagandaCampaignService(plugin, nationManager));
+        services.registerAsync(PublicOpinionService.class, () -> new PublicOpinionService(plugin, nationManager));
+        services.registerAsync(BorderControlService.class, () -> new BorderControlService(plugin));
+        services.registerLazy(CultureShockService.class, () -> new CultureShockService(plugin));
+        services.registerLazy(CoupService.class, () -> new CoupService(plugin, nationManager));
     }
 }
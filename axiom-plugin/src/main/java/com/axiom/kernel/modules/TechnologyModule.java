@@ -33,16 +33,9 @@ public class TechnologyModule implements KernelModule {
     public void register(ServiceRegistry services) {
         NationManager nationManager = services.require(NationManager.class);
 
-        TechnologyTreeService technologyTreeService = new TechnologyTreeService(plugin);
-        services.register(TechnologyTreeService.class, technologyTreeService);
-
-        ResearchFundingService researchFundingService = new ResearchFundingService(plugin);
-        services.register(ResearchFundingService.class, researchFundingService);
-
-        ResearchCollaborationService researchCollaborationService = new ResearchCollaborationService(plugin, nationManager);
-        services.register(ResearchCollaborationService.class, researchCollaborationService);
-
-        SpaceProgramService spaceProgramService = new SpaceProgramService(plugin, nationManager);
-        services.register(SpaceProgramService.class, spaceProgramService);
+        services.registerAsync(TechnologyTreeService.class, () -> new TechnologyTreeService(plugin));
+        services.registerLazy(ResearchFundingService.class, () -> new ResearchFundingService(plugin));
+        services.registerLazy(ResearchCollaborationService.class, () -> new ResearchCollaborationService(plugin, nationManager));
+        services.registerLazy(SpaceProgramService.class, () -> new SpaceProgramService(plugin, nationManager));
     }
 }
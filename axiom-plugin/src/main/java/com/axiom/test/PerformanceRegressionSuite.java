@@ -0,0 +1,772 @@
+package com.axiom.test;
+
+import com.axiom.AXIOM;
+import com.axiom.domain.model.Nation;
+import com.axiom.domain.service.politics.DiplomacySystem;
+import com.axiom.domain.service.politics.ReligionManager;
+import com.axiom.domain.service.state.NationManager;
+import com.axiom.domain.service.state.TerritoryService;
+import com.axiom.util.AtomicFileWriter;
+import com.axiom.util.LatencyHistogram;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+/**
+ * Performance regression mode for the test bots.
+ * <p>
+ * Runs the nation, claim, diplomacy, war and religion scenarios with many virtual players at
+ * once, plus console-style commands issued by the same players. Each player is a scheduler task
+ * that makes one step per tick on the main thread, so all players hit the services in the same
+ * ticks the way real players do. Every service call and command is timed into a
+ * {@link LatencyHistogram}; a main-thread timer records the tick interval while idle and during
+ * each scenario, which shows the tick-time impact. The result is written as a JSON report and
+ * compared with a stored baseline: an operation or tick whose p95 grows by more than the
+ * threshold is reported as a regression.
+ * <p>
+ * Bot nations and religions are created for the run and deleted afterwards (also leftovers of
+ * an interrupted run), so no test data stays in the live data folder.
+ * <p>
+ * Must be called off the main thread; it blocks until all scenarios have finished.
+ */
+public class PerformanceRegressionSuite {
+    private static final Logger log = Logger.getLogger("AXIOM-PerfBot");
+    private static final String WORLD = "axiom-perf";
+    private static final String NATION_PREFIX = "PerfBot_";
+    private static final String RELIGION_PREFIX = "perfbot-";
+    private static final long COMMAND_TIMEOUT_SECONDS = 30L;
+
+    private final AXIOM plugin;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public PerformanceRegressionSuite(AXIOM plugin) {
+        this.plugin = plugin;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public Report run(Options options) throws IOException, InterruptedException {
+        if (Bukkit.isPrimaryThread()) {
+            throw new IllegalStateException("Performance regression run blocks; start it asynchronously");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Замер производительности уже выполняется");
+        }
+        try {
+            return runInternal(options);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private Report runInternal(Options options) throws IOException, InterruptedException {
+        log.info("=== ЗАМЕР ПРОИЗВОДИТЕЛЬНОСТИ: " + options.players + " игроков x " + options.iterations + " итераций ===");
+        try {
+            List<Bot> bots = onMainThread(() -> prepareBots(options.players));
+            return measure(bots, options);
+        } finally {
+            onMainThread(() -> {
+                removeBotData();
+                return null;
+            });
+        }
+    }
+
+    private Report measure(List<Bot> bots, Options options) throws IOException, InterruptedException {
+        Map<String, LatencyHistogram> operations = new ConcurrentHashMap<>();
+        Map<String, AtomicLong> failures = new ConcurrentHashMap<>();
+        Map<String, LatencyHistogram.Snapshot> ticks = new LinkedHashMap<>();
+
+        TickSampler sampler = new TickSampler();
+        try {
+            onMainThread(() -> sampler.runTaskTimer(plugin, 1L, 1L));
+            ticks.put("idle", sampler.measure(() -> Thread.sleep(options.idleTicks * 50L)));
+            for (Scenario scenario : Scenario.values()) {
+                if (!options.scenarios.isEmpty() && !options.scenarios.contains(scenario.id)) {
+                    continue;
+                }
+                if (scenario == Scenario.COMMANDS && options.commands.isEmpty()) {
+                    continue;
+                }
+                log.info("Сценарий: " + scenario.id);
+                ticks.put(scenario.id, sampler.measure(() ->
+                    runScenario(scenario, bots, options, operations, failures)));
+            }
+        } finally {
+            sampler.cancelSafely();
+        }
+
+        Report report = new Report(options, snapshots(operations), counts(failures), ticks);
+        File reportsDir = new File(plugin.getDataFolder(), "test-reports");
+        reportsDir.mkdirs();
+        String stamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
+        report.reportFile = new File(reportsDir, "perf-report_" + stamp + ".json");
+        write(report.toJson(), report.reportFile);
+
+        File baselineFile = new File(plugin.getDataFolder(), options.baselinePath);
+        report.baselineFile = baselineFile;
+        if (options.updateBaseline || !baselineFile.exists()) {
+            baselineFile.getParentFile().mkdirs();
+            write(report.toJson(), baselineFile);
+            report.baselineWritten = true;
+        } else {
+            JsonObject baseline;
+            try (Reader reader = Files.newBufferedReader(baselineFile.toPath(), StandardCharsets.UTF_8)) {
+                baseline = JsonParser.parseReader(reader).getAsJsonObject();
+            }
+            report.regressions.addAll(compare(baseline, report.toJson(), options.thresholdPercent, options.minDeltaMillis));
+        }
+        for (Regression regression : report.regressions) {
+            log.warning("Регрессия: " + regression);
+        }
+        log.info("Отчёт о производительности: " + report.reportFile.getAbsolutePath());
+        return report;
+    }
+
+    // ========== SETUP ==========
+
+    /** Runs on the main thread; starts from a clean state if a previous run was interrupted. */
+    private List<Bot> prepareBots(int players) throws IOException {
+        removeBotData();
+        NationManager nationManager = plugin.getNationManager();
+        ReligionManager religions = plugin.getReligionManager();
+        List<Bot> bots = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            String name = NATION_PREFIX + i;
+            SuperTestBot.VirtualPlayer player = new SuperTestBot.VirtualPlayer(name);
+            Nation nation = nationManager.createNation(name, player.uuid);
+            // Covers war declarations for the whole run
+            nation.setTreasury(1_000_000.0);
+            nationManager.save(nation);
+            String religionId = RELIGION_PREFIX + i;
+            if (religions != null) {
+                religions.foundReligion(player.uuid, religionId, "PerfBot Faith " + i);
+            }
+            bots.add(new Bot(i, player, nation, religionId));
+        }
+        return bots;
+    }
+
+    /** Deletes every bot nation and religion; deleting a nation also drops its war cooldown. */
+    private void removeBotData() throws IOException {
+        NationManager nationManager = plugin.getNationManager();
+        String nationPrefix = NATION_PREFIX.toLowerCase(Locale.ROOT);
+        for (Nation nation : nationManager.getAll()) {
+            if (nation.getId().startsWith(nationPrefix)) {
+                nationManager.deleteNation(nation.getId());
+            }
+        }
+        ReligionManager religions = plugin.getReligionManager();
+        if (religions != null) {
+            for (ReligionManager.ReligionData religion : religions.getAllReligions()) {
+                if (religion.id != null && religion.id.startsWith(RELIGION_PREFIX)) {
+                    religions.deleteReligion(religion.id);
+                }
+            }
+        }
+    }
+
+    private <T> T onMainThread(Callable<T> task) throws IOException, InterruptedException {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            try {
+                future.complete(task.call());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        try {
+            return future.get(COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Main-thread task failed: " + e.getCause(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new IOException("Main thread did not run the task in time", e);
+        }
+    }
+
+    // ========== SCENARIOS ==========
+
+    private enum Scenario {
+        NATION("nation"),
+        CLAIMS("claims"),
+        DIPLOMACY("diplomacy"),
+        WAR("war"),
+        RELIGION("religion"),
+        COMMANDS("commands");
+
+        private final String id;
+
+        Scenario(String id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Starts one repeating task per bot in the same tick; each makes one step per tick until its
+     * steps are done. Waits at most a second per step, then cancels the remaining tasks.
+     */
+    private void runScenario(Scenario scenario, List<Bot> bots, Options options,
+                             Map<String, LatencyHistogram> operations, Map<String, AtomicLong> failures)
+        throws InterruptedException {
+        int steps = steps(scenario, bots, options);
+        if (steps == 0) {
+            return;
+        }
+        CountDownLatch done = new CountDownLatch(bots.size());
+        Recorder recorder = new Recorder(scenario.id, operations, failures);
+        List<BotRun> runs = new ArrayList<>(bots.size());
+        for (Bot bot : bots) {
+            runs.add(new BotRun(scenario, bot, bots, options, recorder, steps, done));
+        }
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            for (BotRun run : runs) {
+                run.runTaskTimer(plugin, 0L, 1L);
+            }
+        });
+        if (!done.await(COMMAND_TIMEOUT_SECONDS + steps, TimeUnit.SECONDS)) {
+            log.warning("Сценарий " + scenario.id + " не завершился вовремя, осталось ботов: " + done.getCount());
+            Bukkit.getScheduler().runTask(plugin, () -> runs.forEach(BotRun::cancelSafely));
+        }
+    }
+
+    private int steps(Scenario scenario, List<Bot> bots, Options options) {
+        switch (scenario) {
+            case CLAIMS:
+                // Claim a column of chunks, then release it
+                return plugin.getTerritoryService() != null ? options.iterations * 2 : 0;
+            case DIPLOMACY:
+                return plugin.getDiplomacySystem() != null ? options.iterations : 0;
+            case WAR:
+                // Declaration, checks, peace
+                return plugin.getDiplomacySystem() != null && bots.size() >= 2 ? options.iterations + 2 : 0;
+            case RELIGION:
+                return plugin.getReligionManager() != null ? options.iterations : 0;
+            default:
+                return options.iterations;
+        }
+    }
+
+    private void runStep(Scenario scenario, Bot bot, List<Bot> bots, Options options, Recorder recorder,
+                         int step, int steps) {
+        String nationId = bot.nation.getId();
+        switch (scenario) {
+            case NATION: {
+                NationManager nationManager = plugin.getNationManager();
+                UUID citizen = new UUID(bot.player.uuid.getMostSignificantBits(), step);
+                recorder.time("addCitizen", () -> nationManager.addCitizen(nationId, citizen, Nation.Role.CITIZEN));
+                recorder.time("getNationStatistics", () -> nationManager.getNationStatistics(nationId));
+                recorder.time("removeCitizen", () -> nationManager.removeCitizen(nationId, citizen));
+                break;
+            }
+            case CLAIMS: {
+                // Each bot claims its own column of chunks
+                TerritoryService territory = plugin.getTerritoryService();
+                if (step < options.iterations) {
+                    int z = step;
+                    recorder.time("claim", () -> {
+                        territory.claim(nationId, WORLD, bot.index, z);
+                        return null;
+                    });
+                    recorder.time("getNationAt", () -> territory.getNationAt(WORLD, bot.index, z));
+                } else {
+                    int z = step - options.iterations;
+                    recorder.time("unclaim", () -> {
+                        territory.unclaim(nationId, WORLD, bot.index, z);
+                        return null;
+                    });
+                }
+                break;
+            }
+            case DIPLOMACY: {
+                DiplomacySystem diplomacy = plugin.getDiplomacySystem();
+                Nation partner = bots.get((bot.index + 1 + step) % bots.size()).nation;
+                if (partner == bot.nation) {
+                    return;
+                }
+                recorder.time("requestAlliance", () -> diplomacy.requestAlliance(bot.nation, partner));
+                recorder.time("acceptAlliance", () -> diplomacy.acceptAlliance(partner, bot.nation));
+                recorder.time("getDiplomaticStatus", () -> diplomacy.getDiplomaticStatus(nationId, partner.getId()));
+                recorder.time("breakAlliance", () -> diplomacy.breakAlliance(bot.nation, partner));
+                break;
+            }
+            case WAR: {
+                // The declaration cooldown allows one war per attacker and run
+                DiplomacySystem diplomacy = plugin.getDiplomacySystem();
+                Nation enemy = bots.get((bot.index + 1) % bots.size()).nation;
+                if (step == 0) {
+                    recorder.time("declareWar", () -> diplomacy.declareWar(bot.nation, enemy));
+                } else if (step == steps - 1) {
+                    recorder.time("declarePeace", () -> {
+                        diplomacy.declarePeace(nationId, enemy.getId());
+                        return null;
+                    });
+                } else {
+                    recorder.time("isAtWar", () -> diplomacy.isAtWar(nationId, enemy.getId()));
+                    if (plugin.getAdvancedWarSystem() != null) {
+                        recorder.time("getWarStatistics", () -> plugin.getAdvancedWarSystem().getWarStatistics(nationId));
+                    }
+                }
+                break;
+            }
+            case RELIGION: {
+                ReligionManager religions = plugin.getReligionManager();
+                recorder.time("recordTithe", () -> {
+                    religions.recordTithe(bot.player.uuid, bot.religionId, 1.0);
+                    return null;
+                });
+                recorder.time("getReligionStatistics", () -> religions.getReligionStatistics(bot.religionId));
+                break;
+            }
+            case COMMANDS:
+                for (String line : options.commands) {
+                    recorder.time("/" + line.split(" ", 2)[0], () -> Bukkit.dispatchCommand(bot.sender, line));
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    // ========== BASELINE ==========
+
+    /**
+     * Compares p95 latencies of operations and tick intervals present in both reports. A change
+     * counts as a regression when it exceeds both the relative threshold and the absolute floor.
+     */
+    static List<Regression> compare(JsonObject baseline, JsonObject current, double thresholdPercent, double minDeltaMillis) {
+        List<Regression> regressions = new ArrayList<>();
+        for (String section : Arrays.asList("operations", "ticks")) {
+            if (!baseline.has(section) || !current.has(section)) {
+                continue;
+            }
+            JsonObject before = baseline.getAsJsonObject(section);
+            JsonObject after = current.getAsJsonObject(section);
+            for (String name : after.keySet()) {
+                if (!before.has(name)) {
+                    continue;
+                }
+                double was = before.getAsJsonObject(name).get("p95Millis").getAsDouble();
+                double now = after.getAsJsonObject(name).get("p95Millis").getAsDouble();
+                if (now - was > minDeltaMillis && now > was * (1.0 + thresholdPercent / 100.0)) {
+                    regressions.add(new Regression(section + "." + name, was, now));
+                }
+            }
+        }
+        regressions.sort((a, b) -> Double.compare(b.getRatio(), a.getRatio()));
+        return regressions;
+    }
+
+    private static void write(JsonObject json, File file) throws IOException {
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        try (AtomicFileWriter writer = AtomicFileWriter.open(file)) {
+            gson.toJson(json, writer);
+            writer.commit();
+        }
+    }
+
+    private static Map<String, LatencyHistogram.Snapshot> snapshots(Map<String, LatencyHistogram> histograms) {
+        Map<String, LatencyHistogram.Snapshot> result = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return result;
+    }
+
+    private static Map<String, Long> counts(Map<String, AtomicLong> counters) {
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<String, AtomicLong> entry : counters.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().get());
+        }
+        return result;
+    }
+
+    private static JsonObject toJson(LatencyHistogram.Snapshot snapshot) {
+        JsonObject json = new JsonObject();
+        json.addProperty("count", snapshot.getCount());
+        json.addProperty("meanMillis", snapshot.getMeanMillis());
+        json.addProperty("p50Millis", snapshot.percentileMillis(0.50));
+        json.addProperty("p95Millis", snapshot.percentileMillis(0.95));
+        json.addProperty("p99Millis", snapshot.percentileMillis(0.99));
+        json.addProperty("maxMillis", snapshot.getMaxMillis());
+        return json;
+    }
+
+    // ========== SUPPORT ==========
+
+    private static final class Bot {
+        private final int index;
+        private final SuperTestBot.VirtualPlayer player;
+        private final Nation nation;
+        private final String religionId;
+        private final Player sender;
+
+        private Bot(int index, SuperTestBot.VirtualPlayer player, Nation nation, String religionId) {
+            this.index = index;
+            this.player = player;
+            this.nation = nation;
+            this.religionId = religionId;
+            this.sender = proxyPlayer(player);
+        }
+    }
+
+    /** One bot in one scenario: a main-thread task making one step per tick. */
+    private final class BotRun extends BukkitRunnable {
+        private final Scenario scenario;
+        private final Bot bot;
+        private final List<Bot> bots;
+        private final Options options;
+        private final Recorder recorder;
+        private final int steps;
+        private final CountDownLatch done;
+        private int step;
+
+        private BotRun(Scenario scenario, Bot bot, List<Bot> bots, Options options, Recorder recorder,
+                       int steps, CountDownLatch done) {
+            this.scenario = scenario;
+            this.bot = bot;
+            this.bots = bots;
+            this.options = options;
+            this.recorder = recorder;
+            this.steps = steps;
+            this.done = done;
+        }
+
+        @Override
+        public void run() {
+            try {
+                runStep(scenario, bot, bots, options, recorder, step, steps);
+            } finally {
+                if (++step >= steps) {
+                    cancel();
+                    done.countDown();
+                }
+            }
+        }
+
+        void cancelSafely() {
+            try {
+                cancel();
+            } catch (IllegalStateException ignored) {
+                // Not scheduled yet
+            }
+        }
+    }
+
+    private interface TimedCall {
+        Object call() throws Exception;
+    }
+
+    private interface Window {
+        void run() throws InterruptedException;
+    }
+
+    private static final class Recorder {
+        private final String scenario;
+        private final Map<String, LatencyHistogram> operations;
+        private final Map<String, AtomicLong> failures;
+
+        private Recorder(String scenario, Map<String, LatencyHistogram> operations, Map<String, AtomicLong> failures) {
+            this.scenario = scenario;
+            this.operations = operations;
+            this.failures = failures;
+        }
+
+        void time(String operation, TimedCall call) {
+            String key = scenario + "." + operation;
+            long start = System.nanoTime();
+            try {
+                call.call();
+            } catch (Exception e) {
+                fail(operation);
+            } finally {
+                operations.computeIfAbsent(key, k -> new LatencyHistogram()).record(System.nanoTime() - start);
+            }
+        }
+
+        void fail(String operation) {
+            failures.computeIfAbsent(scenario + "." + operation, k -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    /** Records the interval between consecutive main-thread ticks into the current window. */
+    private static final class TickSampler extends BukkitRunnable {
+        private final AtomicReference<LatencyHistogram> window = new AtomicReference<>();
+        private long lastTick;
+
+        @Override
+        public void run() {
+            long now = System.nanoTime();
+            LatencyHistogram histogram = window.get();
+            if (histogram != null && lastTick != 0L) {
+                histogram.record(now - lastTick);
+            }
+            lastTick = now;
+        }
+
+        LatencyHistogram.Snapshot measure(Window body) throws InterruptedException {
+            LatencyHistogram histogram = new LatencyHistogram();
+            window.set(histogram);
+            try {
+                body.run();
+            } finally {
+                window.set(null);
+            }
+            return histogram.snapshot();
+        }
+
+        void cancelSafely() {
+            try {
+                cancel();
+            } catch (IllegalStateException ignored) {
+                // Not scheduled yet
+            }
+        }
+    }
+
+    /** Run settings, normally read from {@code testbot.perf} in config.yml. */
+    public static final class Options {
+        int players = 200;
+        int iterations = 20;
+        int idleTicks = 100;
+        double thresholdPercent = 20.0;
+        double minDeltaMillis = 0.05;
+        String baselinePath = "test-reports/perf-baseline.json";
+        List<String> commands = Collections.singletonList("axiom help");
+        List<String> scenarios = Collections.emptyList();
+        boolean updateBaseline;
+
+        public static Options fromConfig(ConfigurationSection section) {
+            Options options = new Options();
+            if (section == null) {
+                return options;
+            }
+            options.players = Math.max(1, section.getInt("players", options.players));
+            options.iterations = Math.max(1, section.getInt("iterations", options.iterations));
+            options.idleTicks = Math.max(1, section.getInt("idleTicks", options.idleTicks));
+            options.thresholdPercent = section.getDouble("thresholdPercent", options.thresholdPercent);
+            options.minDeltaMillis = section.getDouble("minDeltaMillis", options.minDeltaMillis);
+            options.baselinePath = section.getString("baseline", options.baselinePath);
+            if (section.isList("commands")) {
+                options.commands = section.getStringList("commands");
+            }
+            if (section.isList("scenarios")) {
+                options.scenarios = section.getStringList("scenarios");
+            }
+            return options;
+        }
+
+        public Options players(int value) {
+            this.players = Math.max(1, value);
+            return this;
+        }
+
+        public Options iterations(int value) {
+            this.iterations = Math.max(1, value);
+            return this;
+        }
+
+        public Options updateBaseline(boolean value) {
+            this.updateBaseline = value;
+            return this;
+        }
+    }
+
+    public static final class Regression {
+        private final String name;
+        private final double baselineP95Millis;
+        private final double currentP95Millis;
+
+        Regression(String name, double baselineP95Millis, double currentP95Millis) {
+            this.name = name;
+            this.baselineP95Millis = baselineP95Millis;
+            this.currentP95Millis = currentP95Millis;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getBaselineP95Millis() {
+            return baselineP95Millis;
+        }
+
+        public double getCurrentP95Millis() {
+            return currentP95Millis;
+        }
+
+        public double getRatio() {
+            return baselineP95Millis > 0 ? currentP95Millis / baselineP95Millis : Double.POSITIVE_INFINITY;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s p95 %.3f ms -> %.3f ms (x%.2f)",
+                name, baselineP95Millis, currentP95Millis, getRatio());
+        }
+    }
+
+    public static final class Report {
+        private final Options options;
+        private final Map<String, LatencyHistogram.Snapshot> operations;
+        private final Map<String, Long> failures;
+        private final Map<String, LatencyHistogram.Snapshot> ticks;
+        private final List<Regression> regressions = new ArrayList<>();
+        private File reportFile;
+        private File baselineFile;
+        private boolean baselineWritten;
+
+        private Report(Options options, Map<String, LatencyHistogram.Snapshot> operations,
+                       Map<String, Long> failures, Map<String, LatencyHistogram.Snapshot> ticks) {
+            this.options = options;
+            this.operations = operations;
+            this.failures = failures;
+            this.ticks = ticks;
+        }
+
+        public Map<String, LatencyHistogram.Snapshot> getOperations() {
+            return operations;
+        }
+
+        public Map<String, Long> getFailures() {
+            return failures;
+        }
+
+        /** Tick interval per scenario; "idle" is measured before any load. */
+        public Map<String, LatencyHistogram.Snapshot> getTicks() {
+            return ticks;
+        }
+
+        public List<Regression> getRegressions() {
+            return regressions;
+        }
+
+        public File getReportFile() {
+            return reportFile;
+        }
+
+        public File getBaselineFile() {
+            return baselineFile;
+        }
+
+        public boolean isBaselineWritten() {
+            return baselineWritten;
+        }
+
+        public int getPlayers() {
+            return options.players;
+        }
+
+        public int getIterations() {
+            return options.iterations;
+        }
+
+        public double getThresholdPercent() {
+            return options.thresholdPercent;
+        }
+
+        JsonObject toJson() {
+            JsonObject json = new JsonObject();
+            json.addProperty("timestamp", new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()));
+            json.addProperty("players", options.players);
+            json.addProperty("iterations", options.iterations);
+            JsonObject ops = new JsonObject();
+            for (Map.Entry<String, LatencyHistogram.Snapshot> entry : operations.entrySet()) {
+                JsonObject op = PerformanceRegressionSuite.toJson(entry.getValue());
+                op.addProperty("failures", failures.getOrDefault(entry.getKey(), 0L));
+                ops.add(entry.getKey(), op);
+            }
+            json.add("operations", ops);
+            JsonObject tickJson = new JsonObject();
+            for (Map.Entry<String, LatencyHistogram.Snapshot> entry : ticks.entrySet()) {
+                tickJson.add(entry.getKey(), PerformanceRegressionSuite.toJson(entry.getValue()));
+            }
+            json.add("ticks", tickJson);
+            return json;
+        }
+    }
+
+    /** Player view of a virtual player so commands can be dispatched for it. */
+    static Player proxyPlayer(SuperTestBot.VirtualPlayer player) {
+        return (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[] {Player.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getUniqueId":
+                        return player.uuid;
+                    case "getName":
+                    case "getDisplayName":
+                    case "getPlayerListName":
+                        return player.name;
+                    case "hasPermission":
+                    case "isPermissionSet":
+                    case "isOp":
+                    case "isOnline":
+                        return true;
+                    case "getLocation":
+                        return player.location != null ? player.location.clone() : null;
+                    case "getWorld":
+                        return player.location != null ? player.location.getWorld() : null;
+                    case "getServer":
+                        return Bukkit.getServer();
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return player.uuid.hashCode();
+                    case "toString":
+                        return "VirtualPlayer{" + player.name + "}";
+                    default:
+                        return defaultValue(method.getReturnType());
+                }
+            });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0.0;
+        if (type == float.class) return 0.0f;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return (char) 0;
+        return null;
+    }
+}
@@ -35,6 +35,7 @@ public class SuperTestBot {
     private final Map<String, TestResult> results = new ConcurrentHashMap<>();
     private final List<VirtualPlayer> testPlayers = new ArrayList<>();
     private final AtomicInteger testCounter = new AtomicInteger(0);
+    private final PerformanceRegressionSuite benchmark;
     
     // Test nations and entities
     private final Map<String, String> testNations = new HashMap<>(); // name -> id
@@ -72,7 +73,14 @@ public class SuperTestBot {
         Location location;
         
         public VirtualPlayer(String name) {
-            this.uuid = UUID.randomUUID();
+            this(name, UUID.randomUUID());
+        }
+        
+        /**
+         * Virtual player with a known id, e.g. the leader of a bot nation kept between runs.
+         */
+        public VirtualPlayer(String name, UUID uuid) {
+            this.uuid = uuid;
             this.name = name;
             // Use spawn location as default
             World world = Bukkit.getWorlds().isEmpty() ? null : Bukkit.getWorlds().get(0);
@@ -89,6 +97,7 @@ public class SuperTestBot {
     public SuperTestBot(AXIOM plugin) {
         this.plugin = plugin;
         this.nationManager = plugin.getNationManager();
+        this.benchmark = new PerformanceRegressionSuite(plugin);
     }
     
     /**
@@ -134,6 +143,20 @@ public class SuperTestBot {
         return new HashMap<>(results);
     }
     
+    /**
+     * Performance regression mode: runs the scenarios with many concurrent virtual players,
+     * records latency of every service call and command plus tick-time impact, and compares
+     * the result with the stored baseline. Blocks; call it off the main thread.
+     */
+    public PerformanceRegressionSuite.Report runBenchmark(PerformanceRegressionSuite.Options options)
+        throws IOException, InterruptedException {
+        return benchmark.run(options);
+    }
+    
+    public boolean isBenchmarkRunning() {
+        return benchmark.isRunning();
+    }
+    
     // ========== NATION TESTS ==========
     private void runNationTests(Player commander) {
         log.info("=== ТЕСТИРОВАНИЕ НАЦИЙ ===");
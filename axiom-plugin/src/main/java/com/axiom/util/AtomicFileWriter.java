@@ -0,0 +1,106 @@
+package com.axiom.util;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * UTF-8 {@link Writer} для файлов данных: текст пишется во временный файл рядом с целевым,
+ * который после {@link #commit()} атомарно подменяет целевой. Читатели и бэкап никогда не видят
+ * обрезанный файл, а жёсткая ссылка на старую версию остаётся неизменной.
+ * <p>
+ * Разрешение {@link SnapshotBarrier} берётся только на время подмены в {@link #commit()}:
+ * временные файлы в снимок не попадают, поэтому открытый писатель заморозку не задерживает.
+ * {@link #close()} без
+ * commit (исключение при сериализации, в том числе непроверяемое, или ошибка ввода-вывода)
+ * удаляет временный файл, и целевой не трогается — как и у {@link JsonFileWriter}:
+ * <pre>
+ * try (AtomicFileWriter w = AtomicFileWriter.open(file)) {
+ *     gson.toJson(data, w);
+ *     w.commit();
+ * }
+ * </pre>
+ */
+public final class AtomicFileWriter extends Writer {
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final Path target;
+    private final Path temp;
+    private final Writer out;
+    private boolean committed;
+    private boolean closed;
+
+    private AtomicFileWriter(File target) throws IOException {
+        File parent = target.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        this.target = target.toPath();
+        this.temp = Files.createTempFile(parent != null ? parent.toPath() : this.target.toAbsolutePath().getParent(),
+            target.getName(), ".tmp");
+        try {
+            this.out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(temp), StandardCharsets.UTF_8), BUFFER_SIZE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    public static AtomicFileWriter open(File target) throws IOException {
+        return new AtomicFileWriter(target);
+    }
+
+    @Override
+    public void write(char[] buffer, int offset, int length) throws IOException {
+        out.write(buffer, offset, length);
+    }
+
+    @Override
+    public void write(String text, int offset, int length) throws IOException {
+        out.write(text, offset, length);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /** Дописать данные и подменить целевой файл; вызывать последним действием записи. */
+    public void commit() throws IOException {
+        if (closed || committed) {
+            throw new IOException("Writer already closed: " + target);
+        }
+        out.close();
+        committed = true;
+        SnapshotBarrier.enterWrite();
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            SnapshotBarrier.exitWrite();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (!committed) {
+                out.close();
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,557 @@
+package com.axiom.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Потокобезопасный кэш, ограниченный числом записей или суммарным весом, с вытеснением W-TinyLFU.
+ * <p>
+ * Новые записи попадают в маленькое LRU-окно (1% ёмкости), откуда переходят в сегментированный
+ * LRU (испытательный и защищённый сегменты). Когда кэш переполнен, кандидат из окна вытесняет
+ * жертву из испытательного сегмента только если чаще запрашивался по оценке
+ * {@link FrequencySketch}, поэтому одноразовый поток ключей не вымывает горячие записи.
+ * <p>
+ * Чтение идёт из {@link ConcurrentHashMap} без блокировок; учёт обращения в политике делается
+ * только если её блокировка свободна (при конкуренции часть обращений теряется, как в Caffeine).
+ * TTL каждой записи истекает через {@link TimerWheel}, без отдельной задачи на кэш.
+ * {@link #getOrLoad} загружает ключ один раз для всех одновременных вызовов, а при заданном
+ * {@code refreshAfter} устаревающая запись отдаётся сразу и перезагружается в фоне.
+ */
+public class BoundedCache<K, V> {
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+    private static final byte REMOVED = 3;
+
+    private final long ttlNanos;
+    private final long maximum;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final Weigher<? super K, ? super V> weigher;
+    private final long refreshAfterNanos;
+    private final Executor refreshExecutor;
+    private final LongSupplier ticker;
+
+    private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+    private final ReentrantLock policyLock = new ReentrantLock();
+    // Под policyLock
+    private final FrequencySketch sketch;
+    private final TimerWheel<Node<K, V>> wheel;
+    private final AccessOrder<K, V> window = new AccessOrder<>();
+    private final AccessOrder<K, V> probation = new AccessOrder<>();
+    private final AccessOrder<K, V> protectedSegment = new AccessOrder<>();
+    private long windowWeight;
+    private long protectedWeight;
+    private long totalWeight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    /** Вес записи для ограничения по объёму (по умолчанию каждая запись весит 1). */
+    @FunctionalInterface
+    public interface Weigher<K, V> {
+        int weigh(K key, V value);
+    }
+
+    /**
+     * @param ttlSeconds время жизни записи в секундах; {@code <= 0} — без истечения
+     * @param maximum максимальное число записей (или суммарный вес, если задан {@code weigher})
+     */
+    public BoundedCache(long ttlSeconds, long maximum) {
+        this(ttlSeconds, maximum, null, 0L, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param weigher вес записи; {@code null} — ограничение по числу записей
+     * @param refreshAfterSeconds через сколько секунд после записи {@link #getOrLoad} обновляет
+     *                            значение в фоне; {@code <= 0} — без обновления
+     * @param refreshExecutor пул для фонового обновления
+     */
+    public BoundedCache(long ttlSeconds, long maximum, Weigher<? super K, ? super V> weigher,
+                        long refreshAfterSeconds, Executor refreshExecutor) {
+        this(ttlSeconds * 1_000_000_000L, maximum, weigher, refreshAfterSeconds * 1_000_000_000L,
+            refreshExecutor, System::nanoTime);
+    }
+
+    BoundedCache(long ttlNanos, long maximum, Weigher<? super K, ? super V> weigher,
+                 long refreshAfterNanos, Executor refreshExecutor, LongSupplier ticker) {
+        this.ttlNanos = ttlNanos > 0 ? ttlNanos : Long.MAX_VALUE;
+        this.maximum = Math.max(1L, maximum);
+        this.windowMaximum = Math.max(1L, this.maximum / 100);
+        this.protectedMaximum = (long) ((this.maximum - windowMaximum) * 0.8);
+        this.weigher = weigher;
+        this.refreshAfterNanos = refreshAfterNanos > 0 ? refreshAfterNanos : 0L;
+        this.refreshExecutor = refreshExecutor;
+        this.ticker = ticker;
+        this.sketch = new FrequencySketch(weigher == null ? this.maximum : Math.min(this.maximum, 1L << 16));
+        this.wheel = new TimerWheel<>(ticker.getAsLong());
+    }
+
+    /**
+     * Получить значение из кэша
+     * @param key ключ
+     * @return Optional с значением или пустой если не найдено/устарело
+     */
+    public Optional<V> get(K key) {
+        Node<K, V> node = data.get(key);
+        long now = ticker.getAsLong();
+        if (node == null || node.isExpired(now)) {
+            if (node != null) {
+                expire(node);
+            }
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        afterRead(node);
+        return Optional.of(node.value);
+    }
+
+    /**
+     * Получить значение из кэша или загрузить при отсутствии. Одновременные вызовы для одного
+     * ключа ждут одну загрузку; загрузчик не должен рекурсивно запрашивать тот же ключ.
+     * @param key ключ
+     * @param loader функция загрузки; {@code null} не кэшируется
+     * @return значение
+     */
+    public V getOrLoad(K key, Function<K, V> loader) {
+        Node<K, V> node = data.get(key);
+        long now = ticker.getAsLong();
+        if (node != null && !node.isExpired(now)) {
+            hits.increment();
+            afterRead(node);
+            refreshIfStale(node, now, loader);
+            return node.value;
+        }
+        misses.increment();
+
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loading.putIfAbsent(key, pending);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+        try {
+            // Другой вызов мог закончить загрузку между нашим промахом и putIfAbsent
+            Node<K, V> loaded = data.get(key);
+            if (loaded != null && !loaded.isExpired(ticker.getAsLong())) {
+                pending.complete(loaded.value);
+                return loaded.value;
+            }
+            V value = loader.apply(key);
+            loads.increment();
+            if (value != null) {
+                put(key, value);
+            }
+            pending.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, pending);
+        }
+    }
+
+    private void refreshIfStale(Node<K, V> node, long now, Function<K, V> loader) {
+        if (refreshAfterNanos == 0L || now - node.writeNanos < refreshAfterNanos) {
+            return;
+        }
+        K key = node.key;
+        CompletableFuture<V> refresh = new CompletableFuture<>();
+        if (loading.putIfAbsent(key, refresh) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    V value = loader.apply(key);
+                    refreshes.increment();
+                    // Старое значение остаётся, если загрузчик ничего не вернул или запись уже заменили
+                    if (value != null && data.get(key) == node) {
+                        put(key, value);
+                    }
+                    refresh.complete(value);
+                } catch (RuntimeException | Error e) {
+                    refreshFailures.increment();
+                    refresh.completeExceptionally(e);
+                } finally {
+                    loading.remove(key, refresh);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            loading.remove(key, refresh);
+            refresh.complete(node.value);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Поместить значение в кэш ({@code null} удаляет ключ)
+     * @param key ключ
+     * @param value значение
+     */
+    public void put(K key, V value) {
+        if (value == null) {
+            remove(key);
+            return;
+        }
+        int weight = weigher == null ? 1 : Math.max(0, weigher.weigh(key, value));
+        policyLock.lock();
+        try {
+            long now = ticker.getAsLong();
+            Node<K, V> node = data.get(key);
+            if (node != null) {
+                node.value = value;
+                node.writeNanos = now;
+                node.expiresAt = expiry(now);
+                adjustWeight(node, weight - node.weight);
+                node.weight = weight;
+                onAccess(node);
+            } else {
+                node = new Node<>(key, value, weight, now, expiry(now));
+                data.put(key, node);
+                node.queue = WINDOW;
+                window.addLast(node);
+                windowWeight += weight;
+                totalWeight += weight;
+                sketch.increment(key);
+            }
+            if (ttlNanos != Long.MAX_VALUE) {
+                wheel.schedule(node);
+            }
+            maintain(now);
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Удалить значение из кэша
+     * @param key ключ
+     */
+    public void remove(K key) {
+        policyLock.lock();
+        try {
+            Node<K, V> node = data.remove(key);
+            if (node != null) {
+                unlink(node);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Очистить кэш
+     */
+    public void clear() {
+        policyLock.lock();
+        try {
+            for (Node<K, V> node : data.values()) {
+                if (data.remove(node.key, node)) {
+                    unlink(node);
+                }
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Получить размер кэша
+     * @return размер кэша
+     */
+    public int size() {
+        return data.size();
+    }
+
+    /** Суммарный вес записей (равен размеру, если вес не задан). */
+    public long weightedSize() {
+        policyLock.lock();
+        try {
+            return totalWeight;
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Очистка устаревших записей (проходит только истёкшие корзины колеса таймеров)
+     */
+    public void cleanup() {
+        policyLock.lock();
+        try {
+            maintain(ticker.getAsLong());
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /** Статистика кэша: попадания, промахи, загрузки, вытеснения. */
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", size());
+        stats.put("maximum", maximum);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("loads", loads.sum());
+        stats.put("refreshes", refreshes.sum());
+        stats.put("refreshFailures", refreshFailures.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("expirations", expirations.sum());
+        return stats;
+    }
+
+    private long expiry(long now) {
+        if (ttlNanos == Long.MAX_VALUE) {
+            return Long.MAX_VALUE;
+        }
+        long expiresAt = now + ttlNanos;
+        // При переполнении nanoTime запись считается бессрочной, а не истёкшей
+        return expiresAt - now < 0 ? Long.MAX_VALUE : expiresAt;
+    }
+
+    private void afterRead(Node<K, V> node) {
+        // При конкуренции обращение просто не учитывается политикой
+        if (policyLock.tryLock()) {
+            try {
+                if (node.queue != REMOVED) {
+                    onAccess(node);
+                }
+            } finally {
+                policyLock.unlock();
+            }
+        }
+    }
+
+    private void expire(Node<K, V> node) {
+        policyLock.lock();
+        try {
+            expireLocked(node);
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private void expireLocked(Node<K, V> node) {
+        if (data.remove(node.key, node)) {
+            unlink(node);
+            expirations.increment();
+        }
+    }
+
+    private void onAccess(Node<K, V> node) {
+        sketch.increment(node.key);
+        switch (node.queue) {
+            case WINDOW:
+                window.moveToBack(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                node.queue = PROTECTED;
+                protectedSegment.addLast(node);
+                protectedWeight += node.weight;
+                demoteProtected();
+                break;
+            case PROTECTED:
+                protectedSegment.moveToBack(node);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void demoteProtected() {
+        while (protectedWeight > protectedMaximum) {
+            Node<K, V> demoted = protectedSegment.pollFirst();
+            if (demoted == null) {
+                break;
+            }
+            protectedWeight -= demoted.weight;
+            demoted.queue = PROBATION;
+            probation.addLast(demoted);
+        }
+    }
+
+    private void maintain(long now) {
+        if (ttlNanos != Long.MAX_VALUE) {
+            wheel.advance(now, this::expireLocked);
+        }
+        evict();
+    }
+
+    private void evict() {
+        // Переполнение окна уходит в хвост испытательного сегмента как кандидаты на допуск
+        while (windowWeight > windowMaximum) {
+            Node<K, V> candidate = window.pollFirst();
+            if (candidate == null) {
+                break;
+            }
+            windowWeight -= candidate.weight;
+            candidate.queue = PROBATION;
+            probation.addLast(candidate);
+        }
+        while (totalWeight > maximum) {
+            Node<K, V> victim = probation.peekFirst();
+            Node<K, V> candidate = probation.peekLast();
+            if (victim == null) {
+                victim = protectedSegment.peekFirst() != null ? protectedSegment.peekFirst() : window.peekFirst();
+                if (victim == null) {
+                    break;
+                }
+                evictNode(victim);
+            } else if (candidate != victim && sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                evictNode(victim);
+            } else {
+                // Допуск TinyLFU: кандидат, который не популярнее жертвы, отклоняется
+                evictNode(candidate);
+            }
+        }
+    }
+
+    private void evictNode(Node<K, V> node) {
+        data.remove(node.key, node);
+        unlink(node);
+        evictions.increment();
+    }
+
+    private void adjustWeight(Node<K, V> node, long delta) {
+        totalWeight += delta;
+        if (node.queue == WINDOW) {
+            windowWeight += delta;
+        } else if (node.queue == PROTECTED) {
+            protectedWeight += delta;
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                window.remove(node);
+                windowWeight -= node.weight;
+                break;
+            case PROBATION:
+                probation.remove(node);
+                break;
+            case PROTECTED:
+                protectedSegment.remove(node);
+                protectedWeight -= node.weight;
+                break;
+            default:
+                return;
+        }
+        totalWeight -= node.weight;
+        node.queue = REMOVED;
+        wheel.deschedule(node);
+    }
+
+    private static final class Node<K, V> extends TimerWheel.Timed {
+        final K key;
+        volatile V value;
+        volatile long writeNanos;
+        int weight;
+        volatile byte queue;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value, int weight, long writeNanos, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.writeNanos = writeNanos;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAt != Long.MAX_VALUE && expiresAt - now <= 0;
+        }
+    }
+
+    /** Двусвязный список в порядке доступа: голова — давно не использовавшаяся запись. */
+    private static final class AccessOrder<K, V> {
+        private Node<K, V> head;
+        private Node<K, V> tail;
+
+        void addLast(Node<K, V> node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+
+        void moveToBack(Node<K, V> node) {
+            if (tail != node) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        Node<K, V> peekFirst() {
+            return head;
+        }
+
+        Node<K, V> peekLast() {
+            return tail;
+        }
+
+        Node<K, V> pollFirst() {
+            Node<K, V> first = head;
+            if (first != null) {
+                remove(first);
+            }
+            return first;
+        }
+    }
+}
@@ -5,16 +5,23 @@ import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Менеджер кэширования для часто используемых данных
+ * Менеджер кэширования для часто используемых данных.
+ * Все кэши потокобезопасны и ограничены по размеру (см. {@link BoundedCache}); истёкшие записи
+ * снимает одна общая асинхронная задача раз в секунду, фоновое обновление идёт в общем пуле.
  */
 public class CacheManager {
     
     private final AXIOM plugin;
-    private final Map<String, Cache<?, ?>> caches = new ConcurrentHashMap<>();
-    private final Map<String, BukkitTask> cleanupTasks = new ConcurrentHashMap<>();
+    private final Map<String, BoundedCache<?, ?>> caches = new ConcurrentHashMap<>();
+    private ExecutorService refreshExecutor;
+    private BukkitTask maintenanceTask;
     
     public CacheManager(AXIOM plugin) {
         this.plugin = plugin;
@@ -30,11 +37,28 @@ public class CacheManager {
      * @return кэш
      */
     public <K, V> Cache<K, V> createCache(String name, long ttl, int maxSize) {
-        Cache<K, V> cache = new Cache<>(ttl, maxSize);
-        caches.put(name, cache);
+        return createCache(name, ttl, maxSize, null, 0L);
+    }
+    
+    /**
+     * Создать кэш, ограниченный суммарным весом, с фоновым обновлением
+     * @param name название кэша
+     * @param ttl время жизни в секундах
+     * @param maxWeight максимальный суммарный вес (или число записей без weigher)
+     * @param weigher вес записи, может быть null
+     * @param refreshAfter через сколько секунд getOrLoad обновляет запись в фоне (0 — никогда)
+     * @return кэш
+     */
+    public <K, V> Cache<K, V> createCache(String name, long ttl, long maxWeight,
+                                          BoundedCache.Weigher<? super K, ? super V> weigher, long refreshAfter) {
+        Cache<K, V> cache = new Cache<>(ttl, maxWeight, weigher, refreshAfter, refreshExecutor());
+        BoundedCache<?, ?> previous = caches.put(name, cache);
+        if (previous != null) {
+            previous.clear();
+        }
         
-        // Запланировать очистку кэша
-        scheduleCleanup(name, ttl);
+        // Одна задача очистки на все кэши
+        startMaintenance();
         
         return cache;
     }
@@ -56,214 +80,105 @@ public class CacheManager {
      * @param name название кэша
      */
     public void removeCache(String name) {
-        Cache<?, ?> cache = caches.remove(name);
-        BukkitTask task = cleanupTasks.remove(name);
+        BoundedCache<?, ?> cache = caches.remove(name);
         
         if (cache != null) {
             cache.clear();
         }
-        
-        if (task != null) {
-            task.cancel();
-        }
     }
     
     /**
      * Очистить все кэши
      */
     public void clearAllCaches() {
-        for (Map.Entry<String, Cache<?, ?>> entry : caches.entrySet()) {
+        for (Map.Entry<String, BoundedCache<?, ?>> entry : caches.entrySet()) {
             entry.getValue().clear();
         }
         
-        for (BukkitTask task : cleanupTasks.values()) {
-            task.cancel();
-        }
-        
         caches.clear();
-        cleanupTasks.clear();
+        synchronized (this) {
+            if (maintenanceTask != null) {
+                maintenanceTask.cancel();
+                maintenanceTask = null;
+            }
+        }
     }
     
     /**
-     * Запланировать очистку кэша
+     * Очистить кэши и остановить пул фонового обновления (при выключении плагина)
      */
-    private void scheduleCleanup(String name, long ttl) {
-        BukkitTask task = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
-            Cache<?, ?> cache = caches.get(name);
-            if (cache != null) {
-                cache.cleanup();
+    public void shutdown() {
+        clearAllCaches();
+        synchronized (this) {
+            if (refreshExecutor != null) {
+                refreshExecutor.shutdownNow();
+                refreshExecutor = null;
             }
-        }, ttl * 20L, ttl * 20L);
-        
-        cleanupTasks.put(name, task);
+        }
     }
     
     /**
-     * Кэш с автоматическим удалением устаревших записей
+     * Статистика всех кэшей по именам
      */
-    public static class Cache<K, V> {
-        private final long ttl;
-        private final int maxSize;
-        private final Map<K, CacheEntry<V>> cache = new LinkedHashMap<>();
-        
-        public Cache(long ttl, int maxSize) {
-            this.ttl = ttl * 1000; // Конвертация в миллисекунды
-            this.maxSize = maxSize;
-        }
-        
-        /**
-         * Получить значение из кэша
-         * @param key ключ
-         * @return Optional с значением или пустой если не найдено/устарело
-         */
-        public Optional<V> get(K key) {
-            CacheEntry<V> entry = cache.get(key);
-            
-            if (entry == null) {
-                return Optional.empty();
-            }
-            
-            // Проверка устаревания
-            if (System.currentTimeMillis() - entry.timestamp > ttl) {
-                cache.remove(key);
-                return Optional.empty();
-            }
-            
-            return Optional.of(entry.value);
+    public Map<String, Map<String, Object>> getStatistics() {
+        Map<String, Map<String, Object>> stats = new TreeMap<>();
+        for (Map.Entry<String, BoundedCache<?, ?>> entry : caches.entrySet()) {
+            stats.put(entry.getKey(), entry.getValue().getStatistics());
         }
-        
-        /**
-         * Получить значение из кэша или загрузить при отсутствии
-         * @param key ключ
-         * @param loader функция загрузки
-         * @return значение
-         */
-        public V getOrLoad(K key, Function<K, V> loader) {
-            Optional<V> cached = get(key);
-            if (cached.isPresent()) {
-                return cached.get();
-            }
-            
-            V loaded = loader.apply(key);
-            if (loaded != null) {
-                put(key, loaded);
-            }
-            
-            return loaded;
+        return stats;
+    }
+    
+    private synchronized void startMaintenance() {
+        if (maintenanceTask != null) {
+            return;
         }
-        
-        /**
-         * Поместить значение в кэш
-         * @param key ключ
-         * @param value значение
-         */
-        public void put(K key, V value) {
-            // Проверка максимального размера
-            if (cache.size() >= maxSize) {
-                // Удаление самой старой записи
-                K oldestKey = cache.keySet().iterator().next();
-                cache.remove(oldestKey);
+        maintenanceTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, () -> {
+            for (BoundedCache<?, ?> cache : caches.values()) {
+                cache.cleanup();
             }
-            
-            cache.put(key, new CacheEntry<>(value));
-        }
-        
-        /**
-         * Удалить значение из кэша
-         * @param key ключ
-         */
-        public void remove(K key) {
-            cache.remove(key);
-        }
-        
-        /**
-         * Очистить кэш
-         */
-        public void clear() {
-            cache.clear();
+        }, 20L, 20L);
+    }
+    
+    private synchronized ExecutorService refreshExecutor() {
+        if (refreshExecutor == null) {
+            refreshExecutor = Executors.newFixedThreadPool(2, new CacheThreadFactory());
         }
+        return refreshExecutor;
+    }
+    
+    private static final class CacheThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
         
-        /**
-         * Получить размер кэша
-         * @return размер кэша
-         */
-        public int size() {
-            return cache.size();
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "AXIOM-CacheRefresh-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
         }
+    }
+    
+    /**
+     * Кэш с автоматическим удалением устаревших записей
+     */
+    public static class Cache<K, V> extends BoundedCache<K, V> {
         
-        /**
-         * Очистка устаревших записей
-         */
-        public void cleanup() {
-            long currentTime = System.currentTimeMillis();
-            cache.entrySet().removeIf(entry -> 
-                currentTime - entry.getValue().timestamp > ttl
-            );
+        public Cache(long ttl, int maxSize) {
+            super(ttl, maxSize);
         }
         
-        /**
-         * Запись кэша
-         */
-        private static class CacheEntry<V> {
-            final V value;
-            final long timestamp;
-            
-            CacheEntry(V value) {
-                this.value = value;
-                this.timestamp = System.currentTimeMillis();
-            }
+        public Cache(long ttl, long maxWeight, BoundedCache.Weigher<? super K, ? super V> weigher,
+                     long refreshAfter, Executor refreshExecutor) {
+            super(ttl, maxWeight, weigher, refreshAfter, refreshExecutor);
         }
     }
     
     /**
-     * Кэш с вечной продолжительностью жизни
+     * Кэш с вечной продолжительностью жизни (вытесняются только редко используемые записи)
      */
-    public static class PermanentCache<K, V> {
-        private final Map<K, V> cache = new ConcurrentHashMap<>();
-        private final int maxSize;
+    public static class PermanentCache<K, V> extends BoundedCache<K, V> {
         
         public PermanentCache(int maxSize) {
-            this.maxSize = maxSize;
-        }
-        
-        public Optional<V> get(K key) {
-            return Optional.ofNullable(cache.get(key));
-        }
-        
-        public V getOrLoad(K key, Function<K, V> loader) {
-            V cached = cache.get(key);
-            if (cached != null) {
-                return cached;
-            }
-            
-            V loaded = loader.apply(key);
-            if (loaded != null) {
-                put(key, loaded);
-            }
-            
-            return loaded;
-        }
-        
-        public void put(K key, V value) {
-            if (cache.size() >= maxSize) {
-                // Удаление случайной записи при превышении лимита
-                K randomKey = cache.keySet().iterator().next();
-                cache.remove(randomKey);
-            }
-            
-            cache.put(key, value);
-        }
-        
-        public void remove(K key) {
-            cache.remove(key);
-        }
-        
-        public void clear() {
-            cache.clear();
-        }
-        
-        public int size() {
-            return cache.size();
+            super(0L, maxSize);
         }
     }
 }
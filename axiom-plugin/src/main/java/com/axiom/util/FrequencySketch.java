@@ -0,0 +1,80 @@
+package com.axiom.util;
+
+/**
+ * Count-Min Sketch с 4-битными счётчиками для оценки частоты обращений к ключу (TinyLFU).
+ * Четыре счётчика на ключ в одной таблице long; после {@code 10 × ёмкость} приращений все
+ * счётчики делятся пополам, чтобы старая популярность со временем забывалась.
+ * Не потокобезопасен: вызывается под блокировкой политики кэша.
+ */
+final class FrequencySketch {
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int size;
+
+    FrequencySketch(long maximumEntries) {
+        int capacity = Integer.highestOneBit((int) Math.max(16L, Math.min(maximumEntries, 1L << 24)) - 1) << 1;
+        this.table = new long[capacity];
+        this.mask = capacity - 1;
+        this.sampleSize = 10 * capacity;
+    }
+
+    /** Оценка частоты ключа (0..15). */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = 15;
+        for (int i = 0; i < 4; i++) {
+            frequency = Math.min(frequency, (int) ((table[indexOf(hash, i)] >>> offsetOf(hash, i)) & 0xFL));
+        }
+        return frequency;
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), offsetOf(hash, i));
+        }
+        if (added && ++size >= sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int offset) {
+        long counterMask = 0xFL << offset;
+        if ((table[index] & counterMask) != counterMask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size /= 2;
+    }
+
+    private int indexOf(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return (int) h & mask;
+    }
+
+    private static int offsetOf(int hash, int row) {
+        // 16 счётчиков по 4 бита в long; каждая строка берёт счётчик по своему байту хэша
+        return ((hash >>> (row << 3)) & 0xF) << 2;
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
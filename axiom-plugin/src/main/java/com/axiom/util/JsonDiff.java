@@ -0,0 +1,97 @@
+package com.axiom.util;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.Map;
+
+/**
+ * Поле-уровневый diff JSON-документов для push-протокола axiom:ui.
+ * <p>
+ * Объекты сравниваются рекурсивно по ключам; примитивы и массивы считаются листьями и
+ * заменяются целиком, поэтому списки, которые должны обновляться поэлементно, надо заранее
+ * превратить в объект «id → элемент». Результат — массив операций
+ * {@code {"p":["nation","population"],"v":12}} (установить значение) и
+ * {@code {"p":["nation"]}} (удалить ключ); путь — массив ключей, так что точки и прочие символы
+ * в id экранировать не нужно. Пустой массив означает, что документы равны.
+ */
+public final class JsonDiff {
+    public static final String PATH = "p";
+    public static final String VALUE = "v";
+
+    private JsonDiff() {
+    }
+
+    /** Операции, превращающие {@code from} в {@code to}. */
+    public static JsonArray diff(JsonObject from, JsonObject to) {
+        JsonArray ops = new JsonArray();
+        diff(from, to, new JsonArray(), ops);
+        return ops;
+    }
+
+    /** Применить операции к документу на месте; возвращает тот же объект. */
+    public static JsonObject apply(JsonObject document, JsonArray ops) {
+        for (JsonElement element : ops) {
+            JsonObject op = element.getAsJsonObject();
+            JsonArray path = op.getAsJsonArray(PATH);
+            if (path == null || path.size() == 0) {
+                continue;
+            }
+            JsonObject parent = document;
+            for (int i = 0; i < path.size() - 1 && parent != null; i++) {
+                String key = path.get(i).getAsString();
+                JsonElement child = parent.get(key);
+                if (child == null || !child.isJsonObject()) {
+                    if (!op.has(VALUE)) {
+                        parent = null;
+                        break;
+                    }
+                    child = new JsonObject();
+                    parent.add(key, child);
+                }
+                parent = child.getAsJsonObject();
+            }
+            if (parent == null) {
+                continue;
+            }
+            String leaf = path.get(path.size() - 1).getAsString();
+            if (op.has(VALUE)) {
+                parent.add(leaf, op.get(VALUE).deepCopy());
+            } else {
+                parent.remove(leaf);
+            }
+        }
+        return document;
+    }
+
+    private static void diff(JsonObject from, JsonObject to, JsonArray path, JsonArray ops) {
+        for (Map.Entry<String, JsonElement> entry : from.entrySet()) {
+            if (!to.has(entry.getKey())) {
+                ops.add(op(path, entry.getKey(), null));
+            }
+        }
+        for (Map.Entry<String, JsonElement> entry : to.entrySet()) {
+            JsonElement before = from.get(entry.getKey());
+            JsonElement after = entry.getValue();
+            if (before != null && before.isJsonObject() && after.isJsonObject()) {
+                JsonArray childPath = path.deepCopy();
+                childPath.add(entry.getKey());
+                diff(before.getAsJsonObject(), after.getAsJsonObject(), childPath, ops);
+            } else if (!after.equals(before)) {
+                ops.add(op(path, entry.getKey(), after));
+            }
+        }
+    }
+
+    private static JsonObject op(JsonArray path, String key, JsonElement value) {
+        JsonArray full = path.deepCopy();
+        full.add(key);
+        JsonObject op = new JsonObject();
+        op.add(PATH, full);
+        if (value != null) {
+            op.add(VALUE, value);
+        }
+        return op;
+    }
+}
@@ -0,0 +1,94 @@
+package com.axiom.util;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Потоковая запись JSON-файла через {@link JsonWriter}: данные пишутся в буферизованный
+ * поток по мере обхода, без промежуточного дерева JsonObject. Запись идёт во временный
+ * файл, который после {@link #commit()} атомарно заменяет целевой; без commit временный
+ * файл удаляется, а старый файл остаётся нетронутым. Разрешение {@link SnapshotBarrier}
+ * берётся только на время подмены в {@link #commit()}: временные файлы в снимок не попадают,
+ * поэтому долгая запись (например, веб-экспорт) не задерживает заморозку.
+ */
+public final class JsonFileWriter implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path target;
+    private final Path temp;
+    private final JsonWriter writer;
+    private boolean closed;
+
+    private JsonFileWriter(File target, boolean pretty) throws IOException {
+        File parent = target.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        this.target = target.toPath();
+        this.temp = new File(target.getPath() + ".tmp").toPath();
+        this.writer = new JsonWriter(new BufferedWriter(
+            new OutputStreamWriter(Files.newOutputStream(temp), StandardCharsets.UTF_8), BUFFER_SIZE));
+        // Как и gson.toJson(дерево): NaN и бесконечности пишутся литералами, а не роняют запись
+        writer.setLenient(true);
+        if (pretty) {
+            writer.setIndent("  ");
+        }
+    }
+
+    public static JsonFileWriter open(File target, boolean pretty) throws IOException {
+        return new JsonFileWriter(target, pretty);
+    }
+
+    /** Записать файл целиком: тело пишет JSON, после успешного завершения файл подменяется. */
+    public static void write(File target, boolean pretty, Body body) throws IOException {
+        try (JsonFileWriter file = open(target, pretty)) {
+            body.write(file.writer());
+            file.commit();
+        }
+    }
+
+    public JsonWriter writer() {
+        return writer;
+    }
+
+    public void commit() throws IOException {
+        writer.close();
+        closed = true;
+        SnapshotBarrier.enterWrite();
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            SnapshotBarrier.exitWrite();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writer.close();
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Body {
+        void write(JsonWriter out) throws IOException;
+    }
+}
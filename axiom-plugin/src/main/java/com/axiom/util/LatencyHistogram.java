@@ -0,0 +1,204 @@
+package com.axiom.util;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Неблокирующая гистограмма задержек в наносекундах (лог-линейные корзины в духе HdrHistogram).
+ * <p>
+ * Значения до 16 нс хранятся точно, дальше каждая степень двойки делится на 16 линейных
+ * корзин — относительная погрешность не больше 6,25%, диапазон до ~2^40 нс (18 минут), более
+ * длинные значения попадают в последнюю корзину. Корзины — {@link LongAdder}, создаваемые при
+ * первом попадании, поэтому запись из многих потоков не конкурирует за одну ячейку, а
+ * гистограмма операции занимает память только под реально встреченные диапазоны.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int MAX_EXPONENT = 40;
+    static final int BUCKETS = SUB_COUNT + (MAX_EXPONENT - SUB_BITS + 1) * SUB_COUNT;
+
+    private final AtomicReferenceArray<LongAdder> buckets = new AtomicReferenceArray<>(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+    private final LongAccumulator intervalMax = new LongAccumulator(Math::max, 0L);
+    // Накопленные значения на момент прошлого интервального снимка
+    private long[] intervalBase = new long[0];
+    private long intervalBaseSum;
+
+    /** Записать длительность в наносекундах (отрицательные значения считаются нулём). */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        int index = indexOf(value);
+        LongAdder bucket = buckets.get(index);
+        if (bucket == null) {
+            buckets.compareAndSet(index, null, new LongAdder());
+            bucket = buckets.get(index);
+        }
+        bucket.increment();
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+        intervalMax.accumulate(value);
+    }
+
+    /** Снимок за всё время с последнего {@link #reset()}. */
+    public Snapshot snapshot() {
+        return new Snapshot(readCounts(), sum.sum(), max.get());
+    }
+
+    /**
+     * Снимок только того, что записано после предыдущего вызова этого метода (или reset).
+     * Записи, идущие одновременно со снимком, попадают в этот или следующий интервал.
+     */
+    public synchronized Snapshot intervalSnapshot() {
+        long[] counts = readCounts();
+        long total = sum.sum();
+        long[] delta = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            delta[i] = counts[i] - (i < intervalBase.length ? intervalBase[i] : 0L);
+        }
+        Snapshot snapshot = new Snapshot(delta, total - intervalBaseSum, intervalMax.getThenReset());
+        intervalBase = counts;
+        intervalBaseSum = total;
+        return snapshot;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return sum.sum();
+    }
+
+    public synchronized void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            LongAdder bucket = buckets.get(i);
+            if (bucket != null) {
+                bucket.reset();
+            }
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+        intervalMax.reset();
+        intervalBase = new long[0];
+        intervalBaseSum = 0L;
+    }
+
+    private long[] readCounts() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            LongAdder bucket = buckets.get(i);
+            if (bucket != null) {
+                counts[i] = bucket.sum();
+            }
+        }
+        return counts;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int shift = exponent - SUB_BITS;
+        int sub = (int) (value >>> shift) - SUB_COUNT;
+        return SUB_COUNT + shift * SUB_COUNT + sub;
+    }
+
+    /** Наибольшее значение, попадающее в корзину. */
+    static long highestValueOf(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_COUNT) / SUB_COUNT;
+        long sub = (index - SUB_COUNT) % SUB_COUNT + SUB_COUNT;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    /** Неизменяемый снимок гистограммы. */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sumNanos;
+        private final long maxNanos;
+
+        Snapshot(long[] counts, long sumNanos, long maxNanos) {
+            long total = 0L;
+            for (long c : counts) {
+                total += c;
+            }
+            this.counts = counts;
+            this.count = total;
+            this.sumNanos = sumNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getSumNanos() {
+            return sumNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public double getMeanNanos() {
+            return count == 0 ? 0.0 : (double) sumNanos / count;
+        }
+
+        /**
+         * Значение, не меньше которого {@code quantile} всех записей (верхняя граница корзины,
+         * но не больше максимума).
+         * @param quantile от 0 до 1, например 0.99
+         */
+        public long percentileNanos(double quantile) {
+            if (count == 0) {
+                return 0L;
+            }
+            long rank = Math.max(1L, (long) Math.ceil(quantile * count));
+            long seen = 0L;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return maxNanos > 0 ? Math.min(highestValueOf(i), maxNanos) : highestValueOf(i);
+                }
+            }
+            return maxNanos;
+        }
+
+        /**
+         * Число записей не больше {@code nanos}; корзина, в которую попадает граница, считается
+         * целиком только если её верхняя граница не превышает {@code nanos}.
+         */
+        public long countAtMost(long nanos) {
+            long total = 0L;
+            for (int i = 0; i < counts.length && highestValueOf(i) <= nanos; i++) {
+                total += counts[i];
+            }
+            return total;
+        }
+
+        public double percentileMillis(double quantile) {
+            return percentileNanos(quantile) / 1_000_000.0;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos / 1_000_000.0;
+        }
+
+        public double getMeanMillis() {
+            return getMeanNanos() / 1_000_000.0;
+        }
+    }
+}
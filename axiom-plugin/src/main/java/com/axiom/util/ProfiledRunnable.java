@@ -0,0 +1,46 @@
+package com.axiom.util;
+
+import com.axiom.AXIOM;
+import com.axiom.kernel.AllocationProfiler;
+import com.axiom.kernel.TickProfiler;
+import org.bukkit.scheduler.BukkitRunnable;
+
+/**
+ * {@link BukkitRunnable}, время выполнения которого на главном потоке учитывается в
+ * {@link TickProfiler} за классом, создавшим задачу (для анонимных классов — за внешним).
+ * Нужен для собственных таймеров, которые нельзя перенести в SimulationScheduler, например
+ * анимаций, отменяющих себя через {@link #cancel()}. Если включён {@link AllocationProfiler},
+ * за тем же классом учитываются и байты, выделенные задачей.
+ */
+public abstract class ProfiledRunnable extends BukkitRunnable {
+    private final TickProfiler profiler;
+    private final AllocationProfiler allocations;
+    private final String owner;
+
+    protected ProfiledRunnable(AXIOM plugin) {
+        this.profiler = plugin != null ? plugin.getTickProfiler() : null;
+        this.allocations = plugin != null ? plugin.getAllocationProfiler() : null;
+        this.owner = TickProfiler.ownerOf(this);
+    }
+
+    @Override
+    public final void run() {
+        if (profiler == null) {
+            tick();
+            return;
+        }
+        long start = profiler.start();
+        long allocationStart = allocations != null ? allocations.start() : AllocationProfiler.NOT_MEASURED;
+        try {
+            tick();
+        } finally {
+            if (allocationStart != AllocationProfiler.NOT_MEASURED) {
+                allocations.stop(owner, allocationStart);
+            }
+            profiler.stop(owner, start);
+        }
+    }
+
+    /** Тело задачи, вызывается на каждом срабатывании таймера. */
+    protected abstract void tick();
+}
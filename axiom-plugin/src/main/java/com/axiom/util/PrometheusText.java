@@ -0,0 +1,108 @@
+package com.axiom.util;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Построитель текстового формата экспозиции Prometheus (версия 0.0.4).
+ * <p>
+ * Строки {@code # HELP} и {@code # TYPE} пишутся один раз на семейство метрик, при первом
+ * значении; значения одного семейства должны идти подряд. Метки задаются парами
+ * «имя, значение», значения экранируются. Гистограмма строится из снимка
+ * {@link LatencyHistogram} по фиксированным границам в секундах; из-за лог-линейных корзин
+ * счётчик у границы может отличаться от точного не больше чем на ширину одной корзины (6,25%).
+ */
+public final class PrometheusText {
+    /** Границы корзин гистограмм длительности, секунды. */
+    public static final double[] DURATION_BUCKETS = {
+        0.0001, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1.0, 2.5, 5.0
+    };
+
+    private final StringBuilder out = new StringBuilder(8192);
+    private final Set<String> declared = new HashSet<>();
+
+    public PrometheusText gauge(String name, String help, double value, String... labels) {
+        return sample(name, "gauge", help, name, value, labels);
+    }
+
+    /** Счётчик; имя по соглашению оканчивается на {@code _total}. */
+    public PrometheusText counter(String name, String help, double value, String... labels) {
+        return sample(name, "counter", help, name, value, labels);
+    }
+
+    /** Гистограмма в секундах: {@code _bucket} по {@link #DURATION_BUCKETS}, {@code _sum}, {@code _count}. */
+    public PrometheusText histogram(String name, String help, LatencyHistogram.Snapshot snapshot, String... labels) {
+        String[] withLe = new String[labels.length + 2];
+        System.arraycopy(labels, 0, withLe, 0, labels.length);
+        withLe[labels.length] = "le";
+        for (double bound : DURATION_BUCKETS) {
+            withLe[labels.length + 1] = BigDecimal.valueOf(bound).stripTrailingZeros().toPlainString();
+            sample(name, "histogram", help, name + "_bucket", snapshot.countAtMost((long) (bound * 1_000_000_000L)), withLe);
+        }
+        withLe[labels.length + 1] = "+Inf";
+        sample(name, "histogram", help, name + "_bucket", snapshot.getCount(), withLe);
+        sample(name, "histogram", help, name + "_sum", snapshot.getSumNanos() / 1_000_000_000.0, labels);
+        return sample(name, "histogram", help, name + "_count", snapshot.getCount(), labels);
+    }
+
+    private PrometheusText sample(String family, String type, String help, String name, double value, String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name/value pairs: " + family);
+        }
+        if (declared.add(family)) {
+            out.append("# HELP ").append(family).append(' ').append(escapeHelp(help)).append('\n');
+            out.append("# TYPE ").append(family).append(' ').append(type).append('\n');
+        }
+        out.append(name);
+        if (labels.length > 0) {
+            out.append('{');
+            for (int i = 0; i < labels.length; i += 2) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append(labels[i]).append("=\"");
+                escapeLabel(labels[i + 1] == null ? "" : labels[i + 1]);
+                out.append('"');
+            }
+            out.append('}');
+        }
+        out.append(' ').append(format(value)).append('\n');
+        return this;
+    }
+
+    private void escapeLabel(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                out.append('\\').append(c);
+            } else if (c == '\n') {
+                out.append("\\n");
+            } else {
+                out.append(c);
+            }
+        }
+    }
+
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+}
@@ -0,0 +1,232 @@
+package com.axiom.util;
+
+import java.io.IOException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Барьер согласованного снимка данных плагина.
+ * <p>
+ * Каждая подмена файла данных (переименование временного файла поверх целевого) держит
+ * разделяемое разрешение ({@link #enterWrite()} / {@link #exitWrite()}) — это делают
+ * {@link AtomicFileWriter} и {@link JsonFileWriter}. Сама запись во временный файл идёт без
+ * разрешения: файлы {@code *.tmp} в снимок не попадают.
+ * {@link #freeze} сначала просит участников сбросить отложенные записи и без блокировки
+ * обходит каталог, затем на короткое время берёт эксклюзивную блокировку (новые записи ждут,
+ * начатые дописываются) и делает жёсткие ссылки на найденные файлы в промежуточный каталог.
+ * Все записи идут через временный файл и атомарную подмену, поэтому связанные файлы больше не
+ * меняются: архив строится из замороженного вида в фоне, а игра стоит только на время создания
+ * ссылок. Файл, удалённый после обхода, в снимок не попадает; файл, созданный после обхода, —
+ * попадёт в следующий.
+ * <p>
+ * Исключение — встроенные базы данных ({@link Database}): SQLite пишет свои файлы на месте и
+ * барьер не берёт, поэтому жёсткая ссылка была бы живым псевдонимом базы. Файлы зарегистрированной
+ * базы (основной и {@code -wal}/{@code -shm}/{@code -journal}) пропускаются, а база сама
+ * записывает в промежуточный каталог согласованную копию ещё до блокировки: {@code VACUUM INTO}
+ * читает базу одной транзакцией и писателей барьера не задерживает.
+ */
+public final class SnapshotBarrier {
+    private static final long FREEZE_TIMEOUT_SECONDS = 10L;
+    private static final ReentrantReadWriteLock LOCK = new ReentrantReadWriteLock();
+    private static final List<Participant> PARTICIPANTS = new CopyOnWriteArrayList<>();
+    private static final List<Database> DATABASES = new CopyOnWriteArrayList<>();
+    private static final String[] DATABASE_SIDE_FILES = {"-wal", "-shm", "-journal"};
+    // Временные файлы писателей меняются на месте, ссылка на них была бы живой
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private SnapshotBarrier() {
+    }
+
+    /** Хранилище с отложенной записью (write-behind), которое нужно сбросить перед снимком. */
+    @FunctionalInterface
+    public interface Participant {
+        void quiesce() throws IOException;
+    }
+
+    /** База данных, которая пишет файлы на месте и сама делает свою копию для снимка. */
+    public interface Database {
+        /** Основной файл базы. */
+        Path file();
+
+        /** Записать согласованную копию базы в {@code destination} (файла там ещё нет). */
+        void backupTo(Path destination) throws IOException;
+    }
+
+    public static void register(Participant participant) {
+        PARTICIPANTS.add(participant);
+    }
+
+    public static void unregister(Participant participant) {
+        PARTICIPANTS.remove(participant);
+    }
+
+    public static void registerDatabase(Database database) {
+        DATABASES.add(database);
+    }
+
+    public static void unregisterDatabase(Database database) {
+        DATABASES.remove(database);
+    }
+
+    /** Начало записи файла данных; парный вызов {@link #exitWrite()} обязателен. */
+    public static void enterWrite() {
+        LOCK.readLock().lock();
+    }
+
+    public static void exitWrite() {
+        LOCK.readLock().unlock();
+    }
+
+    /**
+     * Заморозить {@code source} в {@code staging} жёсткими ссылками (копированием, если ФС
+     * их не поддерживает). Вызывать не из потока, который сам держит разрешение на запись.
+     */
+    public static Frozen freeze(Path source, Path staging, Predicate<String> include) throws IOException {
+        for (Participant participant : PARTICIPANTS) {
+            participant.quiesce();
+        }
+        Path root = source.toAbsolutePath().normalize();
+        List<Database> databases = new ArrayList<>();
+        Set<Path> databaseFiles = new HashSet<>();
+        for (Database database : DATABASES) {
+            Path file = database.file().toAbsolutePath().normalize();
+            if (file.startsWith(root)) {
+                databases.add(database);
+                databaseFiles.add(file);
+                for (String suffix : DATABASE_SIDE_FILES) {
+                    databaseFiles.add(file.resolveSibling(file.getFileName() + suffix));
+                }
+            }
+        }
+        // Обход каталога и копия базы (VACUUM INTO — и так согласованное чтение) идут до
+        // блокировки, чтобы записи не ждали их
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(source)) {
+            files = walk.filter(Files::isRegularFile)
+                .filter(path -> !path.getFileName().toString().endsWith(TEMP_SUFFIX))
+                .filter(path -> !databaseFiles.contains(path.toAbsolutePath().normalize()))
+                .filter(path -> include.test(relative(source, path)))
+                .collect(Collectors.toList());
+        }
+        int linked = 0;
+        int copied = 0;
+        for (Database database : databases) {
+            Path destination = staging.resolve(root.relativize(database.file().toAbsolutePath().normalize()).toString());
+            Files.createDirectories(destination.getParent());
+            database.backupTo(destination);
+            copied++;
+        }
+        for (Path file : files) {
+            Files.createDirectories(staging.resolve(source.relativize(file).toString()).getParent());
+        }
+
+        long waitStarted = System.nanoTime();
+        try {
+            if (!LOCK.writeLock().tryLock(FREEZE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IOException("Timed out waiting for data writes to finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while freezing data", e);
+        }
+        long frozenAt = System.nanoTime();
+        try {
+            for (Path file : files) {
+                Path destination = staging.resolve(source.relativize(file).toString());
+                try {
+                    Files.createLink(destination, file);
+                    linked++;
+                } catch (NoSuchFileException e) {
+                    // Удалён после обхода (например, временный файл записи) — в снимке его нет
+                } catch (UnsupportedOperationException | FileSystemException e) {
+                    try {
+                        Files.copy(file, destination, StandardCopyOption.COPY_ATTRIBUTES);
+                        copied++;
+                    } catch (NoSuchFileException ignored) {
+                        // Удалён после обхода
+                    }
+                }
+            }
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+        long now = System.nanoTime();
+        return new Frozen(linked, copied, (frozenAt - waitStarted) / 1_000_000L, (now - frozenAt) / 1_000_000L);
+    }
+
+    /**
+     * Выполнить действие, пока все записи данных остановлены (например, восстановление).
+     */
+    public static void exclusive(IORunnable action) throws IOException {
+        try {
+            if (!LOCK.writeLock().tryLock(FREEZE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IOException("Timed out waiting for data writes to finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for data writes", e);
+        }
+        try {
+            action.run();
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+    }
+
+    static String relative(Path root, Path file) {
+        return root.relativize(file).toString().replace('\\', '/');
+    }
+
+    @FunctionalInterface
+    public interface IORunnable {
+        void run() throws IOException;
+    }
+
+    /** Итог заморозки: сколько файлов связано/скопировано и сколько длились ожидание и пауза. */
+    public static final class Frozen {
+        private final int linked;
+        private final int copied;
+        private final long waitMillis;
+        private final long pauseMillis;
+
+        Frozen(int linked, int copied, long waitMillis, long pauseMillis) {
+            this.linked = linked;
+            this.copied = copied;
+            this.waitMillis = waitMillis;
+            this.pauseMillis = pauseMillis;
+        }
+
+        public int getFiles() {
+            return linked + copied;
+        }
+
+        public int getLinked() {
+            return linked;
+        }
+
+        public int getCopied() {
+            return copied;
+        }
+
+        public long getWaitMillis() {
+            return waitMillis;
+        }
+
+        public long getPauseMillis() {
+            return pauseMillis;
+        }
+    }
+}
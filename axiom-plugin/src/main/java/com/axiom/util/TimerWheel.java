@@ -0,0 +1,79 @@
+package com.axiom.util;
+
+import java.util.function.Consumer;
+
+/**
+ * Хэшированное колесо таймеров для истечения TTL записей кэша.
+ * <p>
+ * 64 корзины по ~1,07 с (2^30 нс); запись попадает в корзину своего момента истечения.
+ * {@link #advance} проходит только корзины, через которые прошло время, и снимает
+ * истёкшие записи — без сканирования всего кэша. Записи, истекающие через полный оборот
+ * и позже, остаются в корзине до своего оборота. Не потокобезопасно: вызывается под
+ * блокировкой кэша.
+ */
+final class TimerWheel<N extends TimerWheel.Timed> {
+    static final int SHIFT = 30;
+    static final int BUCKETS = 64;
+
+    private final Timed[] buckets = new Timed[BUCKETS];
+    private long currentTick;
+
+    /** Узел колеса; {@code expiresAt} читается без блокировки, поэтому volatile. */
+    abstract static class Timed {
+        volatile long expiresAt;
+        Timed wheelPrev;
+        Timed wheelNext;
+    }
+
+    TimerWheel(long nowNanos) {
+        for (int i = 0; i < BUCKETS; i++) {
+            Timed sentinel = new Sentinel();
+            sentinel.wheelPrev = sentinel;
+            sentinel.wheelNext = sentinel;
+            buckets[i] = sentinel;
+        }
+        this.currentTick = nowNanos >> SHIFT;
+    }
+
+    /** Поставить (или переставить) узел по его текущему {@code expiresAt}. */
+    void schedule(Timed node) {
+        deschedule(node);
+        Timed sentinel = buckets[(int) ((node.expiresAt >> SHIFT) & (BUCKETS - 1))];
+        node.wheelPrev = sentinel.wheelPrev;
+        node.wheelNext = sentinel;
+        sentinel.wheelPrev.wheelNext = node;
+        sentinel.wheelPrev = node;
+    }
+
+    void deschedule(Timed node) {
+        if (node.wheelNext != null) {
+            node.wheelPrev.wheelNext = node.wheelNext;
+            node.wheelNext.wheelPrev = node.wheelPrev;
+            node.wheelPrev = null;
+            node.wheelNext = null;
+        }
+    }
+
+    /** Снять все узлы, истёкшие к {@code nowNanos}, и передать их {@code onExpired}. */
+    @SuppressWarnings("unchecked")
+    void advance(long nowNanos, Consumer<N> onExpired) {
+        long targetTick = nowNanos >> SHIFT;
+        long steps = Math.min(targetTick - currentTick, BUCKETS - 1);
+        for (long tick = targetTick - steps; tick <= targetTick; tick++) {
+            Timed sentinel = buckets[(int) (tick & (BUCKETS - 1))];
+            Timed node = sentinel.wheelNext;
+            while (node != sentinel) {
+                Timed next = node.wheelNext;
+                if (node.expiresAt - nowNanos <= 0) {
+                    deschedule(node);
+                    onExpired.accept((N) node);
+                }
+                node = next;
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick);
+    }
+
+    private static final class Sentinel extends Timed {
+    }
+}
@@ -0,0 +1,56 @@
+package com.axiom.util;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Ограничитель частоты «ведро токенов»: ведро вмещает {@code burst} токенов и пополняется со
+ * скоростью {@code ratePerSecond}; каждый запрос забирает один токен. Короткий всплеск до
+ * {@code burst} запросов проходит, а долгий поток упирается в {@code ratePerSecond}.
+ * <p>
+ * Пополнение считается лениво при обращении, отдельного таймера нет. Методы синхронизированы
+ * на самом ведре — ведро заводится на одного игрока, поэтому конкуренции практически нет.
+ */
+public final class TokenBucket {
+    private final double ratePerNano;
+    private final double burst;
+    private final LongSupplier nanoClock;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        this(ratePerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double ratePerSecond, int burst, LongSupplier nanoClock) {
+        this.ratePerNano = Math.max(0.0, ratePerSecond) / 1_000_000_000.0;
+        this.burst = Math.max(1, burst);
+        this.nanoClock = nanoClock;
+        this.tokens = this.burst;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    /** Забрать токен; {@code false}, если ведро пусто и запрос надо отклонить. */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens < 1.0) {
+            return false;
+        }
+        tokens -= 1.0;
+        return true;
+    }
+
+    /** Ведро снова полное: игрок давно не слал запросов, запись о нём можно удалить. */
+    public synchronized boolean isFull() {
+        refill();
+        return tokens >= burst;
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        long elapsed = now - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(burst, tokens + elapsed * ratePerNano);
+            lastRefillNanos = now;
+        }
+    }
+}
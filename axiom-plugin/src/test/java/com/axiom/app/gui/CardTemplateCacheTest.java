@@ -0,0 +1,65 @@
+package com.axiom.app.gui;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+public class CardTemplateCacheTest {
+
+    @After
+    public void clearCache() {
+        CardTemplateCache.clear();
+    }
+
+    @Test
+    public void sameKeyAndSignatureReuseTemplate() {
+        AtomicInteger builds = new AtomicInteger();
+        Supplier<ItemStack> build = () -> {
+            builds.incrementAndGet();
+            return new ItemStack(Material.BOOK);
+        };
+        CardTemplateCache.Key key = new CardTemplateCache.Key("book:Технологии", null, "normal");
+
+        ItemStack first = CardTemplateCache.render(key, "desc", build, Collections::emptyList);
+        ItemStack second = CardTemplateCache.render(new CardTemplateCache.Key("book:Технологии", null, "normal"), "desc", build, Collections::emptyList);
+
+        assertEquals(1, builds.get());
+        assertEquals(1, CardTemplateCache.size());
+        assertNotSame(first, second);
+        assertEquals(first.getType(), second.getType());
+    }
+
+    @Test
+    public void returnedItemDoesNotChangeTemplate() {
+        CardTemplateCache.Key key = new CardTemplateCache.Key("book:Технологии", null, "normal");
+
+        ItemStack first = CardTemplateCache.render(key, "desc", () -> new ItemStack(Material.BOOK), Collections::emptyList);
+        first.setAmount(5);
+        ItemStack second = CardTemplateCache.render(key, "desc", () -> new ItemStack(Material.STONE), Collections::emptyList);
+
+        assertEquals(Material.BOOK, second.getType());
+        assertEquals(1, second.getAmount());
+    }
+
+    @Test
+    public void stateIsPartOfTheKey() {
+        AtomicInteger builds = new AtomicInteger();
+        Supplier<ItemStack> build = () -> {
+            builds.incrementAndGet();
+            return new ItemStack(Material.BOOK);
+        };
+
+        CardTemplateCache.render(new CardTemplateCache.Key("book:Технологии", null, "normal"), "desc", build, Collections::emptyList);
+        CardTemplateCache.render(new CardTemplateCache.Key("book:Технологии", null, "hovered"), "desc", build, Collections::emptyList);
+
+        assertEquals(2, builds.get());
+        assertEquals(2, CardTemplateCache.size());
+    }
+}
@@ -0,0 +1,185 @@
+package com.axiom.app.gui;
+
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryView;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class MenuRegistryTest {
+
+    @Test
+    public void clickOnRegisteredInventoryIsRoutedAndCancelled() {
+        MenuRegistry registry = new MenuRegistry();
+        FakePlayer viewer = new FakePlayer(true);
+        Inventory menu = inventory(viewer.viewers);
+        List<InventoryClickEvent> routed = new ArrayList<>();
+
+        registry.open(viewer.player, menu, event -> {
+            event.setCancelled(true);
+            routed.add(event);
+        });
+        InventoryClickEvent click = click(viewer.player.getOpenInventory());
+        registry.onInventoryClick(click);
+
+        assertEquals(1, registry.getOpenMenuCount());
+        assertEquals(1, routed.size());
+        assertSame(click, routed.get(0));
+        assertTrue(click.isCancelled());
+    }
+
+    @Test
+    public void clickOnOtherInventoryIsIgnored() {
+        MenuRegistry registry = new MenuRegistry();
+        FakePlayer viewer = new FakePlayer(true);
+        List<InventoryClickEvent> routed = new ArrayList<>();
+        registry.open(viewer.player, inventory(viewer.viewers), routed::add);
+
+        InventoryClickEvent click = click(new FakeView(inventory(viewer.viewers), viewer.player));
+        registry.onInventoryClick(click);
+
+        assertTrue(routed.isEmpty());
+        assertFalse(click.isCancelled());
+    }
+
+    @Test
+    public void closingLastViewerUnregistersMenu() {
+        MenuRegistry registry = new MenuRegistry();
+        FakePlayer viewer = new FakePlayer(true);
+        List<InventoryClickEvent> routed = new ArrayList<>();
+        registry.open(viewer.player, inventory(viewer.viewers), routed::add);
+        InventoryView view = viewer.player.getOpenInventory();
+
+        registry.onInventoryClose(new InventoryCloseEvent(view));
+        registry.onInventoryClick(click(view));
+
+        assertEquals(0, registry.getOpenMenuCount());
+        assertTrue(routed.isEmpty());
+    }
+
+    @Test
+    public void cancelledOpenIsNotRegistered() {
+        MenuRegistry registry = new MenuRegistry();
+        FakePlayer viewer = new FakePlayer(false);
+
+        registry.open(viewer.player, inventory(viewer.viewers), event -> fail("routed"));
+
+        assertEquals(0, registry.getOpenMenuCount());
+    }
+
+    private static InventoryClickEvent click(InventoryView view) {
+        return new InventoryClickEvent(view, InventoryType.SlotType.CONTAINER, 0, ClickType.LEFT, InventoryAction.PICKUP_ALL);
+    }
+
+    private static Inventory inventory(List<HumanEntity> viewers) {
+        return (Inventory) Proxy.newProxyInstance(
+            Inventory.class.getClassLoader(),
+            new Class<?>[]{Inventory.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getViewers":
+                        return viewers;
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "Inventory";
+                    default:
+                        return null;
+                }
+            }
+        );
+    }
+
+    /** Player whose openInventory succeeds, or is cancelled like by another plugin. */
+    private static final class FakePlayer {
+        private final List<HumanEntity> viewers = new ArrayList<>();
+        private final UUID id = UUID.randomUUID();
+        private final Player player;
+        private InventoryView open;
+
+        private FakePlayer(boolean opens) {
+            player = (Player) Proxy.newProxyInstance(
+                Player.class.getClassLoader(),
+                new Class<?>[]{Player.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "openInventory":
+                            if (opens && args[0] instanceof Inventory) {
+                                open = new FakeView((Inventory) args[0], (Player) proxy);
+                                viewers.add((Player) proxy);
+                            }
+                            return open;
+                        case "getOpenInventory":
+                            return open;
+                        case "getUniqueId":
+                            return id;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "Player";
+                        default:
+                            return null;
+                    }
+                }
+            );
+        }
+    }
+
+    private static final class FakeView extends InventoryView {
+        private final Inventory top;
+        private final Player player;
+
+        private FakeView(Inventory top, Player player) {
+            this.top = top;
+            this.player = player;
+        }
+
+        @Override
+        public Inventory getTopInventory() {
+            return top;
+        }
+
+        @Override
+        public Inventory getBottomInventory() {
+            return null;
+        }
+
+        @Override
+        public HumanEntity getPlayer() {
+            return player;
+        }
+
+        @Override
+        public InventoryType getType() {
+            return InventoryType.CHEST;
+        }
+
+        @Override
+        public String getTitle() {
+            return "Menu";
+        }
+
+        public String getOriginalTitle() {
+            return "Menu";
+        }
+
+        public void setTitle(String title) {
+        }
+    }
+}
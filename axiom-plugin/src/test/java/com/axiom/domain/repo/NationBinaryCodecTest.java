@@ -0,0 +1,155 @@
+package com.axiom.domain.repo;
+
+import com.axiom.domain.model.Nation;
+import com.google.gson.JsonParser;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class NationBinaryCodecTest {
+
+    @Test
+    public void roundTripMatchesJsonCodec() throws IOException {
+        Nation original = sampleNation("alpha", 40, 10);
+
+        Nation fromBinary = NationBinaryCodec.decode(NationBinaryCodec.encode(original), "AXC");
+        Nation fromJson = NationJsonCodec.deserialize(
+            JsonParser.parseString(NationJsonCodec.serialize(original).toString()).getAsJsonObject(), "AXC");
+
+        assertSameNation(fromJson, fromBinary);
+        assertSameNation(original, fromBinary);
+    }
+
+    @Test
+    public void nonCanonicalClaimKeysRoundTripVerbatim() throws IOException {
+        Nation nation = new Nation("odd", "Odd", UUID.randomUUID(), "AXC", 0.0);
+        nation.getClaimedChunkKeys().addAll(Arrays.asList(
+            "world:01:2", "legacy-key", "my:world:3:-4", "world_nether:-2147483648:2147483647"));
+
+        Nation decoded = NationBinaryCodec.decode(NationBinaryCodec.encode(nation), "AXC");
+
+        assertEquals(nation.getClaimedChunkKeys(), decoded.getClaimedChunkKeys());
+        // Capital falls back to the first claim, as in the JSON codec
+        assertNotNull(decoded.getCapitalChunkStr());
+    }
+
+    @Test
+    public void unknownFieldsAreSkipped() throws IOException {
+        Nation nation = sampleNation("beta", 3, 2);
+        byte[] encoded = NationBinaryCodec.encode(nation);
+        assertEquals(0, encoded[encoded.length - 1]);
+
+        // Append fields a newer writer might add before the terminator: field 99 varint 150,
+        // field 100 fixed64, field 101 three bytes (tags are two-byte varints)
+        byte[] extra = {
+            (byte) 0x98, 0x06, (byte) 0x96, 0x01,
+            (byte) 0xA1, 0x06, 1, 2, 3, 4, 5, 6, 7, 8,
+            (byte) 0xAA, 0x06, 3, 'x', 'y', 'z',
+            0
+        };
+        byte[] extended = Arrays.copyOf(encoded, encoded.length - 1 + extra.length);
+        System.arraycopy(extra, 0, extended, encoded.length - 1, extra.length);
+
+        assertSameNation(nation, NationBinaryCodec.decode(extended, "AXC"));
+    }
+
+    @Test
+    public void rejectsNewerVersionAndTruncatedData() {
+        byte[] encoded = NationBinaryCodec.encode(sampleNation("gamma", 5, 2));
+        byte[] newer = encoded.clone();
+        newer[NationBinaryCodec.MAGIC.length] = (byte) (NationBinaryCodec.VERSION + 1);
+        try {
+            NationBinaryCodec.decode(newer, "AXC");
+            fail("newer version must be rejected");
+        } catch (IOException expected) {
+            assertTrue(expected.getMessage().contains("version"));
+        }
+        try {
+            NationBinaryCodec.decode(Arrays.copyOf(encoded, encoded.length / 2), "AXC");
+            fail("truncated data must be rejected");
+        } catch (IOException expected) {
+            // ok
+        }
+        assertFalse(NationBinaryCodec.isBinary("{\"id\":1}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void binaryIsSeveralTimesSmallerThanJson() {
+        Nation nation = sampleNation("large", 2_000, 200);
+
+        int json = NationJsonCodec.serialize(nation).toString().getBytes(StandardCharsets.UTF_8).length;
+        int binary = NationBinaryCodec.encode(nation).length;
+
+        assertTrue("json=" + json + " binary=" + binary, binary * 4 < json);
+    }
+
+    @Test
+    public void zigzagRoundTrips() {
+        for (long value : new long[] {0, 1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            assertEquals(value, NationBinaryCodec.unzigzagLong(NationBinaryCodec.zigzag(value)));
+        }
+    }
+
+    private static Nation sampleNation(String id, int claims, int citizens) {
+        Nation nation = new Nation(id, "Nation " + id, UUID.randomUUID(), "AXC", 1234.5);
+        for (int i = 0; i < claims; i++) {
+            nation.getClaimedChunkKeys().add((i % 3 == 0 ? "world_nether" : "world") + ":" + (i % 50 - 25) + ":" + (i / 50 - 7));
+        }
+        nation.setCapitalChunkStr("world:-25:-7");
+        nation.setMotto("Мир и труд");
+        nation.setInflation(1.5);
+        nation.setTaxRate(-3);
+        nation.setExchangeRateToAXC(0.75);
+        nation.getAllies().add("beta");
+        nation.getEnemies().add("gamma");
+        nation.getTabIcons().put("economy", "GOLD_INGOT");
+        nation.getReputation().put("beta", -40);
+        nation.getPendingAlliance().add("delta");
+        nation.getHistory().add("founded");
+        nation.getHistory().add("founded");
+        nation.setBudgetHealth(7.25);
+        nation.setGovernmentType("monarchy");
+        nation.setFlagIconMaterial(null);
+        for (int i = 0; i < citizens; i++) {
+            UUID citizen = UUID.randomUUID();
+            nation.getCitizens().add(citizen);
+            if (i % 4 == 0) {
+                nation.getRoles().put(citizen, Nation.Role.values()[i % Nation.Role.values().length]);
+            }
+        }
+        return nation;
+    }
+
+    private static void assertSameNation(Nation expected, Nation actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getLeader(), actual.getLeader());
+        assertEquals(expected.getCapitalChunkStr(), actual.getCapitalChunkStr());
+        assertEquals(expected.getCurrencyCode(), actual.getCurrencyCode());
+        assertEquals(expected.getExchangeRateToAXC(), actual.getExchangeRateToAXC(), 0.0);
+        assertEquals(expected.getMotto(), actual.getMotto());
+        assertEquals(expected.getFlagIconMaterial() != null ? expected.getFlagIconMaterial() : "BLUE_BANNER",
+            actual.getFlagIconMaterial());
+        assertEquals(expected.getTreasury(), actual.getTreasury(), 0.0);
+        assertEquals(expected.getClaimedChunkKeys(), actual.getClaimedChunkKeys());
+        assertEquals(expected.getInflation(), actual.getInflation(), 0.0);
+        assertEquals(expected.getTaxRate(), actual.getTaxRate());
+        assertEquals(expected.getAllies(), actual.getAllies());
+        assertEquals(expected.getEnemies(), actual.getEnemies());
+        assertEquals(expected.getTabIcons(), actual.getTabIcons());
+        assertEquals(expected.getReputation(), actual.getReputation());
+        assertEquals(expected.getPendingAlliance(), actual.getPendingAlliance());
+        assertEquals(expected.getHistory(), actual.getHistory());
+        assertEquals(expected.getBudgetMilitary(), actual.getBudgetMilitary(), 0.0);
+        assertEquals(expected.getBudgetHealth(), actual.getBudgetHealth(), 0.0);
+        assertEquals(expected.getBudgetEducation(), actual.getBudgetEducation(), 0.0);
+        assertEquals(expected.getGovernmentType(), actual.getGovernmentType());
+        assertEquals(expected.getCitizens(), actual.getCitizens());
+        assertEquals(expected.getRoles(), actual.getRoles());
+    }
+}
@@ -0,0 +1,210 @@
+package com.axiom.domain.repo;
+
+import com.axiom.domain.model.Nation;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class NationJsonLoaderTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void streamingDecodeMatchesTreeDecode() throws IOException {
+        String json = NationJsonCodec.serialize(sampleNation("alpha")).toString();
+
+        Nation tree = NationJsonCodec.deserialize(JsonParser.parseString(json).getAsJsonObject(), "AXC");
+        Nation streamed = NationJsonCodec.read(new JsonReader(new StringReader(json)), "AXC");
+
+        assertSameNation(tree, streamed);
+    }
+
+    @Test
+    public void streamingWriteMatchesTreeSerialize() throws IOException {
+        Nation nation = sampleNation("alpha");
+        nation.setCurrencyCode(null);
+        nation.setMotto(null);
+
+        StringWriter streamed = new StringWriter();
+        NationJsonCodec.write(new JsonWriter(streamed), nation);
+
+        assertEquals(NationJsonCodec.serialize(nation).toString(), streamed.toString());
+    }
+
+    @Test
+    public void streamingWriteKeepsNonFiniteNumbersLikeTreeSerialize() throws IOException {
+        Nation nation = sampleNation("alpha");
+        nation.setTreasury(Double.NaN);
+        nation.setInflation(Double.POSITIVE_INFINITY);
+        nation.setExchangeRateToAXC(Double.NEGATIVE_INFINITY);
+        nation.setBudgetMilitary(Double.NaN);
+
+        StringWriter streamed = new StringWriter();
+        JsonWriter writer = new JsonWriter(streamed);
+        NationJsonCodec.write(writer, nation);
+
+        assertFalse(writer.isLenient());
+        assertEquals(new Gson().toJson(NationJsonCodec.serialize(nation)), streamed.toString());
+        JsonReader reader = new JsonReader(new StringReader(streamed.toString()));
+        reader.setLenient(true);
+        Nation decoded = NationJsonCodec.read(reader, "AXC");
+        assertTrue(Double.isNaN(decoded.getTreasury()));
+        assertEquals(Double.POSITIVE_INFINITY, decoded.getInflation(), 0.0);
+        assertEquals(Double.NEGATIVE_INFINITY, decoded.getExchangeRateToAXC(), 0.0);
+    }
+
+    @Test
+    public void streamingDecodeAcceptsLegacyFields() throws IOException {
+        UUID leader = UUID.randomUUID();
+        String json = "{\"id\":\"old\",\"name\":\"Old\",\"leader\":\"" + leader + "\","
+            + "\"currencyCode\":\"OLD\",\"capitalChunkStr\":\"world:1:1\","
+            + "\"claimedChunkKeys\":[\"world:1:1\",\"world:1:2\"],\"flagIconMaterial\":\"RED_BANNER\","
+            + "\"taxRate\":\"15\",\"reputation\":{\"x\":5},\"extra\":{\"nested\":{\"deep\":[1,2]}}}";
+
+        Nation tree = NationJsonCodec.deserialize(JsonParser.parseString(json).getAsJsonObject(), "AXC");
+        Nation streamed = NationJsonCodec.read(new JsonReader(new StringReader(json)), "AXC");
+
+        assertSameNation(tree, streamed);
+        assertEquals("OLD", streamed.getCurrencyCode());
+        assertEquals(15, streamed.getTaxRate());
+        assertEquals(2, streamed.getClaimedChunkKeys().size());
+    }
+
+    @Test
+    public void streamingDecodeIgnoresFieldOrder() throws IOException {
+        UUID leader = UUID.randomUUID();
+        String json = "{\"economy\":{\"treasury\":7.5,\"currency\":\"ECO\"},\"treasury\":1.0,"
+            + "\"territory\":{\"claimedChunks\":[\"world:2:2\"]},\"claimedChunkKeys\":[\"world:9:9\"],"
+            + "\"allies\":[\"beta\"],\"id\":\"late\",\"currency\":\"TOP\",\"name\":\"Late\","
+            + "\"motto\":\"m\",\"leader\":\"" + leader + "\",\"capitalChunkStr\":\"world:3:3\"}";
+
+        Nation tree = NationJsonCodec.deserialize(JsonParser.parseString(json).getAsJsonObject(), "AXC");
+        Nation streamed = NationJsonCodec.read(new JsonReader(new StringReader(json)), "AXC");
+
+        assertSameNation(tree, streamed);
+        assertEquals("ECO", streamed.getCurrencyCode());
+        assertEquals(7.5, streamed.getTreasury(), 0.0);
+        assertEquals(Set.of("world:2:2"), streamed.getClaimedChunkKeys());
+        assertEquals("world:3:3", streamed.getCapitalChunkStr());
+        assertTrue(streamed.getAllies().contains("beta"));
+    }
+
+    @Test
+    public void loadsDirectoryInParallelAndReportsBrokenFiles() throws IOException {
+        File dir = tempFolder.newFolder("nations");
+        for (int i = 0; i < 20; i++) {
+            write(new File(dir, "n" + i + ".json"), NationJsonCodec.serialize(sampleNation("n" + i)));
+        }
+        Files.write(new File(dir, "broken.json").toPath(), "{\"id\":".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(dir, "noleader.json").toPath(), "{\"id\":\"x\",\"name\":\"X\"}".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(dir, "notes.txt").toPath(), "ignored".getBytes(StandardCharsets.UTF_8));
+
+        NationLoadReport report = NationJsonLoader.loadDirectory(dir, "AXC", 4);
+
+        assertEquals(22, report.getFileCount());
+        assertEquals(20, report.getNations().size());
+        assertEquals(4, report.getThreads());
+        assertTrue(report.getErrors().containsKey("broken.json"));
+        assertTrue(report.getErrors().get("noleader.json").contains("missing id/name/leader"));
+    }
+
+    @Test
+    public void serialLoadMatchesParallelLoad() throws IOException {
+        File dir = tempFolder.newFolder("nations");
+        for (int i = 0; i < 10; i++) {
+            write(new File(dir, "n" + i + ".json"), NationJsonCodec.serialize(sampleNation("n" + i)));
+        }
+
+        NationLoadReport serial = NationJsonLoader.loadDirectory(dir, "AXC", 1);
+        NationLoadReport parallel = NationJsonLoader.loadDirectory(dir, "AXC", 4);
+
+        assertEquals(serial.getNations().size(), parallel.getNations().size());
+        for (int i = 0; i < serial.getNations().size(); i++) {
+            assertSameNation(serial.getNations().get(i), parallel.getNations().get(i));
+        }
+    }
+
+    @Test
+    public void loadsBinaryFilesAndPrefersNewerDuplicate() throws IOException {
+        File dir = tempFolder.newFolder("nations");
+        Nation old = sampleNation("alpha");
+        old.setTreasury(1.0);
+        File json = new File(dir, "alpha.json");
+        write(json, NationJsonCodec.serialize(old));
+        json.setLastModified(System.currentTimeMillis() - 60_000L);
+        Nation current = sampleNation("alpha");
+        current.setTreasury(2.0);
+        Files.write(new File(dir, "alpha.axn").toPath(), NationBinaryCodec.encode(current));
+        Files.write(new File(dir, "beta.axn").toPath(), NationBinaryCodec.encode(sampleNation("beta")));
+
+        NationLoadReport report = NationJsonLoader.loadDirectory(dir, "AXC", 2);
+
+        assertEquals(3, report.getFileCount());
+        assertEquals(2, report.getNations().size());
+        assertEquals(2.0, report.getNations().get(0).getTreasury(), 0.0);
+        assertEquals("beta", report.getNations().get(1).getId());
+    }
+
+    @Test
+    public void resolvesSingleNationFileInEitherFormat() throws IOException {
+        File dir = tempFolder.newFolder("nations");
+        File json = new File(dir, "alpha.json");
+        write(json, NationJsonCodec.serialize(sampleNation("alpha")));
+        json.setLastModified(System.currentTimeMillis() - 60_000L);
+        File binary = new File(dir, "alpha.axn");
+        Files.write(binary.toPath(), NationBinaryCodec.encode(sampleNation("alpha")));
+        Files.write(new File(dir, "beta.axn").toPath(), NationBinaryCodec.encode(sampleNation("beta")));
+
+        assertEquals(binary, NationJsonLoader.resolveFile(dir, "alpha"));
+        assertEquals(new File(dir, "beta.axn"), NationJsonLoader.resolveFile(dir, "beta"));
+        assertNull(NationJsonLoader.resolveFile(dir, "gamma"));
+    }
+
+    private static void write(File file, JsonObject json) throws IOException {
+        Files.write(file.toPath(), json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Nation sampleNation(String id) {
+        UUID leader = UUID.randomUUID();
+        UUID citizen = UUID.randomUUID();
+        Nation nation = new Nation(id, "Nation " + id, leader, "AXC", 1234.5);
+        nation.setCapitalChunkStr("world:0:0");
+        nation.getClaimedChunkKeys().add("world:0:0");
+        nation.getClaimedChunkKeys().add("world:0:1");
+        nation.setMotto("Мир и труд");
+        nation.setInflation(1.5);
+        nation.setTaxRate(12);
+        nation.getAllies().add("beta");
+        nation.getEnemies().add("gamma");
+        nation.getTabIcons().put("economy", "GOLD_INGOT");
+        nation.getReputation().put("beta", 40);
+        nation.getPendingAlliance().add("delta");
+        nation.getHistory().add("founded");
+        nation.setBudgetMilitary(10.0);
+        nation.setGovernmentType("monarchy");
+        nation.getCitizens().add(citizen);
+        nation.getRoles().put(citizen, Nation.Role.GENERAL);
+        return nation;
+    }
+
+    private static void assertSameNation(Nation expected, Nation actual) {
+        assertEquals(NationJsonCodec.serialize(expected), NationJsonCodec.serialize(actual));
+    }
+}
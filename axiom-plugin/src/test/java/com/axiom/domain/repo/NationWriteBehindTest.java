@@ -0,0 +1,210 @@
+package com.axiom.domain.repo;
+
+import com.axiom.domain.model.Nation;
+import com.google.gson.Gson;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+
+public class NationWriteBehindTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File dir;
+    private NationWriteBehind writer;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = tempFolder.newFolder("nations");
+    }
+
+    @After
+    public void tearDown() {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    @Test
+    public void repeatedSavesAreCoalesced() throws IOException {
+        AtomicInteger snapshots = new AtomicInteger();
+        writer = jsonWriter(nation -> {
+            snapshots.incrementAndGet();
+            return json(nation);
+        });
+        Nation nation = nation("alpha");
+
+        for (int i = 0; i < 50; i++) {
+            nation.setTreasury(i);
+            writer.markDirty(nation);
+        }
+        assertTrue(writer.isDirty("alpha"));
+        writer.flush(null);
+
+        assertFalse(writer.isDirty("alpha"));
+        assertEquals(1, snapshots.get());
+        assertEquals(49, writer.getCoalesced());
+        assertEquals(49.0, NationJsonLoader.readFile(new File(dir, "alpha.json").toPath(), "AXC").getTreasury(), 0.0);
+        assertFalse(new File(dir, "alpha.json.tmp").exists());
+    }
+
+    @Test
+    public void flushSerializesOnlyChangedNations() throws IOException {
+        AtomicInteger snapshots = new AtomicInteger();
+        writer = jsonWriter(nation -> {
+            snapshots.incrementAndGet();
+            return json(nation);
+        });
+        Nation alpha = nation("alpha");
+        Nation beta = nation("beta");
+
+        assertEquals(2, writer.flush(List.of(alpha, beta)));
+        assertEquals(0, writer.flush(List.of(alpha, beta)));
+        assertEquals(2, snapshots.get());
+
+        // Changed without markDirty (another service touched the treasury): still picked up
+        beta.setTreasury(777.0);
+        assertEquals(1, writer.flush(List.of(alpha, beta)));
+        assertEquals(3, snapshots.get());
+        assertEquals(777.0, NationJsonLoader.readFile(new File(dir, "beta.json").toPath(), "AXC").getTreasury(), 0.0);
+        assertEquals(3, writer.getWrites());
+    }
+
+    @Test
+    public void flushPicksUpCollectionEditsWithoutSave() throws IOException {
+        writer = jsonWriter(NationWriteBehindTest::json);
+        Nation alpha = nation("alpha");
+        Nation beta = nation("beta");
+        assertEquals(2, writer.flush(List.of(alpha, beta)));
+        long version = alpha.getVersion();
+
+        // Services add allies and history entries straight into the collections, without a save
+        alpha.getAllies().add("beta");
+        alpha.getHistory().add("Союз с beta");
+        assertEquals(version, alpha.getVersion());
+
+        assertEquals(1, writer.flush(List.of(alpha, beta)));
+        Nation loaded = NationJsonLoader.readFile(new File(dir, "alpha.json").toPath(), "AXC");
+        assertTrue(loaded.getAllies().contains("beta"));
+        assertEquals(List.of("Союз с beta"), loaded.getHistory());
+        assertEquals(0, writer.flush(List.of(alpha, beta)));
+    }
+
+    @Test
+    public void seededFilesAreNotRewritten() throws IOException {
+        writer = jsonWriter(NationWriteBehindTest::json);
+        writer.flush(List.of(nation("alpha"), nation("beta")));
+        writer.close();
+
+        NationLoadReport report = NationJsonLoader.loadDirectory(dir, "AXC", 2);
+        AtomicInteger snapshots = new AtomicInteger();
+        writer = jsonWriter(nation -> {
+            snapshots.incrementAndGet();
+            return json(nation);
+        });
+        writer.seed(report);
+
+        assertEquals(0, writer.flush(report.getNations()));
+        assertEquals(0, snapshots.get());
+
+        // Saved without a real change: serialized, but the identical file is left alone
+        writer.markDirty(report.getNations().get(0));
+        assertEquals(0, writer.flush(report.getNations()));
+        assertEquals(1, writer.getSkippedUnchanged());
+        assertEquals(0, writer.getWrites());
+        assertFalse(writer.isDirty("alpha"));
+    }
+
+    @Test
+    public void failedSnapshotKeepsNationDirty() throws IOException {
+        AtomicInteger attempts = new AtomicInteger();
+        writer = jsonWriter(nation -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new ConcurrentModificationException();
+            }
+            return json(nation);
+        });
+        Nation nation = nation("alpha");
+
+        writer.markDirty(nation);
+        writer.flush(null);
+        assertTrue(writer.isDirty("alpha"));
+        assertEquals(1, writer.getFailures());
+
+        writer.flush(null);
+        assertFalse(writer.isDirty("alpha"));
+        assertTrue(new File(dir, "alpha.json").exists());
+    }
+
+    @Test
+    public void binaryFormatReplacesJsonFile() throws IOException {
+        writer = jsonWriter(NationWriteBehindTest::json);
+        Nation nation = nation("alpha");
+        writer.flush(List.of(nation));
+        writer.close();
+        assertTrue(new File(dir, "alpha.json").exists());
+
+        writer = new NationWriteBehind(dir, NationFileFormat.BINARY, NationBinaryCodec::encode, Logger.getLogger("writer-test"));
+        nation.setTreasury(55.0);
+        writer.markDirty(nation);
+        writer.flush(null);
+
+        assertFalse(new File(dir, "alpha.json").exists());
+        File binary = new File(dir, "alpha.axn");
+        assertTrue(binary.exists());
+        assertEquals(55.0, NationJsonLoader.readFile(binary.toPath(), "AXC").getTreasury(), 0.0);
+    }
+
+    @Test
+    public void deleteRemovesFilesAndPendingWrite() throws IOException {
+        writer = jsonWriter(NationWriteBehindTest::json);
+        Nation nation = nation("alpha");
+        writer.flush(List.of(nation));
+        assertTrue(new File(dir, "alpha.json").exists());
+
+        nation.setTreasury(1.0);
+        writer.markDirty(nation);
+        writer.delete("alpha");
+
+        assertFalse(writer.isDirty("alpha"));
+        assertEquals(0, writer.flush(null));
+        // The removal is queued on the writer thread; close waits for it
+        writer.close();
+        assertFalse(new File(dir, "alpha.json").exists());
+        assertFalse(new File(dir, "alpha.axn").exists());
+    }
+
+    @Test
+    public void fingerprintDistinguishesContent() {
+        byte[] first = "{\"a\":1}".getBytes(StandardCharsets.UTF_8);
+        assertEquals(NationWriteBehind.fingerprint(first), NationWriteBehind.fingerprint(first.clone()));
+        assertNotEquals(NationWriteBehind.fingerprint(first), NationWriteBehind.fingerprint("{\"a\":2}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private NationWriteBehind jsonWriter(Function<Nation, byte[]> snapshot) {
+        return new NationWriteBehind(dir, NationFileFormat.JSON, snapshot, Logger.getLogger("writer-test"));
+    }
+
+    private static byte[] json(Nation nation) {
+        return new Gson().toJson(NationJsonCodec.serialize(nation)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Nation nation(String id) {
+        return new Nation(id, "Nation " + id, UUID.randomUUID(), "AXC", 100.0);
+    }
+}
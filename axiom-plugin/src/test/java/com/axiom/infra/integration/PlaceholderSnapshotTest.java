@@ -0,0 +1,80 @@
+package com.axiom.infra.integration;
+
+import com.axiom.domain.model.Nation;
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class PlaceholderSnapshotTest {
+    private static final long MAX_AGE = 5_000_000_000L;
+
+    @Test
+    public void reusesResolvedValuesWhileVersionsAreUnchanged() {
+        Nation nation = new Nation("n1", "Nation One", UUID.randomUUID(), "AXC", 100.0);
+        PlaceholderSnapshot snapshot = new PlaceholderSnapshot(3L, "n1", nation, 7L, 0L);
+        AtomicInteger resolves = new AtomicInteger();
+        Function<String, String> resolver = id -> id + "#" + resolves.incrementAndGet();
+
+        assertEquals("treasury#1", snapshot.get("treasury", resolver));
+        assertEquals("treasury#1", snapshot.get("treasury", resolver));
+        assertEquals("n1", snapshot.getNationId());
+        assertSame(nation, snapshot.getNation());
+        assertEquals(1, resolves.get());
+        assertTrue(snapshot.isCurrent(3L, 7L, MAX_AGE, MAX_AGE));
+    }
+
+    @Test
+    public void unknownPlaceholderIsRememberedAsAbsent() {
+        PlaceholderSnapshot snapshot = new PlaceholderSnapshot(0L, null, null, 0L, 0L);
+        AtomicInteger resolves = new AtomicInteger();
+
+        assertNull(snapshot.get("nope", id -> {
+            resolves.incrementAndGet();
+            return null;
+        }));
+        assertNull(snapshot.get("nope", id -> "resolved again"));
+        assertEquals(1, resolves.get());
+    }
+
+    @Test
+    public void nationChangeInvalidatesSnapshot() {
+        Nation nation = new Nation("n1", "Nation One", UUID.randomUUID(), "AXC", 100.0);
+        PlaceholderSnapshot snapshot = new PlaceholderSnapshot(3L, "n1", nation, 7L, 0L);
+
+        nation.setTreasury(250.0);
+
+        assertFalse(snapshot.isCurrent(3L, 7L, 0L, MAX_AGE));
+    }
+
+    @Test
+    public void collectionChangeInvalidatesSnapshotOnceMarked() {
+        Nation nation = new Nation("n1", "Nation One", UUID.randomUUID(), "AXC", 100.0);
+        PlaceholderSnapshot snapshot = new PlaceholderSnapshot(3L, "n1", nation, 7L, 0L);
+
+        nation.getAllies().add("n2");
+        assertTrue(snapshot.isCurrent(3L, 7L, 0L, MAX_AGE));
+
+        nation.changed();
+        assertFalse(snapshot.isCurrent(3L, 7L, 0L, MAX_AGE));
+    }
+
+    @Test
+    public void playerOrTechChangeInvalidatesSnapshot() {
+        PlaceholderSnapshot snapshot = new PlaceholderSnapshot(3L, "n1", null, 7L, 0L);
+
+        assertFalse(snapshot.isCurrent(4L, 7L, 0L, MAX_AGE));
+        assertFalse(snapshot.isCurrent(3L, 8L, 0L, MAX_AGE));
+    }
+
+    @Test
+    public void expiresAfterMaxAge() {
+        PlaceholderSnapshot snapshot = new PlaceholderSnapshot(3L, null, null, 0L, 1_000L);
+
+        assertTrue(snapshot.isCurrent(3L, 0L, 1_000L + MAX_AGE, MAX_AGE));
+        assertFalse(snapshot.isCurrent(3L, 0L, 1_001L + MAX_AGE, MAX_AGE));
+    }
+}
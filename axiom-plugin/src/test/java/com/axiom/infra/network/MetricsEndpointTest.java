@@ -0,0 +1,75 @@
+package com.axiom.infra.network;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class MetricsEndpointTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final MetricsEndpoint endpoint = new MetricsEndpoint(null);
+
+    @After
+    public void stop() {
+        endpoint.stop();
+    }
+
+    @Test
+    public void servesLastPublishedTextOnLoopback() throws Exception {
+        endpoint.start(0);
+        endpoint.publish("axiom_nations 1\n");
+        endpoint.publish("axiom_nations 2\n");
+
+        HttpURLConnection connection = open("/metrics");
+        assertEquals(200, connection.getResponseCode());
+        assertEquals(MetricsEndpoint.CONTENT_TYPE, connection.getContentType());
+        try (InputStream in = connection.getInputStream()) {
+            assertEquals("axiom_nations 2\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(404, open("/other").getResponseCode());
+    }
+
+    @Test
+    public void mirrorsToFile() throws Exception {
+        File file = new File(tempFolder.getRoot(), "axiom.prom");
+        endpoint.setFile(file);
+        endpoint.publish("axiom_active_wars 3\n");
+
+        assertEquals("axiom_active_wars 3\n", new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+        assertEquals(-1, endpoint.getPort());
+    }
+
+    @Test
+    public void countsPluginMessagesPerType() {
+        PluginMessageMetrics metrics = new PluginMessageMetrics();
+        metrics.recordOutgoing("axiom:ui", "stats", 100);
+        metrics.recordOutgoing("axiom:ui", "stats", 50);
+        metrics.recordIncoming("axiom:ui", "get_stats", 12);
+
+        PluginMessageMetrics.ChannelStats top = metrics.getStats().get(0);
+        assertEquals(PluginMessageMetrics.OUTGOING, top.getDirection());
+        assertEquals("stats", top.getType());
+        assertEquals(2, top.getMessages());
+        assertEquals(150, top.getBytes());
+        assertEquals(12, metrics.getTotalBytes(PluginMessageMetrics.INCOMING));
+    }
+
+    private HttpURLConnection open(String path) throws Exception {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://127.0.0.1:" + endpoint.getPort() + path).openConnection();
+        connection.setConnectTimeout(2_000);
+        connection.setReadTimeout(2_000);
+        return connection;
+    }
+}
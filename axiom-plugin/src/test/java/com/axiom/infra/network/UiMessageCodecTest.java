@@ -0,0 +1,77 @@
+package com.axiom.infra.network;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class UiMessageCodecTest {
+
+    @Test
+    public void encodesPayloadsOverSixtyFourKilobytes() {
+        String json = "{\"data\":\"" + "ж".repeat(50_000) + "\"}";
+
+        ByteBuffer in = ByteBuffer.wrap(UiMessageCodec.encode("topic_snapshot", json));
+
+        assertEquals("topic_snapshot", readString(in));
+        assertEquals(json, readString(in));
+        assertFalse(in.hasRemaining());
+    }
+
+    @Test
+    public void smallMessageIsSentAsIs() {
+        byte[] message = UiMessageCodec.encode("stats", "{}");
+
+        List<byte[]> frames = UiMessageCodec.frames(message);
+
+        assertEquals(1, frames.size());
+        assertSame(message, frames.get(0));
+    }
+
+    @Test
+    public void largeMessageIsSplitIntoChunksThatJoinBack() {
+        byte[] message = UiMessageCodec.encode("territories_snapshot", "x".repeat(10_000));
+
+        List<byte[]> frames = UiMessageCodec.frames(message, 1_000);
+
+        assertEquals(11, frames.size());
+        ByteArrayOutputStream joined = new ByteArrayOutputStream();
+        int id = -1;
+        for (int i = 0; i < frames.size(); i++) {
+            assertTrue(frames.get(i).length <= 1_000);
+            ByteBuffer frame = ByteBuffer.wrap(frames.get(i));
+            assertEquals(UiMessageCodec.CHUNK_TYPE, readString(frame));
+            int frameId = readVarInt(frame);
+            if (i == 0) {
+                id = frameId;
+            }
+            assertEquals(id, frameId);
+            assertEquals(i, readVarInt(frame));
+            assertEquals(frames.size(), readVarInt(frame));
+            joined.write(frames.get(i), frame.position(), frame.remaining());
+        }
+        assertArrayEquals(message, joined.toByteArray());
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] utf8 = new byte[readVarInt(in)];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static int readVarInt(ByteBuffer in) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
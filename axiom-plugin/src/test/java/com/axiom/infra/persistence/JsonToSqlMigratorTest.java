@@ -0,0 +1,112 @@
+package com.axiom.infra.persistence;
+
+import com.axiom.domain.model.MilitaryData;
+import com.axiom.domain.model.Nation;
+import com.axiom.domain.repo.NationJsonCodec;
+import com.google.gson.Gson;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+public class JsonToSqlMigratorTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private SqlStorage storage;
+    private File dataFolder;
+
+    @Before
+    public void setUp() throws Exception {
+        assumeTrue("SQLite driver not on the test classpath", SqlStorage.isDriverAvailable());
+        dataFolder = tempFolder.newFolder("AXIOM");
+        storage = new SqlStorage(new File(dataFolder, "axiom.db"), Logger.getLogger("sql-test"), 2);
+    }
+
+    @After
+    public void tearDown() {
+        if (storage != null) {
+            storage.close();
+        }
+    }
+
+    @Test
+    public void migratesNationsAndMilitaryIdempotently() throws Exception {
+        File nations = new File(dataFolder, "nations");
+        File military = new File(dataFolder, "military");
+        nations.mkdirs();
+        military.mkdirs();
+        for (int i = 0; i < 5; i++) {
+            Nation nation = new Nation("n" + i, "Nation " + i, UUID.randomUUID(), "AXC", 100.0 * i);
+            write(new File(nations, nation.getId() + ".json"), NationJsonCodec.serialize(nation).toString());
+            MilitaryData data = new MilitaryData(nation.getId());
+            data.setInfantry(10 + i);
+            write(new File(military, nation.getId() + ".json"), new Gson().toJson(data));
+        }
+        write(new File(nations, "broken.json"), "{\"id\":");
+
+        JsonToSqlMigrator.Result first = JsonToSqlMigrator.migrate(dataFolder, "AXC", 2, storage);
+        assertEquals(5, first.getNations());
+        assertEquals(5, first.getMilitary());
+        assertTrue(first.getErrors().containsKey("nations/broken.json"));
+
+        JsonToSqlMigrator.Result second = JsonToSqlMigrator.migrate(dataFolder, "AXC", 1, storage);
+        assertEquals(5, second.getNations());
+        assertEquals(5, SqlNationRepository.count(storage, "nations"));
+        assertEquals(5, SqlNationRepository.count(storage, "military"));
+        assertEquals("nation 3", storage.withConnection(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT name_lower FROM nations WHERE id = ?")) {
+                statement.setString(1, "n3");
+                try (ResultSet rs = statement.executeQuery()) {
+                    return rs.next() ? rs.getString(1) : null;
+                }
+            }
+        }));
+    }
+
+    @Test
+    public void failedTransactionRollsBack() throws Exception {
+        storage.withConnection(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE t (id INTEGER PRIMARY KEY)");
+            }
+            return null;
+        });
+
+        try {
+            storage.inTransaction(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("INSERT INTO t (id) VALUES (1)");
+                    statement.execute("INSERT INTO t (id) VALUES (1)");
+                }
+                return null;
+            });
+            fail("duplicate key should fail");
+        } catch (SQLException expected) {
+            // rolled back
+        }
+
+        assertEquals(0, SqlNationRepository.count(storage, "t"));
+        assertEquals(Integer.valueOf(0), storage.inTransactionAsync(connection -> 0).get());
+    }
+
+    private static void write(File file, String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,121 @@
+package com.axiom.infra.persistence;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SnapshotStoreTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private Path data;
+    private SnapshotStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        data = tempFolder.newFolder("AXIOM").toPath();
+        store = new SnapshotStore(tempFolder.newFolder("store"), 2);
+    }
+
+    @Test
+    public void secondSnapshotStoresOnlyChangedFiles() throws IOException {
+        for (int i = 0; i < 10; i++) {
+            write("nations/n" + i + ".json", "{\"id\":\"n" + i + "\"}");
+        }
+        SnapshotStore.Result first = store.snapshot(data, "axiom_2026-01-01_00-00-00", path -> true);
+        assertEquals(10, first.getFiles());
+        assertEquals(10, first.getNewObjects());
+
+        write("nations/n3.json", "{\"id\":\"n3\",\"treasury\":5}");
+        SnapshotStore.Result second = store.snapshot(data, "axiom_2026-01-02_00-00-00", path -> true);
+        assertEquals(10, second.getFiles());
+        assertEquals(1, second.getNewObjects());
+        assertEquals(9, second.getReusedObjects());
+    }
+
+    @Test
+    public void restoresEachSnapshotAsTaken() throws IOException {
+        write("nations/a.json", "v1");
+        write("config.yml", "x: 1");
+        store.snapshot(data, "axiom_2026-01-01_00-00-00", path -> true);
+        write("nations/a.json", "v2");
+        store.snapshot(data, "axiom_2026-01-02_00-00-00", path -> true);
+
+        Path target = tempFolder.newFolder("restore").toPath();
+        assertEquals(2, store.restore("axiom_2026-01-01_00-00-00", target));
+        assertEquals("v1", read(target.resolve("nations/a.json")));
+        store.restore("axiom_2026-01-02_00-00-00", target);
+        assertEquals("v2", read(target.resolve("nations/a.json")));
+        assertEquals(6L, store.logicalSize("axiom_2026-01-02_00-00-00"));
+    }
+
+    @Test
+    public void filterExcludesTemporaryFiles() throws IOException {
+        write("nations/a.json", "ok");
+        write("nations/a.json.tmp", "partial");
+        SnapshotStore.Result result = store.snapshot(data, "axiom_2026-01-01_00-00-00", path -> !path.endsWith(".tmp"));
+        assertEquals(1, result.getFiles());
+
+        Path target = tempFolder.newFolder("restore").toPath();
+        store.restore("axiom_2026-01-01_00-00-00", target);
+        assertTrue(Files.exists(target.resolve("nations/a.json")));
+        assertFalse(Files.exists(target.resolve("nations/a.json.tmp")));
+    }
+
+    @Test
+    public void pruneKeepsNewestAndCollectsUnusedObjects() throws IOException {
+        for (int day = 1; day <= 4; day++) {
+            write("nations/a.json", "day " + day);
+            store.snapshot(data, String.format("axiom_2026-01-0%d_00-00-00", day), path -> true);
+        }
+        long before = store.storedBytes();
+        assertEquals(2, store.prune(2));
+
+        List<String> names = store.list();
+        assertEquals(List.of("axiom_2026-01-03_00-00-00", "axiom_2026-01-04_00-00-00"), names);
+        assertTrue(store.storedBytes() < before);
+        Path target = tempFolder.newFolder("restore").toPath();
+        store.restore("axiom_2026-01-03_00-00-00", target);
+        assertEquals("day 3", read(target.resolve("nations/a.json")));
+    }
+
+    @Test
+    public void unchangedMetadataWithNewContentIsRehashedInsideRacyWindow() throws IOException {
+        Path file = write("nations/a.json", "aaaa");
+        FileTime mtime = Files.getLastModifiedTime(file);
+        store.snapshot(data, "axiom_2026-01-01_00-00-00", path -> true);
+
+        // Same size and mtime, modified right around the previous snapshot: must not be trusted
+        Files.write(file, "bbbb".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, mtime);
+        SnapshotStore.Result second = store.snapshot(data, "axiom_2026-01-02_00-00-00", path -> true);
+        assertEquals(1, second.getNewObjects());
+
+        Path target = tempFolder.newFolder("restore").toPath();
+        store.restore("axiom_2026-01-02_00-00-00", target);
+        assertEquals("bbbb", read(target.resolve("nations/a.json")));
+    }
+
+    private Path write(String relative, String content) throws IOException {
+        Path file = data.resolve(relative);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,102 @@
+package com.axiom.kernel;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class AllocationProfilerTest {
+    private final AtomicLong allocated = new AtomicLong(10_000L);
+    private final AllocationProfiler profiler = new AllocationProfiler(allocated::get, true);
+
+    @Test
+    public void disabledByDefault() {
+        assertFalse(profiler.isEnabled());
+        assertEquals(AllocationProfiler.NOT_MEASURED, profiler.start());
+        profiler.stop("Listener.onMove", AllocationProfiler.NOT_MEASURED);
+        assertTrue(profiler.getTopAllocators(10).isEmpty());
+    }
+
+    @Test
+    public void aggregatesBytesPerInvocation() {
+        profiler.setEnabled(true);
+        allocate("Listener.onMove", 100);
+        allocate("Listener.onMove", 300);
+        allocate("Service.tick", 50);
+
+        List<AllocationProfiler.HandlerStats> top = profiler.getTopAllocators(10);
+        assertEquals(2, top.size());
+        assertEquals("Listener.onMove", top.get(0).getName());
+        assertEquals(2, top.get(0).getInvocations());
+        assertEquals(400, top.get(0).getTotalBytes());
+        assertEquals(300, top.get(0).getMaxBytes());
+        assertEquals(200.0, top.get(0).getBytesPerInvocation(), 0.001);
+        assertEquals(450, profiler.getTotalBytes());
+    }
+
+    @Test
+    public void nestedMeasurementsAreExclusive() {
+        profiler.setEnabled(true);
+        long outer = profiler.start();
+        allocated.addAndGet(1_000);
+        long inner = profiler.start();
+        allocated.addAndGet(400);
+        profiler.stop("Listener.onEvent", inner);
+        allocated.addAndGet(100);
+        profiler.stop("Service.job", outer);
+
+        List<AllocationProfiler.HandlerStats> top = profiler.getTopAllocators(10);
+        assertEquals("Service.job", top.get(0).getName());
+        assertEquals(1_100, top.get(0).getTotalBytes());
+        assertEquals(400, top.get(1).getTotalBytes());
+        assertEquals(1_500, profiler.getTotalBytes());
+    }
+
+    @Test
+    public void limitsAndResets() {
+        profiler.setEnabled(true);
+        for (int i = 1; i <= 5; i++) {
+            allocate("Handler" + i, i * 10);
+        }
+        List<AllocationProfiler.HandlerStats> top = profiler.getTopAllocators(3);
+        assertEquals(3, top.size());
+        assertEquals("Handler5", top.get(0).getName());
+
+        profiler.reset();
+        assertTrue(profiler.getTopAllocators(3).isEmpty());
+        assertEquals(0, profiler.getTotalBytes());
+    }
+
+    @Test
+    public void staysDisabledWithoutJvmSupport() {
+        AllocationProfiler unsupported = new AllocationProfiler(allocated::get, false);
+        unsupported.setEnabled(true);
+        assertFalse(unsupported.isEnabled());
+        assertEquals(AllocationProfiler.NOT_MEASURED, unsupported.start());
+    }
+
+    @Test
+    public void measuresRealAllocationsWhenSupported() {
+        AllocationProfiler real = new AllocationProfiler();
+        Assume.assumeTrue(real.isSupported());
+        real.setEnabled(true);
+        long start = real.start();
+        byte[][] garbage = new byte[16][];
+        for (int i = 0; i < garbage.length; i++) {
+            garbage[i] = new byte[64 * 1024];
+        }
+        real.stop("Test.allocate", start);
+
+        assertEquals(16, garbage.length);
+        assertTrue(real.getTopAllocators(1).get(0).getTotalBytes() >= 16L * 64 * 1024);
+    }
+
+    private void allocate(String handler, long bytes) {
+        long start = profiler.start();
+        allocated.addAndGet(bytes);
+        profiler.stop(handler, start);
+    }
+}
@@ -3,8 +3,11 @@ package com.axiom.kernel;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import static org.junit.Assert.*;
@@ -34,6 +37,106 @@ public class AxiomKernelTest {
         assertEquals(expected, events);
     }
 
+    @Test
+    public void parallelStartRespectsDependenciesAndEnablesInOrder() {
+        AxiomKernel kernel = new AxiomKernel(Logger.getLogger("kernel-test"));
+        kernel.setStartupThreads(4);
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+        kernel.registerModule(new TestModule("state", Set.of(), events));
+        kernel.registerModule(new TestModule("politics", Set.of("state"), events));
+        kernel.registerModule(new TestModule("industry", Set.of("state"), events));
+        kernel.registerModule(new TestModule("military", Set.of("state", "politics", "industry"), events));
+
+        kernel.start();
+
+        assertEquals("register:state", events.get(0));
+        assertEquals("register:military", events.get(3));
+        assertEquals(List.of("enable:state", "enable:politics", "enable:industry", "enable:military"), events.subList(4, 8));
+    }
+
+    @Test
+    public void independentModulesRegisterConcurrently() {
+        AxiomKernel kernel = new AxiomKernel(Logger.getLogger("kernel-test"));
+        kernel.setStartupThreads(2);
+        // Each module waits for the other: completes only if both register() calls overlap
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        kernel.registerModule(new LatchModule("politics", bothStarted));
+        kernel.registerModule(new LatchModule("industry", bothStarted));
+
+        kernel.start();
+
+        assertEquals(0, bothStarted.getCount());
+    }
+
+    @Test
+    public void asyncServicesAreVisibleToDependentModules() {
+        AxiomKernel kernel = new AxiomKernel(Logger.getLogger("kernel-test"));
+        kernel.setStartupThreads(3);
+        List<String> seen = Collections.synchronizedList(new ArrayList<>());
+        kernel.registerModule(new KernelModule() {
+            @Override
+            public String id() {
+                return "state";
+            }
+
+            @Override
+            public void register(ServiceRegistry services) {
+                services.registerAsync(String.class, () -> {
+                    sleepQuietly(50);
+                    return "loaded";
+                });
+            }
+        });
+        kernel.registerModule(new KernelModule() {
+            @Override
+            public String id() {
+                return "industry";
+            }
+
+            @Override
+            public Set<String> dependencies() {
+                return Set.of("state");
+            }
+
+            @Override
+            public void register(ServiceRegistry services) {
+                seen.add(services.require(String.class));
+            }
+        });
+
+        kernel.start();
+
+        assertEquals(List.of("loaded"), seen);
+        assertEquals("loaded", kernel.services().require(String.class));
+    }
+
+    @Test
+    public void failedAsyncServiceFailsStartup() {
+        AxiomKernel kernel = new AxiomKernel(Logger.getLogger("kernel-test"));
+        kernel.setStartupThreads(2);
+        kernel.registerModule(new KernelModule() {
+            @Override
+            public String id() {
+                return "state";
+            }
+
+            @Override
+            public void register(ServiceRegistry services) {
+                services.registerAsync(String.class, () -> {
+                    throw new IllegalArgumentException("broken data");
+                });
+            }
+        });
+
+        try {
+            kernel.start();
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            assertEquals("broken data", ex.getMessage());
+        }
+    }
+
     @Test
     public void missingDependencyThrows() {
         Logger logger = Logger.getLogger("kernel-test");
@@ -77,6 +180,41 @@ public class AxiomKernelTest {
         }
     }
 
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class LatchModule implements KernelModule {
+        private final String id;
+        private final CountDownLatch latch;
+
+        private LatchModule(String id, CountDownLatch latch) {
+            this.id = id;
+            this.latch = latch;
+        }
+
+        @Override
+        public String id() {
+            return id;
+        }
+
+        @Override
+        public void register(ServiceRegistry services) {
+            latch.countDown();
+            try {
+                if (!latch.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Modules did not register concurrently");
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     private static final class TestModule implements KernelModule {
         private final String id;
         private final Set<String> deps;
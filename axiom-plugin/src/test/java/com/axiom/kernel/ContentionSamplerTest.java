@@ -0,0 +1,117 @@
+package com.axiom.kernel;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+
+public class ContentionSamplerTest {
+
+    @Test
+    public void attributesBlockedMainThreadAndAsyncHolder() throws Exception {
+        TickProfiler profiler = new TickProfiler();
+        ContentionSampler sampler = new ContentionSampler(Logger.getLogger("contention-test"), profiler);
+        GuardedService service = new GuardedService();
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread holder = new Thread(() -> service.hold(held, release), "holder");
+        holder.start();
+        assertTrue(held.await(5, TimeUnit.SECONDS));
+        Thread main = new Thread(() -> {
+            profiler.beginTick();
+            service.hold(new CountDownLatch(1), new CountDownLatch(0));
+        }, "main");
+        main.start();
+        waitForState(main, Thread.State.BLOCKED);
+
+        try {
+            for (int i = 0; i < 3; i++) {
+                sampler.sample();
+            }
+        } finally {
+            release.countDown();
+            holder.join(5_000);
+            main.join(5_000);
+        }
+
+        ContentionSampler.LockStats stats = sampler.getStats().get(0);
+        long interval = ContentionSampler.DEFAULT_INTERVAL_MILLIS * 1_000_000L;
+        assertEquals("ContentionSamplerTest", stats.getName());
+        assertEquals(3 * interval, stats.getMainWaitNanos());
+        assertEquals(0L, stats.getAsyncWaitNanos());
+        assertEquals("one acquire seen across samples", 1L, stats.getMainContended());
+        assertEquals(3 * interval, stats.getAsyncHoldNanos());
+        assertEquals(3L, sampler.getSamples());
+    }
+
+    @Test
+    public void ignoresThreadsOutsideMainAndWorkers() throws Exception {
+        ContentionSampler sampler = new ContentionSampler(Logger.getLogger("contention-test"), new TickProfiler());
+        GuardedService service = new GuardedService();
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread holder = new Thread(() -> service.hold(held, release), "holder");
+        holder.start();
+        assertTrue(held.await(5, TimeUnit.SECONDS));
+        Thread other = new Thread(() -> service.hold(new CountDownLatch(1), new CountDownLatch(0)), "other-plugin");
+        other.start();
+        waitForState(other, Thread.State.BLOCKED);
+
+        try {
+            sampler.sample();
+        } finally {
+            release.countDown();
+            holder.join(5_000);
+            other.join(5_000);
+        }
+
+        assertTrue(sampler.getStats().isEmpty());
+        assertEquals(1L, sampler.getSamples());
+    }
+
+    @Test
+    public void intervalIsAtLeastTheMinimum() {
+        ContentionSampler sampler = new ContentionSampler(Logger.getLogger("contention-test"), new TickProfiler());
+        sampler.start(20L);
+        try {
+            assertEquals(ContentionSampler.MIN_INTERVAL_MILLIS, sampler.getIntervalMillis());
+        } finally {
+            sampler.stop();
+        }
+    }
+
+    @Test
+    public void ownerFallsBackToAxiomFrame() {
+        StackTraceElement[] stack = {
+            new StackTraceElement("java.util.HashMap", "get", null, 1),
+            new StackTraceElement("com.axiom.domain.service.state.NationManager$1", "run", null, 2)
+        };
+        assertEquals("EconomyService", ContentionSampler.ownerOf("com.axiom.domain.service.industry.EconomyService", stack));
+        assertEquals("NationManager", ContentionSampler.ownerOf("java.lang.Object", stack));
+        assertNull(ContentionSampler.ownerOf("java.lang.Object", new StackTraceElement[0]));
+    }
+
+    private static void waitForState(Thread thread, Thread.State state) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (thread.getState() != state) {
+            assertTrue("thread did not reach " + state, System.currentTimeMillis() < deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static final class GuardedService {
+        synchronized void hold(CountDownLatch held, CountDownLatch release) {
+            held.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
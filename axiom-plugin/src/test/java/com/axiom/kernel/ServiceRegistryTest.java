@@ -2,6 +2,13 @@ package com.axiom.kernel;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.Assert.*;
 
 public class ServiceRegistryTest {
@@ -38,4 +45,101 @@ public class ServiceRegistryTest {
             // expected
         }
     }
+
+    @Test
+    public void registerAsyncOutsideStartupRunsInline() {
+        ServiceRegistry registry = new ServiceRegistry();
+
+        assertTrue(registry.registerAsync(String.class, () -> "inline").isDone());
+        assertEquals("inline", registry.require(String.class));
+    }
+
+    @Test
+    public void lazyServiceInActiveModuleIsBuiltImmediately() {
+        ServiceRegistry registry = new ServiceRegistry();
+        AtomicInteger built = new AtomicInteger();
+
+        registry.openModuleScope("technology");
+        registry.registerLazy(String.class, () -> "tech" + built.incrementAndGet());
+        registry.closeModuleScope();
+
+        assertEquals(1, built.get());
+        assertTrue(registry.getDormantServices().isEmpty());
+    }
+
+    @Test
+    public void dormantServiceIsBuiltOnFirstResolveOnly() {
+        List<Object> bound = new ArrayList<>();
+        ServiceRegistry registry = new ServiceRegistry((type, service) -> bound.add(service));
+        registry.setDormantModules(Set.of("technology"));
+        AtomicInteger built = new AtomicInteger();
+
+        registry.openModuleScope("technology");
+        registry.registerLazy(String.class, () -> "tech" + built.incrementAndGet());
+        registry.closeModuleScope();
+
+        assertEquals(0, built.get());
+        assertTrue(registry.contains(String.class));
+        assertFalse(registry.resolveIfInitialized(String.class).isPresent());
+        assertEquals(Set.of(String.class), registry.getDormantServices());
+
+        assertEquals("tech1", registry.require(String.class));
+        assertEquals("tech1", registry.require(String.class));
+        assertEquals(1, built.get());
+        assertEquals(List.of("tech1"), bound);
+        assertTrue(registry.getDormantServices().isEmpty());
+    }
+
+    @Test
+    public void dormantServiceInitializesOnceUnderContention() throws Exception {
+        ServiceRegistry registry = new ServiceRegistry();
+        registry.setDormantModules(Set.of("military"));
+        AtomicInteger built = new AtomicInteger();
+        registry.openModuleScope("military");
+        registry.registerLazy(Object.class, () -> {
+            built.incrementAndGet();
+            return new Object();
+        });
+        registry.closeModuleScope();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        List<Object> seen = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                seen.add(registry.require(Object.class));
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, built.get());
+        assertEquals(8, seen.size());
+        assertEquals(1, seen.stream().distinct().count());
+    }
+
+    @Test
+    public void circularLazyInitializationThrows() {
+        ServiceRegistry registry = new ServiceRegistry();
+        registry.setDormantModules(Set.of("politics"));
+        registry.openModuleScope("politics");
+        registry.registerLazy(String.class, () -> registry.require(String.class));
+        registry.closeModuleScope();
+
+        try {
+            registry.require(String.class);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            assertTrue(ex.getMessage().contains("Circular"));
+        }
+    }
 }
@@ -0,0 +1,154 @@
+package com.axiom.kernel;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+
+public class SimulationPipelineTest {
+
+    @Test
+    public void appliesComputedResultsOnMainExecutor() {
+        Queue<Runnable> mainThread = new ArrayDeque<>();
+        Map<String, Integer> state = new HashMap<>(Map.of("a", 1, "b", 2, "c", 3));
+        SimulationPipeline<String, Integer, Integer> pipeline = new SimulationPipeline<>(
+            "double",
+            Logger.getLogger("pipeline-test"),
+            mainThread::add,
+            Runnable::run,
+            () -> new ArrayList<>(state.keySet()),
+            state::get,
+            value -> value * 2,
+            state::put
+        );
+
+        pipeline.run();
+
+        // Nothing is written until the main thread drains the hand-off queue
+        assertEquals(Integer.valueOf(1), state.get("a"));
+        assertTrue(pipeline.isInFlight());
+        drain(mainThread);
+
+        assertEquals(Map.of("a", 2, "b", 4, "c", 6), state);
+        assertFalse(pipeline.isInFlight());
+        assertEquals(3, pipeline.getLastItems());
+    }
+
+    @Test
+    public void nullResultsAndFailuresAreSkipped() {
+        Queue<Runnable> mainThread = new ArrayDeque<>();
+        List<String> applied = new ArrayList<>();
+        SimulationPipeline<String, String, String> pipeline = new SimulationPipeline<>(
+            "filter",
+            Logger.getLogger("pipeline-test"),
+            mainThread::add,
+            Runnable::run,
+            () -> List.of("keep", "drop", "fail"),
+            item -> item,
+            item -> {
+                if (item.equals("fail")) {
+                    throw new IllegalStateException("boom");
+                }
+                return item.equals("drop") ? null : item;
+            },
+            (item, result) -> applied.add(result)
+        );
+
+        pipeline.run();
+        drain(mainThread);
+
+        assertEquals(List.of("keep"), applied);
+        assertEquals(1, pipeline.getFailures());
+    }
+
+    @Test
+    public void overlappingRunIsSkipped() {
+        Queue<Runnable> mainThread = new ArrayDeque<>();
+        SimulationPipeline<String, String, String> pipeline = new SimulationPipeline<>(
+            "overlap",
+            Logger.getLogger("pipeline-test"),
+            mainThread::add,
+            Runnable::run,
+            () -> List.of("x"),
+            item -> item,
+            item -> item,
+            (item, result) -> { }
+        );
+
+        pipeline.run();
+        pipeline.run();
+        drain(mainThread);
+
+        assertEquals(1, pipeline.getRuns());
+        assertEquals(1, pipeline.getSkippedRuns());
+    }
+
+    @Test
+    public void largeApplyIsSplitIntoBatches() {
+        Queue<Runnable> mainThread = new ArrayDeque<>();
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < SimulationPipeline.APPLY_BATCH * 2 + 1; i++) {
+            items.add(i);
+        }
+        List<Integer> applied = new ArrayList<>();
+        Executor workers = Runnable::run;
+        SimulationPipeline<Integer, Integer, Integer> pipeline = new SimulationPipeline<>(
+            "batches",
+            Logger.getLogger("pipeline-test"),
+            mainThread::add,
+            workers,
+            () -> items,
+            item -> item,
+            item -> item,
+            (item, result) -> applied.add(result)
+        );
+
+        pipeline.run();
+        int batches = drain(mainThread);
+
+        assertEquals(3, batches);
+        assertEquals(items, applied);
+    }
+
+    @Test
+    public void schedulerRunsPipelineHandOffWithinTicks() throws Exception {
+        SimulationScheduler scheduler = new SimulationScheduler(Logger.getLogger("pipeline-test"));
+        Map<String, Integer> state = new HashMap<>(Map.of("a", 1));
+        SimulationPipeline<String, Integer, Integer> pipeline = scheduler.pipeline(
+            "increment",
+            () -> new ArrayList<>(state.keySet()),
+            state::get,
+            value -> value + 1,
+            state::put
+        );
+        scheduler.schedule("increment", pipeline, 1000);
+
+        scheduler.tick();
+        for (int i = 0; i < 200 && pipeline.isInFlight(); i++) {
+            Thread.sleep(5);
+            scheduler.tick();
+        }
+
+        assertFalse(pipeline.isInFlight());
+        assertEquals(Integer.valueOf(2), state.get("a"));
+        scheduler.clear();
+    }
+
+    private static int drain(Queue<Runnable> queue) {
+        int count = 0;
+        Runnable task;
+        while ((task = queue.poll()) != null) {
+            task.run();
+            count++;
+        }
+        return count;
+    }
+}
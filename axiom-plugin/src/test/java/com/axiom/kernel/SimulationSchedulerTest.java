@@ -0,0 +1,143 @@
+package com.axiom.kernel;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+
+public class SimulationSchedulerTest {
+
+    @Test
+    public void jobsWithSamePeriodGetDistinctPhases() {
+        SimulationScheduler scheduler = new SimulationScheduler(Logger.getLogger("sim-test"));
+        Set<Long> phases = new HashSet<>();
+        for (int i = 0; i < 8; i++) {
+            phases.add(scheduler.schedule("job" + i, () -> { }, 800).getPhaseTicks());
+        }
+
+        assertEquals(8, phases.size());
+        for (long phase : phases) {
+            assertTrue(phase >= 0 && phase < 800);
+        }
+    }
+
+    @Test
+    public void runsEachJobOncePerPeriod() {
+        SimulationScheduler scheduler = new SimulationScheduler(Logger.getLogger("sim-test"));
+        List<String> runs = new ArrayList<>();
+        scheduler.schedule("a", () -> runs.add("a"), 10);
+        scheduler.schedule("b", () -> runs.add("b"), 10);
+
+        for (int i = 0; i < 30; i++) {
+            scheduler.tick();
+        }
+
+        assertEquals(3, runs.stream().filter("a"::equals).count());
+        assertEquals(3, runs.stream().filter("b"::equals).count());
+        // Published on tick 20
+        assertEquals(2, scheduler.getPublishedJobStats().size());
+        assertEquals(4, scheduler.getPublishedJobStats().stream().mapToLong(SimulationScheduler.JobStats::getRuns).sum());
+    }
+
+    @Test
+    public void overBudgetJobsCarryIntoNextTick() {
+        AtomicLong clock = new AtomicLong();
+        SimulationScheduler scheduler = new SimulationScheduler(Logger.getLogger("sim-test"), clock::get);
+        scheduler.setTickBudgetMillis(5);
+        List<String> runs = new ArrayList<>();
+        // All three land on the first tick: slow1 is the first job (phase 0), period 1 forces phase 0
+        scheduler.schedule("slow1", () -> { runs.add("slow1"); clock.addAndGet(4_000_000L); }, 1000);
+        scheduler.schedule("slow2", () -> { runs.add("slow2"); clock.addAndGet(4_000_000L); }, 1);
+        scheduler.schedule("slow3", () -> { runs.add("slow3"); clock.addAndGet(4_000_000L); }, 1);
+
+        scheduler.tick();
+        assertEquals(List.of("slow1", "slow2"), runs);
+        assertEquals(1, scheduler.getBacklog());
+        assertEquals(1, scheduler.getLastBacklog());
+
+        scheduler.tick();
+        assertEquals("slow3", runs.get(2));
+        assertTrue(scheduler.getOverBudgetTicks() >= 1);
+    }
+
+    @Test
+    public void failingJobIsIsolatedAndCounted() {
+        AtomicLong clock = new AtomicLong();
+        SimulationScheduler scheduler = new SimulationScheduler(Logger.getLogger("sim-test"), clock::get);
+        List<String> runs = new ArrayList<>();
+        scheduler.schedule("broken", () -> { throw new IllegalStateException("boom"); }, 1);
+        scheduler.schedule("healthy", () -> runs.add("healthy"), 1);
+
+        scheduler.tick();
+
+        assertEquals(List.of("healthy"), runs);
+        SimulationScheduler.JobStats broken = scheduler.getJobStats().stream()
+            .filter(stats -> stats.getName().equals("broken"))
+            .findFirst()
+            .orElseThrow();
+        assertEquals(1, broken.getRuns());
+        assertEquals(1, broken.getFailures());
+    }
+
+    @Test
+    public void duplicateJobNameThrows() {
+        SimulationScheduler scheduler = new SimulationScheduler(Logger.getLogger("sim-test"));
+        scheduler.schedule("job", () -> { }, 20);
+        try {
+            scheduler.schedule("job", () -> { }, 20);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void cancelledJobStopsRunning() {
+        SimulationScheduler scheduler = new SimulationScheduler(Logger.getLogger("sim-test"));
+        List<String> runs = new ArrayList<>();
+        scheduler.schedule("job", () -> runs.add("job"), 1);
+
+        scheduler.tick();
+        assertTrue(scheduler.cancel("job"));
+        scheduler.tick();
+
+        assertEquals(1, runs.size());
+        assertFalse(scheduler.isScheduled("job"));
+    }
+
+    @Test
+    public void namedHandoffIsAttributedToItsSystem() {
+        AtomicLong clock = new AtomicLong(1_000_000_000L);
+        AtomicLong allocated = new AtomicLong();
+        SimulationScheduler scheduler = new SimulationScheduler(Logger.getLogger("sim-test"), clock::get);
+        TickProfiler profiler = new TickProfiler(clock::get);
+        AllocationProfiler allocations = new AllocationProfiler(allocated::get, true);
+        allocations.setEnabled(true);
+        scheduler.setProfiler(profiler);
+        scheduler.setAllocationProfiler(allocations);
+
+        scheduler.execute(SimulationScheduler.handoff("HappinessService.updateHappiness", () -> {
+            clock.addAndGet(2_000_000L);
+            allocated.addAndGet(64L);
+        }));
+        scheduler.execute(() -> clock.addAndGet(1_000_000L));
+        scheduler.tick();
+        profiler.beginTick();
+
+        List<String> owners = new ArrayList<>();
+        for (TickProfiler.OwnerStats stats : profiler.getOwnerStats()) {
+            owners.add(stats.getName());
+        }
+        assertEquals(List.of("HappinessService", "SimulationSchedulerTest"), owners);
+        assertEquals(2_000_000L, profiler.getOwnerStats().get(0).getTotalNanos());
+        AllocationProfiler.HandlerStats allocation = allocations.getTopAllocators(1).get(0);
+        assertEquals("HappinessService.updateHappiness", allocation.getName());
+        assertEquals(64L, allocation.getTotalBytes());
+    }
+}
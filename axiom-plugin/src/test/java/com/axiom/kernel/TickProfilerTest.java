@@ -0,0 +1,142 @@
+package com.axiom.kernel;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.*;
+
+public class TickProfilerTest {
+    private static final long MS = 1_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(1_000 * MS);
+    private final TickProfiler profiler = new TickProfiler(clock::get);
+
+    @Test
+    public void attributesOnlyOutermostMeasurement() {
+        profiler.beginTick();
+        long outer = profiler.start();
+        clock.addAndGet(2 * MS);
+        long inner = profiler.start();
+        clock.addAndGet(3 * MS);
+        profiler.stop("InnerListener", inner);
+        profiler.stop("OuterService", outer);
+        clock.addAndGet(45 * MS);
+        profiler.beginTick();
+
+        List<TickProfiler.TickRecord> worst = profiler.getWorstTicks();
+        assertEquals(1, worst.size());
+        assertEquals(5 * MS, worst.get(0).getAttributedNanos());
+        assertEquals(50 * MS, worst.get(0).getTickNanos());
+        assertEquals(Long.valueOf(5 * MS), worst.get(0).getBreakdown().get("OuterService"));
+        assertFalse(worst.get(0).getBreakdown().containsKey("InnerListener"));
+    }
+
+    @Test
+    public void keepsWorstTicksWithinWindow() {
+        profiler.configure(2, 100);
+        long[] costs = {4, 9, 1, 7, 3};
+        for (long cost : costs) {
+            profiler.beginTick();
+            spend("Service" + cost, cost);
+        }
+        profiler.beginTick();
+
+        List<TickProfiler.TickRecord> worst = profiler.getWorstTicks();
+        assertEquals(2, worst.size());
+        assertEquals(9 * MS, worst.get(0).getAttributedNanos());
+        assertEquals(7 * MS, worst.get(1).getAttributedNanos());
+
+        for (int i = 0; i < 100; i++) {
+            profiler.beginTick();
+        }
+        assertTrue(profiler.getWorstTicks().isEmpty());
+        assertEquals(5, profiler.getOwnerStats().size());
+    }
+
+    @Test
+    public void accumulatesOwnerTotalsAcrossTicks() {
+        for (int i = 0; i < 3; i++) {
+            profiler.beginTick();
+            spend("A", 2);
+            spend("B", 1);
+            spend("A", 1);
+        }
+        profiler.beginTick();
+
+        TickProfiler.OwnerStats top = profiler.getOwnerStats().get(0);
+        assertEquals("A", top.getName());
+        assertEquals(9 * MS, top.getTotalNanos());
+        assertEquals(3 * MS, top.getMaxTickNanos());
+        assertEquals(3, top.getTicks());
+    }
+
+    @Test
+    public void publishesSummaryEveryInterval() {
+        profiler.beginTick();
+        for (int i = 1; i < TickProfiler.PUBLISH_INTERVAL_TICKS; i++) {
+            spend("A", 1);
+            profiler.beginTick();
+        }
+        assertEquals(0L, profiler.getSummary().getProfiledTicks());
+        assertTrue(profiler.getSummary().getOwnerStats().isEmpty());
+
+        spend("A", 2);
+        profiler.beginTick();
+
+        TickProfiler.Summary summary = profiler.getSummary();
+        assertEquals(TickProfiler.PUBLISH_INTERVAL_TICKS, summary.getProfiledTicks());
+        assertEquals("A", summary.getOwnerStats().get(0).getName());
+        assertEquals((TickProfiler.PUBLISH_INTERVAL_TICKS + 1) * MS, summary.getOwnerStats().get(0).getTotalNanos());
+        assertEquals(2 * MS, summary.getWorstTicks().get(0).getAttributedNanos());
+
+        profiler.reset();
+        assertEquals(0L, profiler.getSummary().getProfiledTicks());
+    }
+
+    @Test
+    public void ignoresOtherThreadsAndDisabledState() throws Exception {
+        profiler.beginTick();
+        Thread worker = new Thread(() -> spend("Worker", 10));
+        worker.start();
+        worker.join();
+        profiler.setEnabled(false);
+        spend("Disabled", 10);
+        profiler.setEnabled(true);
+        profiler.beginTick();
+
+        assertTrue(profiler.getOwnerStats().isEmpty());
+    }
+
+    @Test
+    public void schedulerAttributesJobsToServiceName() {
+        SimulationScheduler scheduler = new SimulationScheduler(Logger.getLogger("sim-test"));
+        scheduler.setProfiler(profiler);
+        scheduler.schedule("EconomyService.tick", () -> clock.addAndGet(2 * MS), 1);
+        for (int i = 0; i < 4; i++) {
+            scheduler.tick();
+        }
+
+        TickProfiler.OwnerStats stats = profiler.getOwnerStats().get(0);
+        assertEquals("EconomyService", stats.getName());
+        assertEquals(3, stats.getTicks());
+    }
+
+    @Test
+    public void ownerOfStripsNestedAndLambdaSuffixes() {
+        Runnable lambda = () -> { };
+        Object anonymous = new Object() { };
+        assertEquals("TickProfilerTest", TickProfiler.ownerOf(lambda));
+        assertEquals("TickProfilerTest", TickProfiler.ownerOf(anonymous));
+        assertEquals("TickProfiler", TickProfiler.ownerOf(TickProfiler.OwnerStats.class));
+        assertEquals("NationManager", TickProfiler.ownerOfJob("NationManager.flush"));
+    }
+
+    private void spend(String owner, long millis) {
+        long start = profiler.start();
+        clock.addAndGet(millis * MS);
+        profiler.stop(owner, start);
+    }
+}
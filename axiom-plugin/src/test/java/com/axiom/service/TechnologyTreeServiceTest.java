@@ -49,4 +49,23 @@ public class TechnologyTreeServiceTest {
 
         assertEquals(TechnologyTreeService.ProgressStage.EARLY, techService.getNationStage("n1"));
     }
+
+    @Test
+    public void nationVersionChangesOnlyWithItsOwnUnlocks() throws Exception {
+        File data = tempFolder.newFolder("plugin");
+        AXIOM plugin = TestPluginFactory.createPlugin(data);
+        InMemoryNationManager nationManager = new InMemoryNationManager(plugin);
+        nationManager.addNation(new Nation("n1", "Nation One", UUID.randomUUID(), "AXC", 50000.0));
+        nationManager.addNation(new Nation("n2", "Nation Two", UUID.randomUUID(), "AXC", 50000.0));
+        TestPluginFactory.setField(plugin, "nationManager", nationManager);
+
+        TechnologyTreeService techService = new TechnologyTreeService(plugin);
+        long n1 = techService.getVersion("n1");
+        long n2 = techService.getVersion("n2");
+
+        techService.researchTechnology("n1", "basic_currency");
+
+        assertNotEquals(n1, techService.getVersion("n1"));
+        assertEquals(n2, techService.getVersion("n2"));
+    }
 }
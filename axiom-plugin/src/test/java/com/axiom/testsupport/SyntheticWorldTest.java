@@ -0,0 +1,82 @@
+package com.axiom.testsupport;
+
+import com.axiom.domain.model.Nation;
+import com.axiom.domain.service.politics.DiplomacyRelationService;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class SyntheticWorldTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void sameSeedGivesSameWorld() throws Exception {
+        SyntheticWorld.Spec spec = new SyntheticWorld.Spec().nations(25).chunksPerNation(9).warFraction(0.3);
+        SyntheticWorld first = SyntheticWorld.generate(tempFolder.newFolder("a"), spec);
+        SyntheticWorld second = SyntheticWorld.generate(tempFolder.newFolder("b"), spec);
+
+        assertEquals(25, first.nations().size());
+        assertEquals(25 * 9, first.territoryService().getAllSquares().size());
+        assertFalse(first.wars().isEmpty());
+        for (int i = 0; i < 25; i++) {
+            Nation a = first.nations().get(i);
+            Nation b = second.nations().get(i);
+            assertEquals(a.getClaimedChunkKeys(), b.getClaimedChunkKeys());
+            assertEquals(a.getCitizens(), b.getCitizens());
+            assertEquals(a.getAllies(), b.getAllies());
+            assertEquals(a.getEnemies(), b.getEnemies());
+        }
+        String[] war = first.wars().get(0);
+        assertEquals(DiplomacyRelationService.RelationStatus.WAR, first.relationService().getStatus(war[0], war[1]));
+        assertNotNull(first.warSystem().getActiveWar(war[0], war[1]));
+    }
+
+    @Test
+    public void seedsEconomyThroughServices() throws Exception {
+        SyntheticWorld world = SyntheticWorld.generate(tempFolder.newFolder("plugin"), new SyntheticWorld.Spec()
+            .nations(10).citizensPerNation(3).loanFraction(1.0).corporationsPerNation(1).techsPerNation(2));
+
+        assertEquals(3, world.nations().get(0).getCitizens().size());
+        assertEquals(10, world.loans());
+        assertEquals(10, world.corporations());
+        assertEquals(10, world.stockMarketService().getAllCorporations().size());
+        assertEquals(20, world.technologies());
+    }
+
+    @Test
+    public void tickLoopRunsPeriodicJobs() throws Exception {
+        SyntheticWorld world = SyntheticWorld.generate(tempFolder.newFolder("plugin"), new SyntheticWorld.Spec()
+            .nations(16).warFraction(0.5).techsPerNation(1));
+
+        SimulatedTickLoop.Report report = new SimulatedTickLoop(world.plugin()).run(6_000);
+
+        assertEquals(6_000, report.getTicks());
+        assertEquals(6_000L, report.getTickTimes().getCount());
+        // Cleanup and research jobs run every 5 minutes, war processing every 2 minutes
+        assertTrue(report.getJobRuns() >= 2);
+        assertTrue(report.getBukkitTasks() >= 3);
+    }
+
+    /** Scale run, e.g. {@code -Daxiom.loadtest.nations=1000 -Daxiom.loadtest.ticks=72000}. */
+    @Test
+    public void scaleRun() throws Exception {
+        int nations = Integer.getInteger("axiom.loadtest.nations", 0);
+        Assume.assumeTrue(nations > 0);
+        int ticks = Integer.getInteger("axiom.loadtest.ticks", 72_000);
+        SyntheticWorld world = SyntheticWorld.generate(tempFolder.newFolder("plugin"), new SyntheticWorld.Spec()
+            .nations(nations).chunksPerNation(100).citizensPerNation(20)
+            .corporationsPerNation(1).techsPerNation(5));
+
+        SimulatedTickLoop.Report report = new SimulatedTickLoop(world.plugin()).run(ticks);
+
+        assertEquals(nations, world.nations().size());
+        assertEquals(ticks, report.getTicks());
+        assertEquals((long) ticks, report.getTickTimes().getCount());
+        assertTrue(report.summary(), report.summary().startsWith(ticks + " ticks in "));
+    }
+}
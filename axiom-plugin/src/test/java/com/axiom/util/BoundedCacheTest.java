@@ -0,0 +1,173 @@
+package com.axiom.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class BoundedCacheTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+    @Test
+    public void sizeStaysWithinMaximum() {
+        BoundedCache<Integer, String> cache = cache(0L, 100, null, 0L);
+        for (int i = 0; i < 10_000; i++) {
+            cache.put(i, "v" + i);
+        }
+        assertEquals(100, cache.size());
+        assertEquals(9_900L, cache.getStatistics().get("evictions"));
+    }
+
+    @Test
+    public void frequentlyUsedKeysSurviveScan() {
+        BoundedCache<Integer, String> cache = cache(0L, 100, null, 0L);
+        for (int i = 0; i < 50; i++) {
+            cache.put(i, "hot" + i);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.get(i);
+            }
+        }
+        // One-off keys must not flush the hot set
+        for (int i = 1_000; i < 11_000; i++) {
+            cache.put(i, "cold");
+        }
+        int hotLeft = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.get(i).isPresent()) {
+                hotLeft++;
+            }
+        }
+        assertTrue("hot entries left: " + hotLeft, hotLeft >= 45);
+    }
+
+    @Test
+    public void entriesExpireByTtl() {
+        BoundedCache<String, String> cache = cache(60 * SECOND, 100, null, 0L);
+        cache.put("a", "1");
+        clock.addAndGet(30 * SECOND);
+        cache.put("b", "2");
+        clock.addAndGet(31 * SECOND);
+
+        assertFalse(cache.get("a").isPresent());
+        assertEquals(Optional.of("2"), cache.get("b"));
+
+        clock.addAndGet(5 * 60 * SECOND);
+        cache.cleanup();
+        assertEquals(0, cache.size());
+        assertEquals(0L, cache.weightedSize());
+    }
+
+    @Test
+    public void weigherBoundsTotalWeight() {
+        BoundedCache<Integer, String> cache = cache(0L, 1_000, (key, value) -> value.length(), 0L);
+        for (int i = 0; i < 500; i++) {
+            cache.put(i, "x".repeat(1 + i % 20));
+        }
+        assertTrue(cache.weightedSize() <= 1_000);
+    }
+
+    @Test
+    public void concurrentLoadsOfOneKeyRunLoaderOnce() throws Exception {
+        BoundedCache<String, String> cache = cache(0L, 100, null, 0L);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return cache.getOrLoad("k", key -> {
+                        calls.incrementAndGet();
+                        sleep(100);
+                        return "loaded";
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                assertEquals("loaded", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void refreshAheadServesStaleValueAndReloads() {
+        List<Runnable> refreshTasks = new ArrayList<>();
+        BoundedCache<String, Integer> cache = new BoundedCache<>(600 * SECOND, 100, null, 60 * SECOND,
+            refreshTasks::add, clock::get);
+        AtomicInteger version = new AtomicInteger();
+
+        assertEquals(Integer.valueOf(0), cache.getOrLoad("k", key -> version.getAndIncrement()));
+        clock.addAndGet(61 * SECOND);
+        assertEquals(Integer.valueOf(0), cache.getOrLoad("k", key -> version.getAndIncrement()));
+        assertEquals(Integer.valueOf(0), cache.getOrLoad("k", key -> version.getAndIncrement()));
+        assertEquals("one refresh in flight", 1, refreshTasks.size());
+
+        refreshTasks.get(0).run();
+        assertEquals(Optional.of(1), cache.get("k"));
+    }
+
+    @Test
+    public void concurrentMixedAccessStaysBounded() throws Exception {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(0L, 500);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int seed = t;
+                tasks.add(pool.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 50_000; i++) {
+                        int key = random.nextInt(5_000);
+                        if (random.nextBoolean()) {
+                            cache.put(key, key);
+                        } else {
+                            cache.get(key).ifPresent(value -> assertEquals(key, value.intValue()));
+                        }
+                        if (i % 1_000 == 0) {
+                            cache.remove(random.nextInt(5_000));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertTrue(cache.size() <= 500);
+        assertEquals(cache.size(), cache.weightedSize());
+    }
+
+    private <K, V> BoundedCache<K, V> cache(long ttlNanos, long maximum, BoundedCache.Weigher<K, V> weigher, long refreshNanos) {
+        return new BoundedCache<>(ttlNanos, maximum, weigher, refreshNanos, Runnable::run, clock::get);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.axiom.util;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class JsonDiffTest {
+
+    @Test
+    public void equalDocumentsHaveNoOps() {
+        JsonObject doc = parse("{\"a\":{\"n\":1,\"tags\":[1,2]}}");
+        assertEquals(0, JsonDiff.diff(doc, doc.deepCopy()).size());
+    }
+
+    @Test
+    public void diffTouchesOnlyChangedFields() {
+        JsonObject from = parse("{\"rome\":{\"name\":\"Rome\",\"population\":3},\"gaul\":{\"name\":\"Gaul\"}}");
+        JsonObject to = parse("{\"rome\":{\"name\":\"Rome\",\"population\":4},\"carthage.v2\":{\"name\":\"Carthage\"}}");
+
+        JsonArray ops = JsonDiff.diff(from, to);
+
+        assertEquals(3, ops.size());
+        assertTrue(ops.contains(parse("{\"p\":[\"gaul\"]}")));
+        assertTrue(ops.contains(parse("{\"p\":[\"rome\",\"population\"],\"v\":4}")));
+        assertTrue(ops.contains(parse("{\"p\":[\"carthage.v2\"],\"v\":{\"name\":\"Carthage\"}}")));
+    }
+
+    @Test
+    public void applyingDiffReproducesTarget() {
+        JsonObject from = parse("{\"s\":{\"balance\":10.5,\"role\":\"CITIZEN\",\"list\":[1]},\"x\":1}");
+        JsonObject to = parse("{\"s\":{\"balance\":12.0,\"list\":[1,2],\"nested\":{\"k\":true}},\"y\":null}");
+
+        JsonObject applied = JsonDiff.apply(from.deepCopy(), JsonDiff.diff(from, to));
+
+        assertEquals(to, applied);
+    }
+
+    private static JsonObject parse(String json) {
+        return JsonParser.parseString(json).getAsJsonObject();
+    }
+}
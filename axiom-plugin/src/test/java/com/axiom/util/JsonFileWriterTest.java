@@ -0,0 +1,58 @@
+package com.axiom.util;
+
+import com.google.gson.JsonParser;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class JsonFileWriterTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void writesStreamedDocumentAndReplacesTarget() throws IOException {
+        File target = new File(tempFolder.getRoot(), "out/data.json");
+
+        JsonFileWriter.write(target, false, out -> {
+            out.beginObject();
+            out.name("items").beginArray();
+            for (int i = 0; i < 1000; i++) {
+                out.value(i);
+            }
+            out.endArray();
+            out.endObject();
+        });
+
+        String content = new String(Files.readAllBytes(target.toPath()), StandardCharsets.UTF_8);
+        assertEquals(1000, JsonParser.parseString(content).getAsJsonObject().getAsJsonArray("items").size());
+        assertFalse(new File(target.getPath() + ".tmp").exists());
+    }
+
+    @Test
+    public void failedWriteKeepsPreviousFile() throws IOException {
+        File target = tempFolder.newFile("data.json");
+        Files.write(target.toPath(), "{\"old\":true}".getBytes(StandardCharsets.UTF_8));
+
+        try {
+            JsonFileWriter.write(target, true, out -> {
+                out.beginObject();
+                out.name("partial").value(1);
+                throw new IOException("boom");
+            });
+            fail("expected failure");
+        } catch (IOException expected) {
+            assertEquals("boom", expected.getMessage());
+        }
+
+        assertEquals("{\"old\":true}", new String(Files.readAllBytes(target.toPath()), StandardCharsets.UTF_8));
+        assertFalse(new File(target.getPath() + ".tmp").exists());
+    }
+}
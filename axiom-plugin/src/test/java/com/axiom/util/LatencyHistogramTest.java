@@ -0,0 +1,88 @@
+package com.axiom.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketsCoverValuesWithBoundedError() {
+        long previous = -1;
+        for (long value : new long[]{0, 1, 15, 16, 17, 31, 32, 1_000, 123_456, 999_999_999L, 1L << 40}) {
+            int index = LatencyHistogram.indexOf(value);
+            long highest = LatencyHistogram.highestValueOf(index);
+            assertTrue(value + " <= " + highest, value <= highest);
+            assertTrue("relative error for " + value, highest - value <= Math.max(0, value / 16));
+            assertTrue(index > previous || value == 0);
+            previous = index;
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.indexOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void percentilesAtNanosecondResolution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1_000; i++) {
+            histogram.record(i * 1_000L); // 1 µs .. 1 ms
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(1_000, snapshot.getCount());
+        assertEquals(500_000, snapshot.percentileNanos(0.50), 500_000 / 16.0);
+        assertEquals(990_000, snapshot.percentileNanos(0.99), 990_000 / 16.0);
+        assertEquals(1_000_000, snapshot.getMaxNanos());
+        assertEquals(500_500.0, snapshot.getMeanNanos(), 0.001);
+        assertTrue(snapshot.percentileMillis(0.50) > 0.0);
+    }
+
+    @Test
+    public void intervalSnapshotsOnlySeeNewRecords() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(5_000_000L);
+        assertEquals(1, histogram.intervalSnapshot().getCount());
+
+        histogram.record(100L);
+        histogram.record(200L);
+        LatencyHistogram.Snapshot interval = histogram.intervalSnapshot();
+        assertEquals(2, interval.getCount());
+        assertEquals(200L, interval.getMaxNanos());
+        assertEquals(300L, interval.getSumNanos());
+        assertEquals(3, histogram.snapshot().getCount());
+        assertEquals(5_000_000L, histogram.snapshot().getMaxNanos());
+
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().getCount());
+        assertEquals(0, histogram.intervalSnapshot().getCount());
+    }
+
+    @Test
+    public void concurrentRecordsAreNotLost() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                tasks.add(pool.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        histogram.record(i % 5_000);
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(400_000, histogram.snapshot().getCount());
+        assertEquals(4_999, histogram.snapshot().getMaxNanos());
+    }
+}
@@ -0,0 +1,52 @@
+package com.axiom.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PrometheusTextTest {
+
+    @Test
+    public void declaresFamilyOnceAndEscapesLabels() {
+        String text = new PrometheusText()
+            .gauge("axiom_nations", "Nations loaded", 12)
+            .counter("axiom_cache_hits_total", "Cache hits", 5, "cache", "nation\"s")
+            .counter("axiom_cache_hits_total", "Cache hits", 7.5, "cache", "a\\b\nc")
+            .toString();
+
+        assertEquals(
+            "# HELP axiom_nations Nations loaded\n"
+                + "# TYPE axiom_nations gauge\n"
+                + "axiom_nations 12\n"
+                + "# HELP axiom_cache_hits_total Cache hits\n"
+                + "# TYPE axiom_cache_hits_total counter\n"
+                + "axiom_cache_hits_total{cache=\"nation\\\"s\"} 5\n"
+                + "axiom_cache_hits_total{cache=\"a\\\\b\\nc\"} 7.5\n",
+            text);
+    }
+
+    @Test
+    public void histogramBucketsAreCumulative() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(50_000L);          // 0.05 ms
+        histogram.record(2_000_000L);       // 2 ms
+        histogram.record(2_000_000_000L);   // 2 s
+        String text = new PrometheusText()
+            .histogram("axiom_operation_duration_seconds", "Latency", histogram.snapshot(), "operation", "claim")
+            .toString();
+
+        assertTrue(text.contains("# TYPE axiom_operation_duration_seconds histogram\n"));
+        assertTrue(text.contains("axiom_operation_duration_seconds_bucket{operation=\"claim\",le=\"0.0001\"} 1\n"));
+        assertTrue(text.contains("axiom_operation_duration_seconds_bucket{operation=\"claim\",le=\"0.0025\"} 2\n"));
+        assertTrue(text.contains("axiom_operation_duration_seconds_bucket{operation=\"claim\",le=\"1\"} 2\n"));
+        assertTrue(text.contains("axiom_operation_duration_seconds_bucket{operation=\"claim\",le=\"2.5\"} 3\n"));
+        assertTrue(text.contains("axiom_operation_duration_seconds_bucket{operation=\"claim\",le=\"+Inf\"} 3\n"));
+        assertTrue(text.contains("axiom_operation_duration_seconds_count{operation=\"claim\"} 3\n"));
+        assertTrue(text.contains("axiom_operation_duration_seconds_sum{operation=\"claim\"} 2.00205\n"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnpairedLabels() {
+        new PrometheusText().gauge("axiom_x", "x", 1, "cache");
+    }
+}
@@ -0,0 +1,184 @@
+package com.axiom.util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SnapshotBarrierTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File data;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws IOException {
+        data = tempFolder.newFolder("AXIOM");
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void frozenViewIsUnaffectedByLaterWrites() throws IOException {
+        write("nations/a.json", "v1");
+        Path staging = tempFolder.getRoot().toPath().resolve("staging");
+
+        SnapshotBarrier.Frozen frozen = SnapshotBarrier.freeze(data.toPath(), staging, path -> true);
+        write("nations/a.json", "v2");
+
+        assertEquals(1, frozen.getFiles());
+        assertEquals("v1", read(staging.resolve("nations/a.json")));
+        assertEquals("v2", read(data.toPath().resolve("nations/a.json")));
+    }
+
+    @Test
+    public void freezeWaitsForFileSwapInProgress() throws Exception {
+        write("players/p.json", "old");
+        Path staging = tempFolder.getRoot().toPath().resolve("staging");
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Future<?> writerThread = executor.submit(() -> {
+            // Same permit a writer holds while renaming its temporary file over the target
+            SnapshotBarrier.enterWrite();
+            try {
+                entered.countDown();
+                finish.await();
+                Files.write(data.toPath().resolve("players/p.json"), "new".getBytes(StandardCharsets.UTF_8));
+            } finally {
+                SnapshotBarrier.exitWrite();
+            }
+            return null;
+        });
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        ExecutorService freezer = Executors.newSingleThreadExecutor();
+        try {
+            Future<SnapshotBarrier.Frozen> frozen = freezer.submit(() -> SnapshotBarrier.freeze(data.toPath(), staging, path -> true));
+            Thread.sleep(100);
+            assertFalse(frozen.isDone());
+            finish.countDown();
+            writerThread.get(5, TimeUnit.SECONDS);
+            assertEquals(1, frozen.get(5, TimeUnit.SECONDS).getFiles());
+        } finally {
+            freezer.shutdownNow();
+        }
+        assertEquals("new", read(staging.resolve("players/p.json")));
+    }
+
+    @Test
+    public void openWriterDoesNotHoldUpFreeze() throws IOException {
+        write("web/data.json", "previous");
+        Path staging = tempFolder.getRoot().toPath().resolve("staging");
+
+        try (JsonFileWriter export = JsonFileWriter.open(new File(data, "web/data.json"), false)) {
+            export.writer().beginObject().name("partial");
+            SnapshotBarrier.Frozen frozen = SnapshotBarrier.freeze(data.toPath(), staging, path -> true);
+
+            assertEquals(1, frozen.getFiles());
+            assertEquals("previous", read(staging.resolve("web/data.json")));
+            assertFalse(Files.exists(staging.resolve("web/data.json.tmp")));
+            export.writer().value(1).endObject();
+            export.commit();
+        }
+        assertEquals("{\"partial\":1}", read(data.toPath().resolve("web/data.json")));
+        assertEquals("previous", read(staging.resolve("web/data.json")));
+    }
+
+    @Test
+    public void participantsQuiesceBeforeFreeze() throws IOException {
+        AtomicInteger flushed = new AtomicInteger();
+        SnapshotBarrier.Participant participant = () -> {
+            flushed.incrementAndGet();
+            write("nations/pending.json", "flushed");
+        };
+        SnapshotBarrier.register(participant);
+        try {
+            Path staging = tempFolder.getRoot().toPath().resolve("staging");
+            SnapshotBarrier.freeze(data.toPath(), staging, path -> true);
+            assertEquals(1, flushed.get());
+            assertEquals("flushed", read(staging.resolve("nations/pending.json")));
+        } finally {
+            SnapshotBarrier.unregister(participant);
+        }
+    }
+
+    @Test
+    public void atomicWriterKeepsTargetWithoutCommit() throws IOException {
+        write("players/p.json", "keep");
+        File target = new File(data, "players/p.json");
+        try (AtomicFileWriter w = AtomicFileWriter.open(target)) {
+            w.write("{\"partial\":");
+            // Serialization failed halfway with an unchecked exception
+            throw new IllegalArgumentException("NaN is not a valid double value");
+        } catch (IllegalArgumentException expected) {
+            assertNotNull(expected.getMessage());
+        }
+        assertEquals("keep", read(target.toPath()));
+        assertEquals(1, target.getParentFile().list().length);
+    }
+
+    @Test
+    public void databaseIsCopiedInsteadOfLinked() throws IOException {
+        write("nations/a.json", "v1");
+        Path db = data.toPath().resolve("axiom.db");
+        Files.write(db, "live".getBytes(StandardCharsets.UTF_8));
+        Files.write(data.toPath().resolve("axiom.db-wal"), "wal".getBytes(StandardCharsets.UTF_8));
+        SnapshotBarrier.Database database = new SnapshotBarrier.Database() {
+            @Override
+            public Path file() {
+                return db;
+            }
+
+            @Override
+            public void backupTo(Path destination) throws IOException {
+                Files.write(destination, "consistent".getBytes(StandardCharsets.UTF_8));
+            }
+        };
+        SnapshotBarrier.registerDatabase(database);
+        try {
+            Path staging = tempFolder.getRoot().toPath().resolve("staging");
+            SnapshotBarrier.Frozen frozen = SnapshotBarrier.freeze(data.toPath(), staging, path -> true);
+
+            assertEquals(1, frozen.getLinked());
+            assertEquals(1, frozen.getCopied());
+            assertEquals("consistent", read(staging.resolve("axiom.db")));
+            assertFalse(Files.exists(staging.resolve("axiom.db-wal")));
+            assertEquals("live", read(db));
+        } finally {
+            SnapshotBarrier.unregisterDatabase(database);
+        }
+    }
+
+    private void write(String relative, String content) throws IOException {
+        File file = new File(data, relative);
+        try (AtomicFileWriter w = AtomicFileWriter.open(file)) {
+            w.write(content);
+            w.commit();
+        }
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,38 @@
+package com.axiom.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    public void allowsBurstThenRate() {
+        TokenBucket bucket = new TokenBucket(2.0, 3, now::get);
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+
+        now.addAndGet(500_000_000L);
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    public void refillIsCappedAtBurst() {
+        TokenBucket bucket = new TokenBucket(10.0, 2, now::get);
+        bucket.tryAcquire();
+        assertFalse(bucket.isFull());
+
+        now.addAndGet(60_000_000_000L);
+        assertTrue(bucket.isFull());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+}
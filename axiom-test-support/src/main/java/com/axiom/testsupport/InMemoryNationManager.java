@@ -56,6 +56,7 @@ public class InMemoryNationManager extends NationManager {
         if (nation == null || nation.getId() == null) {
             return;
         }
+        nation.changed();
         nations.put(nation.getId(), nation);
         indexNation(nation);
     }
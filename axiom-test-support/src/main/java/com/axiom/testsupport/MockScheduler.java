@@ -0,0 +1,264 @@
+package com.axiom.testsupport;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Recording {@link BukkitScheduler}: tasks scheduled by services are kept with their delay and
+ * period and run only when a test calls {@link #tick()}. Sync and async tasks both run inline
+ * on the calling thread, so a simulated tick loop is deterministic.
+ */
+public final class MockScheduler implements InvocationHandler {
+    private final BukkitScheduler proxy;
+    private final AtomicInteger ids = new AtomicInteger();
+    private final List<Task> tasks = new ArrayList<>();
+    private long currentTick;
+    private long executed;
+
+    public MockScheduler() {
+        this.proxy = (BukkitScheduler) Proxy.newProxyInstance(
+            BukkitScheduler.class.getClassLoader(),
+            new Class<?>[]{BukkitScheduler.class},
+            this
+        );
+    }
+
+    public BukkitScheduler asScheduler() {
+        return proxy;
+    }
+
+    /** Advances one tick and runs every task that is due. Returns the number of tasks run. */
+    public int tick() {
+        List<Task> due = new ArrayList<>();
+        synchronized (this) {
+            currentTick++;
+            Iterator<Task> it = tasks.iterator();
+            while (it.hasNext()) {
+                Task task = it.next();
+                if (task.cancelled) {
+                    it.remove();
+                } else if (task.nextRunTick <= currentTick) {
+                    due.add(task);
+                    if (task.period > 0) {
+                        task.nextRunTick = currentTick + task.period;
+                    } else {
+                        it.remove();
+                    }
+                }
+            }
+        }
+        int ran = 0;
+        for (Task task : due) {
+            if (!task.cancelled) {
+                task.run();
+                ran++;
+            }
+        }
+        synchronized (this) {
+            executed += ran;
+        }
+        return ran;
+    }
+
+    public synchronized long getCurrentTick() {
+        return currentTick;
+    }
+
+    public synchronized long getExecutedTasks() {
+        return executed;
+    }
+
+    public synchronized int getPendingTasks() {
+        return tasks.size();
+    }
+
+    public synchronized int getRepeatingTasks() {
+        int count = 0;
+        for (Task task : tasks) {
+            if (task.period > 0 && !task.cancelled) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** Drops every scheduled task, e.g. between tests sharing the static server. */
+    public synchronized void clear() {
+        tasks.clear();
+    }
+
+    @Override
+    public Object invoke(Object self, Method method, Object[] args) throws Exception {
+        String name = method.getName();
+        switch (name) {
+            case "runTask":
+            case "runTaskAsynchronously":
+            case "runTaskLater":
+            case "runTaskLaterAsynchronously":
+            case "runTaskTimer":
+            case "runTaskTimerAsynchronously":
+            case "scheduleSyncDelayedTask":
+            case "scheduleAsyncDelayedTask":
+            case "scheduleSyncRepeatingTask":
+            case "scheduleAsyncRepeatingTask": {
+                Task task = schedule(name, args);
+                Class<?> ret = method.getReturnType();
+                if (ret == int.class) {
+                    return task.id;
+                }
+                return ret == void.class ? null : task;
+            }
+            case "cancelTask":
+                cancel((Integer) args[0]);
+                return null;
+            case "cancelTasks":
+                synchronized (this) {
+                    for (Task task : tasks) {
+                        task.cancelled = true;
+                    }
+                    tasks.clear();
+                }
+                return null;
+            case "isQueued":
+            case "isCurrentlyRunning":
+                return isQueued((Integer) args[0]);
+            case "getPendingTasks":
+                synchronized (this) {
+                    return new ArrayList<BukkitTask>(tasks);
+                }
+            case "getActiveWorkers":
+                return Collections.emptyList();
+            case "callSyncMethod":
+                return CompletableFuture.completedFuture(((Callable<?>) args[1]).call());
+            case "getMainThreadExecutor":
+                return (java.util.concurrent.Executor) command -> schedule("runTask", new Object[]{args[0], command});
+            default:
+                return defaultValue(method.getReturnType());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Task schedule(String name, Object[] args) {
+        Plugin owner = (Plugin) args[0];
+        Object body = args[1];
+        long delay = 0L;
+        long period = -1L;
+        boolean repeating = name.contains("Timer") || name.contains("Repeating");
+        if (repeating) {
+            delay = ((Number) args[2]).longValue();
+            period = Math.max(1L, ((Number) args[3]).longValue());
+        } else if (args.length > 2 && args[2] instanceof Number) {
+            delay = ((Number) args[2]).longValue();
+        }
+        Task task = new Task(ids.incrementAndGet(), owner, !name.contains("Async"), period);
+        if (body instanceof Consumer) {
+            Consumer<BukkitTask> consumer = (Consumer<BukkitTask>) body;
+            task.body = () -> consumer.accept(task);
+        } else {
+            task.body = (Runnable) body;
+        }
+        synchronized (this) {
+            task.nextRunTick = currentTick + Math.max(1L, delay);
+            tasks.add(task);
+        }
+        return task;
+    }
+
+    private synchronized void cancel(int id) {
+        for (Iterator<Task> it = tasks.iterator(); it.hasNext(); ) {
+            Task task = it.next();
+            if (task.id == id) {
+                task.cancelled = true;
+                it.remove();
+            }
+        }
+    }
+
+    private synchronized boolean isQueued(int id) {
+        for (Task task : tasks) {
+            if (task.id == id && !task.cancelled) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    private final class Task implements BukkitTask {
+        private final int id;
+        private final Plugin owner;
+        private final boolean sync;
+        private final long period;
+        private Runnable body;
+        private long nextRunTick;
+        private volatile boolean cancelled;
+
+        private Task(int id, Plugin owner, boolean sync, long period) {
+            this.id = id;
+            this.owner = owner;
+            this.sync = sync;
+            this.period = period;
+        }
+
+        private void run() {
+            try {
+                body.run();
+            } catch (RuntimeException ex) {
+                // A failing task must not stop the loop; Bukkit logs and keeps going too
+                if (owner != null && owner.getLogger() != null) {
+                    owner.getLogger().warning("Task " + id + " failed: " + ex);
+                }
+            }
+        }
+
+        @Override
+        public int getTaskId() {
+            return id;
+        }
+
+        @Override
+        public Plugin getOwner() {
+            return owner;
+        }
+
+        @Override
+        public boolean isSync() {
+            return sync;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void cancel() {
+            MockScheduler.this.cancel(id);
+        }
+    }
+}
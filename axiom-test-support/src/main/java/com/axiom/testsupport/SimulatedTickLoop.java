@@ -0,0 +1,117 @@
+package com.axiom.testsupport;
+
+import com.axiom.AXIOM;
+import com.axiom.kernel.SimulationScheduler;
+import com.axiom.util.LatencyHistogram;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Locale;
+
+/**
+ * Drives a test plugin without a server: each simulated tick runs the tasks due on the
+ * {@link MockScheduler} and then the plugin's {@link SimulationScheduler}, the way the server
+ * calls them from the main thread. Tick durations go into a {@link LatencyHistogram}; heap
+ * usage is sampled after a full GC before and after the run.
+ */
+public final class SimulatedTickLoop {
+    private final AXIOM plugin;
+    private final MockScheduler scheduler;
+
+    public SimulatedTickLoop(AXIOM plugin) {
+        this.plugin = plugin;
+        this.scheduler = TestPluginFactory.scheduler();
+    }
+
+    public Report run(int ticks) {
+        SimulationScheduler simulation = plugin.getSimulationScheduler();
+        LatencyHistogram histogram = new LatencyHistogram();
+        long heapBefore = usedHeapAfterGc();
+        long bukkitTasks = 0L;
+        long start = System.nanoTime();
+        for (int i = 0; i < ticks; i++) {
+            long tickStart = System.nanoTime();
+            bukkitTasks += scheduler.tick();
+            simulation.tick();
+            histogram.record(System.nanoTime() - tickStart);
+        }
+        long elapsed = System.nanoTime() - start;
+        long jobRuns = 0L;
+        for (SimulationScheduler.JobStats stats : simulation.getJobStats()) {
+            jobRuns += stats.getRuns();
+        }
+        return new Report(ticks, histogram.snapshot(), heapBefore, usedHeapAfterGc(), bukkitTasks, jobRuns, elapsed);
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    public static final class Report {
+        private final int ticks;
+        private final LatencyHistogram.Snapshot tickTimes;
+        private final long heapBefore;
+        private final long heapAfter;
+        private final long bukkitTasks;
+        private final long jobRuns;
+        private final long elapsedNanos;
+
+        private Report(int ticks, LatencyHistogram.Snapshot tickTimes, long heapBefore, long heapAfter,
+                       long bukkitTasks, long jobRuns, long elapsedNanos) {
+            this.ticks = ticks;
+            this.tickTimes = tickTimes;
+            this.heapBefore = heapBefore;
+            this.heapAfter = heapAfter;
+            this.bukkitTasks = bukkitTasks;
+            this.jobRuns = jobRuns;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getTicks() {
+            return ticks;
+        }
+
+        public LatencyHistogram.Snapshot getTickTimes() {
+            return tickTimes;
+        }
+
+        public long getHeapBefore() {
+            return heapBefore;
+        }
+
+        public long getHeapAfter() {
+            return heapAfter;
+        }
+
+        public long getHeapGrowth() {
+            return heapAfter - heapBefore;
+        }
+
+        /** Bukkit scheduler tasks run during the loop. */
+        public long getBukkitTasks() {
+            return bukkitTasks;
+        }
+
+        /** Simulation job runs since the scheduler was created. */
+        public long getJobRuns() {
+            return jobRuns;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public String summary() {
+            return String.format(Locale.ROOT,
+                "%d ticks in %.1f ms: mean %.3f ms, p50 %.3f ms, p95 %.3f ms, p99 %.3f ms, max %.3f ms; "
+                    + "%d bukkit tasks, %d job runs; heap %+.1f MB (%.1f -> %.1f MB)",
+                ticks, elapsedNanos / 1_000_000.0,
+                tickTimes.getMeanMillis(), tickTimes.percentileMillis(0.50), tickTimes.percentileMillis(0.95),
+                tickTimes.percentileMillis(0.99), tickTimes.getMaxMillis(),
+                bukkitTasks, jobRuns,
+                getHeapGrowth() / 1048576.0, heapBefore / 1048576.0, heapAfter / 1048576.0);
+        }
+    }
+}
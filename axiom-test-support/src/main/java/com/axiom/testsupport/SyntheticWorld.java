@@ -0,0 +1,333 @@
+package com.axiom.testsupport;
+
+import com.axiom.AXIOM;
+import com.axiom.domain.model.Nation;
+import com.axiom.domain.service.industry.BankingService;
+import com.axiom.domain.service.industry.StockMarketService;
+import com.axiom.domain.service.military.AdvancedWarSystem;
+import com.axiom.domain.service.politics.DiplomacyRelationService;
+import com.axiom.domain.service.politics.DiplomacySystem;
+import com.axiom.domain.service.state.TerritoryService;
+import com.axiom.domain.service.technology.TechnologyTreeService;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Seeded synthetic world for scaling tests and benchmarks.
+ * <p>
+ * Nations own contiguous square blocks of chunks laid out on a grid in world {@value #WORLD},
+ * so grid neighbours share borders. Citizens, alliances and wars are written to the nation data
+ * before the services start: {@link DiplomacyRelationService} bootstraps relations from it in
+ * one pass instead of rewriting its relations file per {@code setStatus} call. Wars are then
+ * registered with {@link AdvancedWarSystem}, and loans, corporations and technologies go through
+ * the regular service APIs. The same seed always produces the same nations, claims and
+ * relations; ids and timestamps generated inside services are not seeded.
+ */
+public final class SyntheticWorld {
+    public static final String WORLD = "world";
+
+    private final AXIOM plugin;
+    private final InMemoryNationManager nationManager;
+    private final List<Nation> nations;
+    private final int blockSide;
+    private final int gridSide;
+    private final List<String[]> wars = new ArrayList<>();
+    private TerritoryService territoryService;
+    private DiplomacyRelationService relationService;
+    private DiplomacySystem diplomacySystem;
+    private AdvancedWarSystem warSystem;
+    private BankingService bankingService;
+    private StockMarketService stockMarketService;
+    private TechnologyTreeService technologyService;
+    private int loans;
+    private int corporations;
+    private int technologies;
+
+    private SyntheticWorld(AXIOM plugin, InMemoryNationManager nationManager, List<Nation> nations,
+                           int blockSide, int gridSide) {
+        this.plugin = plugin;
+        this.nationManager = nationManager;
+        this.nations = nations;
+        this.blockSide = blockSide;
+        this.gridSide = gridSide;
+    }
+
+    public static SyntheticWorld generate(File dataFolder, Spec spec) {
+        if (spec.nations <= 0 || spec.chunksPerNation <= 0) {
+            throw new IllegalArgumentException("Need at least one nation with one chunk: " + spec.nations + "/" + spec.chunksPerNation);
+        }
+        // Tasks left over by earlier tests on the shared server would run in this world's ticks
+        TestPluginFactory.scheduler().clear();
+        AXIOM plugin = TestPluginFactory.createPlugin(dataFolder);
+        InMemoryNationManager nationManager = new InMemoryNationManager(plugin);
+        TestPluginFactory.setField(plugin, "nationManager", nationManager);
+
+        Random random = new Random(spec.seed);
+        int blockSide = (int) Math.ceil(Math.sqrt(spec.chunksPerNation));
+        int gridSide = (int) Math.ceil(Math.sqrt(spec.nations));
+        List<Nation> nations = new ArrayList<>(spec.nations);
+        for (int i = 0; i < spec.nations; i++) {
+            Nation nation = new Nation("n" + i, "Nation " + i, new UUID(spec.seed, (long) i << 32),
+                "AXC", 200_000.0 + random.nextInt(800_000));
+            for (int c = 1; c < spec.citizensPerNation; c++) {
+                UUID citizen = new UUID(spec.seed, ((long) i << 32) | c);
+                nation.getCitizens().add(citizen);
+                nation.getRoles().put(citizen, Nation.Role.CITIZEN);
+            }
+            int originX = (i % gridSide) * blockSide;
+            int originZ = (i / gridSide) * blockSide;
+            for (int c = 0; c < spec.chunksPerNation; c++) {
+                nation.getClaimedChunkKeys().add(WORLD + ":" + (originX + c % blockSide) + ":" + (originZ + c / blockSide));
+            }
+            nation.setCapitalChunkStr(WORLD + ":" + originX + ":" + originZ);
+            nations.add(nation);
+        }
+
+        SyntheticWorld world = new SyntheticWorld(plugin, nationManager, nations, blockSide, gridSide);
+        world.seedRelations(spec, random);
+        for (Nation nation : nations) {
+            nationManager.addNation(nation);
+        }
+        if (!spec.services) {
+            return world;
+        }
+        world.startServices();
+        try {
+            world.seedEconomy(spec, random);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        world.seedTechnologies(spec);
+        return world;
+    }
+
+    private void seedRelations(Spec spec, Random random) {
+        int count = nations.size();
+        for (int i = 0; i < count; i++) {
+            Nation nation = nations.get(i);
+            // Wars against the border neighbour, so fronts come from real shared borders
+            Nation enemy = neighbourOf(i);
+            if (enemy != nation && random.nextDouble() < spec.warFraction
+                && !nation.getAllies().contains(enemy.getId()) && !nation.getEnemies().contains(enemy.getId())) {
+                nation.getEnemies().add(enemy.getId());
+                enemy.getEnemies().add(nation.getId());
+                wars.add(new String[] {nation.getId(), enemy.getId()});
+            }
+            for (int a = 0; a < spec.alliesPerNation && count > 2; a++) {
+                Nation ally = nations.get(random.nextInt(count));
+                if (ally != nation && !nation.getEnemies().contains(ally.getId())) {
+                    nation.getAllies().add(ally.getId());
+                    ally.getAllies().add(nation.getId());
+                }
+            }
+        }
+    }
+
+    private void startServices() {
+        territoryService = new TerritoryService(plugin.getLogger(), nationManager);
+        relationService = new DiplomacyRelationService(plugin, nationManager);
+        TestPluginFactory.setField(plugin, "diplomacyRelationService", relationService);
+        diplomacySystem = new DiplomacySystem(plugin, nationManager, relationService);
+        TestPluginFactory.setField(plugin, "diplomacySystem", diplomacySystem);
+        warSystem = new AdvancedWarSystem(plugin, nationManager, diplomacySystem, null, null, null, null);
+        TestPluginFactory.setField(plugin, "advancedWarSystem", warSystem);
+        for (String[] war : wars) {
+            warSystem.registerDiplomaticWar(war[0], war[1]);
+        }
+        bankingService = new BankingService(plugin, nationManager);
+        TestPluginFactory.setField(plugin, "bankingService", bankingService);
+        stockMarketService = new StockMarketService(plugin);
+        TestPluginFactory.setField(plugin, "stockMarketService", stockMarketService);
+        technologyService = new TechnologyTreeService(plugin);
+        TestPluginFactory.setField(plugin, "technologyTreeService", technologyService);
+    }
+
+    private void seedEconomy(Spec spec, Random random) throws IOException {
+        int count = nations.size();
+        for (int i = 0; i < count; i++) {
+            Nation borrower = nations.get(i);
+            if (count > 1 && random.nextDouble() < spec.loanFraction) {
+                Nation lender = nations.get((i + 1 + random.nextInt(count - 1)) % count);
+                double amount = 1_000.0 + random.nextInt(9_000);
+                if (bankingService.issueLoan(lender.getId(), borrower.getId(), amount, 5.0, 30).startsWith("Кредит выдан")) {
+                    loans++;
+                }
+            }
+            for (int c = 0; c < spec.corporationsPerNation; c++) {
+                int before = stockMarketService.getCorporationsOf(borrower.getId()).size();
+                stockMarketService.createCorporation(borrower.getId(), "corp-" + i + "-" + c, "industry");
+                corporations += stockMarketService.getCorporationsOf(borrower.getId()).size() - before;
+            }
+        }
+    }
+
+    private void seedTechnologies(Spec spec) {
+        if (spec.techsPerNation <= 0) {
+            return;
+        }
+        // Lower tiers first so prerequisites are usually already unlocked
+        List<TechnologyTreeService.Technology> ordered = new ArrayList<>(technologyService.getAllTechs());
+        ordered.sort(Comparator.comparingInt((TechnologyTreeService.Technology t) -> t.tier).thenComparing(t -> t.id));
+        for (Nation nation : nations) {
+            int unlocked = 0;
+            for (TechnologyTreeService.Technology tech : ordered) {
+                if (unlocked >= spec.techsPerNation) {
+                    break;
+                }
+                technologyService.researchTechnology(nation.getId(), tech.id);
+                if (technologyService.isTechnologyUnlocked(nation.getId(), tech.id)) {
+                    unlocked++;
+                }
+            }
+            technologies += unlocked;
+        }
+    }
+
+    public AXIOM plugin() {
+        return plugin;
+    }
+
+    public InMemoryNationManager nationManager() {
+        return nationManager;
+    }
+
+    public List<Nation> nations() {
+        return nations;
+    }
+
+    public TerritoryService territoryService() {
+        return territoryService;
+    }
+
+    public DiplomacyRelationService relationService() {
+        return relationService;
+    }
+
+    public DiplomacySystem diplomacySystem() {
+        return diplomacySystem;
+    }
+
+    public AdvancedWarSystem warSystem() {
+        return warSystem;
+    }
+
+    public BankingService bankingService() {
+        return bankingService;
+    }
+
+    public StockMarketService stockMarketService() {
+        return stockMarketService;
+    }
+
+    public TechnologyTreeService technologyService() {
+        return technologyService;
+    }
+
+    /** Attacker/defender id pairs of the seeded wars. */
+    public List<String[]> wars() {
+        return wars;
+    }
+
+    public int loans() {
+        return loans;
+    }
+
+    public int corporations() {
+        return corporations;
+    }
+
+    public int technologies() {
+        return technologies;
+    }
+
+    /** Side of the square area covered by claims, in chunks. */
+    public int extent() {
+        return gridSide * blockSide;
+    }
+
+    /** Nation whose block is right of {@code index} on the grid (wrapping), i.e. a border neighbour. */
+    public Nation neighbourOf(int index) {
+        int column = index % gridSide;
+        int candidate = column + 1 < gridSide ? index + 1 : index - column;
+        return nations.get(candidate < nations.size() ? candidate : index - column);
+    }
+
+    /** World shape; every count is per nation unless stated otherwise. */
+    public static final class Spec {
+        private int nations = 100;
+        private int chunksPerNation = 16;
+        private int citizensPerNation = 5;
+        private int alliesPerNation = 2;
+        private double warFraction = 0.1;
+        private double loanFraction = 0.2;
+        private int corporationsPerNation = 0;
+        private int techsPerNation = 0;
+        private long seed = 20240601L;
+        private boolean services = true;
+
+        public Spec nations(int value) {
+            this.nations = value;
+            return this;
+        }
+
+        public Spec chunksPerNation(int value) {
+            this.chunksPerNation = value;
+            return this;
+        }
+
+        /** Including the leader. */
+        public Spec citizensPerNation(int value) {
+            this.citizensPerNation = value;
+            return this;
+        }
+
+        public Spec alliesPerNation(int value) {
+            this.alliesPerNation = value;
+            return this;
+        }
+
+        /** Share of nations that start a war with their border neighbour. */
+        public Spec warFraction(double value) {
+            this.warFraction = value;
+            return this;
+        }
+
+        /** Share of nations that take one loan from another nation. */
+        public Spec loanFraction(double value) {
+            this.loanFraction = value;
+            return this;
+        }
+
+        public Spec corporationsPerNation(int value) {
+            this.corporationsPerNation = value;
+            return this;
+        }
+
+        public Spec techsPerNation(int value) {
+            this.techsPerNation = value;
+            return this;
+        }
+
+        public Spec seed(long value) {
+            this.seed = value;
+            return this;
+        }
+
+        /**
+         * When false only nation data is generated and no service is started, e.g. for
+         * benchmarks that construct the one service they measure. Economy and technology
+         * counts are then ignored.
+         */
+        public Spec services(boolean value) {
+            this.services = value;
+            return this;
+        }
+    }
+}
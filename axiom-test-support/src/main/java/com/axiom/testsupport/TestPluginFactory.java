@@ -7,7 +7,6 @@ import org.bukkit.plugin.PluginDescriptionFile;
 import org.bukkit.plugin.PluginLoader;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitScheduler;
-import org.bukkit.scheduler.BukkitTask;
 
 import sun.misc.Unsafe;
 
@@ -22,7 +21,7 @@ import java.util.logging.Logger;
 
 public final class TestPluginFactory {
     private static Server server;
-    private static BukkitScheduler scheduler;
+    private static MockScheduler scheduler;
 
     private TestPluginFactory() {
     }
@@ -37,6 +36,12 @@ public final class TestPluginFactory {
         return plugin;
     }
 
+    /** Scheduler shared by every test plugin; tasks run only when a test ticks it. */
+    public static MockScheduler scheduler() {
+        ensureServer();
+        return scheduler;
+    }
+
     public static void setField(Object target, String fieldName, Object value) {
         Class<?> type = target.getClass();
         while (type != null) {
@@ -58,34 +63,13 @@ public final class TestPluginFactory {
         if (server != null) {
             return;
         }
-        scheduler = createScheduler();
-        server = createServer(scheduler);
+        scheduler = new MockScheduler();
+        server = createServer(scheduler.asScheduler());
         if (Bukkit.getServer() == null) {
             Bukkit.setServer(server);
         }
     }
 
-    private static BukkitScheduler createScheduler() {
-        InvocationHandler handler = (proxy, method, args) -> {
-            Class<?> ret = method.getReturnType();
-            if (BukkitTask.class.isAssignableFrom(ret)) {
-                return new DummyTask(1, true);
-            }
-            if (ret == int.class) {
-                return 1;
-            }
-            if (ret == boolean.class) {
-                return false;
-            }
-            return defaultValue(ret);
-        };
-        return (BukkitScheduler) Proxy.newProxyInstance(
-            BukkitScheduler.class.getClassLoader(),
-            new Class<?>[]{BukkitScheduler.class},
-            handler
-        );
-    }
-
     private static Server createServer(BukkitScheduler scheduler) {
         InvocationHandler handler = (proxy, method, args) -> {
             String name = method.getName();
@@ -198,38 +182,4 @@ public final class TestPluginFactory {
             throw new IllegalStateException("Failed to init plugin", e);
         }
     }
-
-    private static final class DummyTask implements BukkitTask {
-        private final int id;
-        private final boolean sync;
-
-        private DummyTask(int id, boolean sync) {
-            this.id = id;
-            this.sync = sync;
-        }
-
-        @Override
-        public int getTaskId() {
-            return id;
-        }
-
-        @Override
-        public org.bukkit.plugin.Plugin getOwner() {
-            return null;
-        }
-
-        @Override
-        public boolean isSync() {
-            return sync;
-        }
-
-        @Override
-        public boolean isCancelled() {
-            return false;
-        }
-
-        @Override
-        public void cancel() {
-        }
-    }
 }